@@ -0,0 +1,78 @@
+package com.gameaccount.marketplace;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like a typical listing, shared by the JMH benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    public static final long GAME_ID = 7L;
+    public static final long SELLER_ID = 3L;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Game game() {
+        return Game.builder()
+                .id(GAME_ID)
+                .name("League of Legends")
+                .slug("league-of-legends")
+                .description("Multiplayer online battle arena")
+                .accountCount(1200)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .accounts(List.of())
+                .build();
+    }
+
+    public static User seller() {
+        return User.builder()
+                .id(SELLER_ID)
+                .email("seller@example.com")
+                .password("$2a$10$hash")
+                .fullName("Power Seller")
+                .role(User.Role.SELLER)
+                .rating(4.5)
+                .totalReviews(12)
+                .createdAt(LocalDateTime.of(2024, 2, 3, 4, 5, 6))
+                .build();
+    }
+
+    public static Account account(long id) {
+        return Account.builder()
+                .id(id)
+                .sellerId(SELLER_ID)
+                .seller(seller())
+                .gameId(GAME_ID)
+                .game(game())
+                .title("Legendary League of Legends Account " + id)
+                .description("All skins from the last three seasons included. Ranked every season since launch. ".repeat(3))
+                .level(87)
+                .rank("Diamond")
+                .price(150.5)
+                .status(AccountStatus.APPROVED)
+                .viewsCount(99)
+                .isFeatured(id % 10 == 0)
+                .createdAt(LocalDateTime.of(2025, 5, 6, 7, 8, 9).plusMinutes(id))
+                .updatedAt(LocalDateTime.of(2025, 5, 7, 7, 8, 9))
+                .images(new ArrayList<>(List.of("https://img/1.png", "https://img/2.png", "https://img/3.png")))
+                .encryptedUsername("enc-user")
+                .encryptedPassword("enc-pass")
+                .build();
+    }
+
+    public static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            accounts.add(account(id));
+        }
+        return accounts;
+    }
+}
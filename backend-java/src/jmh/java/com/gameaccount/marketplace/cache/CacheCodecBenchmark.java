@@ -0,0 +1,82 @@
+package com.gameaccount.marketplace.cache;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gameaccount.marketplace.BenchmarkFixtures;
+import com.gameaccount.marketplace.entity.Account;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of cache value codecs on a cached account list (the featured/favorites shape):
+ * GenericJackson2JsonRedisSerializer against BinaryCacheCodec without and with LZ4.
+ * Encode/decode cost is measured; encode also reports the payload size as the "bytes" counter.
+ *
+ * Run with: mvn -P jmh -Djmh.include=CacheCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"json", "binary", "binary-lz4"})
+    public String codec;
+
+    @Param({"1", "20", "100"})
+    public int accounts;
+
+    /**
+     * Encoded size of the cached value, reported next to the encode time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+    }
+
+    private RedisSerializer<Object> serializer;
+    private List<Account> value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        json.configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+        serializer = switch (codec) {
+            case "json" -> json;
+            case "binary" -> new BinaryCacheCodec(json, 0);
+            default -> new BinaryCacheCodec(json, 1024);
+        };
+        value = BenchmarkFixtures.accounts(accounts);
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) {
+        byte[] bytes = serializer.serialize(value);
+        payload.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
@@ -0,0 +1,104 @@
+package com.gameaccount.marketplace.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gameaccount.marketplace.BenchmarkFixtures;
+import com.gameaccount.marketplace.dto.response.AccountResponse;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.repository.GameRepository;
+import com.gameaccount.marketplace.service.GameCatalog;
+import com.gameaccount.marketplace.util.CursorUtil;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * JMH benchmark of rendering a listing page in AccountController: mapping the accounts to
+ * AccountResponse (toAccountResponse, game from the in-memory GameCatalog) and serializing the
+ * page map with Jackson as Spring MVC does (JavaTimeModule, ISO dates).
+ *
+ * Run with: mvn -P jmh -Djmh.include=AccountResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountResponseBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private AccountController accountController;
+    private ObjectMapper objectMapper;
+    private List<Account> accounts;
+    private Map<String, Object> page;
+
+    @Setup
+    public void setUp() {
+        GameRepository gameRepository = Mockito.mock(GameRepository.class);
+        when(gameRepository.findAll()).thenReturn(List.of(BenchmarkFixtures.game()));
+        GameCatalog gameCatalog = new GameCatalog(gameRepository);
+        gameCatalog.refresh();
+
+        accountController = new AccountController(null, null, null, new CursorUtil(), gameCatalog);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        accounts = BenchmarkFixtures.accounts(pageSize);
+        page = page(mapPage());
+    }
+
+    @Benchmark
+    public List<AccountResponse> mapPage() {
+        List<AccountResponse> content = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            content.add(accountController.toAccountResponse(account));
+        }
+        return content;
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page(mapPage()));
+    }
+
+    /**
+     * Same shape as the GET /api/accounts response.
+     */
+    private Map<String, Object> page(List<AccountResponse> content) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", content);
+        response.put("totalElements", 10_000L);
+        response.put("totalPages", 10_000 / pageSize);
+        response.put("currentPage", 0);
+        response.put("pageSize", pageSize);
+        response.put("nextCursor", "eyJpZCI6MjAsInRzIjoxNzE3MTcxNzE3MDAwfQ");
+        return response;
+    }
+}
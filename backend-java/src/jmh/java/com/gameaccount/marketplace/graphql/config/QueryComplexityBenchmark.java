@@ -0,0 +1,87 @@
+package com.gameaccount.marketplace.graphql.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the QueryComplexityInstrumentation heuristics, which scan the query text of
+ * every GraphQL request: a single-account query, an account connection page, and a large
+ * generated query (many aliased selections, the shape of an abusive request).
+ *
+ * Run with: mvn -P jmh -Djmh.include=QueryComplexityBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryComplexityBenchmark {
+
+    private static final String ACCOUNT_QUERY = """
+            query GetAccount($id: ID!) {
+              account(id: $id) {
+                id title description price level rank viewsCount
+                seller { id fullName rating totalReviews }
+                game { id name slug }
+              }
+            }""";
+
+    private static final String CONNECTION_QUERY = """
+            query GetAccountsConnection($first: Int, $after: String) {
+              accountsConnection(first: $first, after: $after, filters: { status: APPROVED }) {
+                edges {
+                  cursor
+                  node { id title price level rank isFeatured seller { id fullName } game { id name } }
+                }
+                pageInfo { hasNextPage hasPreviousPage startCursor endCursor }
+                totalCount
+              }
+            }""";
+
+    @Param({"account", "connection", "large"})
+    public String query;
+
+    private QueryComplexityInstrumentation instrumentation;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        instrumentation = new QueryComplexityInstrumentation(1000, 10); // as in GraphQLConfig
+        text = switch (query) {
+            case "account" -> ACCOUNT_QUERY;
+            case "connection" -> CONNECTION_QUERY;
+            default -> largeQuery(200);
+        };
+    }
+
+    @Benchmark
+    public int calculateComplexity() {
+        return instrumentation.calculateComplexity(text);
+    }
+
+    @Benchmark
+    public int calculateDepth() {
+        return instrumentation.calculateDepth(text);
+    }
+
+    private static String largeQuery(int aliases) {
+        StringBuilder query = new StringBuilder("query Large {\n");
+        for (int i = 0; i < aliases; i++) {
+            query.append("  a").append(i).append(": account(id: ").append(i + 1)
+                    .append(") { id title seller { id fullName } game { id name } }\n");
+        }
+        return query.append('}').toString();
+    }
+}
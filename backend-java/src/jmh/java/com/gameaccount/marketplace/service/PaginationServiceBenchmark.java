@@ -0,0 +1,56 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.BenchmarkFixtures;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.util.CursorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of PaginationService.createCursorFromEntity, which looks up and invokes getId
+ * and getCreatedAt by reflection on every call, against building the same cursor with direct
+ * getter calls (the difference is the reflection cost per page).
+ *
+ * Run with: mvn -P jmh -Djmh.include=PaginationServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationServiceBenchmark {
+
+    private CursorUtil cursorUtil;
+    private PaginationService paginationService;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        cursorUtil = new CursorUtil();
+        paginationService = new PaginationService(cursorUtil);
+        account = BenchmarkFixtures.account(42L);
+    }
+
+    @Benchmark
+    public String createCursorFromEntity() {
+        return paginationService.createCursorFromEntity(account);
+    }
+
+    @Benchmark
+    public String directCursor() {
+        return cursorUtil.encodeCursor(account.getId(),
+                account.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+}
@@ -0,0 +1,60 @@
+package com.gameaccount.marketplace.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of CursorUtil: the timestamp cursors (encodeCursor/decodeCursor) and the keyset
+ * cursors of account connections, both encoded per page and decoded per request.
+ *
+ * Run with: mvn -P jmh -Djmh.include=CursorUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursorUtilBenchmark {
+
+    private CursorUtil cursorUtil;
+    private String cursor;
+    private String keysetCursor;
+
+    @Setup
+    public void setUp() {
+        cursorUtil = new CursorUtil();
+        cursor = cursorUtil.encodeCursor(123_456L, 1_717_171_717_000L);
+        keysetCursor = cursorUtil.encodeKeysetCursor("price", 199.99, 123_456L);
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return cursorUtil.encodeCursor(123_456L, 1_717_171_717_000L);
+    }
+
+    @Benchmark
+    public CursorUtil.CursorData decodeCursor() {
+        return cursorUtil.decodeCursor(cursor);
+    }
+
+    @Benchmark
+    public String encodeKeysetCursor() {
+        return cursorUtil.encodeKeysetCursor("price", 199.99, 123_456L);
+    }
+
+    @Benchmark
+    public CursorUtil.KeysetCursor decodeKeysetCursor() {
+        return cursorUtil.decodeKeysetCursor(keysetCursor);
+    }
+}
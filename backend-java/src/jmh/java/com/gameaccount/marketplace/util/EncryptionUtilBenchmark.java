@@ -0,0 +1,58 @@
+package com.gameaccount.marketplace.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of EncryptionUtil (AES-256-GCM) on credential-sized and larger plaintexts.
+ * Encrypt includes IV generation, so a slow SecureRandom shows up here.
+ *
+ * Run with: mvn -P jmh -Djmh.include=EncryptionUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionUtilBenchmark {
+
+    @Param({"16", "256"})
+    public int length;
+
+    private EncryptionUtil encryptionUtil;
+    private String plaintext;
+    private String ciphertext;
+
+    @Setup
+    public void setUp() {
+        encryptionUtil = new EncryptionUtil();
+        ReflectionTestUtils.setField(encryptionUtil, "secretKey",
+                "00112233445566778899AABBCCDDEEFF00112233445566778899AABBCCDDEEFF");
+        encryptionUtil.validateConfiguration();
+        plaintext = "x".repeat(length);
+        ciphertext = encryptionUtil.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionUtil.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionUtil.decrypt(ciphertext);
+    }
+}
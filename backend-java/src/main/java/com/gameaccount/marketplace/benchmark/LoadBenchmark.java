@@ -0,0 +1,187 @@
+package com.gameaccount.marketplace.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load benchmark engine: drives one scenario from a pool of worker threads for a warmup period
+ * and then a measured period, and reports throughput and the latency distribution.
+ *
+ * Every worker records its latencies (microseconds, 3 significant digits) into its own
+ * HdrHistogram, so recording takes no lock; the histograms are added up at the end. Operations
+ * scheduled during warmup are run but not recorded.
+ *
+ * Without a target rate each worker starts its next operation as soon as the previous one
+ * returns (closed loop: throughput is what the application sustains at that concurrency).
+ * With a target rate each worker has a fixed schedule and latency runs from the scheduled
+ * start, so a stall also counts against the operations that queued up behind it.
+ */
+@Slf4j
+public class LoadBenchmark {
+
+    /** Latencies above this are recorded as this (10 minutes, in microseconds) */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private static final long SEED = 12345L;
+
+    /**
+     * Run a scenario and measure it.
+     *
+     * @param scenario Scenario to call
+     * @param settings Concurrency, warmup, duration and target rate
+     * @return Throughput and latency percentiles of the measured period
+     */
+    public ScenarioResult run(LoadScenario scenario, LoadSettings settings) throws InterruptedException {
+        int workers = Math.max(settings.getConcurrency(), 1);
+        long intervalNanos = settings.getTargetRate() > 0
+                ? Math.max((long) (1_000_000_000L * workers / settings.getTargetRate()), 1)
+                : 0;
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "load-" + scenario.name() + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Worker>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                // Stagger paced workers over one interval instead of firing together
+                Worker worker = new Worker(scenario.operation(), new SplittableRandom(SEED + i),
+                        start + intervalNanos * i / workers, intervalNanos, measureFrom, end);
+                futures.add(executor.submit(worker::call));
+            }
+
+            Histogram latencies = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            long errors = 0;
+            String firstError = null;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                latencies.add(worker.latencies);
+                errors += worker.errors;
+                if (firstError == null) {
+                    firstError = worker.firstError;
+                }
+            }
+            return result(scenario, settings, workers, latencies, errors, firstError);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load scenario " + scenario.name() + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ScenarioResult result(LoadScenario scenario, LoadSettings settings, int workers,
+                                         Histogram latencies, long errors, String firstError) {
+        long operations = latencies.getTotalCount();
+        double seconds = settings.getDuration().toNanos() / 1_000_000_000.0;
+        return ScenarioResult.builder()
+                .scenario(scenario.name())
+                .concurrency(workers)
+                .targetRate(settings.getTargetRate())
+                .durationMs(settings.getDuration().toMillis())
+                .operations(operations)
+                .errors(errors)
+                .throughputPerSecond(seconds > 0 ? round(operations / seconds) : 0)
+                .latencyMs(ScenarioResult.Latency.builder()
+                        .min(millis(operations > 0 ? latencies.getMinValue() : 0))
+                        .mean(round(latencies.getMean() / 1000.0))
+                        .p50(millis(latencies.getValueAtPercentile(50)))
+                        .p90(millis(latencies.getValueAtPercentile(90)))
+                        .p95(millis(latencies.getValueAtPercentile(95)))
+                        .p99(millis(latencies.getValueAtPercentile(99)))
+                        .p999(millis(latencies.getValueAtPercentile(99.9)))
+                        .max(millis(latencies.getMaxValue()))
+                        .build())
+                .firstError(firstError)
+                .build();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    /**
+     * One worker thread's loop and its own measurements.
+     */
+    private static final class Worker {
+
+        private final LoadScenario.Operation operation;
+        private final SplittableRandom random;
+        private final long intervalNanos;
+        private final long measureFrom;
+        private final long end;
+        private final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private long next;
+        private long errors;
+        private String firstError;
+
+        Worker(LoadScenario.Operation operation, SplittableRandom random, long firstStart, long intervalNanos,
+               long measureFrom, long end) {
+            this.operation = operation;
+            this.random = random;
+            this.next = firstStart;
+            this.intervalNanos = intervalNanos;
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        Worker call() {
+            while (!Thread.currentThread().isInterrupted()) {
+                long scheduled;
+                if (intervalNanos > 0) {
+                    scheduled = next;
+                    next += intervalNanos;
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    scheduled = System.nanoTime();
+                }
+                if (scheduled >= end) {
+                    break;
+                }
+
+                boolean failed = false;
+                try {
+                    operation.execute(random);
+                } catch (Exception e) {
+                    failed = true;
+                    if (firstError == null && scheduled >= measureFrom) {
+                        firstError = e.getClass().getSimpleName() + ": " + e.getMessage();
+                    }
+                    log.debug("Load operation failed: {}", e.getMessage());
+                }
+                long finished = System.nanoTime();
+
+                if (scheduled >= measureFrom) {
+                    latencies.recordValue(Math.min((finished - scheduled) / 1000, HIGHEST_TRACKABLE_MICROS));
+                    if (failed) {
+                        errors++;
+                    }
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.gameaccount.marketplace.benchmark;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of a load benchmark run, written as JSON (one file per run) to compare releases.
+ */
+@Value
+@Builder
+public class LoadBenchmarkReport {
+    String startedAt;
+    String applicationVersion;
+    String javaVersion;
+    int availableProcessors;
+    int concurrency;
+    long warmupMs;
+    long durationMs;
+    double targetRate;
+    List<ScenarioResult> scenarios;
+    /** Where the report was written, null if writing failed */
+    String outputFile;
+}
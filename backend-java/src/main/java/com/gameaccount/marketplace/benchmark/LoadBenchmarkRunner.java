@@ -0,0 +1,62 @@
+package com.gameaccount.marketplace.benchmark;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Command-line load benchmark: runs the scenarios once the application has started, writes the
+ * JSON report and exits (status 1 if the run failed or any operation failed).
+ *
+ * Usage:
+ *    java -jar marketplace-backend.jar --spring.profiles.active=benchmark --benchmark.load.cli=true
+ *        --spring.main.web-application-type=none
+ *        [--benchmark.load.scenarios=search-filters,account-detail] [--benchmark.load.concurrency=32]
+ *        [--benchmark.load.warmup-seconds=10] [--benchmark.load.duration-seconds=60]
+ *        [--benchmark.load.target-rate=500] [--benchmark.load.output-dir=target/benchmarks]
+ *
+ * With the seed profile as well (seed,benchmark) the database is seeded first.
+ */
+@Slf4j
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.load.cli", havingValue = "true")
+@Order(Ordered.LOWEST_PRECEDENCE) // after DatabaseSeeder
+@RequiredArgsConstructor
+public class LoadBenchmarkRunner implements ApplicationRunner {
+
+    private final LoadBenchmarkService loadBenchmarkService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${benchmark.load.scenarios:}")
+    private List<String> scenarios;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            LoadBenchmarkReport report = loadBenchmarkService.run(scenarios, loadBenchmarkService.settings(null, null, null, null));
+            boolean failed = report.getScenarios().stream().anyMatch(result -> result.getErrors() > 0);
+            exitCode = failed ? 1 : 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        } catch (RuntimeException e) {
+            log.error("❌ Load benchmark failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
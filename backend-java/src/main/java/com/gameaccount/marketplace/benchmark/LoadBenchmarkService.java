@@ -0,0 +1,151 @@
+package com.gameaccount.marketplace.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs load scenarios one after another with the load benchmark engine and writes the report
+ * as JSON to benchmark.load.output-dir (load-yyyyMMdd-HHmmss.json).
+ *
+ * Used by BenchmarkController (GET /api/benchmark/load) and LoadBenchmarkRunner (CLI).
+ */
+@Slf4j
+@Service
+@Profile("benchmark")
+public class LoadBenchmarkService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final LoadScenarios loadScenarios;
+    private final ObjectMapper objectMapper;
+    private final LoadBenchmark loadBenchmark = new LoadBenchmark();
+
+    @Value("${benchmark.load.output-dir:target/benchmarks}")
+    private String outputDir;
+
+    @Value("${benchmark.load.concurrency:8}")
+    private int defaultConcurrency;
+
+    @Value("${benchmark.load.warmup-seconds:10}")
+    private int defaultWarmupSeconds;
+
+    @Value("${benchmark.load.duration-seconds:30}")
+    private int defaultDurationSeconds;
+
+    @Value("${benchmark.load.target-rate:0}")
+    private double defaultTargetRate;
+
+    /** Only one run at a time: concurrent runs would measure each other */
+    private final Object runLock = new Object();
+
+    public LoadBenchmarkService(LoadScenarios loadScenarios, ObjectMapper objectMapper) {
+        this.loadScenarios = loadScenarios;
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Names and descriptions of the available scenarios.
+     */
+    public Map<String, String> describe() {
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        loadScenarios.all().values().forEach(scenario -> descriptions.put(scenario.name(), scenario.description()));
+        return descriptions;
+    }
+
+    /**
+     * Settings with the given values, benchmark.load.* defaults for the null ones.
+     */
+    public LoadSettings settings(Integer concurrency, Integer warmupSeconds, Integer durationSeconds, Double targetRate) {
+        return LoadSettings.builder()
+                .concurrency(concurrency != null ? concurrency : defaultConcurrency)
+                .warmup(Duration.ofSeconds(warmupSeconds != null ? warmupSeconds : defaultWarmupSeconds))
+                .duration(Duration.ofSeconds(durationSeconds != null ? durationSeconds : defaultDurationSeconds))
+                .targetRate(targetRate != null ? targetRate : defaultTargetRate)
+                .build();
+    }
+
+    /**
+     * Run the given scenarios (all when empty) and write the report.
+     *
+     * @param names Scenario names, run in this order
+     * @param settings Concurrency, warmup, duration and target rate for every scenario
+     * @return Report, including the file it was written to
+     * @throws IllegalArgumentException if a scenario name is unknown
+     */
+    public LoadBenchmarkReport run(List<String> names, LoadSettings settings) throws InterruptedException {
+        synchronized (runLock) {
+            Map<String, LoadScenario> available = loadScenarios.all();
+            List<LoadScenario> selected = new ArrayList<>();
+            for (String name : names == null || names.isEmpty() ? List.copyOf(available.keySet()) : names) {
+                LoadScenario scenario = available.get(name.trim());
+                if (scenario == null) {
+                    throw new IllegalArgumentException("Unknown load scenario: " + name + ", available: " + available.keySet());
+                }
+                selected.add(scenario);
+            }
+
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<ScenarioResult> results = new ArrayList<>();
+            for (LoadScenario scenario : selected) {
+                log.info("🔬 Load scenario {}: {} threads, {}s warmup, {}s measured{}", scenario.name(),
+                        settings.getConcurrency(), settings.getWarmup().toSeconds(), settings.getDuration().toSeconds(),
+                        settings.getTargetRate() > 0 ? ", " + settings.getTargetRate() + " ops/sec" : "");
+                try {
+                    ScenarioResult result = loadBenchmark.run(scenario, settings);
+                    log.info("✅ {}: {} ops/sec, p50 {}ms, p95 {}ms, p99 {}ms, p99.9 {}ms, {} errors", scenario.name(),
+                            result.getThroughputPerSecond(), result.getLatencyMs().getP50(), result.getLatencyMs().getP95(),
+                            result.getLatencyMs().getP99(), result.getLatencyMs().getP999(), result.getErrors());
+                    results.add(result);
+                } finally {
+                    if (scenario.cleanup() != null) {
+                        scenario.cleanup().run();
+                    }
+                }
+            }
+
+            Path file = Paths.get(outputDir, "load-" + FILE_TIMESTAMP.format(startedAt) + ".json").toAbsolutePath();
+            LoadBenchmarkReport report = report(startedAt, settings, results, file.toString());
+            try {
+                Files.createDirectories(file.getParent());
+                objectMapper.writeValue(file.toFile(), report);
+                log.info("📄 Load benchmark report written to {}", file);
+            } catch (IOException e) {
+                log.warn("Could not write load benchmark report to {}: {}", file, e.getMessage());
+                report = report(startedAt, settings, results, null);
+            }
+            return report;
+        }
+    }
+
+    private LoadBenchmarkReport report(LocalDateTime startedAt, LoadSettings settings, List<ScenarioResult> results,
+                                       String outputFile) {
+        return LoadBenchmarkReport.builder()
+                .startedAt(startedAt.toString())
+                .applicationVersion(getClass().getPackage().getImplementationVersion())
+                .javaVersion(System.getProperty("java.version"))
+                .availableProcessors(Runtime.getRuntime().availableProcessors())
+                .concurrency(settings.getConcurrency())
+                .warmupMs(settings.getWarmup().toMillis())
+                .durationMs(settings.getDuration().toMillis())
+                .targetRate(settings.getTargetRate())
+                .scenarios(results)
+                .outputFile(outputFile)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.gameaccount.marketplace.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * A named operation the load benchmark calls repeatedly from several threads.
+ *
+ * @param name Identifier used in requests, CLI arguments and reports (e.g. search-filters)
+ * @param description What one operation does
+ * @param operation One request's worth of work; an exception counts as an error
+ * @param cleanup Removes rows the operations created, run once after the scenario (may be null)
+ */
+public record LoadScenario(String name, String description, Operation operation, Runnable cleanup) {
+
+    public LoadScenario(String name, String description, Operation operation) {
+        this(name, description, operation, null);
+    }
+
+    /**
+     * One operation. Each worker thread passes its own random source.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        void execute(SplittableRandom random) throws Exception;
+    }
+}
@@ -0,0 +1,225 @@
+package com.gameaccount.marketplace.benchmark;
+
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Transaction;
+import com.gameaccount.marketplace.repository.MessageRepository;
+import com.gameaccount.marketplace.repository.TransactionRepository;
+import com.gameaccount.marketplace.service.AccountService;
+import com.gameaccount.marketplace.service.ChatService;
+import com.gameaccount.marketplace.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The load benchmark's scenarios: the marketplace's main request paths, called at the service
+ * (or GraphQL execution) layer with ids sampled from the current database.
+ *
+ * - search-filters: listing search with a random common filter combination and page
+ * - account-detail: listing detail (counts a view)
+ * - featured: featured listings (cached)
+ * - purchase: purchase of a random approved listing, cancelled right away
+ * - chat-send: message from a buyer to a listing's seller
+ * - graphql-accounts: accounts page with seller and game (DataLoader batching)
+ * - graphql-account: single account with seller and game
+ *
+ * Purchase and chat-send rows are deleted after their scenario. Run against a seeded database
+ * (profile seed, see DatabaseSeeder): ids are sampled from the first SAMPLE_SIZE rows.
+ */
+@Slf4j
+@Component
+@Profile("benchmark")
+@RequiredArgsConstructor
+public class LoadScenarios {
+
+    /** Approved listings and users the scenarios pick from */
+    private static final int SAMPLE_SIZE = 10_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String MESSAGE_CONTENT = "Load benchmark message";
+
+    private static final String[] SEARCH_TERMS = {"legendary", "max rank", "epic account", "pro", "rare"};
+
+    private static final String ACCOUNTS_QUERY = """
+            query LoadAccounts($gameId: ID, $page: Int) {
+              accounts(gameId: $gameId, page: $page, limit: 20) {
+                totalElements
+                content { id title price level rank seller { id fullName rating } game { id name } }
+              }
+            }""";
+
+    private static final String ACCOUNT_QUERY = """
+            query LoadAccount($id: ID!) {
+              account(id: $id) {
+                id title description price level rank viewsCount
+                seller { id fullName rating totalReviews }
+                game { id name slug }
+              }
+            }""";
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final ChatService chatService;
+    private final TransactionRepository transactionRepository;
+    private final MessageRepository messageRepository;
+    private final ExecutionGraphQlService graphQlService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * Build all scenarios over a fresh sample of the database.
+     *
+     * @return Scenarios by name, in the order above
+     * @throws IllegalStateException if there are no approved listings or fewer than two users
+     */
+    public Map<String, LoadScenario> all() {
+        Sample sample = sample();
+        Map<String, LoadScenario> scenarios = new LinkedHashMap<>();
+        for (LoadScenario scenario : List.of(
+                searchFilters(sample),
+                accountDetail(sample),
+                featured(),
+                purchase(sample),
+                chatSend(sample),
+                graphQlAccounts(sample),
+                graphQlAccount(sample))) {
+            scenarios.put(scenario.name(), scenario);
+        }
+        return scenarios;
+    }
+
+    private LoadScenario searchFilters(Sample sample) {
+        return new LoadScenario("search-filters", "Listing search, random filter combination and page 0-4", random -> {
+            Long gameId = sample.gameId(random);
+            AccountSearchRequest request = switch (random.nextInt(5)) {
+                case 0 -> AccountSearchRequest.builder().gameId(gameId).minPrice(20.0).maxPrice(200.0).build();
+                case 1 -> AccountSearchRequest.builder().gameId(gameId).minLevel(30).maxLevel(80).build();
+                case 2 -> AccountSearchRequest.builder().isFeatured(true).sortBy("price").build();
+                case 3 -> AccountSearchRequest.builder().gameId(gameId).sortBy("createdAt").build();
+                default -> AccountSearchRequest.builder().searchText(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]).build();
+            };
+            accountService.searchAccounts(request, null, null,
+                    PageRequest.of(random.nextInt(5), PAGE_SIZE, Sort.by("createdAt").descending()));
+        });
+    }
+
+    private LoadScenario accountDetail(Sample sample) {
+        return new LoadScenario("account-detail", "Listing detail by id (counts a view)",
+                random -> accountService.getAccountById(sample.accountIds[random.nextInt(sample.accountIds.length)]));
+    }
+
+    private LoadScenario featured() {
+        return new LoadScenario("featured", "Featured listings (cached)", random -> accountService.getFeaturedAccounts());
+    }
+
+    private LoadScenario purchase(Sample sample) {
+        Queue<Long> created = new ConcurrentLinkedQueue<>();
+        return new LoadScenario("purchase", "Purchase of an approved listing by a random buyer, then cancelled", random -> {
+            int account = random.nextInt(sample.accountIds.length);
+            Long buyerId = sample.buyerOtherThan(random, sample.sellerIds[account]);
+            Transaction transaction = transactionService.purchaseAccount(sample.accountIds[account], buyerId);
+            created.add(transaction.getId());
+            transactionService.cancelTransaction(transaction.getId(), buyerId);
+        }, () -> deleteAll(created, transactionRepository::deleteAllByIdInBatch));
+    }
+
+    private LoadScenario chatSend(Sample sample) {
+        Queue<Long> created = new ConcurrentLinkedQueue<>();
+        return new LoadScenario("chat-send", "Message from a random buyer to a listing's seller", random -> {
+            int account = random.nextInt(sample.accountIds.length);
+            Long sellerId = sample.sellerIds[account];
+            created.add(chatService.sendMessage(sample.accountIds[account], sample.buyerOtherThan(random, sellerId),
+                    sellerId, MESSAGE_CONTENT).getId());
+        }, () -> deleteAll(created, messageRepository::deleteAllByIdInBatch));
+    }
+
+    private LoadScenario graphQlAccounts(Sample sample) {
+        return new LoadScenario("graphql-accounts", "GraphQL accounts page with seller and game", random -> {
+            Map<String, Object> variables = new LinkedHashMap<>();
+            variables.put("gameId", sample.gameId(random));
+            variables.put("page", random.nextInt(5));
+            executeGraphQl(ACCOUNTS_QUERY, variables);
+        });
+    }
+
+    private LoadScenario graphQlAccount(Sample sample) {
+        return new LoadScenario("graphql-account", "GraphQL single account with seller and game", random ->
+                executeGraphQl(ACCOUNT_QUERY,
+                        Map.of("id", sample.accountIds[random.nextInt(sample.accountIds.length)])));
+    }
+
+    private void executeGraphQl(String document, Map<String, Object> variables) {
+        ExecutionGraphQlResponse response = graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                document, null, variables, null, "load-" + requestIds.incrementAndGet(), null)).block();
+        if (response == null || !response.getErrors().isEmpty()) {
+            throw new IllegalStateException("GraphQL errors: " + (response != null ? response.getErrors() : "no response"));
+        }
+    }
+
+    private static void deleteAll(Queue<Long> ids, Consumer<List<Long>> delete) {
+        List<Long> batch = new ArrayList<>(1000);
+        for (Long id = ids.poll(); id != null; id = ids.poll()) {
+            batch.add(id);
+            if (batch.size() == 1000) {
+                delete.accept(batch);
+                batch = new ArrayList<>(1000);
+            }
+        }
+        if (!batch.isEmpty()) {
+            delete.accept(batch);
+        }
+    }
+
+    private Sample sample() {
+        List<long[]> accounts = jdbcTemplate.query(
+                "SELECT id, seller_id FROM accounts WHERE status = ? ORDER BY id LIMIT ?",
+                (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)}, AccountStatus.APPROVED.name(), SAMPLE_SIZE);
+        List<Long> users = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT ?", Long.class, SAMPLE_SIZE);
+        List<Long> games = jdbcTemplate.queryForList("SELECT id FROM games ORDER BY id", Long.class);
+        if (accounts.isEmpty() || users.size() < 2) {
+            throw new IllegalStateException("No approved accounts or fewer than two users to benchmark with; "
+                    + "seed the database first (--spring.profiles.active=seed,benchmark)");
+        }
+        log.info("Load scenarios sample: {} approved accounts, {} users, {} games", accounts.size(), users.size(), games.size());
+        return new Sample(
+                accounts.stream().mapToLong(account -> account[0]).boxed().toArray(Long[]::new),
+                accounts.stream().mapToLong(account -> account[1]).boxed().toArray(Long[]::new),
+                users.toArray(Long[]::new),
+                games.toArray(Long[]::new));
+    }
+
+    /**
+     * Ids the scenarios pick from; sellerIds[i] is the seller of accountIds[i].
+     */
+    private record Sample(Long[] accountIds, Long[] sellerIds, Long[] userIds, Long[] gameIds) {
+
+        Long gameId(SplittableRandom random) {
+            return gameIds.length > 0 ? gameIds[random.nextInt(gameIds.length)] : null;
+        }
+
+        Long buyerOtherThan(SplittableRandom random, Long sellerId) {
+            int buyer = random.nextInt(userIds.length);
+            return userIds[buyer].equals(sellerId) ? userIds[(buyer + 1) % userIds.length] : userIds[buyer];
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.gameaccount.marketplace.benchmark;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * How a scenario is driven by the load benchmark.
+ */
+@Value
+@Builder
+public class LoadSettings {
+
+    /** Worker threads calling the scenario */
+    @Builder.Default
+    int concurrency = 8;
+
+    /** Run time before measuring (JIT, connection pool and caches warm up); not recorded */
+    @Builder.Default
+    Duration warmup = Duration.ofSeconds(10);
+
+    /** Measured run time */
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Target operations per second over all workers, 0 = as fast as possible (closed loop).
+     * With a target rate latency is measured from each operation's scheduled start, so time an
+     * operation spent waiting behind a slow one counts (no coordinated omission).
+     */
+    @Builder.Default
+    double targetRate = 0;
+}
@@ -0,0 +1,38 @@
+package com.gameaccount.marketplace.benchmark;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Measured outcome of one scenario. Latencies are in milliseconds; errors are operations that
+ * threw and are included in the latencies.
+ */
+@Value
+@Builder
+public class ScenarioResult {
+    String scenario;
+    int concurrency;
+    double targetRate;
+    long durationMs;
+    long operations;
+    long errors;
+    double throughputPerSecond;
+    Latency latencyMs;
+    String firstError;
+
+    /**
+     * Latency distribution of the measured operations.
+     */
+    @Value
+    @Builder
+    public static class Latency {
+        double min;
+        double mean;
+        double p50;
+        double p90;
+        double p95;
+        double p99;
+        double p999;
+        double max;
+    }
+}
@@ -0,0 +1,111 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache-aside reads of accounts by id, in bulk, through the "accounts" cache (the same entries
+ * the GraphQL account query caches).
+ *
+ * getAll looks all ids up in one pass - L1 near-cache first, then a single Redis MGET for the
+ * rest - loads the remaining misses with one query (seller and images fetched), and
+ * writes them back in one pipeline. Written entries are tagged per account, so a listing change
+ * evicts its snapshot like any other cached account.
+ *
+ * Returned accounts are detached snapshots: read them, never save them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountSnapshotStore {
+
+    public static final String CACHE_NAME = "accounts";
+
+    private final CacheManager cacheManager;
+    private final AccountRepository accountRepository;
+
+    /**
+     * Accounts by id, in the order of the ids; ids without an account are absent.
+     *
+     * @param ids Account IDs (duplicates and nulls are ignored)
+     * @return Accounts keyed by id
+     */
+    public Map<Long, Account> getAll(Collection<Long> ids) {
+        Set<Long> wanted = new LinkedHashSet<>(ids);
+        wanted.remove(null);
+        Map<Long, Account> found = new LinkedHashMap<>();
+        if (wanted.isEmpty()) {
+            return found;
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Object, Object> cached = Map.of();
+        if (cache != null) {
+            try {
+                cached = BulkCache.getAll(cache, wanted);
+            } catch (RuntimeException e) {
+                // A broken cache backend must not fail the read
+                log.warn("Account cache bulk read failed for {} ids: {}", wanted.size(), e.getMessage());
+            }
+        }
+
+        List<Long> misses = new ArrayList<>();
+        for (Long id : wanted) {
+            if (cached.get(id) instanceof Account account) {
+                found.put(id, account);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<Long, Account> loaded = new LinkedHashMap<>();
+            for (Account account : accountRepository.findAllForSnapshotByIdIn(misses)) {
+                loaded.put(account.getId(), account);
+            }
+            log.debug("Account snapshots: {} cached, {} loaded, {} missing", found.size(), loaded.size(),
+                    misses.size() - loaded.size());
+            found.putAll(loaded);
+            if (cache != null && !loaded.isEmpty()) {
+                try {
+                    BulkCache.putAll(cache, loaded);
+                } catch (RuntimeException e) {
+                    log.warn("Account cache bulk write failed for {} ids: {}", loaded.size(), e.getMessage());
+                }
+            }
+        }
+
+        Map<Long, Account> ordered = new LinkedHashMap<>();
+        for (Long id : wanted) {
+            Account account = found.get(id);
+            if (account != null) {
+                ordered.put(id, account);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Single account by id (one-element getAll).
+     */
+    public Optional<Account> get(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getAll(List.of(id)).get(id));
+    }
+}
@@ -0,0 +1,203 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.cache.CacheSnapshots.AccountSnapshot;
+import com.gameaccount.marketplace.cache.CacheSnapshots.GameSnapshot;
+import com.gameaccount.marketplace.cache.CacheSnapshots.UserSnapshot;
+import com.gameaccount.marketplace.cache.SearchResultCache.CachedIds;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.gameaccount.marketplace.cache.CacheSnapshots.readVarInt;
+import static com.gameaccount.marketplace.cache.CacheSnapshots.readVarLong;
+import static com.gameaccount.marketplace.cache.CacheSnapshots.readZigZag;
+import static com.gameaccount.marketplace.cache.CacheSnapshots.writeVarInt;
+import static com.gameaccount.marketplace.cache.CacheSnapshots.writeVarLong;
+import static com.gameaccount.marketplace.cache.CacheSnapshots.writeZigZag;
+
+/**
+ * Compact binary codec for Redis cache values (cache.codec.type=binary).
+ *
+ * Accounts, games and users are written as flat snapshots (see CacheSnapshots) without class
+ * names or entity graphs, lists element by element, and search result IDs as delta-encoded
+ * varints. Any other value is embedded as JSON written by the fallback serializer. Payloads of at
+ * least compressionThreshold bytes are LZ4-compressed when that makes them smaller.
+ *
+ * The first byte marks the format. Values written before the switch (plain JSON) never start
+ * with a marker byte and are still read through the fallback, so existing Redis entries stay
+ * readable until they expire. Snapshot fields and enum ordinals are positional: changing them
+ * needs a new marker byte.
+ */
+public class BinaryCacheCodec implements RedisSerializer<Object> {
+
+    static final byte FORMAT_PLAIN = (byte) 0xB1;
+    static final byte FORMAT_LZ4 = (byte) 0xB2;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_ACCOUNT = 1;
+    private static final byte TAG_GAME = 2;
+    private static final byte TAG_USER = 3;
+    private static final byte TAG_LIST = 4;
+    private static final byte TAG_CACHED_IDS = 5;
+    private static final byte TAG_JSON = 6;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * @param fallback Serializer for values without a snapshot (and for legacy JSON entries)
+     * @param compressionThreshold Minimum payload size to try LZ4 on (0 or less = never compress)
+     */
+    public BinaryCacheCodec(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeByte(FORMAT_PLAIN);
+            writeValue(out, value);
+            out.flush();
+            byte[] plain = buffer.toByteArray();
+            return compressionThreshold > 0 && plain.length >= compressionThreshold ? compress(plain) : plain;
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_PLAIN && bytes[0] != FORMAT_LZ4) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            if (bytes[0] == FORMAT_LZ4) {
+                int length = readVarInt(in);
+                int offset = bytes.length - in.available();
+                in = new DataInputStream(new ByteArrayInputStream(decompressor.decompress(bytes, offset, length)));
+            }
+            return readValue(in);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+
+    private byte[] compress(byte[] plain) throws IOException {
+        byte[] body = compressor.compress(plain, 1, plain.length - 1);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length + 6);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(FORMAT_LZ4);
+        writeVarInt(out, plain.length - 1);
+        out.write(body);
+        out.flush();
+        byte[] compressed = buffer.toByteArray();
+        return compressed.length < plain.length ? compressed : plain;
+    }
+
+    private void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Account account) {
+            out.writeByte(TAG_ACCOUNT);
+            AccountSnapshot.of(account).write(out);
+        } else if (value instanceof Game game) {
+            out.writeByte(TAG_GAME);
+            GameSnapshot.of(game).write(out);
+        } else if (value instanceof User user) {
+            out.writeByte(TAG_USER);
+            UserSnapshot.of(user).write(out);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            writeVarInt(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof CachedIds cachedIds) {
+            out.writeByte(TAG_CACHED_IDS);
+            long[] ids = cachedIds.getIds() != null ? cachedIds.getIds() : new long[0];
+            writeVarInt(out, ids.length);
+            long previous = 0;
+            for (long id : ids) {
+                writeZigZag(out, id - previous);
+                previous = id;
+            }
+            writeVarLong(out, cachedIds.getTotalElements());
+            out.writeBoolean(cachedIds.isHasNext());
+        } else {
+            out.writeByte(TAG_JSON);
+            byte[] json = fallback.serialize(value);
+            writeVarInt(out, json.length);
+            out.write(json);
+        }
+    }
+
+    private Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_ACCOUNT:
+                return AccountSnapshot.read(in).toEntity();
+            case TAG_GAME:
+                return GameSnapshot.read(in).toEntity();
+            case TAG_USER:
+                return UserSnapshot.read(in).toEntity();
+            case TAG_LIST: {
+                int size = readVarInt(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case TAG_CACHED_IDS: {
+                long[] ids = new long[readVarInt(in)];
+                long previous = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    previous += readZigZag(in);
+                    ids[i] = previous;
+                }
+                return new CachedIds(ids, readVarLong(in), in.readBoolean());
+            }
+            case TAG_JSON: {
+                byte[] json = new byte[readVarInt(in)];
+                in.readFully(json);
+                return fallback.deserialize(json);
+            }
+            default:
+                throw new IOException("Unknown cache value tag " + tag);
+        }
+    }
+}
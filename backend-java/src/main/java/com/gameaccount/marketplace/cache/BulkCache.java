@@ -0,0 +1,57 @@
+package com.gameaccount.marketplace.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache that can read and write many keys in one round trip (Redis MGET / pipelined SET).
+ * Implemented by the cache decorators; getAll/putAll fall back to one call per key for stores
+ * that are not bulk-capable (local stores, where a lookup costs no round trip).
+ */
+public interface BulkCache {
+
+    /**
+     * Values of the keys that are cached; missing keys are absent from the result.
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Write all entries (null values are skipped).
+     */
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Bulk read from any cache.
+     */
+    static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof BulkCache bulkCache) {
+            return bulkCache.getAll(keys);
+        }
+        Map<Object, Object> values = new LinkedHashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                values.put(key, wrapper.get());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Bulk write to any cache.
+     */
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof BulkCache bulkCache) {
+            bulkCache.putAll(entries);
+            return;
+        }
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                cache.put(key, value);
+            }
+        });
+    }
+}
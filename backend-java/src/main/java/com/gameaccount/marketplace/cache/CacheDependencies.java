@@ -0,0 +1,101 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a cached entry depends on, recorded by CacheTagIndex when the entry is written.
+ *
+ * An entry holds a fixed set of accounts (accountIds) and, when it is a query result
+ * (scoped), also depends on every listing that could join the result: listings of its game
+ * (null = any game) with its status (null = any status). A listing change evicts the entry if
+ * the listing is one of its accounts, or if the entry is scoped and the listing's game and
+ * before/after status fall inside the scope.
+ */
+@Getter
+@ToString
+public final class CacheDependencies {
+
+    private static final CacheDependencies NONE = new CacheDependencies(Set.of(), false, null, null);
+
+    private final Set<Long> accountIds;
+    private final boolean scoped;
+    private final Long gameId;
+    private final AccountStatus status;
+
+    private CacheDependencies(Set<Long> accountIds, boolean scoped, Long gameId, AccountStatus status) {
+        this.accountIds = accountIds;
+        this.scoped = scoped;
+        this.gameId = gameId;
+        this.status = status;
+    }
+
+    /**
+     * Entry that does not depend on account listings (evicted by TTL only).
+     */
+    public static CacheDependencies none() {
+        return NONE;
+    }
+
+    /**
+     * Single account entry: evicted only when that account changes.
+     */
+    public static CacheDependencies ofAccount(Long accountId) {
+        return new CacheDependencies(Set.of(accountId), false, null, null);
+    }
+
+    /**
+     * Query result: evicted when one of its accounts changes or a listing enters the scope.
+     *
+     * @param accountIds Accounts in the result
+     * @param gameId Game filter of the query (null = all games)
+     * @param status Status filter of the query (null = all statuses)
+     */
+    public static CacheDependencies ofQuery(Collection<Long> accountIds, Long gameId, AccountStatus status) {
+        return new CacheDependencies(Set.copyOf(accountIds), true, gameId, status);
+    }
+
+    /**
+     * Query result of unknown filters, e.g. a cached List&lt;Account&gt;: scoped to all games and,
+     * when every account shares one status, to that status.
+     */
+    public static CacheDependencies ofAccounts(Collection<Account> accounts) {
+        Set<AccountStatus> statuses = accounts.stream()
+                .map(Account::getStatus)
+                .collect(Collectors.toSet());
+        AccountStatus status = statuses.size() == 1 ? statuses.iterator().next() : null;
+        Set<Long> ids = accounts.stream()
+                .map(Account::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        return new CacheDependencies(ids, true, null, status);
+    }
+
+    public boolean isEmpty() {
+        return accountIds.isEmpty() && !scoped;
+    }
+
+    /**
+     * Whether the listing change can alter the cached entry.
+     */
+    public boolean matches(AccountChangedEvent event) {
+        if (accountIds.contains(event.getAccountId())) {
+            return true;
+        }
+        if (!scoped) {
+            return false;
+        }
+        boolean gameMatches = gameId == null || event.getGameId() == null || gameId.equals(event.getGameId());
+        Set<AccountStatus> statuses = event.affectedStatuses();
+        boolean statusMatches = status == null || statuses.isEmpty() || statuses.contains(status);
+        return gameMatches && statusMatches;
+    }
+}
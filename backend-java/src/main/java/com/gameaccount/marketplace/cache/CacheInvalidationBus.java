@@ -0,0 +1,160 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cross-node cache invalidation over a Redis pub/sub channel.
+ * Nodes publish L1 evictions/clears (so peers drop their near-cache copies), committed listing
+ * changes (so peers evict the Redis entries their own CacheTagIndex registered) and committed
+ * entity updates (so peers drop the entity from their Hibernate second-level cache). Messages
+ * from this node are ignored on receipt.
+ *
+ * Wire format (one line, "-" for null):
+ * <pre>
+ *   nodeId|EVICT|cacheName|key
+ *   nodeId|CLEAR|cacheName
+ *   nodeId|ACCOUNT|type|accountId|gameId|previousStatus|status
+ *   nodeId|ENTITY|region|id
+ * </pre>
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    /**
+     * Receiver of invalidations published by other nodes.
+     */
+    public interface Listener {
+
+        default void onRemoteEvict(String cacheName, String key) {
+        }
+
+        default void onRemoteClear(String cacheName) {
+        }
+
+        default void onRemoteAccountChanged(AccountChangedEvent event) {
+        }
+
+        default void onRemoteEntityEvict(String region, Long id) {
+        }
+    }
+
+    private static final String NULL = "-";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Getter
+    private final String channel;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(String.join("|", nodeId, "EVICT", cacheName, String.valueOf(key)));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(String.join("|", nodeId, "CLEAR", cacheName));
+    }
+
+    public void publishAccountChanged(AccountChangedEvent event) {
+        Account account = event.getAccount();
+        publish(String.join("|", nodeId, "ACCOUNT",
+                event.getType().name(),
+                String.valueOf(event.getAccountId()),
+                orNull(event.getGameId()),
+                orNull(event.getPreviousStatus()),
+                orNull(account != null ? account.getStatus() : null)));
+    }
+
+    public void publishEntityEvict(String region, Object id) {
+        publish(String.join("|", nodeId, "ENTITY", region, String.valueOf(id)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            switch (parts[1]) {
+                case "EVICT" -> {
+                    String key = parts.length > 3 ? parts[3] : "";
+                    listeners.forEach(listener -> listener.onRemoteEvict(parts[2], key));
+                }
+                case "CLEAR" -> listeners.forEach(listener -> listener.onRemoteClear(parts[2]));
+                case "ACCOUNT" -> {
+                    AccountChangedEvent event = parseAccountChanged(body.split("\\|"));
+                    listeners.forEach(listener -> listener.onRemoteAccountChanged(event));
+                }
+                case "ENTITY" -> {
+                    Long id = Long.valueOf(parts[3]);
+                    listeners.forEach(listener -> listener.onRemoteEntityEvict(parts[2], id));
+                }
+                default -> log.debug("Ignoring unknown cache invalidation message: {}", body);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply cache invalidation message '{}': {}", body, e.getMessage());
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Peers fall back to their short L1 TTL
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild a listing change from nodeId|ACCOUNT|type|accountId|gameId|previousStatus|status.
+     */
+    static AccountChangedEvent parseAccountChanged(String[] parts) {
+        AccountChangedEvent.ChangeType type = AccountChangedEvent.ChangeType.valueOf(parts[2]);
+        Long accountId = Long.valueOf(parts[3]);
+        Long gameId = NULL.equals(parts[4]) ? null : Long.valueOf(parts[4]);
+        AccountStatus previousStatus = NULL.equals(parts[5]) ? null : AccountStatus.valueOf(parts[5]);
+        AccountStatus status = NULL.equals(parts[6]) ? null : AccountStatus.valueOf(parts[6]);
+
+        Account account = null;
+        if (type != AccountChangedEvent.ChangeType.DELETED) {
+            account = Account.builder()
+                    .id(accountId)
+                    .game(gameId != null ? Game.builder().id(gameId).build() : null)
+                    .status(status)
+                    .build();
+        }
+        return new AccountChangedEvent(type, accountId, gameId, previousStatus, account);
+    }
+
+    private static String orNull(Object value) {
+        return value != null ? value.toString() : NULL;
+    }
+}
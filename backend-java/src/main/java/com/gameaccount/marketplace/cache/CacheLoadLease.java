@@ -0,0 +1,80 @@
+package com.gameaccount.marketplace.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short Redis lease marking "this node is loading key K" for SingleFlight.
+ * Acquired with SET NX PX and released only by its holder (compare-and-delete script), so an
+ * expired lease taken over by another node is never released by the original holder. The TTL
+ * bounds how long other nodes defer to a holder that crashed mid-load.
+ *
+ * Redis errors never block a load: acquisition then succeeds locally, as if no other node existed.
+ */
+@Slf4j
+public class CacheLoadLease {
+
+    private static final String KEY_PREFIX = "cache:lease:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final String LOCAL_TOKEN = "local";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration leaseTtl;
+
+    public CacheLoadLease(StringRedisTemplate redisTemplate, Duration leaseTtl) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Try to take the lease for a flight key.
+     *
+     * @param flightKey cacheName::key
+     * @return Token to release the lease with, or null if another node holds it
+     */
+    public String tryAcquire(String flightKey) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + flightKey, token, leaseTtl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException e) {
+            log.warn("Cache load lease unavailable for {}: {}", flightKey, e.getMessage());
+            return LOCAL_TOKEN;
+        }
+    }
+
+    /**
+     * Whether any node currently holds the lease for a flight key.
+     */
+    public boolean isHeld(String flightKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + flightKey));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Release a lease taken with tryAcquire, if it is still ours.
+     */
+    public void release(String flightKey, String token) {
+        if (LOCAL_TOKEN.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + flightKey), token);
+        } catch (RuntimeException e) {
+            // Expires on its own after the lease TTL
+            log.warn("Failed to release cache load lease for {}: {}", flightKey, e.getMessage());
+        }
+    }
+}
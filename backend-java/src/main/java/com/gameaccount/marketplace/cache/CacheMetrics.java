@@ -0,0 +1,267 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.cache.TaggedCacheManager.CacheStatistics;
+import com.gameaccount.marketplace.cache.TaggedCacheManager.TaggedCache;
+import com.gameaccount.marketplace.cache.TwoLevelCacheManager.LevelStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-cache metrics for every backend: hits, misses, puts, evictions and load time (counted by
+ * TaggedCacheManager), entry counts, Redis payload bytes (CachePayloadStats), near-cache levels
+ * (TwoLevelCacheManager) and Redis-side statistics.
+ *
+ * Published to Micrometer as the standard cache.* meters plus load, payload and level meters (see
+ * TaggedCacheMeterBinder), and as a JSON report for /api/admin/cache. Entry counts come from the
+ * store: Caffeine and in-memory sizes directly, Redis by a SCAN over the cache's key prefix that
+ * runs every cache.metrics.refresh-interval-ms, never on a scrape. Caches created after startup
+ * are bound to the registry on the same schedule.
+ */
+@Component
+@Slf4j
+public class CacheMetrics implements MeterBinder {
+
+    private final CacheManager cacheManager;
+    private final CachePayloadStats payloadStats;
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+    private final Map<String, Long> redisEntryCounts = new ConcurrentHashMap<>();
+    private final Set<String> boundCaches = ConcurrentHashMap.newKeySet();
+    private volatile MeterRegistry registry;
+
+    public CacheMetrics(CacheManager cacheManager, CachePayloadStats payloadStats,
+                        ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        this.cacheManager = cacheManager;
+        this.payloadStats = payloadStats;
+        this.redisConnectionFactory = redisConnectionFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        bindNewCaches();
+    }
+
+    /**
+     * Bind caches created since the last run and recount Redis entries.
+     */
+    @Scheduled(fixedDelayString = "${cache.metrics.refresh-interval-ms:60000}")
+    public void refresh() {
+        bindNewCaches();
+        refreshRedisEntryCounts();
+    }
+
+    /**
+     * Current metrics of every cache, ordered by cache name.
+     */
+    public List<CacheReport> report() {
+        List<CacheReport> reports = new ArrayList<>();
+        if (!(cacheManager instanceof TaggedCacheManager taggedCacheManager)) {
+            return reports;
+        }
+        Map<String, CacheStatistics> statistics = taggedCacheManager.getStatistics();
+        Set<String> names = new TreeSet<>(cacheManager.getCacheNames());
+        names.addAll(statistics.keySet());
+        for (String name : names) {
+            CacheStatistics stats = statistics.getOrDefault(name, new CacheStatistics(0, 0, 0, 0, 0, 0, 0, 0));
+            CachePayloadStats.Payload payload = payloadStats.get(name);
+            LevelStatistics levels = levelStatistics(name);
+            Cache store = storeCache(name);
+            org.springframework.data.redis.cache.CacheStatistics redisStats =
+                    store instanceof RedisCache redisCache ? redisCache.getStatistics() : null;
+
+            reports.add(CacheReport.builder()
+                    .name(name)
+                    .store(storeType(store, levels))
+                    .hits(stats.getHits())
+                    .misses(stats.getMisses())
+                    .hitRate(stats.getHitRate())
+                    .puts(stats.getPuts())
+                    .evictions(stats.getEvictions())
+                    .tagEvictions(stats.getTagEvictions())
+                    .storeEvictions(storeEvictions(name))
+                    .loads(stats.getLoads())
+                    .loadFailures(stats.getLoadFailures())
+                    .averageLoadTimeMs(stats.getAverageLoadTimeMs())
+                    .entries(entryCount(name))
+                    .payloadWrites(payload.getWrites())
+                    .payloadBytesWritten(payload.getBytesWritten())
+                    .payloadBytesRead(payload.getBytesRead())
+                    .averagePayloadBytes(payload.getAverageBytes())
+                    .l1Hits(levels != null ? levels.getL1Hits() : null)
+                    .l1Misses(levels != null ? levels.getL1Misses() : null)
+                    .l1HitRate(levels != null ? levels.getL1HitRate() : null)
+                    .l1Entries(levels != null ? levels.getL1Size() : null)
+                    .redisHits(redisStats != null ? redisStats.getHits() : null)
+                    .redisMisses(redisStats != null ? redisStats.getMisses() : null)
+                    .redisPuts(redisStats != null ? redisStats.getPuts() : null)
+                    .redisDeletes(redisStats != null ? redisStats.getDeletes() : null)
+                    .build());
+        }
+        return reports;
+    }
+
+    /**
+     * Number of entries in the backing store, or null if the store cannot tell (yet).
+     * Near-cached caches report the shared (Redis) level.
+     */
+    Long entryCount(String cacheName) {
+        Cache store = storeCache(cacheName);
+        if (store == null) {
+            return null;
+        }
+        if (store instanceof RedisCache) {
+            return redisEntryCounts.get(cacheName);
+        }
+        Object nativeCache = store.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return caffeineCache.estimatedSize();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return (long) map.size();
+        }
+        return null;
+    }
+
+    /**
+     * Entries the store dropped on its own (size or expiry); only Caffeine reports these.
+     */
+    long storeEvictions(String cacheName) {
+        Cache store = storeCache(cacheName);
+        if (store != null && store.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return caffeineCache.stats().evictionCount();
+        }
+        return 0L;
+    }
+
+    LevelStatistics levelStatistics(String cacheName) {
+        if (cacheManager instanceof TaggedCacheManager taggedCacheManager
+                && taggedCacheManager.getDelegate() instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            return twoLevelCacheManager.getLevelStatistics(cacheName);
+        }
+        return null;
+    }
+
+    CachePayloadStats.Payload payload(String cacheName) {
+        return payloadStats.get(cacheName);
+    }
+
+    private void bindNewCaches() {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null || !(cacheManager instanceof TaggedCacheManager taggedCacheManager)) {
+            return;
+        }
+        for (String name : cacheManager.getCacheNames()) {
+            if (boundCaches.contains(name)) {
+                continue;
+            }
+            if (taggedCacheManager.getCache(name) instanceof TaggedCache cache && boundCaches.add(name)) {
+                new TaggedCacheMeterBinder(cache, Tags.of("cache.manager", "cacheManager"), this).bindTo(meterRegistry);
+                log.debug("Bound cache [{}] to {}", name, meterRegistry.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private void refreshRedisEntryCounts() {
+        RedisConnectionFactory factory = redisConnectionFactory.getIfAvailable();
+        if (factory == null) {
+            return;
+        }
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(storeCache(name) instanceof RedisCache redisCache)) {
+                continue;
+            }
+            String pattern = redisCache.getCacheConfiguration().getKeyPrefixFor(name) + "*";
+            ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+            try (RedisConnection connection = factory.getConnection();
+                 Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                long count = 0;
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    count++;
+                }
+                redisEntryCounts.put(name, count);
+            } catch (RuntimeException e) {
+                log.warn("Could not count Redis entries of cache [{}] ({}): {}", name, pattern, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cache holding the entries: the Redis cache behind a near-cache, otherwise the decorated store.
+     */
+    private Cache storeCache(String cacheName) {
+        if (!(cacheManager instanceof TaggedCacheManager taggedCacheManager)) {
+            return null;
+        }
+        CacheManager delegate = taggedCacheManager.getDelegate();
+        if (delegate instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            return twoLevelCacheManager.getL2CacheManager().getCache(cacheName);
+        }
+        return delegate.getCache(cacheName);
+    }
+
+    private static String storeType(Cache store, LevelStatistics levels) {
+        if (store instanceof RedisCache) {
+            return levels != null ? "redis+caffeine-l1" : "redis";
+        }
+        if (store != null && store.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>) {
+            return "caffeine";
+        }
+        return store != null ? "in-memory" : "unknown";
+    }
+
+    /**
+     * Metrics of one cache. Level and Redis fields are null when the cache has no near-cache or
+     * is not stored in Redis; entries is null until the store can report it.
+     */
+    @Getter
+    @Builder
+    public static class CacheReport {
+        private final String name;
+        private final String store;
+        private final long hits;
+        private final long misses;
+        private final double hitRate;
+        private final long puts;
+        private final long evictions;
+        private final long tagEvictions;
+        private final long storeEvictions;
+        private final long loads;
+        private final long loadFailures;
+        private final double averageLoadTimeMs;
+        private final Long entries;
+        private final long payloadWrites;
+        private final long payloadBytesWritten;
+        private final long payloadBytesRead;
+        private final double averagePayloadBytes;
+        private final Long l1Hits;
+        private final Long l1Misses;
+        private final Double l1HitRate;
+        private final Long l1Entries;
+        private final Long redisHits;
+        private final Long redisMisses;
+        private final Long redisPuts;
+        private final Long redisDeletes;
+    }
+}
@@ -11,7 +11,8 @@ import java.util.List;
 /**
  * Cache metrics logger for monitoring cache performance.
  * Logs cache statistics (hits, misses, hit rate) every 5 minutes.
- * Works with RedisCacheManager when statistics are enabled.
+ * Per-cache counters come from TaggedCacheManager, whatever the backing store; the full set
+ * (entries, payload bytes, Redis statistics) is published by CacheMetrics.
  */
 @Component
 @Slf4j
@@ -43,7 +44,7 @@ public class CacheMetricsLogger {
      * Log cache statistics every 5 minutes.
      * Outputs hits, misses, and hit rate for each cache (where available).
      * Format: "Cache [name] - Hits: X, Misses: Y, Hit Rate: Z%"
-     * NOTE: Redis statistics require Micrometer integration; Caffeine provides built-in stats.
+     * NOTE: Redis and Caffeine statistics must be enabled on their stores (see CacheConfig).
      */
     @Scheduled(fixedRate = 300000) // Every 5 minutes
     public void logCacheStatistics() {
@@ -56,7 +57,9 @@ public class CacheMetricsLogger {
 
         try {
             // Check if CacheManager supports statistics
-            if (cacheManager instanceof org.springframework.data.redis.cache.RedisCacheManager redisCacheManager) {
+            if (cacheManager instanceof TaggedCacheManager taggedCacheManager) {
+                logTaggedStatistics(taggedCacheManager);
+            } else if (cacheManager instanceof org.springframework.data.redis.cache.RedisCacheManager redisCacheManager) {
                 logCacheManagerStatistics(redisCacheManager);
             } else if (cacheManager instanceof org.springframework.cache.caffeine.CaffeineCacheManager caffeineCacheManager) {
                 logCaffeineStatistics(caffeineCacheManager);
@@ -72,28 +75,52 @@ public class CacheMetricsLogger {
         log.info("=======================");
     }
 
+    /**
+     * Log per-cache hit rate counted by TaggedCacheManager (works for every backing store)
+     */
+    private void logTaggedStatistics(TaggedCacheManager taggedCacheManager) {
+        var statistics = taggedCacheManager.getStatistics();
+
+        statistics.forEach((cacheName, stats) ->
+                log.info("Cache [{}] - Hits: {}, Misses: {}, Hit Rate: {}%, Puts: {}, Evictions: {}, Tag Evictions: {}, Loads: {}, Avg Load: {}ms",
+                        cacheName, stats.getHits(), stats.getMisses(),
+                        String.format("%.2f", stats.getHitRate() * 100), stats.getPuts(), stats.getEvictions(),
+                        stats.getTagEvictions(), stats.getLoads(), String.format("%.2f", stats.getAverageLoadTimeMs())));
+
+        if (taggedCacheManager.getDelegate() instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            twoLevelCacheManager.getLevelStatistics().forEach((cacheName, stats) ->
+                    log.info("Cache [{}] - L1 Hits: {}, L1 Misses: {}, L1 Hit Rate: {}%, L2 Hits: {}, L2 Misses: {}, L1 Size: {}",
+                            cacheName, stats.getL1Hits(), stats.getL1Misses(),
+                            String.format("%.2f", stats.getL1HitRate() * 100),
+                            stats.getL2Hits(), stats.getL2Misses(), stats.getL1Size()));
+        }
+
+        log.info("Total caches managed: {} ({})", taggedCacheManager.getCacheNames().size(),
+                taggedCacheManager.getDelegate().getClass().getSimpleName());
+    }
+
     /**
      * Log statistics for RedisCacheManager
-     * NOTE: Redis statistics are tracked but require Micrometer or custom instrumentation
-     * to expose hit/miss counts. This logs the cache names and TTL configuration.
+     * Counts come from the cache writer statistics (enableStatistics() in CacheConfig);
+     * they are all zero when statistics are not enabled on the manager.
      */
     private void logCacheManagerStatistics(org.springframework.data.redis.cache.RedisCacheManager redisCacheManager) {
-        // Get cache names
         var cacheNames = redisCacheManager.getCacheNames();
 
         for (String cacheName : cacheNames) {
             var cache = redisCacheManager.getCache(cacheName);
-            if (cache != null) {
-                var nativeCache = cache.getNativeCache();
-
-                // RedisCache statistics require Micrometer metrics integration
-                // Log cache existence and type - use Redis CLI or monitoring tools for detailed stats
-                log.info("Cache [{}] - Type: Redis, TTL: Configured in CacheConfig", cacheName);
+            if (cache instanceof org.springframework.data.redis.cache.RedisCache redisCache) {
+                var stats = redisCache.getStatistics();
+                long retrievals = stats.getHits() + stats.getMisses();
+                double hitRate = retrievals == 0 ? 0.0 : (double) stats.getHits() / retrievals;
+
+                log.info("Cache [{}] - Hits: {}, Misses: {}, Hit Rate: {}%, Puts: {}, Deletes: {}",
+                        cacheName, stats.getHits(), stats.getMisses(), String.format("%.2f", hitRate * 100),
+                        stats.getPuts(), stats.getDeletes());
             }
         }
 
         log.info("Total caches managed: {}", cacheNames.size());
-        log.info("Redis Statistics: Use 'redis-cli INFO STATS' or monitoring tools for hit/miss rates");
     }
 
     /**
@@ -112,8 +139,8 @@ public class CacheMetricsLogger {
                     long misses = stats.missCount();
                     double hitRate = stats.hitRate();
 
-                    log.info("Cache [{}] - Hits: {}, Misses: {}, Hit Rate: {:.2f}%",
-                            cacheName, hits, misses, hitRate * 100);
+                    log.info("Cache [{}] - Hits: {}, Misses: {}, Hit Rate: {}%, Evictions: {}",
+                            cacheName, hits, misses, String.format("%.2f", hitRate * 100), stats.evictionCount());
                 }
             }
         }
@@ -0,0 +1,93 @@
+package com.gameaccount.marketplace.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialized payload sizes of Redis cache values, per cache.
+ * CacheConfig wraps each cache's value serializer with measure(), so every value written to or
+ * read from Redis is counted with its encoded size. Local stores (Caffeine, in-memory) keep
+ * object references and have no payload.
+ */
+@Component
+public class CachePayloadStats {
+
+    private final Map<String, Counters> countersByCache = new ConcurrentHashMap<>();
+
+    /**
+     * Serializer that records the encoded size of every value of the cache.
+     *
+     * @param cacheName Cache name
+     * @param serializer Actual value serializer
+     * @return Measuring serializer
+     */
+    public RedisSerializer<Object> measure(String cacheName, RedisSerializer<Object> serializer) {
+        Counters counters = counters(cacheName);
+        return new RedisSerializer<>() {
+            @Override
+            public byte[] serialize(Object value) throws SerializationException {
+                byte[] bytes = serializer.serialize(value);
+                if (bytes != null) {
+                    counters.writes.increment();
+                    counters.bytesWritten.add(bytes.length);
+                }
+                return bytes;
+            }
+
+            @Override
+            public Object deserialize(byte[] bytes) throws SerializationException {
+                if (bytes != null) {
+                    counters.reads.increment();
+                    counters.bytesRead.add(bytes.length);
+                }
+                return serializer.deserialize(bytes);
+            }
+        };
+    }
+
+    /**
+     * Payload counters of a cache (all zero if nothing of it went through a measured serializer).
+     */
+    public Payload get(String cacheName) {
+        Counters counters = countersByCache.get(cacheName);
+        if (counters == null) {
+            return new Payload(0, 0, 0, 0);
+        }
+        return new Payload(counters.writes.sum(), counters.bytesWritten.sum(),
+                counters.reads.sum(), counters.bytesRead.sum());
+    }
+
+    private Counters counters(String cacheName) {
+        return countersByCache.computeIfAbsent(cacheName, name -> new Counters());
+    }
+
+    private static class Counters {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+    }
+
+    /**
+     * Snapshot of one cache's payload counters.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Payload {
+        private final long writes;
+        private final long bytesWritten;
+        private final long reads;
+        private final long bytesRead;
+
+        public double getAverageBytes() {
+            return writes == 0 ? 0.0 : (double) bytesWritten / writes;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gameaccount.marketplace.cache;
+
+/**
+ * Recomputes entries of one cache for RefreshAhead.
+ *
+ * Refreshes run on a background executor, outside the request that hit the entry: there is no
+ * SecurityContext and no request scope. An implementation must therefore load with the
+ * application's own permissions (repositories or unsecured service methods, never a
+ * {@code @PreAuthorize} method) and return what the cache's {@code @Cacheable} method returns
+ * for the key.
+ */
+public interface CacheRefresher {
+
+    /**
+     * Name of the cache this refresher recomputes.
+     */
+    String getCacheName();
+
+    /**
+     * Load a fresh value for the key.
+     *
+     * @param key Cache key of the entry being refreshed
+     * @return Fresh value, or null to keep the current entry
+     * @throws Exception if loading fails (the current entry stays until its store TTL)
+     */
+    Object reload(Object key) throws Exception;
+}
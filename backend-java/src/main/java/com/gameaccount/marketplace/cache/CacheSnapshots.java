@@ -0,0 +1,343 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import org.hibernate.Hibernate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flat snapshots of the cached entities, written field by field by BinaryCacheCodec.
+ *
+ * A snapshot holds what cached reads use and nothing of the entity graph: an account carries its
+ * game and seller, a game never carries its accounts, and neither the seller's password hash nor
+ * the account's encrypted credentials are written (both are only ever read from the database).
+ * Associations that were never loaded are not initialized for the snapshot: an uninitialized
+ * seller is kept as its id only, uninitialized images as an empty list.
+ */
+final class CacheSnapshots {
+
+    private CacheSnapshots() {
+    }
+
+    record UserSnapshot(Long id, String email, String fullName, String avatar, User.Role role,
+                        User.UserStatus status, Double balance, Double rating, Integer totalReviews,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static UserSnapshot of(User user) {
+            return new UserSnapshot(user.getId(), user.getEmail(), user.getFullName(), user.getAvatar(),
+                    user.getRole(), user.getStatus(), user.getBalance(), user.getRating(), user.getTotalReviews(),
+                    user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        User toEntity() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .fullName(fullName)
+                    .avatar(avatar)
+                    .role(role)
+                    .status(status)
+                    .balance(balance)
+                    .rating(rating)
+                    .totalReviews(totalReviews)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+
+        void write(DataOutput out) throws IOException {
+            writeLong(out, id);
+            writeString(out, email);
+            writeString(out, fullName);
+            writeString(out, avatar);
+            writeEnum(out, role);
+            writeEnum(out, status);
+            writeDouble(out, balance);
+            writeDouble(out, rating);
+            writeInt(out, totalReviews);
+            writeTime(out, createdAt);
+            writeTime(out, updatedAt);
+        }
+
+        static UserSnapshot read(DataInput in) throws IOException {
+            return new UserSnapshot(readLong(in), readString(in), readString(in), readString(in),
+                    readEnum(in, User.Role.values()), readEnum(in, User.UserStatus.values()),
+                    readDouble(in), readDouble(in), readInt(in), readTime(in), readTime(in));
+        }
+    }
+
+    record GameSnapshot(Long id, String name, String slug, String description, String iconUrl,
+                        Integer accountCount, LocalDateTime createdAt) {
+
+        static GameSnapshot of(Game game) {
+            return new GameSnapshot(game.getId(), game.getName(), game.getSlug(), game.getDescription(),
+                    game.getIconUrl(), game.getAccountCount(), game.getCreatedAt());
+        }
+
+        Game toEntity() {
+            return Game.builder()
+                    .id(id)
+                    .name(name)
+                    .slug(slug)
+                    .description(description)
+                    .iconUrl(iconUrl)
+                    .accountCount(accountCount)
+                    .createdAt(createdAt)
+                    .build();
+        }
+
+        void write(DataOutput out) throws IOException {
+            writeLong(out, id);
+            writeString(out, name);
+            writeString(out, slug);
+            writeString(out, description);
+            writeString(out, iconUrl);
+            writeInt(out, accountCount);
+            writeTime(out, createdAt);
+        }
+
+        static GameSnapshot read(DataInput in) throws IOException {
+            return new GameSnapshot(readLong(in), readString(in), readString(in), readString(in), readString(in),
+                    readInt(in), readTime(in));
+        }
+    }
+
+    /**
+     * Account with its game and seller inlined (either may be null). sellerId/gameId are kept
+     * separately because they are set even when the association itself was not loaded.
+     */
+    record AccountSnapshot(Long id, Long sellerId, UserSnapshot seller, Long gameId, GameSnapshot game,
+                           String title, String description, Integer level, String rank, Double price,
+                           AccountStatus status, Integer viewsCount, boolean featured,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, List<String> images) {
+
+        static AccountSnapshot of(Account account) {
+            User seller = account.getSeller();
+            Game game = account.getGame();
+            Long sellerId = account.getSellerId();
+            if (sellerId == null && seller != null) {
+                // The id of an uninitialized proxy is available without loading it
+                sellerId = seller.getId();
+            }
+            Long gameId = account.getGameId() != null ? account.getGameId() : game != null ? game.getId() : null;
+            List<String> images = account.getImages() != null && Hibernate.isInitialized(account.getImages())
+                    ? account.getImages()
+                    : List.of();
+            return new AccountSnapshot(account.getId(), sellerId,
+                    seller != null && Hibernate.isInitialized(seller) ? UserSnapshot.of(seller) : null,
+                    gameId,
+                    game != null && Hibernate.isInitialized(game) ? GameSnapshot.of(game) : null,
+                    account.getTitle(), account.getDescription(), account.getLevel(), account.getRank(),
+                    account.getPrice(), account.getStatus(), account.getViewsCount(), account.isFeatured(),
+                    account.getCreatedAt(), account.getUpdatedAt(), images);
+        }
+
+        Account toEntity() {
+            User sellerEntity = seller != null
+                    ? seller.toEntity()
+                    : sellerId != null ? User.builder().id(sellerId).build() : null;
+            Game gameEntity = game != null
+                    ? game.toEntity()
+                    : gameId != null ? Game.builder().id(gameId).build() : null;
+            return Account.builder()
+                    .id(id)
+                    .sellerId(sellerId)
+                    .seller(sellerEntity)
+                    .gameId(gameId)
+                    .game(gameEntity)
+                    .title(title)
+                    .description(description)
+                    .level(level)
+                    .rank(rank)
+                    .price(price)
+                    .status(status)
+                    .viewsCount(viewsCount)
+                    .isFeatured(featured)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .images(new ArrayList<>(images))
+                    .build();
+        }
+
+        void write(DataOutput out) throws IOException {
+            writeLong(out, id);
+            writeLong(out, sellerId);
+            out.writeBoolean(seller != null);
+            if (seller != null) {
+                seller.write(out);
+            }
+            writeLong(out, gameId);
+            out.writeBoolean(game != null);
+            if (game != null) {
+                game.write(out);
+            }
+            writeString(out, title);
+            writeString(out, description);
+            writeInt(out, level);
+            writeString(out, rank);
+            writeDouble(out, price);
+            writeEnum(out, status);
+            writeInt(out, viewsCount);
+            out.writeBoolean(featured);
+            writeTime(out, createdAt);
+            writeTime(out, updatedAt);
+            writeVarInt(out, images.size());
+            for (String image : images) {
+                writeString(out, image);
+            }
+        }
+
+        static AccountSnapshot read(DataInput in) throws IOException {
+            Long id = readLong(in);
+            Long sellerId = readLong(in);
+            UserSnapshot seller = in.readBoolean() ? UserSnapshot.read(in) : null;
+            Long gameId = readLong(in);
+            GameSnapshot game = in.readBoolean() ? GameSnapshot.read(in) : null;
+            String title = readString(in);
+            String description = readString(in);
+            Integer level = readInt(in);
+            String rank = readString(in);
+            Double price = readDouble(in);
+            AccountStatus status = readEnum(in, AccountStatus.values());
+            Integer viewsCount = readInt(in);
+            boolean featured = in.readBoolean();
+            LocalDateTime createdAt = readTime(in);
+            LocalDateTime updatedAt = readTime(in);
+            int imageCount = readVarInt(in);
+            List<String> images = new ArrayList<>(imageCount);
+            for (int i = 0; i < imageCount; i++) {
+                images.add(readString(in));
+            }
+            return new AccountSnapshot(id, sellerId, seller, gameId, game, title, description, level, rank, price,
+                    status, viewsCount, featured, createdAt, updatedAt, images);
+        }
+    }
+
+    // Field encodings. Nullable values are prefixed with a presence flag; lengths, counts and
+    // enum ordinals are unsigned varints; ids and ints are zigzag varints.
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static void writeZigZag(DataOutput out, long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readZigZag(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeZigZag(out, value);
+        }
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? readZigZag(in) : null;
+    }
+
+    private static void writeInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeZigZag(out, value);
+        }
+    }
+
+    private static Integer readInt(DataInput in) throws IOException {
+        return in.readBoolean() ? (int) readZigZag(in) : null;
+    }
+
+    private static void writeDouble(DataOutput out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        writeVarInt(out, value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        int ordinal = readVarInt(in) - 1;
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeZigZag(out, value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(out, value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = readZigZag(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(in), ZoneOffset.UTC);
+    }
+}
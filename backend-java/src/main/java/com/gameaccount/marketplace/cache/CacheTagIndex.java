@@ -0,0 +1,211 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tag index for targeted cache invalidation.
+ * Every cache write records the entry's CacheDependencies (accounts, game, status); when a listing
+ * changes, only the entries whose dependencies match the change are evicted, instead of clearing
+ * whole caches. Entries are indexed by account id and by game, so an invalidation only inspects
+ * entries of the changed listing's game plus the all-games entries.
+ *
+ * Tags are tracked per application instance for the entries it wrote; with Redis, listing changes
+ * are also broadcast on the CacheInvalidationBus so every node evicts the shared entries it
+ * registered. Registrations are pruned after cache.tags.retention-ms, which must be at least the
+ * longest cache TTL.
+ */
+@Component
+@Slf4j
+public class CacheTagIndex implements CacheInvalidationBus.Listener {
+
+    private record EntryRef(String cacheName, Object key) {
+    }
+
+    private record Registration(Cache cache, CacheDependencies dependencies, long registeredAt) {
+    }
+
+    private final Map<EntryRef, Registration> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<EntryRef>> byAccount = new ConcurrentHashMap<>();
+    private final Map<Long, Set<EntryRef>> byGame = new ConcurrentHashMap<>();
+    private final Set<EntryRef> allGames = ConcurrentHashMap.newKeySet();
+    private final Map<String, LongAdder> evictionsByCache = new ConcurrentHashMap<>();
+
+    @Value("${cache.tags.retention-ms:3600000}")
+    private long retentionMs = 3600000L;
+
+    private CacheInvalidationBus invalidationBus;
+
+    /**
+     * Broadcast local listing changes to other nodes and apply theirs (Redis deployments).
+     */
+    public void setInvalidationBus(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.addListener(this);
+    }
+
+    /**
+     * Record what a freshly written entry depends on (replaces any previous registration).
+     *
+     * @param cache Cache holding the entry (used to evict it)
+     * @param key Cache key
+     * @param dependencies Dependencies of the cached value; empty dependencies are not recorded
+     */
+    public void register(Cache cache, Object key, CacheDependencies dependencies) {
+        EntryRef ref = new EntryRef(cache.getName(), key);
+        unregister(ref);
+        if (dependencies == null || dependencies.isEmpty()) {
+            return;
+        }
+
+        entries.put(ref, new Registration(cache, dependencies, System.currentTimeMillis()));
+        for (Long accountId : dependencies.getAccountIds()) {
+            byAccount.computeIfAbsent(accountId, id -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+        if (dependencies.isScoped()) {
+            if (dependencies.getGameId() == null) {
+                allGames.add(ref);
+            } else {
+                byGame.computeIfAbsent(dependencies.getGameId(), id -> ConcurrentHashMap.newKeySet()).add(ref);
+            }
+        }
+    }
+
+    /**
+     * Forget an entry that was evicted or overwritten outside the index.
+     */
+    public void unregister(String cacheName, Object key) {
+        unregister(new EntryRef(cacheName, key));
+    }
+
+    /**
+     * Forget all entries of a cache that was cleared.
+     */
+    public void unregisterAll(String cacheName) {
+        entries.keySet().stream()
+                .filter(ref -> ref.cacheName().equals(cacheName))
+                .toList()
+                .forEach(this::unregister);
+    }
+
+    /**
+     * Evict the entries a committed listing change affects, and let other nodes evict theirs.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        int evicted = invalidate(event);
+        log.debug("Evicted {} cache entries for {}", evicted, event);
+        if (invalidationBus != null) {
+            invalidationBus.publishAccountChanged(event);
+        }
+    }
+
+    /**
+     * A listing changed on another node: evict the shared entries this node registered.
+     */
+    @Override
+    public void onRemoteAccountChanged(AccountChangedEvent event) {
+        int evicted = invalidate(event);
+        log.debug("Evicted {} cache entries for remote {}", evicted, event);
+    }
+
+    /**
+     * Evict all registered entries whose dependencies match the change.
+     *
+     * @return Number of evicted entries
+     */
+    public int invalidate(AccountChangedEvent event) {
+        Set<EntryRef> candidates = new HashSet<>(byAccount.getOrDefault(event.getAccountId(), Set.of()));
+        if (event.getGameId() == null) {
+            // Game unknown: every scoped entry may be affected
+            entries.forEach((ref, registration) -> {
+                if (registration.dependencies().isScoped()) {
+                    candidates.add(ref);
+                }
+            });
+        } else {
+            candidates.addAll(byGame.getOrDefault(event.getGameId(), Set.of()));
+            candidates.addAll(allGames);
+        }
+
+        int evicted = 0;
+        for (EntryRef ref : candidates) {
+            Registration registration = entries.get(ref);
+            if (registration != null && registration.dependencies().matches(event)) {
+                unregister(ref);
+                registration.cache().evict(ref.key());
+                evictionsByCache.computeIfAbsent(ref.cacheName(), name -> new LongAdder()).increment();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Number of entries evicted by tag invalidation, per cache name.
+     */
+    public long getEvictionCount(String cacheName) {
+        LongAdder evictions = evictionsByCache.get(cacheName);
+        return evictions != null ? evictions.sum() : 0L;
+    }
+
+    /**
+     * Number of entries currently tracked.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop registrations old enough that their entries have expired from the cache.
+     */
+    @Scheduled(fixedDelayString = "${cache.tags.prune-interval-ms:300000}")
+    public void pruneExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        List<EntryRef> expired = entries.entrySet().stream()
+                .filter(entry -> entry.getValue().registeredAt() < cutoff)
+                .map(Map.Entry::getKey)
+                .toList();
+        expired.forEach(this::unregister);
+        if (!expired.isEmpty()) {
+            log.debug("Pruned {} expired cache tag registrations", expired.size());
+        }
+    }
+
+    private void unregister(EntryRef ref) {
+        Registration registration = entries.remove(ref);
+        if (registration == null) {
+            return;
+        }
+        CacheDependencies dependencies = registration.dependencies();
+        for (Long accountId : dependencies.getAccountIds()) {
+            removeFrom(byAccount, accountId, ref);
+        }
+        if (dependencies.isScoped()) {
+            if (dependencies.getGameId() == null) {
+                allGames.remove(ref);
+            } else {
+                removeFrom(byGame, dependencies.getGameId(), ref);
+            }
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<EntryRef>> index, Long id, EntryRef ref) {
+        index.computeIfPresent(id, (key, refs) -> {
+            refs.remove(ref);
+            return refs.isEmpty() ? null : refs;
+        });
+    }
+}
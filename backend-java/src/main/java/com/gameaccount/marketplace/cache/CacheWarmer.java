@@ -54,15 +54,12 @@ public class CacheWarmer {
         warmedCount.set(0);
 
         try {
-            // Warm games cache (1-hour TTL, rarely changes)
+            // Games live in the in-memory GameCatalog; make sure it is loaded
             warmGamesCache();
 
-            // Warm featured accounts cache (5-minute TTL)
+            // Warm featured accounts cache (refreshed ahead of expiry)
             warmFeaturedAccountsCache();
 
-            // Warm popular accounts cache (5-minute TTL)
-            warmPopularAccountsCache();
-
             log.info("=== Cache Warming Complete ===");
             log.info("Total caches warmed: {}", warmedCount.get());
             if (cacheManager != null) {
@@ -76,16 +73,16 @@ public class CacheWarmer {
     }
 
     /**
-     * Warm games cache by calling getAllGames()
+     * Warm the game catalog by calling getAllGames() (loads it unless already loaded)
      */
     private void warmGamesCache() {
         try {
-            log.info("Warming games cache...");
+            log.info("Warming game catalog...");
             var games = gameService.getAllGames();
-            log.info("✓ Warmed games cache with {} entries", games.size());
+            log.info("✓ Warmed game catalog with {} entries", games.size());
             warmedCount.incrementAndGet();
         } catch (Exception e) {
-            log.warn("Failed to warm games cache: {}", e.getMessage());
+            log.warn("Failed to warm game catalog: {}", e.getMessage());
         }
     }
 
@@ -103,20 +100,6 @@ public class CacheWarmer {
         }
     }
 
-    /**
-     * Warm popular accounts cache by calling getPopularAccounts()
-     */
-    private void warmPopularAccountsCache() {
-        try {
-            log.info("Warming popular accounts cache...");
-            var popularAccounts = accountService.getPopularAccounts();
-            log.info("✓ Warmed popular accounts cache with {} entries", popularAccounts.size());
-            warmedCount.incrementAndGet();
-        } catch (Exception e) {
-            log.warn("Failed to warm popular accounts cache: {}", e.getMessage());
-        }
-    }
-
     /**
      * Get count of caches warmed during startup
      *
@@ -0,0 +1,26 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refresh-ahead loader of the "featured" cache (single key "featured-accounts").
+ * Public data: reloads through AccountService.loadFeaturedAccounts, which needs no caller.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeaturedAccountsRefresher implements CacheRefresher {
+
+    private final AccountService accountService;
+
+    @Override
+    public String getCacheName() {
+        return "featured";
+    }
+
+    @Override
+    public Object reload(Object key) {
+        return accountService.loadFeaturedAccounts();
+    }
+}
@@ -0,0 +1,106 @@
+package com.gameaccount.marketplace.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes on a RedisCache: one MGET for many keys, and one pipeline of
+ * SET ... PX for many entries, using the cache's own key prefix, value serializer and TTL.
+ * RedisCache itself only offers single-key operations.
+ *
+ * Keys are converted with String.valueOf, which matches RedisCache's own conversion for the
+ * simple keys (ids, strings) this is used with.
+ */
+public class RedisCacheBulkOperations {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisCacheBulkOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Read many keys with one MGET.
+     *
+     * @param cache Redis cache
+     * @param keys Cache keys
+     * @return Values of the keys present in Redis
+     */
+    public Map<Object, Object> getAll(RedisCache cache, Collection<?> keys) {
+        Map<Object, Object> values = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = keyList.stream().map(key -> rawKey(cache, key)).toArray(byte[][]::new);
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        if (rawValues == null) {
+            return values;
+        }
+        for (int i = 0; i < keyList.size() && i < rawValues.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue != null && rawValue.length > 0) {
+                Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+                if (value != null) {
+                    values.put(keyList.get(i), value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Write many entries in one pipeline, each with the cache's TTL.
+     *
+     * @param cache Redis cache
+     * @param entries Keys and values (null values are skipped)
+     */
+    public void putAll(RedisCache cache, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    if (value == null) {
+                        return;
+                    }
+                    byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                    Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                            ? Expiration.from(ttl)
+                            : Expiration.persistent();
+                    connection.stringCommands().set(rawKey(cache, key), rawValue, expiration, SetOption.upsert());
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    private static byte[] rawKey(RedisCache cache, Object key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String redisKey = config.getKeyPrefixFor(cache.getName()) + key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(redisKey));
+    }
+}
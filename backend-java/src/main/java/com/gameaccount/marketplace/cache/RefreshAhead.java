@@ -0,0 +1,191 @@
+package com.gameaccount.marketplace.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Refresh-ahead for hot cache entries (XFetch-style probabilistic early recomputation).
+ * For caches in cache.refresh-ahead.cache-names, each load records how long it took (delta) and
+ * when the entry logically expires (load time + cache.refresh-ahead.ttl-ms). Every hit then
+ * recomputes early with probability rising towards expiry:
+ *
+ * <pre>
+ *   now - delta * beta * ln(random) >= expiry
+ * </pre>
+ *
+ * so expensive entries start refreshing sooner, and under load exactly one request tends to
+ * trigger the refresh well before expiry. The refresh runs in the background while hits keep
+ * getting the old value; at most one refresh per key runs on a node at a time.
+ *
+ * The logical TTL must be shorter than the store TTL of these caches, so a refreshed value is in
+ * place before the store drops the old one.
+ *
+ * Values are recomputed by the CacheRefresher bean registered for the cache, never by the loader
+ * of the request that hit the entry: the refresh runs on the cacheRefreshExecutor pool, without
+ * that request's SecurityContext or request scope.
+ */
+@Component
+@Slf4j
+public class RefreshAhead {
+
+    /**
+     * Load time and logical expiry of one entry.
+     */
+    record Entry(long expiresAt, long deltaMs) {
+    }
+
+    @Value("${cache.refresh-ahead.cache-names:featured}")
+    private Set<String> cacheNames = Set.of("featured");
+
+    @Value("${cache.refresh-ahead.ttl-ms:300000}")
+    private long ttlMs = 300000L;
+
+    @Value("${cache.refresh-ahead.beta:1.0}")
+    private double beta = 1.0;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+
+    private final TaskExecutor executor;
+    private final ObjectProvider<CacheRefresher> refresherProvider;
+    private volatile Map<String, CacheRefresher> refreshers;
+
+    private DoubleSupplier random = () -> 1.0 - ThreadLocalRandom.current().nextDouble();
+
+    /**
+     * @param executor Spring-managed pool the refreshes run on
+     * @param refresherProvider CacheRefresher beans, resolved on the first refresh (they usually
+     *                          depend on services that depend on the cache manager)
+     */
+    public RefreshAhead(@Qualifier("cacheRefreshExecutor") TaskExecutor executor,
+                        ObjectProvider<CacheRefresher> refresherProvider) {
+        this.executor = executor;
+        this.refresherProvider = refresherProvider;
+    }
+
+    public boolean isEnabled(String cacheName) {
+        return cacheNames.contains(cacheName);
+    }
+
+    /**
+     * Record a completed load of an entry.
+     *
+     * @param cacheName Cache name
+     * @param key Cache key
+     * @param deltaMs Time the load took
+     */
+    public void recordLoad(String cacheName, Object key, long deltaMs) {
+        if (isEnabled(cacheName)) {
+            entries.put(entryKey(cacheName, key), new Entry(System.currentTimeMillis() + ttlMs, deltaMs));
+        }
+    }
+
+    public void forget(String cacheName, Object key) {
+        entries.remove(entryKey(cacheName, key));
+    }
+
+    public void forgetAll(String cacheName) {
+        String prefix = cacheName + "::";
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Called on a cache hit: if the XFetch condition holds, recompute the entry in the background
+     * with the cache's CacheRefresher and store it, while the caller keeps the value it already has.
+     *
+     * @param cacheName Cache name
+     * @param key Cache key
+     * @param store Writes the refreshed value to the cache
+     */
+    public void onHit(String cacheName, Object key, BiConsumer<Object, Object> store) {
+        String entryKey = entryKey(cacheName, key);
+        Entry entry = entries.get(entryKey);
+        if (entry == null || !shouldRefresh(entry, System.currentTimeMillis())) {
+            return;
+        }
+        CacheRefresher refresher = refreshers().get(cacheName);
+        if (refresher == null || !refreshing.add(entryKey)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> refresh(refresher, entryKey, key, store));
+        } catch (TaskRejectedException e) {
+            // Pool saturated: skip this one, a later hit tries again
+            refreshing.remove(entryKey);
+            log.debug("Early refresh of {} rejected: {}", entryKey, e.getMessage());
+        }
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getFailedRefreshCount() {
+        return failedRefreshes.sum();
+    }
+
+    boolean shouldRefresh(Entry entry, long now) {
+        return now - entry.deltaMs() * beta * Math.log(random.getAsDouble()) >= entry.expiresAt();
+    }
+
+    void setRandom(DoubleSupplier random) {
+        this.random = random;
+    }
+
+    private void refresh(CacheRefresher refresher, String entryKey, Object key, BiConsumer<Object, Object> store) {
+        long start = System.nanoTime();
+        try {
+            Object value = refresher.reload(key);
+            if (value != null) {
+                store.accept(key, value);
+                recordLoad(refresher.getCacheName(), key, (System.nanoTime() - start) / 1_000_000);
+            }
+            refreshes.increment();
+            log.debug("Refreshed {} ahead of expiry in {}ms", entryKey, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            // The old value stays until its store TTL; the next hit may try again
+            failedRefreshes.increment();
+            log.warn("Early refresh of {} failed: {}", entryKey, e.getMessage());
+        } finally {
+            refreshing.remove(entryKey);
+        }
+    }
+
+    private Map<String, CacheRefresher> refreshers() {
+        Map<String, CacheRefresher> resolved = refreshers;
+        if (resolved == null) {
+            resolved = new HashMap<>();
+            for (CacheRefresher refresher : refresherProvider) {
+                resolved.put(refresher.getCacheName(), refresher);
+            }
+            for (String cacheName : cacheNames) {
+                if (!resolved.containsKey(cacheName)) {
+                    log.warn("No CacheRefresher for cache '{}', its entries expire without early refresh", cacheName);
+                }
+            }
+            refreshers = resolved;
+        }
+        return resolved;
+    }
+
+    private static String entryKey(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+}
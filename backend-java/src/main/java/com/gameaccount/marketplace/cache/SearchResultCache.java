@@ -0,0 +1,223 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.util.CursorUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Result cache for advanced account search.
+ * Entries are keyed by a canonical hash of what actually determines the result - the normalized
+ * filters, the effective (role-resolved) status, the sort and the page/cursor - so two callers
+ * with different roles share an entry whenever their queries resolve to the same thing. The seller
+ * is only part of the key for seller-scoped queries (sellerId filter), never the caller's identity.
+ *
+ * Values are compact ID lists plus the total/hasNext flag rather than serialized entities;
+ * callers load the page itself by ID, which keeps entries small and never serves stale prices.
+ * Entries are tagged with their game/status scope and evicted by CacheTagIndex when a matching
+ * listing changes. Concurrent misses for the same key are coalesced into one database search
+ * via SingleFlight (see load).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchResultCache {
+
+    public static final String CACHE_NAME = "searchResults";
+
+    private static final String KEY_PREFIX = "search:";
+
+    private final CacheManager cacheManager;
+    private final CacheTagIndex cacheTagIndex;
+    private final SingleFlight singleFlight;
+
+    @Value("${search.result-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Cached result page: matching IDs in result order plus paging metadata.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedIds {
+        private long[] ids;
+        private long totalElements;
+        private boolean hasNext;
+
+        public List<Long> idList() {
+            return Arrays.stream(ids).boxed().toList();
+        }
+
+        public static CachedIds of(List<Long> ids, long totalElements, boolean hasNext) {
+            return new CachedIds(ids.stream().mapToLong(Long::longValue).toArray(), totalElements, hasNext);
+        }
+
+        public static CachedIds of(Slice<Account> results) {
+            List<Long> ids = results.getContent().stream().map(Account::getId).toList();
+            long totalElements = results instanceof Page<Account> page ? page.getTotalElements() : ids.size();
+            return of(ids, totalElements, results.hasNext());
+        }
+    }
+
+    /**
+     * Key for an offset page of searchAccounts.
+     *
+     * @param searchRequest Search filters as requested
+     * @param effectiveStatus Status filter after role resolution (null = all statuses)
+     * @param pageable Page request with the resolved sort
+     * @return Cache key
+     */
+    public String offsetKey(AccountSearchRequest searchRequest, AccountStatus effectiveStatus, Pageable pageable) {
+        return key(searchRequest, effectiveStatus, pageable.getSort(),
+                "offset:" + pageable.getPageNumber() + ":" + pageable.getPageSize());
+    }
+
+    /**
+     * Key for a keyset slice of searchAccountsAfter.
+     *
+     * @param searchRequest Search filters as requested
+     * @param effectiveStatus Status filter after role resolution (null = all statuses)
+     * @param sort Resolved keyset order
+     * @param cursor Cursor of the last row already seen, or null for the first slice
+     * @param pageSize Slice size
+     * @return Cache key
+     */
+    public String keysetKey(AccountSearchRequest searchRequest, AccountStatus effectiveStatus, Sort sort,
+                            CursorUtil.KeysetCursor cursor, int pageSize) {
+        String position = cursor == null
+                ? "first"
+                : cursor.sortField + ":" + cursor.sortValue + ":" + cursor.id;
+        return key(searchRequest, effectiveStatus, sort, "after:" + position + ":" + pageSize);
+    }
+
+    /**
+     * Canonical form of the query, hashed. Blank strings count as absent, and text filters are
+     * lower-cased because they match case-insensitively. sortBy/sortDirection and the requested
+     * status are not used directly - their resolved forms (sort, effectiveStatus) are.
+     */
+    String key(AccountSearchRequest searchRequest, AccountStatus effectiveStatus, Sort sort, String position) {
+        StringBuilder canonical = new StringBuilder(128)
+                .append("game=").append(searchRequest.getGameId())
+                .append("|minPrice=").append(searchRequest.getMinPrice())
+                .append("|maxPrice=").append(searchRequest.getMaxPrice())
+                .append("|minLevel=").append(searchRequest.getMinLevel())
+                .append("|maxLevel=").append(searchRequest.getMaxLevel())
+                .append("|rank=").append(normalizeText(searchRequest.getRank()))
+                .append("|featured=").append(searchRequest.getIsFeatured())
+                .append("|text=").append(normalizeText(searchRequest.getSearchText()))
+                .append("|status=").append(effectiveStatus)
+                .append("|sort=").append(sort.isSorted() ? sort.toString() : "default")
+                .append("|page=").append(position);
+        if (searchRequest.getSellerId() != null) {
+            canonical.append("|seller=").append(searchRequest.getSellerId());
+        }
+        return KEY_PREFIX + sha256(canonical.toString());
+    }
+
+    /**
+     * Cached IDs for a key, or null on a miss (or when the cache is disabled).
+     */
+    public CachedIds get(String key) {
+        Cache cache = cache();
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, CachedIds.class);
+        } catch (RuntimeException e) {
+            // A broken cache backend must not fail the search
+            log.warn("Search result cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run the search for a missed key once for all concurrent identical queries (and, with Redis,
+     * once across nodes). The caller whose loader ran uses its own result; the others receive the
+     * IDs and load the page themselves, so no entities are shared between requests.
+     *
+     * @param key Cache key from offsetKey/keysetKey
+     * @param loader Runs the search, stores it with put and returns its IDs
+     * @return IDs of the shared result
+     */
+    public CachedIds load(String key, Callable<CachedIds> loader) {
+        try {
+            return singleFlight.load(CACHE_NAME, key, loader, () -> get(key));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Search failed for " + key, e);
+        }
+    }
+
+    /**
+     * Store a search result as IDs, tagged with the query scope (game filter, effective status)
+     * so only listing changes that can alter it evict it.
+     *
+     * @param key Cache key from offsetKey/keysetKey
+     * @param searchRequest Search filters of the query
+     * @param effectiveStatus Status filter after role resolution (null = all statuses)
+     * @param results Page or slice returned by the database
+     */
+    public void put(String key, AccountSearchRequest searchRequest, AccountStatus effectiveStatus,
+                    Slice<Account> results) {
+        CachedIds cachedIds = CachedIds.of(results);
+        put(key, cachedIds, CacheDependencies.ofQuery(cachedIds.idList(), searchRequest.getGameId(), effectiveStatus));
+    }
+
+    /**
+     * Store the IDs for a key with the given dependencies.
+     */
+    public void put(String key, CachedIds value, CacheDependencies dependencies) {
+        Cache cache = cache();
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(key, value);
+            cacheTagIndex.register(cache, key, dependencies);
+        } catch (RuntimeException e) {
+            log.warn("Search result cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Cache cache() {
+        return enabled ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+
+    private static String normalizeText(String text) {
+        return text == null || text.trim().isEmpty() ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.config.SecondLevelCacheConfig;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Message;
+import com.gameaccount.marketplace.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cross-node eviction of Account, User and Message entries from the Hibernate second-level
+ * cache, which is local to each node (SecondLevelCacheConfig).
+ *
+ * After a transaction commits an update or delete of an Account or User, the entity's region and
+ * id are broadcast on the CacheInvalidationBus; other nodes evict that entity (and an account's
+ * images) so their next read loads the committed row instead of serving a stale status, role or
+ * balance until the region TTL. A committed message insert, update or delete is broadcast too:
+ * other nodes evict the message and clear the message-queries region, as Hibernate does locally
+ * for any write to the messages table, so chat history is never served stale. Without Redis
+ * there is no bus and nothing to notify.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheInvalidator
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener,
+        CacheInvalidationBus.Listener {
+
+    private static final String ACCOUNT_IMAGES_ROLE = Account.class.getName() + ".images";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private CacheInvalidationBus invalidationBus;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Broadcast local commits to other nodes and apply theirs (Redis deployments).
+     */
+    public void setInvalidationBus(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.addListener(this);
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return region(persister.getMappedClass()) != null;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // New accounts and users are in no peer's cache; a new message changes cached conversations
+        if (event.getEntity() instanceof Message) {
+            publish(event.getEntity(), event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back: nothing changed, peers keep their entries
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: nothing changed, peers keep their entries
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back: nothing changed, peers keep their entries
+    }
+
+    @Override
+    public void onRemoteEntityEvict(String region, Long id) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (SecondLevelCacheConfig.ACCOUNT_REGION.equals(region)) {
+            cache.evictEntityData(Account.class, id);
+            cache.evictCollectionData(ACCOUNT_IMAGES_ROLE, id);
+        } else if (SecondLevelCacheConfig.USER_REGION.equals(region)) {
+            cache.evictEntityData(User.class, id);
+        } else if (SecondLevelCacheConfig.MESSAGE_REGION.equals(region)) {
+            cache.evictEntityData(Message.class, id);
+            cache.evictQueryRegion(SecondLevelCacheConfig.MESSAGE_QUERY_REGION);
+        } else {
+            return;
+        }
+        log.debug("Evicted remote {} {} from the second-level cache", region, id);
+    }
+
+    private void publish(Object entity, Object id) {
+        String region = entity != null ? region(entity.getClass()) : null;
+        if (invalidationBus != null && region != null) {
+            invalidationBus.publishEntityEvict(region, id);
+        }
+    }
+
+    private static String region(Class<?> entityClass) {
+        if (Account.class.isAssignableFrom(entityClass)) {
+            return SecondLevelCacheConfig.ACCOUNT_REGION;
+        }
+        if (User.class.isAssignableFrom(entityClass)) {
+            return SecondLevelCacheConfig.USER_REGION;
+        }
+        if (Message.class.isAssignableFrom(entityClass)) {
+            return SecondLevelCacheConfig.MESSAGE_REGION;
+        }
+        return null;
+    }
+}
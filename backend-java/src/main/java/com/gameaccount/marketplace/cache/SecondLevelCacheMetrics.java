@@ -0,0 +1,138 @@
+package com.gameaccount.marketplace.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-region metrics of the Hibernate second-level cache (regions: SecondLevelCacheConfig).
+ *
+ * Hits, misses and puts come from Hibernate's statistics (hibernate.generate_statistics; all zero
+ * when it is off), entry counts from the region's Caffeine cache. Published to Micrometer as
+ * hibernate.cache.region.gets (result=hit|miss), hibernate.cache.region.puts and
+ * hibernate.cache.region.size tagged with the region, and as a JSON report for /api/admin/cache.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager hibernateCacheManager;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.hibernateCacheManager = hibernateCacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        List<String> regions = regionNames();
+        for (String region : regions) {
+            regionCounter(registry, "hibernate.cache.region.gets", region, "hit", CacheRegionStatistics::getHitCount);
+            regionCounter(registry, "hibernate.cache.region.gets", region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.cache.region.puts", this, m -> m.count(region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .description("Entries put into the second-level cache region")
+                    .register(registry);
+            Gauge.builder("hibernate.cache.region.size", this, m -> {
+                        Long entries = m.entryCount(region);
+                        return entries != null ? entries : Double.NaN;
+                    })
+                    .tag("region", region)
+                    .description("Entries in this node's second-level cache region")
+                    .register(registry);
+        }
+        log.debug("Bound {} second-level cache regions to {}", regions.size(), registry.getClass().getSimpleName());
+    }
+
+    /**
+     * Current metrics of every region, ordered by region name.
+     */
+    public List<RegionReport> report() {
+        List<RegionReport> reports = new ArrayList<>();
+        for (String region : regionNames()) {
+            long hits = count(region, CacheRegionStatistics::getHitCount);
+            long misses = count(region, CacheRegionStatistics::getMissCount);
+            reports.add(RegionReport.builder()
+                    .region(region)
+                    .hits(hits)
+                    .misses(misses)
+                    .hitRate(hits + misses > 0 ? (double) hits / (hits + misses) : 0.0)
+                    .puts(count(region, CacheRegionStatistics::getPutCount))
+                    .entries(entryCount(region))
+                    .build());
+        }
+        return reports;
+    }
+
+    /**
+     * Number of entries held by a region on this node, or null if the region does not exist.
+     */
+    Long entryCount(String region) {
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        if (cache == null) {
+            return null;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private long count(String region, ToLongFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics statistics = regionStatistics(region);
+        return statistics != null ? value.applyAsLong(statistics) : 0L;
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Region not (yet) known to Hibernate, e.g. a query region no query has used
+            return null;
+        }
+    }
+
+    private void regionCounter(MeterRegistry registry, String name, String region, String result,
+                               ToLongFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, this, m -> m.count(region, value))
+                .tag("region", region)
+                .tag("result", result)
+                .description("Second-level cache region lookups")
+                .register(registry);
+    }
+
+    private List<String> regionNames() {
+        List<String> names = new ArrayList<>();
+        hibernateCacheManager.getCacheNames().forEach(names::add);
+        return new ArrayList<>(new TreeSet<>(names));
+    }
+
+    /**
+     * Metrics of one region. entries is null when the region does not exist.
+     */
+    @Getter
+    @Builder
+    public static class RegionReport {
+        private final String region;
+        private final long hits;
+        private final long misses;
+        private final double hitRate;
+        private final long puts;
+        private final Long entries;
+    }
+}
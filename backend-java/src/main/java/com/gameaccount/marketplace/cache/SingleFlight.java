@@ -0,0 +1,158 @@
+package com.gameaccount.marketplace.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading for cache misses (stampede protection).
+ * Concurrent misses for the same cache key on this node share one in-flight load: the first caller
+ * runs the loader, the others wait for its result. With a CacheLoadLease (Redis deployments) the
+ * loading node also holds a short lease, and other nodes poll the shared cache for the value
+ * instead of running the same query.
+ *
+ * Waiters give up after cache.single-flight.wait-timeout-ms and load themselves, so a stuck or
+ * crashed loader only delays, never blocks, requests. A failed load fails its waiters too.
+ */
+@Component
+@Slf4j
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder remoteWaits = new LongAdder();
+
+    @Value("${cache.single-flight.wait-timeout-ms:5000}")
+    private long waitTimeoutMs = 5000L;
+
+    @Value("${cache.single-flight.poll-interval-ms:50}")
+    private long pollIntervalMs = 50L;
+
+    private CacheLoadLease lease;
+
+    /**
+     * Coordinate loads across nodes (Redis deployments).
+     */
+    public void setLease(CacheLoadLease lease) {
+        this.lease = lease;
+    }
+
+    /**
+     * Load the value for a missed cache key, sharing the load with concurrent callers.
+     *
+     * @param cacheName Cache the key belongs to
+     * @param key Cache key
+     * @param loader Computes (and caches) the value; runs at most once per node at a time
+     * @param lookup Reads the shared cache, used while another node holds the lease
+     * @return Loaded or shared value
+     * @throws Exception Failure of the loader, rethrown to every caller of the flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String cacheName, Object key, Callable<T> loader, Supplier<T> lookup) throws Exception {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(flightKey, existing, loader);
+        }
+
+        try {
+            T value = loadOnce(flightKey, loader, lookup);
+            flight.complete(value);
+            return value;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getRemoteWaitCount() {
+        return remoteWaits.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(String flightKey, CompletableFuture<Object> flight, Callable<?> loader) throws Exception {
+        try {
+            return flight.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {}ms waiting for in-flight load of {}; loading directly", waitTimeoutMs, flightKey);
+            loads.increment();
+            return loader.call();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private <T> T loadOnce(String flightKey, Callable<T> loader, Supplier<T> lookup) throws Exception {
+        if (lease == null) {
+            loads.increment();
+            return loader.call();
+        }
+
+        String token = lease.tryAcquire(flightKey);
+        if (token == null) {
+            T value = awaitRemote(flightKey, lookup);
+            if (value != null) {
+                remoteWaits.increment();
+                return value;
+            }
+            // Lease holder was too slow or died: load anyway rather than fail the request
+            loads.increment();
+            return loader.call();
+        }
+
+        try {
+            // The previous lease holder may have filled the cache between our miss and the lease
+            T value = lookup.get();
+            if (value != null) {
+                return value;
+            }
+            loads.increment();
+            return loader.call();
+        } finally {
+            lease.release(flightKey, token);
+        }
+    }
+
+    private <T> T awaitRemote(String flightKey, Supplier<T> lookup) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(pollIntervalMs);
+            T value = lookup.get();
+            if (value != null) {
+                return value;
+            }
+            if (!lease.isHeld(flightKey)) {
+                // Released without a value (load failed or not cacheable): one final look, then load
+                return lookup.get();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,339 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CacheManager decorator that records dependencies of every cached value in CacheTagIndex
+ * (so listing changes evict only matching entries) and counts hits, misses, puts, evictions and
+ * load time per cache, independently of the backing store (Redis, Caffeine or in-memory).
+ *
+ * Dependencies are derived from the value: an Account depends on that account, a collection of
+ * accounts is a query result over all games. Other values (games, ID lists) are not tagged here;
+ * SearchResultCache registers its entries with explicit query dependencies.
+ *
+ * With a SingleFlight, synchronized lookups (@Cacheable(sync = true)) share one load per key on
+ * this node, and across nodes when SingleFlight holds a Redis lease, instead of the backing
+ * store's own get(key, loader) locking. With a RefreshAhead, hits on its caches may trigger a
+ * background recomputation before the entry expires. Bulk reads and writes (BulkCache) go to the
+ * store in one round trip when it supports them and are counted and tagged like single ones.
+ */
+public class TaggedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheTagIndex tagIndex;
+    private final SingleFlight singleFlight;
+    private final RefreshAhead refreshAhead;
+    private final Map<String, TaggedCache> caches = new ConcurrentHashMap<>();
+
+    public TaggedCacheManager(CacheManager delegate, CacheTagIndex tagIndex) {
+        this(delegate, tagIndex, null, null);
+    }
+
+    public TaggedCacheManager(CacheManager delegate, CacheTagIndex tagIndex, SingleFlight singleFlight,
+                              RefreshAhead refreshAhead) {
+        this.delegate = delegate;
+        this.tagIndex = tagIndex;
+        this.singleFlight = singleFlight;
+        this.refreshAhead = refreshAhead;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TaggedCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TaggedCache(target, tagIndex, singleFlight,
+                refreshAhead != null && refreshAhead.isEnabled(name) ? refreshAhead : null));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * The decorated cache manager.
+     */
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Counters of every cache used so far, by cache name.
+     */
+    public Map<String, CacheStatistics> getStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        caches.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .forEach(cache -> statistics.put(cache.getName(), cache.statistics()));
+        return statistics;
+    }
+
+    /**
+     * Snapshot of one cache's counters. Evictions include tag evictions; loads are the value
+     * loaders run on misses of synchronized lookups (@Cacheable(sync = true)).
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CacheStatistics {
+        private final long hits;
+        private final long misses;
+        private final long tagEvictions;
+        private final long puts;
+        private final long evictions;
+        private final long loads;
+        private final long loadFailures;
+        private final long totalLoadTimeNanos;
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        public double getAverageLoadTimeMs() {
+            long attempts = loads + loadFailures;
+            return attempts == 0 ? 0.0 : totalLoadTimeNanos / 1_000_000.0 / attempts;
+        }
+    }
+
+    /**
+     * Cache wrapper: counts lookups and keeps CacheTagIndex in sync with writes and evictions.
+     */
+    static class TaggedCache implements Cache, BulkCache {
+
+        private final Cache target;
+        private final CacheTagIndex tagIndex;
+        private final SingleFlight singleFlight;
+        private final RefreshAhead refreshAhead;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadFailures = new LongAdder();
+        private final LongAdder loadTimeNanos = new LongAdder();
+
+        TaggedCache(Cache target, CacheTagIndex tagIndex, SingleFlight singleFlight, RefreshAhead refreshAhead) {
+            this.target = target;
+            this.tagIndex = tagIndex;
+            this.singleFlight = singleFlight;
+            this.refreshAhead = refreshAhead;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return record(target.get(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return record(target.get(key, type));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            if (singleFlight != null) {
+                ValueWrapper cached = target.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    if (refreshAhead != null) {
+                        refreshAhead.onHit(getName(), key, this::put);
+                    }
+                    return (T) cached.get();
+                }
+                misses.increment();
+                try {
+                    return singleFlight.load(getName(), key, () -> {
+                        long start = System.nanoTime();
+                        T value = timedLoad(valueLoader);
+                        if (value != null) {
+                            put(key, value);
+                            if (refreshAhead != null) {
+                                refreshAhead.recordLoad(getName(), key, (System.nanoTime() - start) / 1_000_000);
+                            }
+                        }
+                        return value;
+                    }, () -> {
+                        ValueWrapper wrapper = target.get(key);
+                        return wrapper != null ? (T) wrapper.get() : null;
+                    });
+                } catch (ValueRetrievalException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+            }
+
+            boolean[] loaded = new boolean[1];
+            T value = target.get(key, () -> {
+                loaded[0] = true;
+                return timedLoad(valueLoader);
+            });
+            if (loaded[0]) {
+                misses.increment();
+                tagIndex.register(this, key, dependenciesOf(value));
+            } else {
+                hits.increment();
+            }
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+            puts.increment();
+            tagIndex.register(this, key, dependenciesOf(value));
+            forget(key);
+        }
+
+        @Override
+        public Map<Object, Object> getAll(Collection<?> keys) {
+            Map<Object, Object> values = BulkCache.getAll(target, keys);
+            hits.add(values.size());
+            misses.add(keys.size() - values.size());
+            return values;
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            Map<Object, Object> values = new LinkedHashMap<>();
+            entries.forEach((key, value) -> {
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+            BulkCache.putAll(target, values);
+            values.forEach((key, value) -> {
+                puts.increment();
+                tagIndex.register(this, key, dependenciesOf(value));
+                forget(key);
+            });
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = target.putIfAbsent(key, value);
+            if (existing == null) {
+                puts.increment();
+                tagIndex.register(this, key, dependenciesOf(value));
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+            evictions.increment();
+            tagIndex.unregister(getName(), key);
+            forget(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            tagIndex.unregister(getName(), key);
+            forget(key);
+            boolean evicted = target.evictIfPresent(key);
+            if (evicted) {
+                evictions.increment();
+            }
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+            tagIndex.unregisterAll(getName());
+            if (refreshAhead != null) {
+                refreshAhead.forgetAll(getName());
+            }
+        }
+
+        @Override
+        public boolean invalidate() {
+            tagIndex.unregisterAll(getName());
+            if (refreshAhead != null) {
+                refreshAhead.forgetAll(getName());
+            }
+            return target.invalidate();
+        }
+
+        CacheStatistics statistics() {
+            return new CacheStatistics(hits.sum(), misses.sum(), tagIndex.getEvictionCount(getName()), puts.sum(),
+                    evictions.sum(), loads.sum(), loadFailures.sum(), loadTimeNanos.sum());
+        }
+
+        private <T> T timedLoad(Callable<T> valueLoader) throws Exception {
+            long start = System.nanoTime();
+            try {
+                T value = valueLoader.call();
+                loads.increment();
+                return value;
+            } catch (Exception e) {
+                loadFailures.increment();
+                throw e;
+            } finally {
+                loadTimeNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        private void forget(Object key) {
+            if (refreshAhead != null) {
+                refreshAhead.forget(getName(), key);
+            }
+        }
+
+        private <T> T record(T value) {
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return value;
+        }
+
+        private static CacheDependencies dependenciesOf(Object value) {
+            if (value instanceof Account account && account.getId() != null) {
+                return CacheDependencies.ofAccount(account.getId());
+            }
+            if (value instanceof Collection<?> collection) {
+                // An empty result has no accounts to tag it by; scope it to every listing so the
+                // first listing that could join it (e.g. a newly featured account) evicts it
+                if (collection.isEmpty()) {
+                    return CacheDependencies.ofQuery(List.of(), null, null);
+                }
+                if (collection.stream().allMatch(Account.class::isInstance)) {
+                    return CacheDependencies.ofAccounts(collection.stream().map(Account.class::cast).toList());
+                }
+            }
+            return CacheDependencies.none();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.cache.TaggedCacheManager.CacheStatistics;
+import com.gameaccount.marketplace.cache.TaggedCacheManager.TaggedCache;
+import com.gameaccount.marketplace.cache.TwoLevelCacheManager.LevelStatistics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer meters of one TaggedCache (registered by CacheMetrics).
+ * Besides the standard cache.gets/puts/evictions/size meters: cache.loads and cache.load
+ * (loader count and time of misses), cache.tag.evictions, cache.payload.bytes (Redis only) and,
+ * for near-cached caches, cache.l1.gets and cache.l1.size.
+ */
+class TaggedCacheMeterBinder extends CacheMeterBinder<TaggedCache> {
+
+    private final String cacheName;
+    private final CacheMetrics cacheMetrics;
+
+    TaggedCacheMeterBinder(TaggedCache cache, Iterable<Tag> tags, CacheMetrics cacheMetrics) {
+        super(cache, cache.getName(), tags);
+        this.cacheName = cache.getName();
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    @Override
+    protected Long size() {
+        return cacheMetrics.entryCount(cacheName);
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics().getHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics().getMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics().getEvictions() + cacheMetrics.storeEvictions(cacheName);
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics().getPuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TaggedCache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+
+        FunctionCounter.builder("cache.loads", cache, c -> c.statistics().getLoads())
+                .tags(getTagsWithCacheName()).tag("result", "success")
+                .description("Values loaded on a miss")
+                .register(registry);
+        FunctionCounter.builder("cache.loads", cache, c -> c.statistics().getLoadFailures())
+                .tags(getTagsWithCacheName()).tag("result", "failure")
+                .description("Loads that threw")
+                .register(registry);
+        FunctionTimer.builder("cache.load", cache,
+                        c -> c.statistics().getLoads() + c.statistics().getLoadFailures(),
+                        c -> c.statistics().getTotalLoadTimeNanos(), TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .description("Time spent loading missed values")
+                .register(registry);
+        FunctionCounter.builder("cache.tag.evictions", cache, c -> c.statistics().getTagEvictions())
+                .tags(getTagsWithCacheName())
+                .description("Entries evicted because a listing they depend on changed")
+                .register(registry);
+
+        FunctionCounter.builder("cache.payload.bytes", cacheMetrics, m -> m.payload(cacheName).getBytesWritten())
+                .tags(getTagsWithCacheName()).tag("operation", "write")
+                .baseUnit("bytes")
+                .description("Serialized bytes written to Redis")
+                .register(registry);
+        FunctionCounter.builder("cache.payload.bytes", cacheMetrics, m -> m.payload(cacheName).getBytesRead())
+                .tags(getTagsWithCacheName()).tag("operation", "read")
+                .baseUnit("bytes")
+                .description("Serialized bytes read from Redis")
+                .register(registry);
+
+        if (cacheMetrics.levelStatistics(cacheName) != null) {
+            levelCounter(registry, "hit", LevelStatistics::getL1Hits);
+            levelCounter(registry, "miss", LevelStatistics::getL1Misses);
+            Gauge.builder("cache.l1.size", cacheMetrics, m -> level(m, LevelStatistics::getL1Size))
+                    .tags(getTagsWithCacheName())
+                    .description("Entries in this node's near-cache")
+                    .register(registry);
+        }
+    }
+
+    private void levelCounter(MeterRegistry registry, String result, ToDoubleFunction<LevelStatistics> value) {
+        FunctionCounter.builder("cache.l1.gets", cacheMetrics, m -> level(m, value))
+                .tags(getTagsWithCacheName()).tag("result", result)
+                .description("Near-cache lookups")
+                .register(registry);
+    }
+
+    private double level(CacheMetrics metrics, ToDoubleFunction<LevelStatistics> value) {
+        LevelStatistics levels = metrics.levelStatistics(cacheName);
+        return levels != null ? value.applyAsDouble(levels) : 0.0;
+    }
+
+    private CacheStatistics statistics() {
+        TaggedCache cache = getCache();
+        return cache != null ? cache.statistics() : new CacheStatistics(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,353 @@
+package com.gameaccount.marketplace.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-level CacheManager: a small per-node Caffeine near-cache (L1) in front of the shared Redis
+ * caches (L2). Reads are served from local memory when possible and only fall through to Redis
+ * (network round trip + JSON deserialization) on an L1 miss; values read from L2 are promoted to L1.
+ *
+ * Writes, evictions and clears go to both levels and are broadcast on the CacheInvalidationBus so
+ * other nodes drop their L1 copies. The short L1 TTL bounds staleness if a message is lost.
+ * Only caches listed in l1CacheNames get a near-cache; other caches use Redis directly.
+ * Near-cached caches also serve bulk reads/writes (BulkCache): L1 first, then one MGET for the
+ * L1 misses when RedisCacheBulkOperations is available.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, CacheInvalidationBus.Listener {
+
+    private final CacheManager l2CacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final Set<String> l1CacheNames;
+    private final long l1MaximumSize;
+    private final Duration l1Ttl;
+    private final RedisCacheBulkOperations bulkOperations;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager l2CacheManager, CacheInvalidationBus invalidationBus,
+                                Set<String> l1CacheNames, long l1MaximumSize, Duration l1Ttl) {
+        this(l2CacheManager, invalidationBus, l1CacheNames, l1MaximumSize, l1Ttl, null);
+    }
+
+    public TwoLevelCacheManager(CacheManager l2CacheManager, CacheInvalidationBus invalidationBus,
+                                Set<String> l1CacheNames, long l1MaximumSize, Duration l1Ttl,
+                                RedisCacheBulkOperations bulkOperations) {
+        this.bulkOperations = bulkOperations;
+        this.l2CacheManager = l2CacheManager;
+        this.invalidationBus = invalidationBus;
+        this.l1CacheNames = l1CacheNames;
+        this.l1MaximumSize = l1MaximumSize;
+        this.l1Ttl = l1Ttl;
+        if (invalidationBus != null) {
+            invalidationBus.addListener(this);
+        }
+        log.info("Two-level cache: Caffeine L1 (max {} entries, TTL {}s) for {} in front of {}",
+                l1MaximumSize, l1Ttl.toSeconds(), l1CacheNames, l2CacheManager.getClass().getSimpleName());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!l1CacheNames.contains(name)) {
+            return l2CacheManager.getCache(name);
+        }
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = l2CacheManager.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TwoLevelCache(l2, newL1(), invalidationBus, bulkOperations));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2CacheManager.getCacheNames();
+    }
+
+    /**
+     * The shared (Redis) cache manager behind the near-caches.
+     */
+    public CacheManager getL2CacheManager() {
+        return l2CacheManager;
+    }
+
+    /**
+     * Per-level hit/miss counters of every near-cached cache used so far, by cache name.
+     */
+    public Map<String, LevelStatistics> getLevelStatistics() {
+        Map<String, LevelStatistics> statistics = new LinkedHashMap<>();
+        caches.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .forEach(cache -> statistics.put(cache.getName(), cache.statistics()));
+        return statistics;
+    }
+
+    /**
+     * Per-level counters of one near-cached cache, or null if it has no near-cache (or is unused).
+     */
+    public LevelStatistics getLevelStatistics(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        return cache != null ? cache.statistics() : null;
+    }
+
+    @Override
+    public void onRemoteEvict(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.l1.invalidate(key);
+        }
+    }
+
+    @Override
+    public void onRemoteClear(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.l1.invalidateAll();
+        }
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> newL1() {
+        return Caffeine.newBuilder()
+                .maximumSize(l1MaximumSize)
+                .expireAfterWrite(l1Ttl)
+                .build();
+    }
+
+    /**
+     * Snapshot of one cache's per-level counters. An L1 miss is followed by an L2 lookup.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class LevelStatistics {
+        private final long l1Hits;
+        private final long l1Misses;
+        private final long l2Hits;
+        private final long l2Misses;
+        private final long l1Size;
+
+        public double getL1HitRate() {
+            long requests = l1Hits + l1Misses;
+            return requests == 0 ? 0.0 : (double) l1Hits / requests;
+        }
+
+        public double getL2HitRate() {
+            long requests = l2Hits + l2Misses;
+            return requests == 0 ? 0.0 : (double) l2Hits / requests;
+        }
+    }
+
+    /**
+     * L1 is keyed by the string form of the cache key, the same form Redis and invalidation
+     * messages use, so an eviction on one node matches the entry on every other node.
+     */
+    static class TwoLevelCache implements Cache, BulkCache {
+
+        private final Cache l2;
+        private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+        private final CacheInvalidationBus invalidationBus;
+        private final RedisCacheBulkOperations bulkOperations;
+        private final LongAdder l1Hits = new LongAdder();
+        private final LongAdder l1Misses = new LongAdder();
+        private final LongAdder l2Hits = new LongAdder();
+        private final LongAdder l2Misses = new LongAdder();
+
+        TwoLevelCache(Cache l2, com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+                      CacheInvalidationBus invalidationBus, RedisCacheBulkOperations bulkOperations) {
+            this.l2 = l2;
+            this.l1 = l1;
+            this.invalidationBus = invalidationBus;
+            this.bulkOperations = bulkOperations;
+        }
+
+        @Override
+        public String getName() {
+            return l2.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return l2.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            String l1Key = String.valueOf(key);
+            Object local = l1.getIfPresent(l1Key);
+            if (local != null) {
+                l1Hits.increment();
+                return new SimpleValueWrapper(local);
+            }
+            l1Misses.increment();
+
+            ValueWrapper remote = l2.get(key);
+            if (remote == null) {
+                l2Misses.increment();
+                return null;
+            }
+            l2Hits.increment();
+            if (remote.get() != null) {
+                l1.put(l1Key, remote.get());
+            }
+            return remote;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper wrapper = get(key);
+            Object value = wrapper != null ? wrapper.get() : null;
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+            }
+            return (T) value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+            T value = l2.get(key, valueLoader);
+            if (value != null) {
+                l1.put(String.valueOf(key), value);
+            }
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            l2.put(key, value);
+            String l1Key = String.valueOf(key);
+            if (value != null) {
+                l1.put(l1Key, value);
+            } else {
+                l1.invalidate(l1Key);
+            }
+            publishEvict(key);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = l2.putIfAbsent(key, value);
+            if (existing == null && value != null) {
+                l1.put(String.valueOf(key), value);
+                publishEvict(key);
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            l2.evict(key);
+            l1.invalidate(String.valueOf(key));
+            publishEvict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            l1.invalidate(String.valueOf(key));
+            publishEvict(key);
+            return l2.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            l2.clear();
+            l1.invalidateAll();
+            if (invalidationBus != null) {
+                invalidationBus.publishClear(getName());
+            }
+        }
+
+        @Override
+        public boolean invalidate() {
+            l1.invalidateAll();
+            if (invalidationBus != null) {
+                invalidationBus.publishClear(getName());
+            }
+            return l2.invalidate();
+        }
+
+        @Override
+        public Map<Object, Object> getAll(Collection<?> keys) {
+            Map<Object, Object> values = new LinkedHashMap<>();
+            List<Object> l2Keys = new ArrayList<>();
+            for (Object key : keys) {
+                Object local = l1.getIfPresent(String.valueOf(key));
+                if (local != null) {
+                    l1Hits.increment();
+                    values.put(key, local);
+                } else {
+                    l1Misses.increment();
+                    l2Keys.add(key);
+                }
+            }
+            if (l2Keys.isEmpty()) {
+                return values;
+            }
+
+            Map<Object, Object> remote = bulkOperations != null && l2 instanceof RedisCache redisCache
+                    ? bulkOperations.getAll(redisCache, l2Keys)
+                    : BulkCache.getAll(l2, l2Keys);
+            for (Object key : l2Keys) {
+                Object value = remote.get(key);
+                if (value != null) {
+                    l2Hits.increment();
+                    l1.put(String.valueOf(key), value);
+                    values.put(key, value);
+                } else {
+                    l2Misses.increment();
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            if (bulkOperations != null && l2 instanceof RedisCache redisCache) {
+                bulkOperations.putAll(redisCache, entries);
+            } else {
+                BulkCache.putAll(l2, entries);
+            }
+            entries.forEach((key, value) -> {
+                if (value != null) {
+                    l1.put(String.valueOf(key), value);
+                    publishEvict(key);
+                }
+            });
+        }
+
+        LevelStatistics statistics() {
+            return new LevelStatistics(l1Hits.sum(), l1Misses.sum(), l2Hits.sum(), l2Misses.sum(),
+                    l1.estimatedSize());
+        }
+
+        private void publishEvict(Object key) {
+            if (invalidationBus != null) {
+                invalidationBus.publishEvict(getName(), key);
+            }
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package com.gameaccount.marketplace.config;
 
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gameaccount.marketplace.cache.BinaryCacheCodec;
+import com.gameaccount.marketplace.cache.CacheInvalidationBus;
+import com.gameaccount.marketplace.cache.CacheLoadLease;
+import com.gameaccount.marketplace.cache.CachePayloadStats;
+import com.gameaccount.marketplace.cache.RedisCacheBulkOperations;
+import com.gameaccount.marketplace.cache.CacheTagIndex;
+import com.gameaccount.marketplace.cache.RefreshAhead;
+import com.gameaccount.marketplace.cache.SecondLevelCacheInvalidator;
+import com.gameaccount.marketplace.cache.SingleFlight;
+import com.gameaccount.marketplace.cache.TaggedCacheManager;
+import com.gameaccount.marketplace.cache.TwoLevelCacheManager;
+import com.gameaccount.marketplace.service.AccountFacetIndex;
+import com.gameaccount.marketplace.service.AccountTextIndex;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -16,23 +30,37 @@ import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Cache configuration for Redis caching with fallback to Caffeine and in-memory cache.
- * Provides cache manager with per-cache TTL configurations and JSON serialization.
+ * Provides cache manager with per-cache TTL configurations and compact binary serialization
+ * (BinaryCacheCodec; cache.codec.type=json restores plain JSON values).
  * Falls back to Caffeine (if Redis unavailable) then in-memory cache.
- * Includes scheduled periodic cache eviction to ensure data freshness.
- * Enables cache statistics for monitoring cache performance.
+ * With Redis, hot caches (cache.l1.cache-names) get a per-node Caffeine near-cache in front of
+ * Redis, kept coherent across nodes by invalidation messages on a Redis channel; their L1 misses
+ * in bulk reads (e.g. AccountSnapshotStore) are fetched with one MGET.
+ * Each manager is wrapped in a TaggedCacheManager: listing changes evict only the entries that
+ * depend on them (see CacheTagIndex), and hits/misses are counted per cache.
+ * Synchronized misses (@Cacheable(sync = true)) are loaded once per key via SingleFlight; with
+ * Redis, a short lease extends this across nodes. Hot entries (cache.refresh-ahead.cache-names)
+ * are recomputed in the background shortly before they expire (see RefreshAhead).
+ * Statistics are recorded by every store (Redis cache statistics, Caffeine stats, payload sizes of
+ * Redis values) and published per cache by CacheMetrics.
  */
 @Configuration
 @EnableCaching
@@ -41,38 +69,136 @@ import java.util.concurrent.TimeUnit;
 public class CacheConfig {
 
     /**
-     * Configure Redis cache manager with JSON serialization and per-cache TTL (when Redis is available)
+     * Configure Redis cache manager with the configured value codec and per-cache TTL (when Redis is available)
      *
      * @param factory Redis connection factory
+     * @param tagIndex Tag index for targeted invalidation
+     * @param singleFlight Shared loading of concurrent misses
+     * @param refreshAhead Early recomputation of hot entries
+     * @param payloadStats Per-cache serialized value sizes
+     * @param invalidationBus Cross-node invalidation channel for the L1 near-caches
+     * @param l1CacheNames Caches served through a Caffeine L1 in front of Redis
+     * @param l1MaximumSize Maximum L1 entries per cache and node
+     * @param l1TtlMs L1 time-to-live (bounds staleness if an invalidation message is lost)
+     * @param codecType Value codec: binary (snapshots, optionally LZ4) or json
+     * @param compressionThreshold Minimum binary payload size to LZ4-compress (0 = never)
      * @return Configured Redis cache manager
      */
     @Bean
     @ConditionalOnBean(RedisConnectionFactory.class)
     @Primary
-    public CacheManager redisCacheManager(RedisConnectionFactory factory) {
-        log.info("Configuring Redis cache manager with GenericJackson2JsonRedisSerializer and per-cache TTL");
-
-        // Configure JSON serialization instead of Java serialization
+    public CacheManager redisCacheManager(RedisConnectionFactory factory, CacheTagIndex tagIndex,
+                                          SingleFlight singleFlight, RefreshAhead refreshAhead,
+                                          CachePayloadStats payloadStats, CacheInvalidationBus invalidationBus,
+                                          @Value("${cache.l1.cache-names:games,featured,accounts}") List<String> l1CacheNames,
+                                          @Value("${cache.l1.maximum-size:1000}") long l1MaximumSize,
+                                          @Value("${cache.l1.ttl-ms:30000}") long l1TtlMs,
+                                          @Value("${cache.codec.type:binary}") String codecType,
+                                          @Value("${cache.codec.compression-threshold-bytes:1024}") int compressionThreshold) {
+        // JSON serialization (instead of Java serialization) for values without a binary snapshot
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        jsonSerializer.configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+        RedisSerializer<Object> valueSerializer;
+        if ("json".equalsIgnoreCase(codecType)) {
+            log.info("Configuring Redis cache manager with GenericJackson2JsonRedisSerializer and per-cache TTL");
+            valueSerializer = jsonSerializer;
+        } else {
+            log.info("Configuring Redis cache manager with BinaryCacheCodec (LZ4 from {} bytes) and per-cache TTL",
+                    compressionThreshold);
+            valueSerializer = new BinaryCacheCodec(jsonSerializer, compressionThreshold);
+        }
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer));
-                // .enableStatistics(); // Enable cache statistics for monitoring - disabled for compatibility
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
 
         // Per-cache TTL configurations
+        Map<String, Duration> cacheTtls = new HashMap<>();
+        cacheTtls.put("accounts", Duration.ofMinutes(10)); // 10 minutes
+        cacheTtls.put("games", Duration.ofHours(1)); // 1 hour
+        cacheTtls.put("featured", Duration.ofMinutes(10)); // 10 minutes: refreshed ahead every ~5 (RefreshAhead)
+        cacheTtls.put("favorites", Duration.ofMinutes(10)); // 10 minutes
+        cacheTtls.put("searchResults", Duration.ofMinutes(2)); // 2 minutes
+
+        // Each cache gets its own measuring serializer so payload sizes are counted per cache
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        cacheConfigurations.put("accounts", defaultConfig.entryTtl(Duration.ofMinutes(10))); // 10 minutes
-        cacheConfigurations.put("games", defaultConfig.entryTtl(Duration.ofHours(1))); // 1 hour
-        cacheConfigurations.put("featured", defaultConfig.entryTtl(Duration.ofMinutes(5))); // 5 minutes
-        cacheConfigurations.put("favorites", defaultConfig.entryTtl(Duration.ofMinutes(10))); // 10 minutes
+        cacheTtls.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        payloadStats.measure(name, valueSerializer)))));
 
-        return RedisCacheManager.builder(factory)
+        RedisCacheManager l2CacheManager = RedisCacheManager.builder(factory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
+                .enableStatistics()
                 .build();
+        l2CacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(l2CacheManager, invalidationBus,
+                Set.copyOf(l1CacheNames), l1MaximumSize, Duration.ofMillis(l1TtlMs), new RedisCacheBulkOperations(factory));
+        return new TaggedCacheManager(twoLevelCacheManager, tagIndex, singleFlight, refreshAhead);
+    }
+
+    /**
+     * Publisher/receiver of cross-node cache invalidations (L1 evictions, listing changes and
+     * second-level cache entities).
+     *
+     * @param factory Redis connection factory
+     * @param tagIndex Tag index, which broadcasts local listing changes and applies remote ones
+     * @param secondLevelCacheInvalidator Broadcasts committed Account/User writes and evicts remote ones
+     * @param accountFacetIndex In-memory listing index, which applies remote listing changes
+     * @param accountTextIndex Full-text index, which reindexes remotely changed listings
+     * @param channel Redis pub/sub channel
+     * @return Invalidation bus
+     */
+    @Bean
+    @ConditionalOnBean(RedisConnectionFactory.class)
+    public CacheInvalidationBus cacheInvalidationBus(RedisConnectionFactory factory, CacheTagIndex tagIndex,
+                                                     SecondLevelCacheInvalidator secondLevelCacheInvalidator,
+                                                     AccountFacetIndex accountFacetIndex,
+                                                     AccountTextIndex accountTextIndex,
+                                                     @Value("${cache.l1.invalidation-channel:cache:invalidation}") String channel) {
+        CacheInvalidationBus invalidationBus = new CacheInvalidationBus(new StringRedisTemplate(factory), channel);
+        tagIndex.setInvalidationBus(invalidationBus);
+        secondLevelCacheInvalidator.setInvalidationBus(invalidationBus);
+        invalidationBus.addListener(accountFacetIndex);
+        invalidationBus.addListener(accountTextIndex);
+        return invalidationBus;
+    }
+
+    /**
+     * Cross-node lease for SingleFlight, so only one node loads a missed key at a time.
+     *
+     * @param factory Redis connection factory
+     * @param singleFlight Single-flight loader to coordinate
+     * @param leaseTtlMs Lease time-to-live (how long other nodes defer to a loading node)
+     * @return Load lease
+     */
+    @Bean
+    @ConditionalOnBean(RedisConnectionFactory.class)
+    public CacheLoadLease cacheLoadLease(RedisConnectionFactory factory, SingleFlight singleFlight,
+                                         @Value("${cache.single-flight.lease-ttl-ms:5000}") long leaseTtlMs) {
+        CacheLoadLease lease = new CacheLoadLease(new StringRedisTemplate(factory), Duration.ofMillis(leaseTtlMs));
+        singleFlight.setLease(lease);
+        return lease;
+    }
+
+    /**
+     * Subscribes the invalidation bus to its Redis channel.
+     *
+     * @param factory Redis connection factory
+     * @param invalidationBus Invalidation bus
+     * @return Listener container
+     */
+    @Bean
+    @ConditionalOnBean(RedisConnectionFactory.class)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory factory,
+                                                                           CacheInvalidationBus invalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(invalidationBus, new ChannelTopic(invalidationBus.getChannel()));
+        return container;
     }
 
     /**
@@ -80,44 +206,44 @@ public class CacheConfig {
      * This provides better performance than ConcurrentMapCache with expiration policies
      * Marked as @Primary to ensure Spring caching infrastructure has a unique CacheManager
      *
+     * @param tagIndex Tag index for targeted invalidation
+     * @param singleFlight Shared loading of concurrent misses
+     * @param refreshAhead Early recomputation of hot entries
      * @return Caffeine cache manager
      */
     @Bean
     @ConditionalOnMissingBean(RedisConnectionFactory.class)
     @Order(2)
     @Primary
-    public CacheManager caffeineCacheManager() {
+    public CacheManager caffeineCacheManager(CacheTagIndex tagIndex, SingleFlight singleFlight,
+                                              RefreshAhead refreshAhead) {
         log.warn("Redis not available - using Caffeine cache manager as fallback");
 
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(10, TimeUnit.MINUTES)
                 .maximumSize(1000)
+                .recordStats()
         );
-        return cacheManager;
+        return new TaggedCacheManager(cacheManager, tagIndex, singleFlight, refreshAhead);
     }
 
     /**
      * Tertiary fallback: In-memory cache manager (when both Redis and Caffeine unavailable)
      * This is the final fallback for development environments
      *
+     * @param tagIndex Tag index for targeted invalidation
+     * @param singleFlight Shared loading of concurrent misses
+     * @param refreshAhead Early recomputation of hot entries
      * @return In-memory cache manager
      */
     @Bean
     @ConditionalOnMissingBean({RedisConnectionFactory.class, CaffeineCacheManager.class})
-    public CacheManager fallbackCacheManager() {
+    public CacheManager fallbackCacheManager(CacheTagIndex tagIndex, SingleFlight singleFlight,
+                                              RefreshAhead refreshAhead) {
         log.warn("Redis and Caffeine not available - using in-memory cache manager as final fallback (development mode)");
-        return new ConcurrentMapCacheManager("accounts", "games", "featured", "favorites");
-    }
-
-    /**
-     * Scheduled periodic cache eviction to ensure data freshness.
-     * Evicts all entries from the "accounts" cache every 10 minutes.
-     * This works in conjunction with the TTL settings to provide cache consistency.
-     */
-    @CacheEvict(value = "accounts", allEntries = true)
-    @Scheduled(fixedRate = 600000) // Every 10 minutes (600,000 ms)
-    public void evictAllAccountsCache() {
-        log.debug("Periodic cache eviction executed for 'accounts' cache");
+        return new TaggedCacheManager(
+                new ConcurrentMapCacheManager("accounts", "games", "featured", "favorites", "searchResults"),
+                tagIndex, singleFlight, refreshAhead);
     }
 }
@@ -0,0 +1,46 @@
+package com.gameaccount.marketplace.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the id sequences ahead of the ids already in their tables.
+ *
+ * Entity ids come from sequences (one <table>_seq per table, emulated with a one-row table on
+ * MySQL) in blocks of 50 (pooled-lo optimizer), so Hibernate can batch inserts; IDENTITY ids
+ * would force one INSERT per row. A sequence created over a table that already holds rows -
+ * an upgraded database, or rows inserted by scripts such as seed_data.sql - starts at 1 and
+ * would hand out ids that exist. Before any insert, every sequence is moved to at least
+ * MAX(id) + 1 of its table; it is never moved back, so several nodes starting at once are safe.
+ */
+@Component
+@DependsOn("entityManagerFactory") // schema (and sequence tables) created first
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceAligner implements InitializingBean {
+
+    /** Tables with a sequence-generated id; each has a sequence named <table>_seq */
+    static final List<String> TABLES =
+            List.of("users", "games", "accounts", "favorites", "messages", "reviews", "transactions");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String table : TABLES) {
+            try {
+                int updated = jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = GREATEST(next_val, "
+                        + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "))");
+                log.debug("Aligned {}_seq ({} row)", table, updated);
+            } catch (RuntimeException e) {
+                log.warn("Could not align id sequence {}_seq: {}", table, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.gameaccount.marketplace.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache: a per-node Caffeine cache per region, through JCache.
+ *
+ * Entity regions (named by the entities' @Cache annotations) hold Game, User, Account with its
+ * images, and Message; query regions hold the ids returned by queries hinted
+ * org.hibernate.cacheable. Every region is created here with its own size limit and TTL, and
+ * Hibernate is told to fail on a region it does not find, so an @Cache without an entry below
+ * cannot silently run unbounded.
+ *
+ * The cache is local to a node. Committed Account, User and Message writes are broadcast so other
+ * nodes evict them, and a message write also clears message-queries (SecondLevelCacheInvalidator);
+ * other entities, and writes missed while Redis is down, are seen when the entry expires, hence the short Account TTL (views_count is also
+ * written by plain JDBC, see AccountViewCounter). Purchases read the listing with a locking
+ * query, which always goes to the database. Per-region statistics are published by
+ * SecondLevelCacheMetrics when hibernate.generate_statistics is on.
+ */
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    public static final String GAME_REGION = "game";
+    public static final String USER_REGION = "user";
+    public static final String ACCOUNT_REGION = "account";
+    public static final String ACCOUNT_IMAGES_REGION = "account-images";
+    public static final String MESSAGE_REGION = "message";
+    public static final String MESSAGE_QUERY_REGION = "message-queries";
+
+    /**
+     * JCache manager holding one Caffeine cache per second-level cache region.
+     * Each application context gets its own manager (unique URI), closed with the context.
+     *
+     * @param entityMaximumSize Maximum entries per entity and collection region
+     * @param queryMaximumSize Maximum cached results per query region
+     * @param ttlMs Time-to-live of Game, User and Message entries and of query results
+     * @param accountTtlMs Time-to-live of Account entries and their images
+     * @return Cache manager for Hibernate's JCache region factory
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.hibernate.entity-maximum-size:10000}") long entityMaximumSize,
+            @Value("${cache.hibernate.query-maximum-size:1000}") long queryMaximumSize,
+            @Value("${cache.hibernate.ttl-ms:600000}") long ttlMs,
+            @Value("${cache.hibernate.account-ttl-ms:60000}") long accountTtlMs) {
+        Map<String, CaffeineConfiguration<Object, Object>> regions = new LinkedHashMap<>();
+        regions.put(GAME_REGION, region(entityMaximumSize, ttlMs));
+        regions.put(USER_REGION, region(entityMaximumSize, ttlMs));
+        regions.put(ACCOUNT_REGION, region(entityMaximumSize, accountTtlMs));
+        regions.put(ACCOUNT_IMAGES_REGION, region(entityMaximumSize, accountTtlMs));
+        regions.put(MESSAGE_REGION, region(entityMaximumSize, ttlMs));
+        regions.put(MESSAGE_QUERY_REGION, region(queryMaximumSize, ttlMs));
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaximumSize, ttlMs));
+        // Must outlive every cached query result it validates: no TTL, one entry per table
+        regions.put(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(entityMaximumSize, 0));
+
+        CaffeineCachingProvider provider =
+                (CaffeineCachingProvider) Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        regions.forEach(cacheManager::createCache);
+
+        log.info("Configured Hibernate second-level cache regions {} (entities: {} entries, queries: {} entries)",
+                regions.keySet(), entityMaximumSize, queryMaximumSize);
+        return cacheManager;
+    }
+
+    /**
+     * Hand the region cache manager to Hibernate's JCache region factory.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (ttlMs > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        }
+        // Hibernate stores its own disassembled cache entries: no copy on every get and put
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
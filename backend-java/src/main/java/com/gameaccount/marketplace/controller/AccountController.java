@@ -1,24 +1,33 @@
 package com.gameaccount.marketplace.controller;
 
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
 import com.gameaccount.marketplace.dto.request.CreateAccountRequest;
 import com.gameaccount.marketplace.dto.request.UpdateAccountRequest;
+import com.gameaccount.marketplace.dto.response.AccountFacetsResponse;
 import com.gameaccount.marketplace.dto.response.AccountResponse;
+import com.gameaccount.marketplace.dto.response.SuggestionResponse;
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
 import com.gameaccount.marketplace.entity.User;
 import com.gameaccount.marketplace.exception.BusinessException;
 import com.gameaccount.marketplace.repository.UserRepository;
 import com.gameaccount.marketplace.service.AccountService;
+import com.gameaccount.marketplace.service.AccountSuggester;
+import com.gameaccount.marketplace.service.GameCatalog;
+import com.gameaccount.marketplace.util.CursorUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -52,7 +61,10 @@ import java.util.stream.Collectors;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountSuggester accountSuggester;
     private final UserRepository userRepository;
+    private final CursorUtil cursorUtil;
+    private final GameCatalog gameCatalog;
 
     /**
      * Create a new account listing.
@@ -213,28 +225,33 @@ public class AccountController {
         // Delegate to service
         Account account = accountService.getAccountById(id);
 
-        return ResponseEntity.ok(toAccountResponse(account));
+        // Include views counted but not flushed yet (the entity keeps the persisted count)
+        return ResponseEntity.ok(toAccountResponse(account, accountService.getPendingViews(id)));
     }
 
     /**
-     * Increment account view count asynchronously.
+     * Increment account view count.
      * Public endpoint - fire-and-forget operation.
-     * Returns immediately while view count is incremented in the background.
+     * Returns immediately; the view is written to the database in the next batched flush.
+     * The visitor (signed-in user, else address and user agent) is counted once towards the
+     * listing's unique viewers. Client-supplied ids are not trusted, since rotating them would
+     * inflate the counts that rank popular listings.
      *
      * @param id Account ID
-     * @return HTTP 200 on success
+     * @param request HTTP request (anonymous visitor identity)
+     * @return HTTP 200 on success, 404 if no account has this id
      */
     @PatchMapping("/{id}/view")
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Increment view count", description = "Increment account view count asynchronously")
+    @Operation(summary = "Increment view count", description = "Count a view of the account (written in batches)")
     public void incrementViewCount(
             @Parameter(description = "Account ID", required = true)
-            @PathVariable Long id
+            @PathVariable Long id,
+            HttpServletRequest request
     ) {
         log.debug("PATCH /api/accounts/{}/view", id);
 
-        // Delegate to async service method (fire-and-forget)
-        accountService.incrementViewCountAsync(id);
+        accountService.recordView(id, visitorKey(request));
     }
 
     /**
@@ -270,12 +287,19 @@ public class AccountController {
      * Public endpoint - no authentication required.
      * Results are cached for 10 minutes.
      *
+     * Two paging modes are supported:
+     * - OFFSET paging with page/limit (legacy, cost grows with page number)
+     * - Keyset paging with cursor/limit: pass the nextCursor of the previous response
+     *   to seek directly past the last row seen (constant cost per page)
+     * Every response includes nextCursor so clients can switch to keyset paging.
+     *
      * @param gameId   Optional filter by game ID
      * @param minPrice Optional minimum price filter
      * @param maxPrice Optional maximum price filter
      * @param status   Optional filter by account status
-     * @param page     Page number (default 0)
+     * @param page     Page number (default 0), ignored when cursor is given
      * @param limit    Results per page (default 20, max 100)
+     * @param cursor   Optional keyset cursor (nextCursor from a previous response)
      * @return Paginated account responses
      */
     @GetMapping
@@ -297,10 +321,13 @@ public class AccountController {
             @RequestParam(value = "page", required = false, defaultValue = "0") Integer page,
 
             @Parameter(description = "Results per page")
-            @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit
+            @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit,
+
+            @Parameter(description = "Keyset cursor (nextCursor from previous response)")
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        log.debug("GET /api/accounts - gameId: {}, minPrice: {}, maxPrice: {}, status: {}, page: {}, limit: {}",
-                gameId, minPrice, maxPrice, status, page, limit);
+        log.debug("GET /api/accounts - gameId: {}, minPrice: {}, maxPrice: {}, status: {}, page: {}, limit: {}, cursor: {}",
+                gameId, minPrice, maxPrice, status, page, limit, cursor);
 
         // Convert status string to enum if provided
         AccountStatus statusEnum = null;
@@ -315,6 +342,11 @@ public class AccountController {
         // Create pageable
         int pageNum = (page >= 0) ? page : 0;
         int limitNum = (limit > 0 && limit <= 100) ? limit : 20;
+
+        if (cursor != null && !cursor.isBlank()) {
+            return ResponseEntity.ok(searchAccountsAfterCursor(gameId, minPrice, maxPrice, statusEnum, cursor, limitNum));
+        }
+
         Pageable pageable = PageRequest.of(pageNum, limitNum, Sort.by("createdAt").descending());
 
         // Delegate to service
@@ -331,10 +363,83 @@ public class AccountController {
         response.put("totalPages", accountsPage.getTotalPages());
         response.put("currentPage", pageNum);
         response.put("pageSize", limitNum);
+        response.put("nextCursor", accountsPage.hasNext() ? nextCursor(accountsPage.getContent()) : null);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get facet counts for the search sidebar: results per game, rank and price band
+     * for the given filters (same query parameters as the advanced search filters).
+     *
+     * @param filters Search filters (gameId, minPrice, maxPrice, minLevel, maxLevel, rank, status, isFeatured, searchText)
+     * @return Facet counts
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Search facets", description = "Result counts per game, rank and price band for the given filters")
+    public ResponseEntity<AccountFacetsResponse> getSearchFacets(@ModelAttribute AccountSearchRequest filters) {
+        log.debug("GET /api/accounts/facets - filters: {}", filters);
+
+        String userRole = hasAdminRole() ? "ADMIN" : "BUYER";
+        return ResponseEntity.ok(accountService.getSearchFacets(filters, null, userRole));
+    }
+
+    /**
+     * Typeahead completions for the search box: listing titles, game names and ranks
+     * starting with the typed prefix (accent-insensitive), most viewed first.
+     *
+     * @param q Prefix typed so far
+     * @param limit Maximum number of completions (default 10, max 20)
+     * @return Completions ordered by weight
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Search suggestions", description = "Top completions for a prefix from listing titles, game names and ranks")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Prefix typed so far") @RequestParam String q,
+            @Parameter(description = "Maximum number of completions (max 20)") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/accounts/suggest - q: {}, limit: {}", q, limit);
+
+        return ResponseEntity.ok(accountSuggester.suggest(q, limit));
+    }
+
+    /**
+     * Keyset branch of GET /api/accounts: seek past the cursor row (createdAt DESC, id DESC).
+     * totalElements/totalPages are omitted because computing them would defeat the purpose.
+     */
+    private Map<String, Object> searchAccountsAfterCursor(Long gameId, Double minPrice, Double maxPrice,
+                                                          AccountStatus status, String cursor, int limitNum) {
+        CursorUtil.KeysetCursor keysetCursor;
+        try {
+            keysetCursor = cursorUtil.decodeKeysetCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor: " + cursor);
+        }
+
+        Slice<Account> slice = accountService.searchAccountsAfter(
+                gameId, minPrice, maxPrice, status, keysetCursor, limitNum
+        );
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", slice.getContent().stream()
+                .map(this::toAccountResponse)
+                .collect(Collectors.toList()));
+        response.put("pageSize", limitNum);
+        response.put("hasNext", slice.hasNext());
+        response.put("nextCursor", slice.hasNext() ? nextCursor(slice.getContent()) : null);
+        return response;
+    }
+
+    /**
+     * Build the createdAt keyset cursor for the last account of a page.
+     */
+    private String nextCursor(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return null;
+        }
+        Account last = accounts.get(accounts.size() - 1);
+        return cursorUtil.encodeKeysetCursor("createdAt", last.getCreatedAt(), last.getId());
+    }
+
     /**
      * Get authenticated seller's own listings.
      * Requires authentication.
@@ -430,26 +535,40 @@ public class AccountController {
 
     /**
      * Convert Account entity to AccountResponse DTO.
+     * Package-private for AccountResponseBenchmark (src/jmh).
      *
      * @param account Account entity
      * @return AccountResponse DTO
      */
-    private AccountResponse toAccountResponse(Account account) {
+    AccountResponse toAccountResponse(Account account) {
+        return toAccountResponse(account, 0);
+    }
+
+    /**
+     * Convert Account entity to AccountResponse DTO, adding views not flushed to the entity yet.
+     *
+     * @param account Account entity
+     * @param pendingViews Views counted since the last flush (AccountViewCounter)
+     * @return AccountResponse DTO
+     */
+    private AccountResponse toAccountResponse(Account account, long pendingViews) {
+        Game game = gameCatalog.gameOf(account);
+        long persistedViews = account.getViewsCount() != null ? account.getViewsCount() : 0;
         return AccountResponse.builder()
                 .id(account.getId())
                 .sellerId(account.getSeller().getId())
                 .sellerName(account.getSeller().getFullName())
                 .sellerEmail(account.getSeller().getEmail())
-                .gameId(account.getGame().getId())
-                .gameName(account.getGame().getName())
-                .gameSlug(account.getGame().getSlug())
+                .gameId(game.getId())
+                .gameName(game.getName())
+                .gameSlug(game.getSlug())
                 .title(account.getTitle())
                 .description(account.getDescription())
                 .level(account.getLevel())
                 .rank(account.getRank())
                 .price(account.getPrice())
                 .status(account.getStatus().name())
-                .viewsCount(account.getViewsCount())
+                .viewsCount(persistedViews + pendingViews)
                 .isFeatured(account.isFeatured())
                 .images(account.getImages())
                 .createdAt(account.getCreatedAt())
@@ -478,6 +597,18 @@ public class AccountController {
         return user.getId();
     }
 
+    /**
+     * Identity of a viewer for unique viewer counting: the signed-in user's email, else remote
+     * address and user agent.
+     */
+    private String visitorKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "u:" + authentication.getName();
+        }
+        return "r:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+    }
+
     /**
      * Check if authenticated user has ADMIN role.
      *
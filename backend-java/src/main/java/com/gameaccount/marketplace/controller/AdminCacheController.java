@@ -0,0 +1,59 @@
+package com.gameaccount.marketplace.controller;
+
+import com.gameaccount.marketplace.cache.CacheMetrics;
+import com.gameaccount.marketplace.cache.CacheTagIndex;
+import com.gameaccount.marketplace.cache.RefreshAhead;
+import com.gameaccount.marketplace.cache.SecondLevelCacheMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for cache monitoring (ADMIN only).
+ * JSON view of the per-cache metrics that are also published to Micrometer
+ * (/actuator/prometheus), for tuning TTLs and sizes.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@Tag(name = "Admin Cache", description = "Cache monitoring APIs")
+public class AdminCacheController {
+
+    private final CacheMetrics cacheMetrics;
+    private final CacheTagIndex cacheTagIndex;
+    private final RefreshAhead refreshAhead;
+    private final SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    /**
+     * Current metrics of every cache.
+     *
+     * @return Per-cache metrics, tag index and refresh-ahead counters, and per-region metrics of
+     *         the Hibernate second-level cache
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cache metrics", description = "Hits, misses, load time, evictions, entries and payload bytes per cache; hits, misses, puts and entries per second-level cache region")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        log.info("GET /api/admin/cache");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("caches", cacheMetrics.report());
+        response.put("taggedEntries", cacheTagIndex.size());
+        response.put("refreshAheadRefreshes", refreshAhead.getRefreshCount());
+        response.put("refreshAheadFailures", refreshAhead.getFailedRefreshCount());
+        response.put("secondLevelCacheRegions", secondLevelCacheMetrics.report());
+        return ResponseEntity.ok(response);
+    }
+}
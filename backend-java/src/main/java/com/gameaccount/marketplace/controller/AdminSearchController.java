@@ -0,0 +1,56 @@
+package com.gameaccount.marketplace.controller;
+
+import com.gameaccount.marketplace.service.AccountFacetIndex;
+import com.gameaccount.marketplace.service.AccountTextIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for search index maintenance (ADMIN only).
+ * Rebuilds the in-memory listing indexes from the accounts table, e.g. after bulk imports
+ * or seeding that bypass AccountService and therefore publish no change events.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+@Tag(name = "Admin Search", description = "Search index maintenance APIs")
+public class AdminSearchController {
+
+    private final AccountTextIndex accountTextIndex;
+    private final AccountFacetIndex accountFacetIndex;
+
+    /**
+     * Rebuild the full-text and facet indexes from the database.
+     *
+     * @return Indexed document counts and elapsed time
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild search indexes", description = "Rebuild the full-text and facet indexes from the database")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<Map<String, Object>> rebuildIndexes() {
+        log.info("POST /api/admin/search/rebuild");
+        long start = System.currentTimeMillis();
+
+        int textDocuments = accountTextIndex.rebuild();
+        accountFacetIndex.rebuild();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("textIndexDocuments", textDocuments);
+        response.put("facetIndexAccounts", accountFacetIndex.size());
+        response.put("durationMs", System.currentTimeMillis() - start);
+        return ResponseEntity.ok(response);
+    }
+}
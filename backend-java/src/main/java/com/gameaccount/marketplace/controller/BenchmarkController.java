@@ -1,32 +1,54 @@
 package com.gameaccount.marketplace.controller;
 
+import com.gameaccount.marketplace.benchmark.LoadBenchmarkReport;
+import com.gameaccount.marketplace.benchmark.LoadBenchmarkService;
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
 import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Message;
+import com.gameaccount.marketplace.entity.User;
 import com.gameaccount.marketplace.repository.AccountRepository;
-import com.gameaccount.marketplace.service.AccountService;
+import com.gameaccount.marketplace.repository.MessageRepository;
+import com.gameaccount.marketplace.service.AccountTextIndex;
+import com.gameaccount.marketplace.service.AccountViewCounter;
+import com.gameaccount.marketplace.spec.AccountSpecification;
+import jakarta.persistence.EntityManager;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.domain.Page;
+import org.hibernate.Session;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * Performance Benchmarking Controller
  *
- * This controller provides endpoints to measure query performance
+ * This controller provides endpoints to measure performance
  * before and after optimizations (Redis cache, DataLoader, indexes).
  *
+ * - /load, /run-all: concurrent load scenarios with latency percentiles (LoadBenchmarkService)
+ * - /test-6 .. /test-9: side-by-side comparisons of two implementations of one operation
+ *
  * USAGE:
- * 1. Set profile: benchmark
- * 2. Run benchmarks: GET /api/benchmark/run-all
- * 3. Compare results before/after optimizations
+ * 1. Set profile: benchmark (seed,benchmark to load a dataset first, see DatabaseSeeder)
+ * 2. Run benchmarks: GET /api/benchmark/run-all (or the CLI, see LoadBenchmarkRunner)
+ * 3. Compare the JSON reports in benchmark.load.output-dir before/after optimizations
  *
  * SECURITY:
  * - Only accessible with benchmark profile enabled
@@ -35,241 +57,389 @@ import java.util.List;
 @Slf4j
 @RestController
 @RequestMapping("/api/benchmark")
-@ConditionalOnProperty(name = "spring.profiles.active", havingValue = "benchmark")
+@Profile("benchmark") // also combinable with seed: --spring.profiles.active=seed,benchmark
 @RequiredArgsConstructor
 public class BenchmarkController {
 
-    private final AccountService accountService;
+    private final LoadBenchmarkService loadBenchmarkService;
     private final AccountRepository accountRepository;
+    private final AccountTextIndex accountTextIndex;
+    private final AccountViewCounter accountViewCounter;
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageRepository messageRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Rows per flush in the batch write benchmark (= hibernate.jdbc.batch_size) */
+    private static final int WRITE_BATCH_SIZE = 50;
+
+    /** Catch-all WHERE clause equivalent to AccountRepository.searchAccountsWithJoins (for EXPLAIN) */
+    private static final String CATCH_ALL_WHERE =
+            "(? IS NULL OR a.game_id = ?) AND (? IS NULL OR a.price >= ?) AND (? IS NULL OR a.price <= ?) AND " +
+            "(? IS NULL OR a.level >= ?) AND (? IS NULL OR a.level <= ?) AND " +
+            "(? IS NULL OR a.status = ?) AND (? IS NULL OR a.is_featured = ?)";
 
     /**
-     * Test 1: Simple query - baseline performance
-     * Tests basic SELECT without filters
+     * Load scenarios and what one operation of each does.
      */
-    @GetMapping("/test-1-simple-query")
-    public BenchmarkResult testSimpleQuery() {
-        log.info("🔬 Benchmark: Simple Query (Baseline)");
-        long start = System.currentTimeMillis();
-
-        // Query: Get 100 accounts without filters
-        Pageable pageable = PageRequest.of(0, 100);
-        Page<Account> accounts = accountService.searchAccounts(
-                null,    // gameId
-                null,    // minPrice
-                null,    // maxPrice
-                null,    // status
-                pageable
-        );
-
-        long duration = System.currentTimeMillis() - start;
-        log.info("✅ Completed in {}ms", duration);
-
-        return new BenchmarkResult(
-                "Simple Query (Baseline)",
-                duration,
-                accounts.getTotalElements(),
-                "Basic pagination without filters"
-        );
+    @GetMapping("/load/scenarios")
+    public Map<String, String> loadScenarios() {
+        return loadBenchmarkService.describe();
     }
 
     /**
-     * Test 2: Filtered query - tests index effectiveness
-     * Tests with WHERE clauses on indexed columns
+     * Load benchmark: runs each scenario from concurrency threads for the warmup and then the
+     * measured duration and reports throughput and p50/p95/p99/p99.9 latency (HdrHistogram).
+     * The report is also written as JSON to benchmark.load.output-dir. Omitted parameters use
+     * the benchmark.load.* defaults; no scenarios = all of them.
      */
-    @GetMapping("/test-2-filtered-query")
-    public BenchmarkResult testFilteredQuery() {
-        log.info("🔬 Benchmark: Filtered Query (Index Test)");
-        long start = System.currentTimeMillis();
-
-        // Query: Get accounts with filters
-        Pageable pageable = PageRequest.of(0, 100);
-        Page<Account> accounts = accountService.searchAccounts(
-                1L,                                  // gameId
-                100.0,                               // minPrice
-                500.0,                               // maxPrice
-                Account.AccountStatus.APPROVED,      // status
-                pageable
-        );
+    @GetMapping("/load")
+    public LoadBenchmarkReport runLoad(
+            @RequestParam(required = false) List<String> scenarios,
+            @RequestParam(required = false) Integer concurrency,
+            @RequestParam(required = false) Integer warmupSeconds,
+            @RequestParam(required = false) Integer durationSeconds,
+            @RequestParam(required = false) Double targetRate) throws InterruptedException {
+        log.info("🔬 Benchmark: Load ({})", scenarios == null || scenarios.isEmpty() ? "all scenarios" : scenarios);
+        return loadBenchmarkService.run(scenarios,
+                loadBenchmarkService.settings(concurrency, warmupSeconds, durationSeconds, targetRate));
+    }
 
-        long duration = System.currentTimeMillis() - start;
-        log.info("✅ Completed in {}ms", duration);
+    /**
+     * Test 6: Search filter combinations - catch-all vs dynamic query
+     * Runs common filter combinations through the catch-all ":x IS NULL OR ..." query and
+     * through the dynamically built AccountSpecification query, and reports average latency
+     * and the MySQL EXPLAIN access path (chosen index, estimated rows) of each.
+     */
+    @GetMapping("/test-6-search-filter-combinations")
+    public List<SearchPlanResult> testSearchFilterCombinations(
+            @RequestParam(defaultValue = "20") int iterations) {
+        log.info("🔬 Benchmark: Search Filter Combinations (Catch-all vs Dynamic)");
+
+        Map<String, AccountSearchRequest> combinations = new LinkedHashMap<>();
+        combinations.put("game+price", AccountSearchRequest.builder()
+                .gameId(1L).minPrice(100.0).maxPrice(500.0).build());
+        combinations.put("game+level", AccountSearchRequest.builder()
+                .gameId(1L).minLevel(30).maxLevel(80).build());
+        combinations.put("status+featured", AccountSearchRequest.builder()
+                .status(Account.AccountStatus.APPROVED).isFeatured(true).build());
+
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+        List<SearchPlanResult> results = new ArrayList<>();
+
+        for (Map.Entry<String, AccountSearchRequest> entry : combinations.entrySet()) {
+            AccountSearchRequest request = entry.getValue();
+
+            long catchAllNanos = 0;
+            long dynamicNanos = 0;
+            long recordCount = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                accountRepository.searchAccountsWithJoins(
+                        request.getGameId(), request.getMinPrice(), request.getMaxPrice(),
+                        request.getMinLevel(), request.getMaxLevel(), null,
+                        request.getStatus(), request.getIsFeatured(), null, null,
+                        pageable);
+                catchAllNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                recordCount = accountRepository.findAll(
+                        AccountSpecification.fromSearchRequest(request)
+                                .and(AccountSpecification.fetchSellerAndGame()),
+                        pageable).getTotalElements();
+                dynamicNanos += System.nanoTime() - start;
+            }
+
+            SearchPlanResult result = new SearchPlanResult(
+                    entry.getKey(),
+                    catchAllNanos / 1_000_000.0 / Math.max(iterations, 1),
+                    dynamicNanos / 1_000_000.0 / Math.max(iterations, 1),
+                    recordCount,
+                    explainCatchAll(request),
+                    explainDynamic(request)
+            );
+            log.info("✅ {}: catch-all {}ms [{}], dynamic {}ms [{}]", result.getCombination(),
+                    String.format("%.2f", result.getCatchAllAvgMs()), result.getCatchAllPlan(),
+                    String.format("%.2f", result.getDynamicAvgMs()), result.getDynamicPlan());
+            results.add(result);
+        }
 
-        return new BenchmarkResult(
-                "Filtered Query (Index Test)",
-                duration,
-                accounts.getTotalElements(),
-                "Tests index effectiveness on WHERE clauses"
-        );
+        return results;
     }
 
     /**
-     * Test 3: Nested query (N+1 problem test)
-     * Tests DataLoader optimization for nested entities
-     *
-     * IMPORTANT: This endpoint forces lazy loading to expose N+1 issues
-     * Run BEFORE and AFTER enabling DataLoader to see the difference
+     * Test 7: Full-text search - LIKE scan vs Lucene index
+     * Runs each query through the LIKE '%q%' filter on title/description and through the
+     * Lucene index (matching IDs, then one page by ID), and reports average latency and hits.
      */
-    @GetMapping("/test-3-nested-query")
-    public BenchmarkResult testNestedQuery() {
-        log.info("🔬 Benchmark: Nested Query (N+1 Problem Test)");
-        long start = System.currentTimeMillis();
-
-        // Query: Get 100 approved accounts (without JOIN FETCH)
-        // This query doesn't load relationships, triggering lazy loading
-        List<Account> accounts = accountRepository.findByStatus(
-                Account.AccountStatus.APPROVED
-        ).stream()
-                .limit(100)
-                .toList();
-
-        // Force load relationships (this triggers N+1 without DataLoader)
-        for (Account account : accounts) {
-            account.getSeller().getFullName();
-            account.getGame().getName();
+    @GetMapping("/test-7-full-text-search")
+    public List<BenchmarkResult> testFullTextSearch(
+            @RequestParam(defaultValue = "legendary,max rank,epic account,pro") List<String> queries,
+            @RequestParam(defaultValue = "20") int iterations) {
+        log.info("🔬 Benchmark: Full-Text Search (LIKE vs Lucene)");
+
+        Pageable pageable = PageRequest.of(0, 20);
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        for (String query : queries) {
+            AccountSearchRequest request = AccountSearchRequest.builder().searchText(query).build();
+
+            long likeNanos = 0;
+            long luceneNanos = 0;
+            long likeHits = 0;
+            long luceneHits = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                likeHits = accountRepository.findAll(AccountSpecification.fromSearchRequest(request), pageable)
+                        .getTotalElements();
+                likeNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Long> ids = accountTextIndex.search(query);
+                luceneHits = accountRepository.findIds(
+                        AccountSpecification.fromSearchRequest(request, null, ids), pageable).getTotalElements();
+                luceneNanos += System.nanoTime() - start;
+            }
+
+            double likeAvgMs = likeNanos / 1_000_000.0 / Math.max(iterations, 1);
+            double luceneAvgMs = luceneNanos / 1_000_000.0 / Math.max(iterations, 1);
+            log.info("✅ '{}': LIKE {}ms ({} hits), Lucene {}ms ({} hits)", query,
+                    String.format("%.2f", likeAvgMs), likeHits, String.format("%.2f", luceneAvgMs), luceneHits);
+
+            results.add(new BenchmarkResult(
+                    "Full-Text Search: " + query,
+                    Math.round(luceneAvgMs),
+                    luceneHits,
+                    String.format("LIKE: %.2fms (%d hits), Lucene: %.2fms (%d hits, prefix + accent folding)",
+                            likeAvgMs, likeHits, luceneAvgMs, luceneHits)
+            ));
         }
 
-        long duration = System.currentTimeMillis() - start;
-        log.info("✅ Completed in {}ms", duration);
-
-        return new BenchmarkResult(
-                "Nested Query (N+1 Test)",
-                duration,
-                (long) accounts.size(),
-                "Tests lazy loading N+1 problem. Expected: ~201 queries without DataLoader, ~3 with DataLoader"
-        );
+        return results;
     }
 
     /**
-     * Test 4: Optimized nested query with JOIN FETCH
-     * Tests the effectiveness of searchAccountsWithJoins
+     * Test 8: View counting - per-view read-modify-write vs write-behind counter
+     * Counts the same number of views of one listing from several threads, first with the
+     * former findById + save per view, then through AccountViewCounter (including the final
+     * batched flush), and reports views/sec of each. Both runs add to the listing's views_count.
      */
-    @GetMapping("/test-4-optimized-nested-query")
-    public BenchmarkResult testOptimizedNestedQuery() {
-        log.info("🔬 Benchmark: Optimized Nested Query (JOIN FETCH Test)");
-        long start = System.currentTimeMillis();
-
-        // Query: Get 100 approved accounts WITH JOIN FETCH
-        // This loads relationships in a single query
-        Pageable pageable = PageRequest.of(0, 100, Sort.by("createdAt").descending());
-        Page<Account> accounts = accountRepository.searchAccountsWithJoins(
-                null,                           // gameId
-                null,                           // minPrice
-                null,                           // maxPrice
-                null,                           // minLevel
-                null,                           // maxLevel
-                null,                           // rank
-                Account.AccountStatus.APPROVED, // status
-                null,                           // isFeatured
-                null,                           // searchText
-                null,                           // sellerId
-                pageable
-        );
-
-        // Access relationships (already loaded, no additional queries)
-        for (Account account : accounts.getContent()) {
-            account.getSeller().getFullName();
-            account.getGame().getName();
+    @GetMapping("/test-8-view-counting")
+    public BenchmarkResult testViewCounting(
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(defaultValue = "2000") int views,
+            @RequestParam(defaultValue = "8") int threads) throws Exception {
+        log.info("🔬 Benchmark: View Counting (read-modify-write vs write-behind)");
+
+        Long id = accountId != null ? accountId
+                : accountRepository.findAll(PageRequest.of(0, 1)).getContent().stream()
+                        .map(Account::getId)
+                        .findFirst()
+                        .orElse(null);
+        if (id == null) {
+            return new BenchmarkResult("View Counting", 0L, 0L, "No accounts to view");
         }
 
-        long duration = System.currentTimeMillis() - start;
-        log.info("✅ Completed in {}ms", duration);
+        long before = countViews(views, threads, () -> {
+            Account account = accountRepository.findById(id).orElseThrow();
+            account.setViewsCount(account.getViewsCount() + 1);
+            accountRepository.save(account);
+        });
+        long after = countViews(views, threads, () -> accountViewCounter.record(id));
+        long flushStart = System.nanoTime();
+        accountViewCounter.flush();
+        after += System.nanoTime() - flushStart;
+
+        double beforeRate = views / (before / 1_000_000_000.0);
+        double afterRate = views / (after / 1_000_000_000.0);
+        log.info("✅ Views/sec: read-modify-write {}, write-behind {}",
+                String.format("%.0f", beforeRate), String.format("%.0f", afterRate));
 
         return new BenchmarkResult(
-                "Optimized Nested Query (JOIN FETCH)",
-                duration,
-                accounts.getTotalElements(),
-                "Uses JOIN FETCH to prevent N+1. Expected: ~1-3 queries total"
+                "View Counting (account " + id + ")",
+                after / 1_000_000,
+                (long) views,
+                String.format("findById + save: %.0f views/sec (%dms), write-behind: %.0f views/sec (%dms incl. flush), %d threads",
+                        beforeRate, before / 1_000_000, afterRate, after / 1_000_000, threads)
         );
     }
 
     /**
-     * Test 5: Cache effectiveness - tests Redis caching
-     * First call = cache miss, Second call = cache hit
+     * Test 9: Batch writes - one statement per row vs JDBC batches
+     * Inserts the given number of messages (flushing every 50), marks them all read (50 loaded
+     * and updated per flush), then deletes them; once with the session's JDBC batch size forced
+     * to 1 and once with batches of 50. Reports rows/sec of the inserts and of the updates.
      */
-    @GetMapping("/test-5-cache-effectiveness")
-    public BenchmarkResult testCacheEffectiveness() {
-        log.info("🔬 Benchmark: Cache Effectiveness (Redis Test)");
-
-        // First call (cache miss)
-        long start1 = System.currentTimeMillis();
-        accountService.getFeaturedAccounts();
-        long firstCallDuration = System.currentTimeMillis() - start1;
-        log.info("📥 First call (cache miss): {}ms", firstCallDuration);
-
-        // Second call (cache hit)
-        long start2 = System.currentTimeMillis();
-        accountService.getFeaturedAccounts();
-        long secondCallDuration = System.currentTimeMillis() - start2;
-        log.info("📥 Second call (cache hit): {}ms", secondCallDuration);
-
-        long improvement = firstCallDuration - secondCallDuration;
-        double improvementPercent = firstCallDuration > 0
-                ? (improvement * 100.0) / firstCallDuration
-                : 0;
+    @GetMapping("/test-9-batch-writes")
+    public BenchmarkResult testBatchWrites(@RequestParam(defaultValue = "2000") int rows) {
+        log.info("🔬 Benchmark: Batch Writes (row by row vs JDBC batches)");
+
+        Account account = accountRepository.findAll(PageRequest.of(0, 1)).getContent().stream()
+                .findFirst()
+                .orElse(null);
+        if (account == null || rows <= 0) {
+            return new BenchmarkResult("Batch Writes", 0L, 0L, "No account to write messages for");
+        }
 
-        log.info("✅ Cache improvement: {}ms ({:.1f}%)", improvement, improvementPercent);
+        WriteRates single = measureWrites(account.getId(), account.getSellerId(), rows, 1);
+        WriteRates batched = measureWrites(account.getId(), account.getSellerId(), rows, WRITE_BATCH_SIZE);
+        log.info("✅ Rows/sec: insert {} -> {}, update {} -> {}",
+                String.format("%.0f", single.insertsPerSecond()), String.format("%.0f", batched.insertsPerSecond()),
+                String.format("%.0f", single.updatesPerSecond()), String.format("%.0f", batched.updatesPerSecond()));
 
         return new BenchmarkResult(
-                "Cache Effectiveness (Redis Test)",
-                improvement,
-                0L,
-                String.format("First: %dms, Second: %dms, Improvement: %dms (%.1f%%)",
-                        firstCallDuration, secondCallDuration, improvement, improvementPercent)
+                "Batch Writes (" + rows + " messages)",
+                batched.totalMs(),
+                (long) rows,
+                String.format("Insert: %.0f rows/sec row by row, %.0f rows/sec batched; " +
+                                "update: %.0f rows/sec row by row, %.0f rows/sec batched (%dms vs %dms in total)",
+                        single.insertsPerSecond(), batched.insertsPerSecond(),
+                        single.updatesPerSecond(), batched.updatesPerSecond(),
+                        single.totalMs(), batched.totalMs())
         );
     }
 
     /**
-     * Run all benchmarks and return comprehensive results
+     * Run all load scenarios with the benchmark.load.* defaults
      */
     @GetMapping("/run-all")
-    public String runAllBenchmarks() {
-        log.info("🚀 Starting comprehensive benchmark suite...");
-        StringBuilder results = new StringBuilder();
-        results.append("╔════════════════════════════════════════════════════════════╗\n");
-        results.append("║         PERFORMANCE BENCHMARK RESULTS                      ║\n");
-        results.append("╚════════════════════════════════════════════════════════════╝\n\n");
-
-        // Test 1: Simple Query
-        BenchmarkResult result1 = testSimpleQuery();
-        results.append(formatResult(result1));
-
-        // Test 2: Filtered Query
-        BenchmarkResult result2 = testFilteredQuery();
-        results.append(formatResult(result2));
-
-        // Test 3: Nested Query (N+1)
-        BenchmarkResult result3 = testNestedQuery();
-        results.append(formatResult(result3));
-
-        // Test 4: Optimized Nested Query
-        BenchmarkResult result4 = testOptimizedNestedQuery();
-        results.append(formatResult(result4));
+    public LoadBenchmarkReport runAllBenchmarks() throws InterruptedException {
+        log.info("🚀 Starting load benchmark suite...");
+        LoadBenchmarkReport report = runLoad(null, null, null, null, null);
+        log.info("🏁 Load benchmark suite completed");
+        return report;
+    }
 
-        // Test 5: Cache Effectiveness
-        BenchmarkResult result5 = testCacheEffectiveness();
-        results.append(formatResult(result5));
+    /**
+     * Run a task the given number of times spread over a fixed pool; returns elapsed nanos.
+     */
+    private long countViews(int views, int threads, Runnable view) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        try {
+            List<Future<?>> futures = new ArrayList<>(views);
+            long start = System.nanoTime();
+            for (int i = 0; i < views; i++) {
+                futures.add(executor.submit(view));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        results.append("══════════════════════════════════════════════════════════════\n");
-        results.append("✅ Benchmark suite completed!\n");
-        results.append("══════════════════════════════════════════════════════════════\n");
+    /**
+     * Insert, update and delete rows messages of one account with the given JDBC batch size.
+     */
+    private WriteRates measureWrites(Long accountId, Long userId, int rows, int batchSize) {
+        List<Long> ids = new ArrayList<>(rows);
+
+        long insertStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<Message> chunk = new ArrayList<>(WRITE_BATCH_SIZE);
+            for (int i = 0; i < rows; i++) {
+                User user = entityManager.getReference(User.class, userId);
+                Message message = Message.builder()
+                        .account(entityManager.getReference(Account.class, accountId))
+                        .sender(user)
+                        .receiver(user)
+                        .content("Batch write benchmark message " + i)
+                        .build();
+                entityManager.persist(message);
+                chunk.add(message);
+                if (chunk.size() == WRITE_BATCH_SIZE || i == rows - 1) {
+                    entityManager.flush();
+                    chunk.forEach(written -> ids.add(written.getId()));
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        });
+        long insertNanos = System.nanoTime() - insertStart;
+
+        long updateStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int from = 0; from < ids.size(); from += WRITE_BATCH_SIZE) {
+                messageRepository.findAllById(ids.subList(from, Math.min(from + WRITE_BATCH_SIZE, ids.size())))
+                        .forEach(message -> message.setIsRead(true));
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+        long updateNanos = System.nanoTime() - updateStart;
+
+        messageRepository.deleteAllByIdInBatch(ids);
+        return new WriteRates(rows, insertNanos, updateNanos);
+    }
 
-        log.info("🏁 Benchmark suite completed");
+    private String explainCatchAll(AccountSearchRequest request) {
+        String status = request.getStatus() != null ? request.getStatus().name() : null;
+        Object[] params = {
+                request.getGameId(), request.getGameId(),
+                request.getMinPrice(), request.getMinPrice(),
+                request.getMaxPrice(), request.getMaxPrice(),
+                request.getMinLevel(), request.getMinLevel(),
+                request.getMaxLevel(), request.getMaxLevel(),
+                status, status,
+                request.getIsFeatured(), request.getIsFeatured()
+        };
+        return explain("SELECT a.id FROM accounts a WHERE " + CATCH_ALL_WHERE, params);
+    }
 
-        return results.toString();
+    private String explainDynamic(AccountSearchRequest request) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (request.getGameId() != null) {
+            predicates.add("a.game_id = ?");
+            params.add(request.getGameId());
+        }
+        if (request.getMinPrice() != null) {
+            predicates.add("a.price >= ?");
+            params.add(request.getMinPrice());
+        }
+        if (request.getMaxPrice() != null) {
+            predicates.add("a.price <= ?");
+            params.add(request.getMaxPrice());
+        }
+        if (request.getMinLevel() != null) {
+            predicates.add("a.level >= ?");
+            params.add(request.getMinLevel());
+        }
+        if (request.getMaxLevel() != null) {
+            predicates.add("a.level <= ?");
+            params.add(request.getMaxLevel());
+        }
+        if (request.getStatus() != null) {
+            predicates.add("a.status = ?");
+            params.add(request.getStatus().name());
+        }
+        if (request.getIsFeatured() != null) {
+            predicates.add("a.is_featured = ?");
+            params.add(request.getIsFeatured());
+        }
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return explain("SELECT a.id FROM accounts a" + where, params.toArray());
     }
 
-    private String formatResult(BenchmarkResult result) {
-        return String.format(
-                "┌─ %s\n" +
-                "│   Duration: %dms\n" +
-                "│   Records:  %d\n" +
-                "│   Details:  %s\n" +
-                "└─────────────────────────────────────────────────────────\n\n",
-                result.getTestName(),
-                result.getDuration(),
-                result.getRecordCount(),
-                result.getDetails()
-        );
+    /**
+     * Run EXPLAIN and summarize the access path as "type/key/rows" per table.
+     * Returns the error message instead when the database does not support the EXPLAIN output format.
+     */
+    private String explain(String sql, Object[] params) {
+        try {
+            return jdbcTemplate.queryForList("EXPLAIN " + sql + " ORDER BY a.created_at DESC LIMIT 20", params)
+                    .stream()
+                    .map(row -> String.format("type=%s key=%s rows=%s",
+                            row.get("type"), row.get("key"), row.get("rows")))
+                    .collect(Collectors.joining("; "));
+        } catch (Exception e) {
+            log.warn("EXPLAIN failed: {}", e.getMessage());
+            return "EXPLAIN unavailable: " + e.getMessage();
+        }
     }
 
     /**
@@ -282,4 +452,35 @@ public class BenchmarkController {
         private final Long recordCount;
         private final String details;
     }
+
+    /**
+     * Timings of one batch write run
+     */
+    private record WriteRates(int rows, long insertNanos, long updateNanos) {
+
+        double insertsPerSecond() {
+            return rows / (insertNanos / 1_000_000_000.0);
+        }
+
+        double updatesPerSecond() {
+            return rows / (updateNanos / 1_000_000_000.0);
+        }
+
+        long totalMs() {
+            return (insertNanos + updateNanos) / 1_000_000;
+        }
+    }
+
+    /**
+     * Search Filter Combination Result DTO
+     */
+    @Data
+    public static class SearchPlanResult {
+        private final String combination;
+        private final double catchAllAvgMs;
+        private final double dynamicAvgMs;
+        private final Long recordCount;
+        private final String catchAllPlan;
+        private final String dynamicPlan;
+    }
 }
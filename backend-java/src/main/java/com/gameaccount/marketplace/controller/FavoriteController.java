@@ -4,10 +4,12 @@ import com.gameaccount.marketplace.dto.request.AddFavoriteRequest;
 import com.gameaccount.marketplace.dto.response.AccountResponse;
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Favorite;
+import com.gameaccount.marketplace.entity.Game;
 import com.gameaccount.marketplace.entity.User;
 import com.gameaccount.marketplace.exception.BusinessException;
 import com.gameaccount.marketplace.repository.UserRepository;
 import com.gameaccount.marketplace.service.FavoriteService;
+import com.gameaccount.marketplace.service.GameCatalog;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -41,6 +43,7 @@ public class FavoriteController {
 
     private final FavoriteService favoriteService;
     private final UserRepository userRepository;
+    private final GameCatalog gameCatalog;
 
     /**
      * Add an account to user's favorites.
@@ -141,21 +144,22 @@ public class FavoriteController {
      * @return AccountResponse DTO
      */
     private AccountResponse toAccountResponse(Account account) {
+        Game game = gameCatalog.gameOf(account);
         return AccountResponse.builder()
                 .id(account.getId())
                 .sellerId(account.getSeller().getId())
                 .sellerName(account.getSeller().getFullName())
                 .sellerEmail(account.getSeller().getEmail())
-                .gameId(account.getGame().getId())
-                .gameName(account.getGame().getName())
-                .gameSlug(account.getGame().getSlug())
+                .gameId(game.getId())
+                .gameName(game.getName())
+                .gameSlug(game.getSlug())
                 .title(account.getTitle())
                 .description(account.getDescription())
                 .level(account.getLevel())
                 .rank(account.getRank())
                 .price(account.getPrice())
                 .status(account.getStatus().name())
-                .viewsCount(account.getViewsCount())
+                .viewsCount(account.getViewsCount() != null ? account.getViewsCount().longValue() : 0L)
                 .isFeatured(account.isFeatured())
                 .images(account.getImages())
                 .createdAt(account.getCreatedAt())
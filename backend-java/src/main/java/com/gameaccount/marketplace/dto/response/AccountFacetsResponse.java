@@ -0,0 +1,35 @@
+package com.gameaccount.marketplace.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for search facet counts (sidebar "N results per game/rank/price band").
+ * Each dimension is counted with every filter applied except the dimension's own,
+ * so selecting a game still shows the counts for the other games.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountFacetsResponse {
+
+    private long totalCount;
+    private List<FacetCount> games;
+    private List<FacetCount> ranks;
+    private List<FacetCount> priceBands;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private String label;
+        private long count;
+    }
+}
@@ -31,7 +31,7 @@ public class AccountResponse {
     private String rank;
     private Double price;
     private String status;
-    private Integer viewsCount;
+    private Long viewsCount;
     private Boolean isFeatured;
     private List<String> images;
     private LocalDateTime createdAt;
@@ -0,0 +1,22 @@
+package com.gameaccount.marketplace.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a typeahead completion.
+ * type is TITLE (listing title), GAME (game name, gameId set) or RANK (player rank).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+
+    private String text;
+    private String type;
+    private Long gameId;
+    private long weight;
+}
@@ -1,7 +1,11 @@
 package com.gameaccount.marketplace.entity;
 
+import com.gameaccount.marketplace.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,16 +25,21 @@ import java.util.List;
         @Index(name = "idx_account_level", columnList = "level"),
         @Index(name = "idx_account_created_at", columnList = "created_at"),
         @Index(name = "idx_account_status_featured", columnList = "status, is_featured"),
+        @Index(name = "idx_account_game_price", columnList = "game_id, price"),
+        @Index(name = "idx_account_game_level", columnList = "game_id, level"),
         @Index(name = "idx_account_title", columnList = "title")
     }
 )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ACCOUNT_REGION)
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "seller_id", insertable = false, updatable = false)
@@ -43,7 +52,8 @@ public class Account {
     @Column(name = "game_id", insertable = false, updatable = false)
     private Long gameId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy: games are read from GameCatalog by gameId, never joined for an account
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
@@ -82,8 +92,13 @@ public class Account {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    // Images stored as separate table via @ElementCollection
+    // Images stored as separate table via @ElementCollection.
+    // Batch fetched: touching the images of one account of a page loads those of up to 50
+    // accounts of the same persistence context in one IN (...) query.
+    // Second-level cached with the account (READ_WRITE, same TTL).
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ACCOUNT_IMAGES_REGION)
     @CollectionTable(name = "account_images",
         joinColumns = @JoinColumn(name = "account_id")
     )
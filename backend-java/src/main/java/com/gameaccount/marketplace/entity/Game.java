@@ -1,7 +1,10 @@
 package com.gameaccount.marketplace.entity;
 
+import com.gameaccount.marketplace.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -11,13 +14,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "games")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.GAME_REGION)
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
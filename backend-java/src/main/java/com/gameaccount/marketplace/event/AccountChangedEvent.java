@@ -0,0 +1,74 @@
+package com.gameaccount.marketplace.event;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Application event published whenever an account listing is created, edited,
+ * changes status (approve/reject/sold) or is deleted.
+ * Consumed after commit by in-memory read models such as AccountFacetIndex, and by
+ * CacheTagIndex to evict the cache entries that depend on the listing.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = "account")
+public class AccountChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    private final ChangeType type;
+    private final Long accountId;
+
+    /** Game of the listing; null when unknown */
+    private final Long gameId;
+
+    /** Status before the change (STATUS_CHANGED, DELETED); null when the status did not change */
+    private final AccountStatus previousStatus;
+
+    /** Account state after the change; null for DELETED */
+    private final Account account;
+
+    public static AccountChangedEvent of(ChangeType type, Account account) {
+        return new AccountChangedEvent(type, account.getId(), gameIdOf(account), null, account);
+    }
+
+    public static AccountChangedEvent statusChanged(Account account, AccountStatus previousStatus) {
+        return new AccountChangedEvent(ChangeType.STATUS_CHANGED, account.getId(), gameIdOf(account),
+                previousStatus, account);
+    }
+
+    public static AccountChangedEvent deleted(Account account) {
+        return new AccountChangedEvent(ChangeType.DELETED, account.getId(), gameIdOf(account),
+                account.getStatus(), null);
+    }
+
+    public static AccountChangedEvent deleted(Long accountId) {
+        return new AccountChangedEvent(ChangeType.DELETED, accountId, null, null, null);
+    }
+
+    /**
+     * Statuses the listing had before or after the change; empty when unknown.
+     */
+    public Set<AccountStatus> affectedStatuses() {
+        Set<AccountStatus> statuses = EnumSet.noneOf(AccountStatus.class);
+        if (previousStatus != null) {
+            statuses.add(previousStatus);
+        }
+        if (account != null && account.getStatus() != null) {
+            statuses.add(account.getStatus());
+        }
+        return statuses;
+    }
+
+    private static Long gameIdOf(Account account) {
+        return account.getGame() != null ? account.getGame().getId() : null;
+    }
+}
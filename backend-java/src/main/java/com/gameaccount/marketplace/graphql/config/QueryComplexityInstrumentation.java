@@ -49,8 +49,9 @@ public class QueryComplexityInstrumentation extends SimpleInstrumentation {
 
     /**
      * Calculate query complexity based on query string.
+     * Runs on every query; package-private for QueryComplexityBenchmark (src/jmh).
      */
-    private int calculateComplexity(String query) {
+    int calculateComplexity(String query) {
         if (query == null) return 0;
         // Simplified complexity calculation - count field selections and nested levels
         long fieldCount = query.chars().filter(ch -> ch == '{').count();
@@ -60,7 +61,7 @@ public class QueryComplexityInstrumentation extends SimpleInstrumentation {
     /**
      * Calculate query depth (nested levels).
      */
-    private int calculateDepth(String query) {
+    int calculateDepth(String query) {
         if (query == null) return 0;
         // Simplified depth calculation - count maximum nesting
         int maxDepth = 0;
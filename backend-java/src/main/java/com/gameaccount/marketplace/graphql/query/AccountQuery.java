@@ -1,6 +1,7 @@
 package com.gameaccount.marketplace.graphql.query;
 
 import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
+import com.gameaccount.marketplace.dto.response.SuggestionResponse;
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Account.AccountStatus;
 import com.gameaccount.marketplace.entity.Game;
@@ -10,15 +11,20 @@ import com.gameaccount.marketplace.graphql.dto.AccountConnection;
 import com.gameaccount.marketplace.graphql.dto.AccountEdge;
 import com.gameaccount.marketplace.graphql.dto.PageInfo;
 import com.gameaccount.marketplace.graphql.dto.PaginatedAccountResponse;
+import com.gameaccount.marketplace.service.AccountCardLoader;
 import com.gameaccount.marketplace.service.AccountService;
+import com.gameaccount.marketplace.service.AccountSuggester;
+import com.gameaccount.marketplace.service.GameCatalog;
 import com.gameaccount.marketplace.service.PaginationService;
+import com.gameaccount.marketplace.spec.AccountSpecification;
 import com.gameaccount.marketplace.util.CursorUtil;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
@@ -28,7 +34,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -41,9 +50,14 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class AccountQuery {
 
+    /** sortBy value asking for full-text relevance order (the default when q is given) */
+    static final String RELEVANCE_SORT = "relevance";
+
     private final AccountService accountService;
     private final CursorUtil cursorUtil;
     private final PaginationService paginationService;
+    private final AccountSuggester accountSuggester;
+    private final GameCatalog gameCatalog;
 
     /**
      * Query accounts with optional filters, sorting, and pagination.
@@ -80,6 +94,11 @@ public class AccountQuery {
             }
         }
 
+        // Full-text searches default to relevance order (unsorted pageable); so does an
+        // explicit sortBy "relevance" with q
+        boolean relevance = q != null && !q.isBlank()
+                && (sortBy == null || sortBy.isEmpty() || RELEVANCE_SORT.equalsIgnoreCase(sortBy));
+
         // Validate and set sort parameters
         String sortField = sortBy != null && !sortBy.isEmpty() ? sortBy : "createdAt";
         AccountSearchRequest.SortDirection sortDirectionEnum = AccountSearchRequest.SortDirection.DESC;
@@ -92,13 +111,15 @@ public class AccountQuery {
         }
 
         // Validate sort field against allowed fields
-        if (!accountService.getAllowedSortFields().contains(sortField)) {
+        if (!relevance && !accountService.getAllowedSortFields().contains(sortField)) {
             log.warn("Invalid sort field provided: {}, using default: createdAt", sortField);
             sortField = "createdAt";
         }
 
         // Create sort object
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirectionEnum.name()), sortField);
+        Sort sort = relevance
+                ? Sort.unsorted()
+                : Sort.by(Sort.Direction.fromString(sortDirectionEnum.name()), sortField);
         Pageable pageable = PageRequest.of(pageNum, limitNum, sort);
 
         // Build search request
@@ -112,8 +133,8 @@ public class AccountQuery {
                 .status(statusEnum)
                 .isFeatured(isFeatured)
                 .searchText(q)
-                .sortBy(sortField)
-                .sortDirection(sortDirectionEnum)
+                .sortBy(relevance ? null : sortField)
+                .sortDirection(relevance ? null : sortDirectionEnum)
                 .build();
 
         // Get authenticated user info for role-based filtering
@@ -150,7 +171,9 @@ public class AccountQuery {
 
     /**
      * Query accounts with cursor-based pagination (Relay specification).
-     * Provides efficient pagination for large datasets.
+     * Uses keyset (seek) pagination: the cursor carries the sort key and ID of the edge,
+     * and the next page is read with {@code WHERE (sortKey, id) < (:k, :id)} instead of OFFSET.
+     * totalCount is only computed when the client selects it.
      */
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
@@ -160,7 +183,8 @@ public class AccountQuery {
                                               @Argument String after,
                                               @Argument String before,
                                               @Argument Integer first,
-                                              @Argument Integer last) {
+                                              @Argument Integer last,
+                                              DataFetchingFieldSelectionSet selectionSet) {
 
         log.debug("GraphQL cursor pagination - after: {}, before: {}, first: {}, last: {}",
                 after, before, first, last);
@@ -172,34 +196,38 @@ public class AccountQuery {
         int pageSize = first != null ? Math.min(Math.max(first, 1), 50) :
                       last != null ? Math.min(Math.max(last, 1), 50) : 20;
 
-        // Create sort
-        Sort sort = createSort(sortBy, sortDirection);
-
         // Get authenticated user info for filtering
         Long userId = getCurrentUserId();
         String userRole = getCurrentUserRole();
 
-        // Create pageable based on cursor using PaginationService
-        Pageable pageable;
+        AccountSearchRequest searchRequest = filters != null ? filters : new AccountSearchRequest();
+        String sortField = sortBy != null && accountService.getAllowedSortFields().contains(sortBy) ? sortBy : "createdAt";
+        AccountSearchRequest.SortDirection direction = "ASC".equalsIgnoreCase(sortDirection)
+                ? AccountSearchRequest.SortDirection.ASC : AccountSearchRequest.SortDirection.DESC;
+
+        // Backward pagination seeks in the reversed order from the 'before' cursor, then flips the rows back
         boolean isBackward = before != null;
+        searchRequest.setSortBy(sortField);
+        searchRequest.setSortDirection(isBackward ? reverse(direction) : direction);
+        CursorUtil.KeysetCursor cursor = isBackward ? cursorUtil.decodeKeysetCursor(before)
+                : after != null ? cursorUtil.decodeKeysetCursor(after) : null;
+
+        Slice<Account> slice = accountService.searchAccountsAfter(searchRequest, userId, userRole, cursor, pageSize);
+
+        List<Account> accounts = new ArrayList<>(slice.getContent());
+        boolean hasNextPage = slice.hasNext();
+        boolean hasPreviousPage = after != null;
         if (isBackward) {
-            Sort reversedSort = Sort.by(sort.stream()
-                .map(order -> new Sort.Order(
-                    order.getDirection() == Sort.Direction.ASC ? Sort.Direction.DESC : Sort.Direction.ASC,
-                    order.getProperty()))
-                .toArray(Sort.Order[]::new));
-            pageable = paginationService.createPageableFromBeforeCursor(before, pageSize, reversedSort);
-        } else {
-            pageable = paginationService.createPageableFromCursor(after, pageSize, sort);
+            Collections.reverse(accounts);
+            hasPreviousPage = slice.hasNext();
+            hasNextPage = true;
         }
 
-        // Execute query
-        Page<Account> accountPage = accountService.searchAccounts(
-            filters, userId, userRole, pageable
-        );
+        long totalCount = selectionSet.contains("totalCount")
+                ? accountService.countAccounts(searchRequest, userId, userRole)
+                : 0L;
 
-        // Convert to connection using PaginationService
-        return createAccountConnection(accountPage, pageable, pageSize, isBackward, after, before);
+        return createAccountConnection(accounts, sortField, hasNextPage, hasPreviousPage, totalCount);
     }
 
     /**
@@ -221,56 +249,23 @@ public class AccountQuery {
     }
 
     /**
-     * Determine page size with validation.
-     */
-    private int determinePageSize(Integer first, Integer last) {
-        Integer requestedSize = first != null ? first : last;
-        if (requestedSize == null) return 20;
-        if (requestedSize < 1) return 1;
-        if (requestedSize > 50) return 50;
-        return requestedSize;
-    }
-
-
-    /**
-     * Create Sort object from parameters.
+     * Flip a sort direction (used for backward pagination).
      */
-    private Sort createSort(String sortBy, String sortDirection) {
-        String field = sortBy != null && !sortBy.isEmpty() ? sortBy : "createdAt";
-        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ?
-            Sort.Direction.ASC : Sort.Direction.DESC;
-        return Sort.by(direction, field);
+    private AccountSearchRequest.SortDirection reverse(AccountSearchRequest.SortDirection direction) {
+        return direction == AccountSearchRequest.SortDirection.ASC
+                ? AccountSearchRequest.SortDirection.DESC : AccountSearchRequest.SortDirection.ASC;
     }
 
     /**
-     * Convert Page to AccountConnection.
+     * Convert a page of accounts to AccountConnection with keyset cursors.
      */
-    private AccountConnection createAccountConnection(Page<Account> accountPage, Pageable pageable,
-                                                    int requestedSize, boolean isBackward,
-                                                    String after, String before) {
-        List<Account> accounts = accountPage.getContent();
-
-        // Handle cursor-based slicing
-        List<Account> slicedAccounts;
-        boolean hasNextPage = false;
-        boolean hasPreviousPage = pageable.getPageNumber() > 0;
-
-        if (pageable.getPageSize() > determinePageSize(null, null) && accounts.size() > determinePageSize(null, null)) {
-            // We requested extra item to check for next page
-            slicedAccounts = accounts.subList(0, accounts.size() - 1);
-            hasNextPage = true;
-        } else {
-            slicedAccounts = accounts;
-            hasNextPage = accountPage.hasNext();
-        }
-
-        // Create edges with cursors
-        List<AccountEdge> edges = slicedAccounts.stream()
-            .map(account -> {
-                String cursor = cursorUtil.encodeCursor(account.getId(),
-                    account.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli());
-                return AccountEdge.of(account, cursor);
-            })
+    private AccountConnection createAccountConnection(List<Account> accounts, String sortField,
+                                                    boolean hasNextPage, boolean hasPreviousPage,
+                                                    long totalCount) {
+        // Create edges with cursors carrying (sortKey, id)
+        List<AccountEdge> edges = accounts.stream()
+            .map(account -> AccountEdge.of(account, cursorUtil.encodeKeysetCursor(
+                sortField, AccountSpecification.sortKeyOf(account, sortField), account.getId())))
             .toList();
 
         // Create page info
@@ -287,7 +282,7 @@ public class AccountQuery {
         return AccountConnection.builder()
             .edges(edges)
             .pageInfo(pageInfo)
-            .totalCount(accountPage.getTotalElements())
+            .totalCount(totalCount)
             .build();
     }
 
@@ -325,13 +320,12 @@ public class AccountQuery {
      * Get a single account by ID.
      * Delegates to AccountService.getAccountByIdWithoutIncrement()
      * Does NOT increment view count - that's handled by separate PATCH endpoint.
-     * Results are cached for 10 minutes.
+     * Served from the "accounts" cache by AccountSnapshotStore, which also loads and caches misses.
      *
      * Note: Authentication required (@PreAuthorize) to prevent unauthorized access.
      */
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
-    @Cacheable(value = "accounts", key = "#id")
     public Account account(@Argument Long id) {
         log.debug("GraphQL account query - id: {}", id);
 
@@ -344,6 +338,43 @@ public class AccountQuery {
         return accountService.getAccountByIdWithoutIncrement(id);
     }
 
+    /**
+     * Typeahead completions for a prefix (listing titles, game names, ranks).
+     * Served from the in-memory suggester, no database access.
+     */
+    @QueryMapping
+    public List<SuggestionResponse> suggest(@Argument String prefix, @Argument Integer limit) {
+        log.debug("GraphQL suggest query - prefix: {}, limit: {}", prefix, limit);
+        return accountSuggester.suggest(prefix, limit != null ? limit : 10);
+    }
+
+    /**
+     * Approved accounts ranked by unique viewers (not raw view count).
+     */
+    @QueryMapping
+    public List<Account> popularAccounts(@Argument Integer limit) {
+        log.debug("GraphQL popularAccounts query - limit: {}", limit);
+        return accountService.getPopularAccountsByUniqueViewers(limit != null ? limit : 10);
+    }
+
+    /**
+     * Approved accounts ranked by view count, served from the in-memory ranking.
+     */
+    @QueryMapping
+    public List<Account> mostViewedAccounts(@Argument Long gameId, @Argument Integer limit) {
+        log.debug("GraphQL mostViewedAccounts query - gameId: {}, limit: {}", gameId, limit);
+        return accountService.getPopularAccounts(gameId, limit != null ? limit : 10);
+    }
+
+    /**
+     * Approved accounts ranked by time-decayed views, served from the in-memory ranking.
+     */
+    @QueryMapping
+    public List<Account> trendingAccounts(@Argument Long gameId, @Argument Integer limit) {
+        log.debug("GraphQL trendingAccounts query - gameId: {}, limit: {}", gameId, limit);
+        return accountService.getTrendingAccounts(gameId, limit != null ? limit : 10);
+    }
+
     /**
      * Helper method to extract user ID from authentication principal.
      * Supports multiple authentication strategies:
@@ -464,33 +495,38 @@ public class AccountQuery {
 
     /**
      * Resolve seller field.
-     * Accounts are now loaded with JOIN FETCH, so seller relationship is already available.
+     * Detail reads carry the full seller. List reads carry a card stub (AccountCardLoader) with
+     * the display fields only; the full user is loaded when the selection asks for more.
      */
     @SchemaMapping(typeName = "Account", field = "seller")
-    public User seller(Account account) {
+    public User seller(Account account, DataFetchingFieldSelectionSet selectionSet) {
         log.debug("Resolving seller field for account: {}", account.getId());
-        // With JOIN FETCH in the query, the seller should be loaded
-        if (account.getSeller() != null) {
-            return account.getSeller();
+        User seller = account.getSeller();
+        // Card stubs carry no audit fields
+        if (seller != null && (seller.getCreatedAt() != null
+                || selectsOnly(selectionSet, AccountCardLoader.SELLER_CARD_FIELDS))) {
+            return seller;
+        }
+        if (seller == null) {
+            log.warn("Seller not loaded for account {}, falling back to service call", account.getId());
         }
-        // Fallback if somehow not loaded (shouldn't happen with JOIN FETCH)
-        log.warn("Seller not loaded for account {}, falling back to service call", account.getId());
         return accountService.getSellerForAccount(account.getId());
     }
 
     /**
-     * Resolve game field.
-     * Accounts are now loaded with JOIN FETCH, so game relationship is already available.
+     * Resolve game field from the in-memory GameCatalog (no query, whatever the selection).
      */
     @SchemaMapping(typeName = "Account", field = "game")
     public Game game(Account account) {
         log.debug("Resolving game field for account: {}", account.getId());
-        // With JOIN FETCH in the query, the game should be loaded
-        if (account.getGame() != null) {
-            return account.getGame();
-        }
-        // Fallback if somehow not loaded (shouldn't happen with JOIN FETCH)
-        log.warn("Game not loaded for account {}, falling back to service call", account.getId());
-        return accountService.getGameForAccount(account.getId());
+        return gameCatalog.findForAccount(account).orElseGet(() -> {
+            log.warn("Game of account {} not in catalog, falling back to service call", account.getId());
+            return accountService.getGameForAccount(account.getId());
+        });
+    }
+
+    private static boolean selectsOnly(DataFetchingFieldSelectionSet selectionSet, Set<String> fields) {
+        return selectionSet.getImmediateFields().stream()
+                .allMatch(field -> fields.contains(field.getName()) || field.getName().startsWith("__"));
     }
 }
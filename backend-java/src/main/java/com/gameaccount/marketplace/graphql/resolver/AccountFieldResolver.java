@@ -6,12 +6,15 @@ import com.gameaccount.marketplace.repository.UserRepository;
 import com.gameaccount.marketplace.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+
 /**
  * GraphQL Field Resolver for Account type.
  * Resolves custom fields on Account that require additional logic or services.
@@ -44,6 +47,19 @@ public class AccountFieldResolver {
         return accountService.isAccountFavoritedByUser(account.getId(), userId);
     }
 
+    /**
+     * Resolve uniqueViewers for all accounts of a response level at once
+     * (one Redis round trip instead of one per account).
+     *
+     * @param accounts Accounts being resolved
+     * @return Unique viewer counts, in the same order
+     */
+    @BatchMapping(typeName = "Account", field = "uniqueViewers")
+    public List<Integer> uniqueViewers(List<Account> accounts) {
+        List<Long> counts = accountService.getUniqueViewers(accounts.stream().map(Account::getId).toList());
+        return counts.stream().map(count -> (int) Math.min(count, Integer.MAX_VALUE)).toList();
+    }
+
     /**
      * Get authenticated user ID if available, returns null if not authenticated.
      * JWT token contains email as subject, so we look up user by email.
@@ -0,0 +1,35 @@
+package com.gameaccount.marketplace.repository;
+
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One listing card as selected by AccountRepository.findCardsByIdIn: the account's card fields,
+ * a description excerpt, the game id and the seller's display fields. No encrypted credentials,
+ * no full description, no images (those come from findCardImagesByIdIn); the game itself comes
+ * from GameCatalog.
+ */
+public record AccountCardRow(
+        Long id,
+        String title,
+        String descriptionExcerpt,
+        Integer level,
+        String rank,
+        Double price,
+        AccountStatus status,
+        Integer viewsCount,
+        boolean isFeatured,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long gameId,
+        Long sellerId,
+        String sellerEmail,
+        String sellerFullName,
+        String sellerAvatar,
+        Double sellerRating,
+        Integer sellerTotalReviews) {
+
+    /** Characters of the description kept on a card */
+    public static final int EXCERPT_LENGTH = 200;
+}
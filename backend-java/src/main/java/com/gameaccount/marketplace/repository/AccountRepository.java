@@ -2,21 +2,24 @@ package com.gameaccount.marketplace.repository;
 
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Account.AccountStatus;
-import jakarta.persistence.QueryHint;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account> {
+public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account>,
+        AccountRepositoryCustom {
 
     List<Account> findBySellerId(Long sellerId);
 
@@ -28,11 +31,13 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
 
     List<Account> findByStatus(AccountStatus status);
 
-    List<Account> findByStatusAndIsFeatured(AccountStatus status, boolean isFeatured);
-
-    @Query("SELECT a FROM Account a WHERE a.status = :status ORDER BY a.viewsCount DESC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
-    List<Account> findPopularAccounts(@Param("status") AccountStatus status);
+    /**
+     * IDs of the listings with a featured flag and status, oldest first.
+     * The cards themselves are loaded with findCardsByIdIn.
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.status = :status AND a.isFeatured = :isFeatured ORDER BY a.id")
+    List<Long> findIdsByStatusAndIsFeatured(@Param("status") AccountStatus status,
+                                            @Param("isFeatured") boolean isFeatured);
 
     @Query("SELECT a FROM Account a WHERE a.status = 'PENDING'")
     List<Account> findPendingAccounts();
@@ -51,7 +56,10 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
         Pageable pageable
     );
 
-    // Search with JOIN FETCH to load related entities and prevent N+1 queries
+    // Search with JOIN FETCH to load related entities and prevent N+1 queries.
+    // Catch-all form: every filter is present in the SQL as ":x IS NULL OR ...", which keeps MySQL from
+    // choosing a filter-specific index. AccountService builds an AccountSpecification instead; this
+    // query is kept as the baseline for BenchmarkController.
     @Query("SELECT DISTINCT a FROM Account a " +
            "LEFT JOIN FETCH a.seller " +
            "LEFT JOIN FETCH a.game " +
@@ -80,6 +88,143 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
         Pageable pageable
     );
 
+    /**
+     * Scan account columns needed by the in-memory facet index, in id order, one chunk at a time.
+     * Columns: id, price, level, gameId, sellerId, status, isFeatured, rank, createdAt.
+     *
+     * @param afterId last id of the previous chunk (0 for the first chunk)
+     * @param pageable chunk size (page number is ignored by callers, always 0)
+     * @return rows with id greater than afterId
+     */
+    @Query("SELECT a.id, a.price, a.level, a.game.id, a.seller.id, a.status, a.isFeatured, a.rank, a.createdAt " +
+           "FROM Account a WHERE a.id > :afterId ORDER BY a.id")
+    List<Object[]> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The facet index row of one account (same columns as findIndexRowsAfter), to apply a
+     * change made on another node.
+     *
+     * @param id the account ID
+     * @return one row, or none if the account does not exist
+     */
+    @Query("SELECT a.id, a.price, a.level, a.game.id, a.seller.id, a.status, a.isFeatured, a.rank, a.createdAt " +
+           "FROM Account a WHERE a.id = :id")
+    List<Object[]> findIndexRowById(@Param("id") Long id);
+
+    /**
+     * Scan account text columns for the full-text index, in id order, one chunk at a time.
+     * Columns: id, title, description.
+     *
+     * @param afterId last id of the previous chunk (0 for the first chunk)
+     * @param pageable chunk size (page number is ignored by callers, always 0)
+     * @return rows with id greater than afterId
+     */
+    @Query("SELECT a.id, a.title, a.description FROM Account a WHERE a.id > :afterId ORDER BY a.id")
+    List<Object[]> findTextRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Text columns of accounts updated at or after a point in time (same columns as
+     * findTextRowsAfter), in id order, one chunk at a time.
+     *
+     * @param since oldest updatedAt to include
+     * @param afterId last id of the previous chunk (0 for the first chunk)
+     * @param pageable chunk size (page number is ignored by callers, always 0)
+     * @return rows with id greater than afterId updated at or after since
+     */
+    @Query("SELECT a.id, a.title, a.description FROM Account a " +
+           "WHERE a.updatedAt >= :since AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findTextRowsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    /**
+     * Text columns of one account (same columns as findTextRowsAfter), to apply a change made
+     * on another node.
+     *
+     * @param id the account ID
+     * @return one row, or none if the account does not exist
+     */
+    @Query("SELECT a.id, a.title, a.description FROM Account a WHERE a.id = :id")
+    List<Object[]> findTextRowById(@Param("id") Long id);
+
+    /**
+     * Latest updatedAt over all accounts (null when there are none).
+     */
+    @Query("SELECT MAX(a.updatedAt) FROM Account a")
+    LocalDateTime findMaxUpdatedAt();
+
+    /**
+     * Scan listings of one status for the popularity ranking, in id order, one chunk at a time.
+     * Columns: id, gameId, viewsCount.
+     *
+     * @param status listing status (APPROVED)
+     * @param afterId last id of the previous chunk (0 for the first chunk)
+     * @param pageable chunk size (page number is ignored by callers, always 0)
+     * @return rows with id greater than afterId
+     */
+    @Query("SELECT a.id, a.game.id, a.viewsCount FROM Account a " +
+           "WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findRankingRowsAfter(@Param("status") AccountStatus status, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    /**
+     * Distinct listing titles with their summed view counts, for the typeahead suggester.
+     * Columns: title, total views.
+     */
+    @Query("SELECT a.title, SUM(a.viewsCount) FROM Account a WHERE a.status = :status GROUP BY a.title")
+    List<Object[]> sumViewsByTitle(@Param("status") AccountStatus status);
+
+    /**
+     * Game IDs with the summed view counts of their listings, for the typeahead suggester.
+     * Columns: game id, total views.
+     */
+    @Query("SELECT a.game.id, SUM(a.viewsCount) FROM Account a WHERE a.status = :status GROUP BY a.game.id")
+    List<Object[]> sumViewsByGame(@Param("status") AccountStatus status);
+
+    /**
+     * Distinct ranks with their summed view counts, for the typeahead suggester.
+     * Columns: rank, total views.
+     */
+    @Query("SELECT a.rank, SUM(a.viewsCount) FROM Account a " +
+           "WHERE a.status = :status AND a.rank IS NOT NULL GROUP BY a.rank")
+    List<Object[]> sumViewsByRank(@Param("status") AccountStatus status);
+
+    /**
+     * Phase 2 of list reads: the card of each listing of a page in one query - card fields, a
+     * description excerpt, game id and seller display fields. Encrypted credentials, the full
+     * description and the images collection are not selected; games are not joined (GameCatalog).
+     * Row order is not guaranteed; callers re-order by the ID list from phase 1.
+     *
+     * @param ids the account IDs of the page
+     * @return one card row per existing account
+     */
+    @Query("SELECT new com.gameaccount.marketplace.repository.AccountCardRow(" +
+           "a.id, a.title, SUBSTRING(a.description, 1, " + AccountCardRow.EXCERPT_LENGTH + "), a.level, a.rank, " +
+           "a.price, a.status, a.viewsCount, a.isFeatured, a.createdAt, a.updatedAt, " +
+           "a.gameId, s.id, s.email, s.fullName, s.avatar, s.rating, s.totalReviews) " +
+           "FROM Account a JOIN a.seller s WHERE a.id IN :ids")
+    List<AccountCardRow> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Image URLs of a page of cards, in one query (instead of one collection load per account).
+     * Columns: account id, url.
+     *
+     * @param ids the account IDs of the page
+     * @return one row per image; callers group the rows by account
+     */
+    @Query("SELECT a.id, img FROM Account a JOIN a.images img WHERE a.id IN :ids")
+    List<Object[]> findCardImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bulk-load accounts with everything a cached snapshot holds: seller and images (the game
+     * is kept as its id and read from GameCatalog). Used by AccountSnapshotStore for cache misses.
+     *
+     * @param ids the account IDs to load
+     * @return accounts with relationships and images loaded (row order not guaranteed)
+     */
+    @Query("SELECT DISTINCT a FROM Account a LEFT JOIN FETCH a.seller LEFT JOIN FETCH a.images " +
+           "WHERE a.id IN :ids")
+    List<Account> findAllForSnapshotByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find account by ID with seller and game relationships loaded.
      * Used when returning accounts from mutations to ensure GraphQL field resolvers work.
@@ -89,4 +234,17 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
      */
     @Query("SELECT a FROM Account a LEFT JOIN FETCH a.seller LEFT JOIN FETCH a.game WHERE a.id = :id")
     Optional<Account> findByIdWithRelationships(@Param("id") Long id);
+
+    /**
+     * Find account by ID, read from the database (never the second-level cache) and locked
+     * (SELECT ... FOR UPDATE) until the transaction ends.
+     * Used by the purchase flow, so status checks see the committed state and concurrent
+     * purchases of one listing run one after the other.
+     *
+     * @param id the account ID
+     * @return optional containing the locked account
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
 }
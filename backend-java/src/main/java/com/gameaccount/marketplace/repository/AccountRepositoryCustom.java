@@ -0,0 +1,39 @@
+package com.gameaccount.marketplace.repository;
+
+import com.gameaccount.marketplace.entity.Account;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom query methods for Account that Spring Data cannot derive.
+ * Implemented by {@link AccountRepositoryCustomImpl} and mixed into {@link AccountRepository}.
+ */
+public interface AccountRepositoryCustom {
+
+    /**
+     * Select one page of account IDs matching a dynamically built specification.
+     * The statement contains only the predicates the specification adds (no
+     * {@code :param IS NULL OR ...} placeholders) and no joins, so the optimizer can
+     * pick the index that fits the actual filter combination.
+     *
+     * @param spec filter specification (must not add fetch joins)
+     * @param pageable page, size and sort (sort properties are Account attributes)
+     * @return page of IDs in sort order, with total count
+     */
+    Page<Long> findIds(Specification<Account> spec, Pageable pageable);
+
+    /**
+     * Select the first account IDs matching a specification in sort order, without a count
+     * query. Used for keyset pages, where the specification carries the seek predicate.
+     *
+     * @param spec filter specification (must not add fetch joins)
+     * @param sort sort order (properties are Account attributes)
+     * @param limit maximum number of IDs
+     * @return IDs in sort order
+     */
+    List<Long> findIds(Specification<Account> spec, Sort sort, int limit);
+}
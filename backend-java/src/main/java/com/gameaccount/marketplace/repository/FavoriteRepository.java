@@ -33,6 +33,16 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     @Query("SELECT f FROM Favorite f JOIN FETCH f.account WHERE f.user.id = :userId")
     List<Favorite> findByUserIdWithAccount(Long userId);
 
+    /**
+     * Find the IDs of a user's favorited accounts, oldest favorite first.
+     * The accounts themselves are read through AccountSnapshotStore.
+     *
+     * @param userId the user ID
+     * @return favorited account IDs
+     */
+    @Query("SELECT f.account.id FROM Favorite f WHERE f.user.id = :userId ORDER BY f.id")
+    List<Long> findAccountIdsByUserId(Long userId);
+
     /**
      * Check if a specific favorite exists.
      *
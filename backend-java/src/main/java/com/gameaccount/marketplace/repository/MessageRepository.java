@@ -1,5 +1,6 @@
 package com.gameaccount.marketplace.repository;
 
+import com.gameaccount.marketplace.config.SecondLevelCacheConfig;
 import com.gameaccount.marketplace.entity.Message;
 import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
@@ -27,7 +28,8 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     /**
      * Find all messages for an account where the specified user is either sender or receiver.
      * Ordered chronologically (oldest first) for proper chat display.
-     * Query hint enables caching for improved performance on repeated queries.
+     * Results are kept in the message-queries region of the second-level cache until a message
+     * is written on any node (see SecondLevelCacheConfig, SecondLevelCacheInvalidator).
      *
      * @param accountId the account ID
      * @param userId the user ID (either sender or receiver)
@@ -36,7 +38,10 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE m.account.id = :accountId " +
            "AND (m.sender.id = :userId OR m.receiver.id = :userId) " +
            "ORDER BY m.createdAt ASC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = SecondLevelCacheConfig.MESSAGE_QUERY_REGION)
+    })
     List<Message> findByAccountIdAndSenderIdOrReceiverId(
         @Param("accountId") Long accountId,
         @Param("userId") Long userId
@@ -66,7 +71,10 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
            "AND ((m.sender.id = :userId1 AND m.receiver.id = :userId2) " +
            "OR (m.sender.id = :userId2 AND m.receiver.id = :userId1)) " +
            "ORDER BY m.createdAt ASC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = SecondLevelCacheConfig.MESSAGE_QUERY_REGION)
+    })
     List<Message> findConversation(
         @Param("accountId") Long accountId,
         @Param("userId1") Long userId1,
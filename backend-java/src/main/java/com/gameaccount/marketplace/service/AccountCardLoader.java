@@ -0,0 +1,109 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.repository.AccountCardRow;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads listing cards for list views (search, favorites, featured, popular and trending).
+ *
+ * A card is read with two queries for the whole list - one projection of the card columns joined
+ * with the seller, one of the image URLs - and returned as a transient Account whose game comes
+ * from GameCatalog and whose seller is a stub holding only its card fields (SELLER_CARD_FIELDS).
+ * The description is cut to AccountCardRow.EXCERPT_LENGTH characters and the encrypted
+ * credentials are never read. Detail views keep loading full accounts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountCardLoader {
+
+    /** User fields present on a card's seller stub */
+    public static final Set<String> SELLER_CARD_FIELDS =
+            Set.of("id", "email", "fullName", "avatar", "rating", "totalReviews");
+
+    private final AccountRepository accountRepository;
+    private final GameCatalog gameCatalog;
+
+    /**
+     * Cards of the given accounts, in the order of the ids; ids without an account are skipped.
+     *
+     * @param ids Account IDs (duplicates and nulls are ignored)
+     * @return Card accounts - read them, never save them
+     */
+    @Transactional(readOnly = true)
+    public List<Account> load(Collection<Long> ids) {
+        Set<Long> wanted = new LinkedHashSet<>(ids);
+        wanted.remove(null);
+        if (wanted.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, AccountCardRow> rows = new HashMap<>();
+        for (AccountCardRow row : accountRepository.findCardsByIdIn(wanted)) {
+            rows.put(row.id(), row);
+        }
+        Map<Long, List<String>> images = new HashMap<>();
+        if (!rows.isEmpty()) {
+            for (Object[] image : accountRepository.findCardImagesByIdIn(rows.keySet())) {
+                images.computeIfAbsent((Long) image[0], id -> new ArrayList<>()).add((String) image[1]);
+            }
+        }
+
+        // Keep the caller's order; skip ids deleted since they were selected
+        List<Account> cards = new ArrayList<>(rows.size());
+        for (Long id : wanted) {
+            AccountCardRow row = rows.get(id);
+            if (row != null) {
+                cards.add(toCard(row, images.getOrDefault(id, new ArrayList<>())));
+            }
+        }
+        log.debug("Loaded {} account cards for {} ids", cards.size(), wanted.size());
+        return cards;
+    }
+
+    private Account toCard(AccountCardRow row, List<String> images) {
+        Game game = gameCatalog.findById(row.gameId())
+                .orElseGet(() -> Game.builder().id(row.gameId()).build());
+        User seller = User.builder()
+                .id(row.sellerId())
+                .email(row.sellerEmail())
+                .fullName(row.sellerFullName())
+                .avatar(row.sellerAvatar())
+                .rating(row.sellerRating())
+                .totalReviews(row.sellerTotalReviews())
+                .build();
+        return Account.builder()
+                .id(row.id())
+                .sellerId(row.sellerId())
+                .seller(seller)
+                .gameId(row.gameId())
+                .game(game)
+                .title(row.title())
+                .description(row.descriptionExcerpt())
+                .level(row.level())
+                .rank(row.rank())
+                .price(row.price())
+                .status(row.status())
+                .viewsCount(row.viewsCount())
+                .isFeatured(row.isFeatured())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .images(images)
+                .build();
+    }
+}
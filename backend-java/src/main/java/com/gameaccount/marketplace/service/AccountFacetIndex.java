@@ -0,0 +1,715 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.cache.CacheInvalidationBus;
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
+import com.gameaccount.marketplace.dto.response.AccountFacetsResponse;
+import com.gameaccount.marketplace.dto.response.AccountFacetsResponse.FacetCount;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory listing index for browse traffic.
+ * Keeps one slot per account with primitive column arrays (price, level, game, seller,
+ * status ordinal, createdAt) plus one compressed bitmap per game, status, rank bucket and
+ * the featured flag. Answers AccountSearchRequest filters, sorting and facet counts
+ * without touching MySQL; only the final page of IDs is loaded from the database.
+ *
+ * Built on ApplicationReadyEvent and kept up to date from AccountChangedEvent
+ * (create/update/approve/reject/sold/delete). Changes committed on other nodes arrive on the
+ * CacheInvalidationBus and are applied by reloading the account's row; a periodic rebuild
+ * (search.facet-index.resync-interval-ms) repairs anything missed, e.g. while Redis was down.
+ * Requests with searchText are answered by
+ * filtering the full-text matches of AccountTextIndex here (candidate overloads of search
+ * and count), or by the database query when either index is unavailable.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountFacetIndex implements CacheInvalidationBus.Listener {
+
+    /** Lower bounds of the price bands reported in facet counts (last band is open-ended) */
+    static final double[] PRICE_BANDS = {0, 50, 100, 200, 500, 1000};
+
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+    private static final int NO_LEVEL = Integer.MIN_VALUE;
+    private static final String UNRANKED = "";
+
+    private final AccountRepository accountRepository;
+
+    @Value("${search.facet-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Columns columns = new Columns();
+    private volatile boolean ready;
+
+    /** Changes received while a rebuild is scanning the table; replayed onto the new index */
+    private List<AccountChangedEvent> changesDuringRebuild;
+
+    /**
+     * Whether the index can answer this request instead of the database.
+     *
+     * @param request Search filters
+     * @return true if the index is enabled, built, and the request has no full-text filter
+     */
+    public boolean canAnswer(AccountSearchRequest request) {
+        return enabled && ready && (request.getSearchText() == null || request.getSearchText().trim().isEmpty());
+    }
+
+    /**
+     * Whether the index is enabled and built, so it can filter full-text matches
+     * (see the candidate overloads of search and count).
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether an account with this id is indexed (any status).
+     *
+     * @param accountId Account ID
+     * @return true if the account exists as of the last applied change
+     */
+    public boolean contains(Long accountId) {
+        lock.readLock().lock();
+        try {
+            return columns.slotById.containsKey(accountId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of accounts currently indexed.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of accounts matching the filters.
+     *
+     * @param request Search filters (searchText is ignored, see canAnswer)
+     * @param effectiveStatus Role-dependent status filter (null = any)
+     * @return Match count
+     */
+    public int count(AccountSearchRequest request, AccountStatus effectiveStatus) {
+        lock.readLock().lock();
+        try {
+            return columns.match(request, effectiveStatus, null).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of candidate accounts (full-text matches) matching the filters.
+     *
+     * @param request Search filters (searchText is ignored, candidates carry it)
+     * @param effectiveStatus Role-dependent status filter (null = any)
+     * @param candidates Account IDs to filter
+     * @return Match count
+     */
+    public int count(AccountSearchRequest request, AccountStatus effectiveStatus, Collection<Long> candidates) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            RoaringBitmap matches = c.match(request, effectiveStatus, null);
+            matches.and(c.slotsOf(candidates));
+            return matches.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Page of account IDs matching the filters, in the requested sort order.
+     * Ties (and unsorted requests) are ordered by id in the same direction.
+     *
+     * @param request Search filters (searchText is ignored, see canAnswer)
+     * @param effectiveStatus Role-dependent status filter (null = any)
+     * @param pageable Page, size and sort (price, level or createdAt)
+     * @return Page of IDs with total count
+     */
+    public Page<Long> search(AccountSearchRequest request, AccountStatus effectiveStatus, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            return sortedPage(c, c.match(request, effectiveStatus, null), pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Page of candidate account IDs (full-text matches) matching the filters.
+     * Every candidate is filtered here, so the total is exact however many accounts the text
+     * matches. Unsorted requests keep the candidate (relevance) order; sorted requests are
+     * ordered as in {@link #search(AccountSearchRequest, AccountStatus, Pageable)}.
+     *
+     * @param request Search filters (searchText is ignored, candidates carry it)
+     * @param effectiveStatus Role-dependent status filter (null = any)
+     * @param pageable Page, size and optional sort (price, level or createdAt)
+     * @param candidates Account IDs to filter, best match first
+     * @return Page of IDs with total count
+     */
+    public Page<Long> search(AccountSearchRequest request, AccountStatus effectiveStatus, Pageable pageable,
+                             List<Long> candidates) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            RoaringBitmap matches = c.match(request, effectiveStatus, null);
+            matches.and(c.slotsOf(candidates));
+            if (pageable.getSort().isSorted()) {
+                return sortedPage(c, matches, pageable);
+            }
+
+            int total = matches.getCardinality();
+            long from = pageable.isPaged() ? pageable.getOffset() : 0;
+            long to = pageable.isPaged() ? from + pageable.getPageSize() : total;
+            List<Long> ids = new ArrayList<>();
+            long rank = 0;
+            for (Long id : candidates) {
+                if (rank >= to) {
+                    break;
+                }
+                Integer slot = c.slotById.get(id);
+                if (slot != null && matches.contains(slot) && rank++ >= from) {
+                    ids.add(id);
+                }
+            }
+            return new PageImpl<>(ids, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Page of the matching slots' IDs in the requested sort order (id order when unsorted).
+     * Only the first offset + size matches in sort order are selected, see Columns.firstSlots.
+     */
+    private static Page<Long> sortedPage(Columns c, RoaringBitmap matches, Pageable pageable) {
+        int total = matches.getCardinality();
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        int limit = pageable.isPaged()
+                ? (int) Math.min(pageable.getOffset() + pageable.getPageSize(), total)
+                : total;
+        int[] slots = c.firstSlots(matches, order, limit);
+
+        int from = (int) Math.min(pageable.isPaged() ? pageable.getOffset() : 0, limit);
+        List<Long> ids = new ArrayList<>(limit - from);
+        for (int j = from; j < limit; j++) {
+            ids.add(c.ids[slots[j]]);
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /**
+     * Facet counts per game, rank bucket and price band for the given filters.
+     * Each dimension ignores its own filter (drill-sideways), so the sidebar keeps
+     * showing alternatives to the current selection. Game labels are left null.
+     *
+     * @param request Search filters (searchText is ignored, see canAnswer)
+     * @param effectiveStatus Role-dependent status filter (null = any)
+     * @return Facet counts, largest first for games and ranks, ascending bands for price
+     */
+    public AccountFacetsResponse facets(AccountSearchRequest request, AccountStatus effectiveStatus) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+
+            RoaringBitmap withoutGame = c.match(request, effectiveStatus, Dimension.GAME);
+            List<FacetCount> games = new ArrayList<>();
+            c.byGame.forEach((gameId, bitmap) -> {
+                long count = RoaringBitmap.andCardinality(withoutGame, bitmap);
+                if (count > 0) {
+                    games.add(new FacetCount(String.valueOf(gameId), null, count));
+                }
+            });
+            games.sort(Comparator.comparingLong(FacetCount::getCount).reversed());
+
+            RoaringBitmap withoutRank = c.match(request, effectiveStatus, Dimension.RANK);
+            List<FacetCount> ranks = new ArrayList<>();
+            c.byRank.forEach((bucket, bitmap) -> {
+                long count = RoaringBitmap.andCardinality(withoutRank, bitmap);
+                if (count > 0) {
+                    ranks.add(new FacetCount(bucket, c.rankLabels.get(bucket), count));
+                }
+            });
+            ranks.sort(Comparator.comparingLong(FacetCount::getCount).reversed());
+
+            RoaringBitmap withoutPrice = c.match(request, effectiveStatus, Dimension.PRICE);
+            long[] bandCounts = new long[PRICE_BANDS.length];
+            for (int slot : withoutPrice) {
+                bandCounts[priceBand(c.prices[slot])]++;
+            }
+            List<FacetCount> priceBands = new ArrayList<>();
+            for (int band = 0; band < PRICE_BANDS.length; band++) {
+                priceBands.add(new FacetCount(String.valueOf(band), priceBandLabel(band), bandCounts[band]));
+            }
+
+            return AccountFacetsResponse.builder()
+                    .totalCount(c.match(request, effectiveStatus, null).getCardinality())
+                    .games(games)
+                    .ranks(ranks)
+                    .priceBands(priceBands)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from the accounts table on startup and at the resync interval.
+     * Scans in id order in chunks, builds a fresh index off to the side, then swaps it in
+     * and replays changes that arrived during the scan. A failed resync keeps the current index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.facet-index.resync-interval-ms:600000}",
+            fixedDelayString = "${search.facet-index.resync-interval-ms:600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            log.info("Account facet index disabled");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Columns rebuilt = new Columns();
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = accountRepository.findIndexRowsAfter(afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                for (Object[] row : rows) {
+                    rebuilt.upsert((Long) row[0], (Double) row[1], (Integer) row[2], (Long) row[3], (Long) row[4],
+                            (AccountStatus) row[5], (Boolean) row[6], (String) row[7], (LocalDateTime) row[8]);
+                    afterId = (Long) row[0];
+                }
+            } while (rows.size() == REBUILD_CHUNK_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                for (AccountChangedEvent event : changesDuringRebuild) {
+                    rebuilt.apply(event);
+                }
+                columns = rebuilt;
+                ready = true;
+            } finally {
+                changesDuringRebuild = null;
+                lock.writeLock().unlock();
+            }
+            log.info("Account facet index built: {} accounts, {} games, {} rank buckets in {}ms",
+                    rebuilt.live.getCardinality(), rebuilt.byGame.size(), rebuilt.byRank.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Failed to build account facet index, search falls back to the database: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply an account lifecycle change once its transaction has committed
+     * (immediately when published outside a transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            columns.apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Account facet index updated: {}", event);
+    }
+
+    /**
+     * Apply a listing change committed on another node: the event only carries ids and
+     * statuses, so the account's current row is read from the database.
+     */
+    @Override
+    public void onRemoteAccountChanged(AccountChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> rows = accountRepository.findIndexRowById(event.getAccountId());
+        onAccountChanged(rows.isEmpty()
+                ? AccountChangedEvent.deleted(event.getAccountId())
+                : AccountChangedEvent.of(ChangeType.UPDATED, indexedAccount(rows.get(0))));
+    }
+
+    /**
+     * Account holding the indexed columns of a findIndexRowById row.
+     */
+    private static Account indexedAccount(Object[] row) {
+        return Account.builder()
+                .id((Long) row[0])
+                .price((Double) row[1])
+                .level((Integer) row[2])
+                .game(Game.builder().id((Long) row[3]).build())
+                .seller(User.builder().id((Long) row[4]).build())
+                .status((AccountStatus) row[5])
+                .isFeatured(Boolean.TRUE.equals(row[6]))
+                .rank((String) row[7])
+                .createdAt((LocalDateTime) row[8])
+                .build();
+    }
+
+    static int priceBand(double price) {
+        int band = 0;
+        while (band + 1 < PRICE_BANDS.length && price >= PRICE_BANDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    static String priceBandLabel(int band) {
+        String from = String.format(Locale.ROOT, "%.0f", PRICE_BANDS[band]);
+        return band + 1 < PRICE_BANDS.length
+                ? from + "-" + String.format(Locale.ROOT, "%.0f", PRICE_BANDS[band + 1])
+                : from + "+";
+    }
+
+    static String rankBucket(String rank) {
+        return rank == null ? UNRANKED : rank.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private enum Dimension {
+        GAME, RANK, PRICE
+    }
+
+    /**
+     * Comparator over slots, without boxing.
+     */
+    @FunctionalInterface
+    private interface SlotOrder {
+        int compare(int slotA, int slotB);
+    }
+
+    /**
+     * Index storage: column arrays addressed by slot, and bitmaps of slots.
+     * Not thread-safe on its own; guarded by the enclosing read/write lock.
+     */
+    private static final class Columns {
+
+        private long[] ids = new long[1024];
+        private double[] prices = new double[1024];
+        private int[] levels = new int[1024];
+        private long[] sellerIds = new long[1024];
+        private long[] createdAt = new long[1024];
+        private long[] gameIds = new long[1024];
+        private byte[] statuses = new byte[1024];
+        private String[] rankBuckets = new String[1024];
+        private int nextSlot;
+
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final RoaringBitmap featured = new RoaringBitmap();
+        private final RoaringBitmap[] byStatus = new RoaringBitmap[AccountStatus.values().length];
+        private final Map<Long, RoaringBitmap> byGame = new HashMap<>();
+        private final Map<String, RoaringBitmap> byRank = new LinkedHashMap<>();
+        private final Map<String, String> rankLabels = new HashMap<>();
+
+        private Columns() {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new RoaringBitmap();
+            }
+        }
+
+        void apply(AccountChangedEvent event) {
+            if (event.getType() == AccountChangedEvent.ChangeType.DELETED) {
+                remove(event.getAccountId());
+                return;
+            }
+            Account a = event.getAccount();
+            upsert(a.getId(), a.getPrice(), a.getLevel(), a.getGame().getId(), a.getSeller().getId(),
+                    a.getStatus(), a.isFeatured(), a.getRank(), a.getCreatedAt());
+        }
+
+        void upsert(Long id, Double price, Integer level, Long gameId, Long sellerId, AccountStatus status,
+                    Boolean isFeatured, String rank, LocalDateTime created) {
+            remove(id);
+
+            int slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+            ensureCapacity(slot + 1);
+
+            ids[slot] = id;
+            prices[slot] = price != null ? price : 0.0;
+            levels[slot] = level != null ? level : NO_LEVEL;
+            sellerIds[slot] = sellerId != null ? sellerId : 0L;
+            createdAt[slot] = created != null
+                    ? created.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + created.getNano() / 1_000
+                    : 0L;
+            gameIds[slot] = gameId;
+            statuses[slot] = (byte) status.ordinal();
+
+            slotById.put(id, slot);
+            live.add(slot);
+            byStatus[status.ordinal()].add(slot);
+            if (Boolean.TRUE.equals(isFeatured)) {
+                featured.add(slot);
+            }
+            byGame.computeIfAbsent(gameId, k -> new RoaringBitmap()).add(slot);
+            String bucket = rankBucket(rank);
+            rankBuckets[slot] = bucket;
+            byRank.computeIfAbsent(bucket, k -> new RoaringBitmap()).add(slot);
+            rankLabels.putIfAbsent(bucket, rank == null ? "Unranked" : rank.trim());
+        }
+
+        void remove(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            live.remove(slot);
+            featured.remove(slot);
+            byStatus[statuses[slot]].remove(slot);
+
+            long gameId = gameIds[slot];
+            RoaringBitmap gameBitmap = byGame.get(gameId);
+            gameBitmap.remove(slot);
+            if (gameBitmap.isEmpty()) {
+                byGame.remove(gameId);
+            }
+
+            String bucket = rankBuckets[slot];
+            rankBuckets[slot] = null;
+            RoaringBitmap rankBitmap = byRank.get(bucket);
+            rankBitmap.remove(slot);
+            if (rankBitmap.isEmpty()) {
+                byRank.remove(bucket);
+                rankLabels.remove(bucket);
+            }
+            freeSlots.push(slot);
+        }
+
+        /**
+         * Bitmap of the slots of the given account IDs (IDs not indexed are skipped).
+         */
+        RoaringBitmap slotsOf(Collection<Long> accountIds) {
+            RoaringBitmap slots = new RoaringBitmap();
+            for (Long id : accountIds) {
+                Integer slot = slotById.get(id);
+                if (slot != null) {
+                    slots.add(slot);
+                }
+            }
+            return slots;
+        }
+
+        /**
+         * Bitmap of slots matching the filters, optionally ignoring one facet dimension.
+         * Bitmap filters (game, status, featured, rank) are intersected first; the remaining
+         * range filters (price, level, seller) are checked against the column arrays.
+         */
+        RoaringBitmap match(AccountSearchRequest request, AccountStatus status, Dimension ignored) {
+            RoaringBitmap result = live.clone();
+
+            if (request.getGameId() != null && ignored != Dimension.GAME) {
+                RoaringBitmap game = byGame.get(request.getGameId());
+                if (game == null) {
+                    return new RoaringBitmap();
+                }
+                result.and(game);
+            }
+            if (status != null) {
+                result.and(byStatus[status.ordinal()]);
+            }
+            if (request.getIsFeatured() != null) {
+                if (request.getIsFeatured()) {
+                    result.and(featured);
+                } else {
+                    result.andNot(featured);
+                }
+            }
+            String rank = request.getRank();
+            if (rank != null && !rank.trim().isEmpty() && ignored != Dimension.RANK) {
+                // Same semantics as the SQL filter: case-insensitive substring match
+                String needle = rank.toLowerCase(Locale.ROOT);
+                RoaringBitmap ranks = new RoaringBitmap();
+                byRank.forEach((bucket, bitmap) -> {
+                    if (bucket.contains(needle)) {
+                        ranks.or(bitmap);
+                    }
+                });
+                result.and(ranks);
+            }
+
+            Double minPrice = ignored == Dimension.PRICE ? null : request.getMinPrice();
+            Double maxPrice = ignored == Dimension.PRICE ? null : request.getMaxPrice();
+            Integer minLevel = request.getMinLevel();
+            Integer maxLevel = request.getMaxLevel();
+            Long sellerId = request.getSellerId();
+            if (minPrice == null && maxPrice == null && minLevel == null && maxLevel == null && sellerId == null) {
+                return result;
+            }
+
+            RoaringBitmap filtered = new RoaringBitmap();
+            for (int slot : result) {
+                if (minPrice != null && prices[slot] < minPrice) continue;
+                if (maxPrice != null && prices[slot] > maxPrice) continue;
+                // NULL level never satisfies a level range, as in SQL
+                if (minLevel != null && (levels[slot] == NO_LEVEL || levels[slot] < minLevel)) continue;
+                if (maxLevel != null && (levels[slot] == NO_LEVEL || levels[slot] > maxLevel)) continue;
+                if (sellerId != null && sellerIds[slot] != sellerId) continue;
+                filtered.add(slot);
+            }
+            return filtered;
+        }
+
+        /**
+         * The first limit matching slots in sort order.
+         * Keeps a bounded max-heap of limit slots (the last kept slot on top), so a page costs
+         * O(matches * log(offset + size)) on primitive slots instead of sorting every match,
+         * then heap-sorts the kept slots in place.
+         */
+        int[] firstSlots(RoaringBitmap matches, Sort.Order order, int limit) {
+            SlotOrder slotOrder = slotOrder(order);
+            int[] heap = new int[limit];
+            if (limit == 0) {
+                return heap;
+            }
+            int size = 0;
+            for (int slot : matches) {
+                if (size < limit) {
+                    heap[size] = slot;
+                    siftUp(heap, size++, slotOrder);
+                } else if (slotOrder.compare(slot, heap[0]) < 0) {
+                    heap[0] = slot;
+                    siftDown(heap, size, slotOrder);
+                }
+            }
+            for (int end = size - 1; end > 0; end--) {
+                int last = heap[0];
+                heap[0] = heap[end];
+                heap[end] = last;
+                siftDown(heap, end, slotOrder);
+            }
+            return heap;
+        }
+
+        /**
+         * Slot order for the given sort (price, level or createdAt), ties broken by id.
+         * NULL levels sort first ascending and last descending, as in MySQL.
+         */
+        SlotOrder slotOrder(Sort.Order order) {
+            if (order == null) {
+                return (a, b) -> Long.compare(ids[a], ids[b]);
+            }
+            SlotOrder byKey = switch (order.getProperty()) {
+                case "price" -> (a, b) -> Double.compare(prices[a], prices[b]);
+                case "level" -> (a, b) -> Integer.compare(levels[a], levels[b]);
+                case "createdAt" -> (a, b) -> Long.compare(createdAt[a], createdAt[b]);
+                default -> throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            };
+            SlotOrder ascending = (a, b) -> {
+                int cmp = byKey.compare(a, b);
+                return cmp != 0 ? cmp : Long.compare(ids[a], ids[b]);
+            };
+            return order.isAscending() ? ascending : (a, b) -> ascending.compare(b, a);
+        }
+
+        private static void siftUp(int[] heap, int index, SlotOrder slotOrder) {
+            int slot = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (slotOrder.compare(heap[parent], slot) >= 0) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = slot;
+        }
+
+        private static void siftDown(int[] heap, int size, SlotOrder slotOrder) {
+            int slot = heap[0];
+            int index = 0;
+            int child;
+            while ((child = 2 * index + 1) < size) {
+                if (child + 1 < size && slotOrder.compare(heap[child + 1], heap[child]) > 0) {
+                    child++;
+                }
+                if (slotOrder.compare(heap[child], slot) <= 0) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = slot;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int newLength = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newLength);
+            prices = Arrays.copyOf(prices, newLength);
+            levels = Arrays.copyOf(levels, newLength);
+            sellerIds = Arrays.copyOf(sellerIds, newLength);
+            createdAt = Arrays.copyOf(createdAt, newLength);
+            gameIds = Arrays.copyOf(gameIds, newLength);
+            statuses = Arrays.copyOf(statuses, newLength);
+            rankBuckets = Arrays.copyOf(rankBuckets, newLength);
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory top-K of approved listings per game, by total views ("popular") and by
+ * time-decayed views ("trending", half-life configurable).
+ * Each game keeps two bounded min-heaps with an index map (TopK); a batch of views raises
+ * scores in place, an approval inserts, and a sale, rejection or deletion removes - only
+ * removing a heap member rescans that game's listings to refill it. After every change the
+ * affected games' rankings are republished as immutable lists, so reads copy at most K ids
+ * and never touch the database. The all-games ranking merges the per-game top-K lists (any
+ * listing in the overall top K is in its game's top K).
+ *
+ * Trending uses forward decay: a view at time t adds 2^((t - t0) / half-life) to the score,
+ * which keeps scores comparable without touching idle listings; when the weights grow large
+ * all scores are rescaled to a new t0.
+ *
+ * Built on ApplicationReadyEvent from the approved listings' viewsCount (trending starts
+ * empty), kept up to date from AccountViewCounter flushes and AccountChangedEvent, and
+ * re-synced from the database on a schedule so views flushed by other nodes are included.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountPopularityRanking {
+
+    /** Listings kept per game and ranking; requests are capped at this */
+    public static final int K = 100;
+
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+
+    /** Key of the merged all-games ranking in the published map */
+    private static final long ALL_GAMES = -1L;
+
+    /** Rescale trending scores once weights reach 2^RESCALE_EXPONENT */
+    private static final double RESCALE_EXPONENT = 60;
+
+    private final AccountRepository accountRepository;
+
+    @Value("${accounts.ranking.trending-half-life-ms:21600000}")
+    private long trendingHalfLifeMs = 21_600_000L;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, GameRanking> games = new HashMap<>();
+    private long decayEpochMs = System.currentTimeMillis();
+
+    /** Views and changes received while a rebuild reads the table; replayed onto the new state */
+    private Map<Long, Long> viewsDuringRebuild;
+    private List<AccountChangedEvent> changesDuringRebuild;
+
+    private volatile Map<Long, Published> published = Map.of();
+
+    /**
+     * Most viewed approved listings, highest first.
+     *
+     * @param gameId Game to rank within, or null for all games
+     * @param limit Maximum number of ids (capped at K)
+     * @return Account IDs
+     */
+    public List<Long> popularIds(Long gameId, int limit) {
+        return ranked(gameId, limit, Published::popular);
+    }
+
+    /**
+     * Approved listings with the most recent views, highest first.
+     *
+     * @param gameId Game to rank within, or null for all games
+     * @param limit Maximum number of ids (capped at K)
+     * @return Account IDs
+     */
+    public List<Long> trendingIds(Long gameId, int limit) {
+        return ranked(gameId, limit, Published::trending);
+    }
+
+    /**
+     * Load the approved listings' view counts from the database.
+     * Trending scores already collected are kept for listings still approved.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${accounts.ranking.resync-interval-ms:600000}",
+            fixedDelayString = "${accounts.ranking.resync-interval-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            viewsDuringRebuild = new HashMap<>();
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            long afterId = 0L;
+            List<Object[]> chunk;
+            do {
+                chunk = accountRepository.findRankingRowsAfter(AccountStatus.APPROVED, afterId,
+                        PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                rows.addAll(chunk);
+                if (!chunk.isEmpty()) {
+                    afterId = (Long) chunk.get(chunk.size() - 1)[0];
+                }
+            } while (chunk.size() == REBUILD_CHUNK_SIZE);
+        } catch (Exception e) {
+            synchronized (this) {
+                viewsDuringRebuild = null;
+                changesDuringRebuild = null;
+            }
+            log.error("Failed to load popularity ranking, keeping the current one: {}", e.getMessage(), e);
+            return;
+        }
+
+        synchronized (this) {
+            Map<Long, Entry> previous = new HashMap<>(entries);
+            entries.clear();
+            games.clear();
+            for (Object[] row : rows) {
+                Long accountId = (Long) row[0];
+                Entry entry = new Entry(accountId, (Long) row[1]);
+                entry.views = row[2] != null ? ((Number) row[2]).longValue() : 0;
+                Entry old = previous.get(accountId);
+                if (old != null) {
+                    entry.trend = old.trend;
+                }
+                entries.put(accountId, entry);
+                game(entry.gameId).members.add(entry);
+            }
+            // Views flushed during the read may or may not be in the rows; count them (trend
+            // already has them), then replay lifecycle changes
+            viewsDuringRebuild.forEach((accountId, delta) -> {
+                Entry entry = entries.get(accountId);
+                if (entry != null) {
+                    entry.views += delta;
+                }
+            });
+            for (GameRanking ranking : games.values()) {
+                ranking.refill();
+            }
+            List<AccountChangedEvent> changes = changesDuringRebuild;
+            viewsDuringRebuild = null;
+            changesDuringRebuild = null;
+            Set<Long> touched = new HashSet<>(games.keySet());
+            touched.addAll(published.keySet());
+            touched.remove(ALL_GAMES);
+            publish(touched);
+            changes.forEach(this::onAccountChanged);
+        }
+        log.info("Popularity ranking built: {} approved accounts, {} games in {}ms",
+                rows.size(), games.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply a batch of flushed views (AccountViewCounter), all counted at the current time.
+     *
+     * @param deltas New views per account ID
+     */
+    public synchronized void recordViews(Map<Long, Long> deltas) {
+        long now = System.currentTimeMillis();
+        double exponent = (now - decayEpochMs) / (double) trendingHalfLifeMs;
+        if (exponent > RESCALE_EXPONENT) {
+            rescaleTrending(now);
+            exponent = 0;
+        }
+        double weight = Math.pow(2, exponent);
+
+        if (viewsDuringRebuild != null) {
+            deltas.forEach((accountId, delta) -> viewsDuringRebuild.merge(accountId, delta, Long::sum));
+        }
+
+        Set<Long> touched = new HashSet<>();
+        deltas.forEach((accountId, delta) -> {
+            Entry entry = entries.get(accountId);
+            if (entry == null || delta <= 0) {
+                return;
+            }
+            entry.views += delta;
+            entry.trend += delta * weight;
+            GameRanking ranking = game(entry.gameId);
+            ranking.popular.offer(entry);
+            ranking.trending.offer(entry);
+            touched.add(entry.gameId);
+        });
+        publish(touched);
+    }
+
+    /**
+     * Apply an account lifecycle change once its transaction has committed: approved listings
+     * enter the ranking, listings leaving APPROVED (sold, rejected, deleted) drop out.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAccountChanged(AccountChangedEvent event) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(event);
+        }
+        Account account = event.getAccount();
+        boolean approved = event.getType() != ChangeType.DELETED && account != null
+                && account.getStatus() == AccountStatus.APPROVED && event.getGameId() != null;
+
+        Set<Long> touched = new HashSet<>();
+        Entry existing = entries.get(event.getAccountId());
+        if (existing != null && (!approved || !existing.gameId.equals(event.getGameId()))) {
+            entries.remove(existing.accountId);
+            game(existing.gameId).remove(existing);
+            touched.add(existing.gameId);
+            existing = null;
+        }
+        if (approved && existing == null) {
+            Entry entry = new Entry(event.getAccountId(), event.getGameId());
+            entry.views = account.getViewsCount() != null ? account.getViewsCount() : 0;
+            entries.put(entry.accountId, entry);
+            GameRanking ranking = game(entry.gameId);
+            ranking.members.add(entry);
+            ranking.popular.offer(entry);
+            ranking.trending.offer(entry);
+            touched.add(entry.gameId);
+        }
+        publish(touched);
+    }
+
+    private List<Long> ranked(Long gameId, int limit, Function<Published, long[]> ranking) {
+        int capped = Math.min(Math.max(limit, 0), K);
+        if (capped == 0) {
+            return List.of();
+        }
+        Map<Long, Published> current = published;
+        if (gameId != null) {
+            Published game = current.get(gameId);
+            return game == null ? List.of() : head(ranking.apply(game), capped);
+        }
+        Published all = current.get(ALL_GAMES);
+        return all == null ? List.of() : head(ranking.apply(all), capped);
+    }
+
+    private static List<Long> head(long[] ids, int limit) {
+        int size = Math.min(ids.length, limit);
+        List<Long> head = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            head.add(ids[i]);
+        }
+        return head;
+    }
+
+    /**
+     * Republish the rankings of the given games and the merged all-games ranking.
+     */
+    private void publish(Set<Long> touchedGames) {
+        if (touchedGames.isEmpty()) {
+            return;
+        }
+        Map<Long, Published> next = new HashMap<>(published);
+        for (Long gameId : touchedGames) {
+            GameRanking ranking = games.get(gameId);
+            if (ranking == null || ranking.members.isEmpty()) {
+                next.remove(gameId);
+                games.remove(gameId);
+            } else {
+                next.put(gameId, new Published(ranking.popular.sortedIds(), ranking.trending.sortedIds()));
+            }
+        }
+        next.keySet().retainAll(games.keySet());
+
+        TopK popular = new TopK(K, Entry::views);
+        TopK trending = new TopK(K, entry -> entry.trend);
+        for (GameRanking ranking : games.values()) {
+            ranking.popular.forEach(popular::offer);
+            ranking.trending.forEach(trending::offer);
+        }
+        next.put(ALL_GAMES, new Published(popular.sortedIds(), trending.sortedIds()));
+        published = Map.copyOf(next);
+    }
+
+    private void rescaleTrending(long now) {
+        double factor = Math.pow(2, -(now - decayEpochMs) / (double) trendingHalfLifeMs);
+        for (Entry entry : entries.values()) {
+            entry.trend *= factor;
+        }
+        // Uniform scaling keeps every heap ordered
+        decayEpochMs = now;
+    }
+
+    private GameRanking game(Long gameId) {
+        return games.computeIfAbsent(gameId, id -> new GameRanking());
+    }
+
+    /** Published rankings of one game (or all games): account ids, highest score first */
+    private record Published(long[] popular, long[] trending) {
+    }
+
+    /**
+     * Scores of one approved listing. Mutated only under the ranking's lock.
+     */
+    static final class Entry {
+        final Long accountId;
+        final Long gameId;
+        long views;
+        double trend;
+
+        Entry(Long accountId, Long gameId) {
+            this.accountId = accountId;
+            this.gameId = gameId;
+        }
+
+        double views() {
+            return views;
+        }
+    }
+
+    /**
+     * Approved listings of one game and their two top-K heaps.
+     */
+    private static final class GameRanking {
+        final Set<Entry> members = new HashSet<>();
+        final TopK popular = new TopK(K, Entry::views);
+        final TopK trending = new TopK(K, entry -> entry.trend);
+
+        void remove(Entry entry) {
+            members.remove(entry);
+            if (popular.remove(entry)) {
+                popular.refill(members);
+            }
+            if (trending.remove(entry)) {
+                trending.refill(members);
+            }
+        }
+
+        void refill() {
+            popular.refill(members);
+            trending.refill(members);
+        }
+    }
+
+    /**
+     * Bounded min-heap of the K highest-scoring entries, with an index map so a member whose
+     * score rose can be sifted in place. Scores may only rise while an entry is a member
+     * (or all scores may be scaled by the same factor).
+     */
+    static final class TopK {
+        private final int capacity;
+        private final ToDoubleFunction<Entry> score;
+        private final Entry[] heap;
+        private final Map<Entry, Integer> positions = new HashMap<>();
+        private int size;
+
+        TopK(int capacity, ToDoubleFunction<Entry> score) {
+            this.capacity = capacity;
+            this.score = score;
+            this.heap = new Entry[capacity];
+        }
+
+        /**
+         * Add an entry or update a member after its score rose; O(log K).
+         */
+        void offer(Entry entry) {
+            Integer position = positions.get(entry);
+            if (position != null) {
+                siftDown(position);
+            } else if (size < capacity) {
+                heap[size] = entry;
+                positions.put(entry, size);
+                siftUp(size++);
+            } else if (compare(entry, heap[0]) > 0) {
+                positions.remove(heap[0]);
+                heap[0] = entry;
+                positions.put(entry, 0);
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Remove a member; the heap then holds fewer than K entries until refilled.
+         *
+         * @return Whether the entry was a member
+         */
+        boolean remove(Entry entry) {
+            Integer position = positions.remove(entry);
+            if (position == null) {
+                return false;
+            }
+            Entry last = heap[--size];
+            heap[size] = null;
+            if (position < size) {
+                heap[position] = last;
+                positions.put(last, position);
+                siftDown(position);
+                siftUp(positions.get(last));
+            }
+            return true;
+        }
+
+        /**
+         * Offer every candidate; O(n log K).
+         */
+        void refill(Iterable<Entry> candidates) {
+            for (Entry candidate : candidates) {
+                if (!positions.containsKey(candidate)) {
+                    offer(candidate);
+                }
+            }
+        }
+
+        void forEach(Consumer<Entry> action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(heap[i]);
+            }
+        }
+
+        /**
+         * Member ids, highest score first; O(K log K).
+         */
+        long[] sortedIds() {
+            Entry[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted, (a, b) -> compare(b, a));
+            long[] ids = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = sorted[i].accountId;
+            }
+            return ids;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /** Score order; ties broken by newer (higher) id */
+        private int compare(Entry a, Entry b) {
+            int byScore = Double.compare(score.applyAsDouble(a), score.applyAsDouble(b));
+            return byScore != 0 ? byScore : Long.compare(a.accountId, b.accountId);
+        }
+
+        private void siftUp(int position) {
+            Entry entry = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (compare(entry, heap[parent]) >= 0) {
+                    break;
+                }
+                move(heap[parent], position);
+                position = parent;
+            }
+            move(entry, position);
+        }
+
+        private void siftDown(int position) {
+            Entry entry = heap[position];
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                int right = child + 1;
+                if (right < size && compare(heap[right], heap[child]) < 0) {
+                    child = right;
+                }
+                if (compare(entry, heap[child]) <= 0) {
+                    break;
+                }
+                move(heap[child], position);
+                position = child;
+            }
+            move(entry, position);
+        }
+
+        private void move(Entry entry, int position) {
+            heap[position] = entry;
+            positions.put(entry, position);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.gameaccount.marketplace.service;
 
+import com.gameaccount.marketplace.cache.AccountSnapshotStore;
+import com.gameaccount.marketplace.cache.SearchResultCache;
 import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
 import com.gameaccount.marketplace.dto.request.CreateAccountRequest;
 import com.gameaccount.marketplace.dto.request.UpdateAccountRequest;
+import com.gameaccount.marketplace.dto.response.AccountFacetsResponse;
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Account.AccountStatus;
 import com.gameaccount.marketplace.entity.Game;
 import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
 import com.gameaccount.marketplace.exception.BusinessException;
 import com.gameaccount.marketplace.exception.ResourceNotFoundException;
 import com.gameaccount.marketplace.repository.AccountRepository;
@@ -14,25 +19,32 @@ import com.gameaccount.marketplace.repository.FavoriteRepository;
 import com.gameaccount.marketplace.repository.GameRepository;
 import com.gameaccount.marketplace.repository.UserRepository;
 import com.gameaccount.marketplace.spec.AccountSpecification;
+import com.gameaccount.marketplace.util.CursorUtil;
 import com.gameaccount.marketplace.util.EncryptionUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashSet;
 import java.util.List;
-import org.springframework.cache.annotation.CacheEvict;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service layer for account listing management.
@@ -45,10 +57,27 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final GameRepository gameRepository;
+    private final GameCatalog gameCatalog;
     private final UserRepository userRepository;
     private final FavoriteRepository favoriteRepository;
     private final EncryptionUtil encryptionUtil;
     private final NotificationService notificationService;
+    private final AccountFacetIndex accountFacetIndex;
+    private final AccountTextIndex accountTextIndex;
+    private final SearchResultCache searchResultCache;
+    private final AccountSnapshotStore accountSnapshotStore;
+    private final AccountCardLoader accountCardLoader;
+    private final AccountViewCounter accountViewCounter;
+    private final AccountUniqueViewers accountUniqueViewers;
+    private final AccountPopularityRanking popularityRanking;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Search execution mode for advanced search, both over the same AccountSpecification:
+     * true = two-phase (findIds page, then bulk fetch), false = single fetch-join query.
+     */
+    @Value("${search.two-phase.enabled:true}")
+    private boolean twoPhaseSearchEnabled;
 
     /** Allowed sort fields for account search */
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("price", "level", "createdAt");
@@ -71,7 +100,6 @@ public class AccountService {
      * @return Created account entity
      * @throws ResourceNotFoundException if seller or game not found
      */
-    @CacheEvict(value = "accounts", allEntries = true)
     @Transactional
     public Account createAccount(@Valid CreateAccountRequest request, Long sellerId) {
         log.info("Creating account for sellerId: {}, gameId: {}, title: {}", sellerId, request.getGameId(), request.getTitle());
@@ -103,6 +131,7 @@ public class AccountService {
 
         Account savedAccount = accountRepository.save(account);
         log.info("Account created successfully with id: {}", savedAccount.getId());
+        eventPublisher.publishEvent(AccountChangedEvent.of(ChangeType.CREATED, savedAccount));
 
         // Broadcast new account to all subscribers
         java.util.Map<String, Object> accountData = java.util.Map.of(
@@ -131,7 +160,6 @@ public class AccountService {
      * @throws ResourceNotFoundException if account not found
      * @throws BusinessException if user is not the owner
      */
-    @CacheEvict(value = "accounts", allEntries = true)
     @Transactional
     public Account updateAccount(Long accountId, @Valid UpdateAccountRequest request, Long authenticatedUserId) {
         log.info("Updating account id: {} by userId: {}", accountId, authenticatedUserId);
@@ -155,6 +183,7 @@ public class AccountService {
         account.setImages(request.getImages());
 
         Account updatedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(ChangeType.UPDATED, updatedAccount));
         log.info("Account id: {} updated successfully", accountId);
         return updatedAccount;
     }
@@ -168,7 +197,6 @@ public class AccountService {
      * @throws ResourceNotFoundException if account not found
      * @throws BusinessException if user is not owner or admin
      */
-    @CacheEvict(value = "accounts", allEntries = true)
     @Transactional
     public void deleteAccount(Long accountId, Long authenticatedUserId, boolean isAdmin) {
         log.info("Deleting account id: {} by userId: {}, isAdmin: {}", accountId, authenticatedUserId, isAdmin);
@@ -184,29 +212,41 @@ public class AccountService {
         }
 
         accountRepository.delete(account);
+        eventPublisher.publishEvent(AccountChangedEvent.deleted(account));
         log.info("Account id: {} deleted successfully", accountId);
     }
 
     /**
-     * Get account by ID and increment view count
+     * Get account by ID and count a view.
+     * The view goes to AccountViewCounter (flushed in batches), so this only reads the row;
+     * the returned viewsCount is the persisted count, see getPendingViews for the rest.
      *
      * @param accountId ID of account to retrieve
      * @return Account entity
      * @throws ResourceNotFoundException if account not found
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public Account getAccountById(Long accountId) {
         log.debug("Fetching account id: {}", accountId);
 
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
 
-        // Increment view count
-        account.setViewsCount(account.getViewsCount() + 1);
-        Account updatedAccount = accountRepository.save(account);
+        accountViewCounter.record(accountId);
 
-        log.debug("Account id: {} fetched, views incremented to: {}", accountId, updatedAccount.getViewsCount());
-        return updatedAccount;
+        log.debug("Account id: {} fetched, views: {}", accountId, account.getViewsCount());
+        return account;
+    }
+
+    /**
+     * Views of an account counted on this node but not flushed to views_count yet.
+     * Responses add this to the entity's viewsCount; the entity itself is never changed.
+     *
+     * @param accountId Account ID
+     * @return Pending views
+     */
+    public long getPendingViews(Long accountId) {
+        return accountViewCounter.pendingViews(accountId);
     }
 
     /**
@@ -222,36 +262,62 @@ public class AccountService {
     public Account getAccountByIdWithoutIncrement(Long accountId) {
         log.debug("Fetching account id: {} (without incrementing views)", accountId);
 
-        return accountRepository.findById(accountId)
+        return accountSnapshotStore.get(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
     }
 
     /**
-     * Increment account view count asynchronously (fire-and-forget).
+     * Count a view of an account (fire-and-forget).
      * This method is called from the PATCH /api/accounts/{id}/view endpoint.
-     * Uses @Async to prevent blocking the response and @CacheEvict to clear cached data.
+     * Views are buffered in AccountViewCounter and AccountUniqueViewers and written in batches
+     * every few seconds; cached account entries are left in place (their viewsCount lags by up
+     * to the cache TTL).
+     *
+     * Only known listings are counted, so arbitrary ids cannot fill the in-memory counters;
+     * the check is answered by the facet index (falling back to the database while it builds).
      *
-     * @param accountId ID of account to increment
+     * @param accountId ID of account viewed
+     * @param visitorKey Viewer identity for unique viewer counting
+     * @throws ResourceNotFoundException if no account has this id
      */
-    @Async
-    @CacheEvict(value = "accounts", key = "#accountId")
-    public CompletableFuture<Void> incrementViewCountAsync(Long accountId) {
-        log.debug("Async increment view count for account id: {}", accountId);
-
-        try {
-            Account account = accountRepository.findById(accountId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
-
-            account.setViewsCount(account.getViewsCount() + 1);
-            accountRepository.save(account);
-
-            log.debug("View count incremented asynchronously for account id: {}, new count: {}",
-                    accountId, account.getViewsCount());
-        } catch (Exception e) {
-            log.error("Failed to increment view count for account id: {}", accountId, e);
+    public void recordView(Long accountId, String visitorKey) {
+        log.debug("Recording view for account id: {}", accountId);
+        boolean known = accountId != null && accountId > 0 && (accountFacetIndex.isReady()
+                ? accountFacetIndex.contains(accountId)
+                : accountRepository.existsById(accountId));
+        if (!known) {
+            throw new ResourceNotFoundException("Account not found with id: " + accountId);
         }
+        accountViewCounter.record(accountId);
+        accountUniqueViewers.record(accountId, visitorKey);
+    }
 
-        return CompletableFuture.completedFuture(null);
+    /**
+     * Unique viewers of each account, in the order given (see AccountUniqueViewers).
+     *
+     * @param accountIds Account IDs
+     * @return Unique viewer counts
+     */
+    public List<Long> getUniqueViewers(List<Long> accountIds) {
+        return accountUniqueViewers.counts(accountIds);
+    }
+
+    /**
+     * Approved accounts with the most unique viewers, highest first.
+     * Unlike getPopularAccounts (ordered by viewsCount), refreshes and repeat visits by the
+     * same viewer do not raise the rank.
+     *
+     * @param limit Maximum number of accounts (capped at 100)
+     * @return Popular accounts by unique viewers
+     */
+    public List<Account> getPopularAccountsByUniqueViewers(int limit) {
+        int cappedLimit = Math.min(Math.max(limit, 0), 100);
+        // Over-fetch ids so listings no longer approved do not shorten the page
+        List<Long> ids = accountUniqueViewers.topAccountIds(cappedLimit * 2);
+        return accountCardLoader.load(ids).stream()
+                .filter(account -> account.getStatus() == AccountStatus.APPROVED)
+                .limit(cappedLimit)
+                .toList();
     }
 
     /**
@@ -262,7 +328,6 @@ public class AccountService {
      * @throws ResourceNotFoundException if account not found
      * @throws BusinessException if account is not in PENDING status
      */
-    @CacheEvict(value = "accounts", allEntries = true)
     @PreAuthorize("hasRole('ADMIN')")
     public Account approveAccount(Long accountId) {
         log.info("Approving account id: {}", accountId);
@@ -277,6 +342,7 @@ public class AccountService {
 
         account.setStatus(AccountStatus.APPROVED);
         Account approvedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.statusChanged(approvedAccount, AccountStatus.PENDING));
 
         // Send notification to seller
         notificationService.sendAccountApprovedNotification(account.getSeller().getId(), account.getId());
@@ -297,7 +363,6 @@ public class AccountService {
      * @throws ResourceNotFoundException if account not found
      * @throws BusinessException if account is not in PENDING status
      */
-    @CacheEvict(value = "accounts", allEntries = true)
     @PreAuthorize("hasRole('ADMIN')")
     public Account rejectAccount(Long accountId, String reason) {
         log.info("Rejecting account id: {}, reason: {}", accountId, reason);
@@ -312,6 +377,7 @@ public class AccountService {
 
         account.setStatus(AccountStatus.REJECTED);
         Account rejectedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.statusChanged(rejectedAccount, AccountStatus.PENDING));
 
         // Send notification to seller
         notificationService.sendAccountRejectedNotification(account.getSeller().getId(), account.getId(), reason);
@@ -324,7 +390,8 @@ public class AccountService {
     }
 
     /**
-     * Search accounts with filters and caching
+     * Search accounts with filters.
+     * Results are cached as ID lists in SearchResultCache (same entries as the advanced search).
      *
      * @param gameId Optional game filter
      * @param minPrice Optional minimum price filter
@@ -333,17 +400,38 @@ public class AccountService {
      * @param pageable Pagination parameters
      * @return Page of matching accounts
      */
-    @Cacheable(value = "accounts",
-            key = "#gameId + '-' + #minPrice + '-' + #maxPrice + '-' + #status + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
     @Transactional(readOnly = true)
     public Page<Account> searchAccounts(Long gameId, Double minPrice, Double maxPrice, AccountStatus status, Pageable pageable) {
         log.debug("Searching accounts with filters - gameId: {}, minPrice: {}, maxPrice: {}, status: {}",
                 gameId, minPrice, maxPrice, status);
 
-        Page<Account> results = accountRepository.searchAccounts(gameId, minPrice, maxPrice, status, pageable);
+        AccountSearchRequest filters = AccountSearchRequest.builder()
+                .gameId(gameId)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        String cacheKey = searchResultCache.offsetKey(filters, status, pageable);
+        SearchResultCache.CachedIds cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            return fetchPage(new PageImpl<>(cached.idList(), pageable, cached.getTotalElements()));
+        }
 
-        log.debug("Found {} accounts matching search criteria", results.getTotalElements());
-        return results;
+        // Identical concurrent misses share one repository search
+        AtomicReference<Page<Account>> searched = new AtomicReference<>();
+        cached = searchResultCache.load(cacheKey, () -> {
+            Specification<Account> spec = AccountSpecification.buildSearchSpecification(
+                gameId, minPrice, maxPrice, null, null, null, status, null, null, null);
+            Page<Account> results = fetchPage(accountRepository.findIds(spec, pageable));
+            searchResultCache.put(cacheKey, filters, status, results);
+            searched.set(results);
+            return SearchResultCache.CachedIds.of(results);
+        });
+        if (searched.get() == null) {
+            return fetchPage(new PageImpl<>(cached.idList(), pageable, cached.getTotalElements()));
+        }
+
+        log.debug("Found {} accounts matching search criteria", searched.get().getTotalElements());
+        return searched.get();
     }
 
     /**
@@ -356,8 +444,8 @@ public class AccountService {
      * - SELLER: Sees APPROVED accounts + their own PENDING accounts
      * - BUYER/PUBLIC: Sees all statuses (APPROVED, PENDING, REJECTED, SOLD)
      *
-     * Note: Caching disabled because effectiveStatus is modified dynamically based on user role,
-     * which makes cache key computation unreliable.
+     * Database-backed results are cached in SearchResultCache, keyed by the resolved query
+     * (effective status, not role or caller), so all callers issuing the same query share entries.
      *
      * @param searchRequest Search parameters object containing all filters
      * @param authenticatedUserId ID of authenticated user (for role-based filtering)
@@ -377,27 +465,7 @@ public class AccountService {
                 searchRequest.getStatus(), authenticatedUserId, searchRequest.getSellerId());
 
         // Determine effective status filter based on user role
-        AccountStatus effectiveStatus = searchRequest.getStatus();
-
-        if ("ADMIN".equals(userRole)) {
-            // Admins see all statuses (respect requested status filter)
-            effectiveStatus = searchRequest.getStatus();
-        } else if ("SELLER".equals(userRole)) {
-            // Sellers see APPROVED accounts + their own PENDING accounts
-            // If searching for own listings, don't force status filter
-            // Otherwise, show all accounts (for development)
-            if (searchRequest.getSellerId() != null && searchRequest.getSellerId().equals(authenticatedUserId)) {
-                // Viewing own listings - respect requested filter
-                effectiveStatus = searchRequest.getStatus();
-            } else {
-                // Not viewing own listings - show all accounts (for development)
-                effectiveStatus = null;
-            }
-        } else {
-            // Buyers and public users - for development, show both APPROVED and PENDING
-            // TODO: Change back to APPROVED only for production
-            effectiveStatus = null; // No status filter - show all accounts
-        }
+        AccountStatus effectiveStatus = resolveEffectiveStatus(searchRequest, authenticatedUserId, userRole);
 
         log.info("DEBUG: userRole = {}, effectiveStatus = {}", userRole, effectiveStatus);
 
@@ -425,26 +493,368 @@ public class AccountService {
             }
         }
 
-        // Use JOIN FETCH query to load related entities and prevent N+1 queries
-        Page<Account> results = accountRepository.searchAccountsWithJoins(
-            searchRequest.getGameId(),
-            searchRequest.getMinPrice(),
-            searchRequest.getMaxPrice(),
-            searchRequest.getMinLevel(),
-            searchRequest.getMaxLevel(),
-            searchRequest.getRank(),
-            effectiveStatus,
-            searchRequest.getIsFeatured(),
-            searchRequest.getSearchText(),
-            searchRequest.getSellerId(),
-            sortedPageable
-        );
+        // Browse traffic (no full-text filter) is answered from the in-memory index;
+        // only the page itself is loaded from the database
+        if (accountFacetIndex.canAnswer(searchRequest)) {
+            Page<Account> results = fetchPage(accountFacetIndex.search(searchRequest, effectiveStatus, sortedPageable));
+            log.debug("Index search found {} accounts matching criteria (effectiveStatus: {})",
+                    results.getTotalElements(), effectiveStatus);
+            return results;
+        }
+
+        // Full-text searches filter every Lucene match through the in-memory index,
+        // so totals stay exact however common the term
+        List<Long> allTextMatches = matchAllSearchText(searchRequest);
+        if (allTextMatches != null) {
+            Page<Account> results = fetchPage(
+                    accountFacetIndex.search(searchRequest, effectiveStatus, sortedPageable, allTextMatches));
+            log.debug("Full-text index search found {} accounts matching criteria (effectiveStatus: {})",
+                    results.getTotalElements(), effectiveStatus);
+            return results;
+        }
+
+        // Database-backed searches are cached as ID lists under a role-independent key
+        String cacheKey = searchResultCache.offsetKey(searchRequest, effectiveStatus, sortedPageable);
+        SearchResultCache.CachedIds cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("Search result cache hit: {} of {} accounts", cached.getIds().length, cached.getTotalElements());
+            return fetchPage(new PageImpl<>(cached.idList(), sortedPageable, cached.getTotalElements()));
+        }
+
+        // Identical concurrent misses share one database search; the others load the page by ID
+        Pageable resolvedPageable = sortedPageable;
+        AtomicReference<Page<Account>> searched = new AtomicReference<>();
+        cached = searchResultCache.load(cacheKey, () -> {
+            Page<Account> results = searchDatabase(searchRequest, effectiveStatus, resolvedPageable);
+            searchResultCache.put(cacheKey, searchRequest, effectiveStatus, results);
+            searched.set(results);
+            return SearchResultCache.CachedIds.of(results);
+        });
+        if (searched.get() == null) {
+            return fetchPage(new PageImpl<>(cached.idList(), resolvedPageable, cached.getTotalElements()));
+        }
+        return searched.get();
+    }
+
+    /**
+     * Database part of searchAccounts: full-text relevance, two-phase or single-query execution.
+     */
+    private Page<Account> searchDatabase(AccountSearchRequest searchRequest, AccountStatus effectiveStatus,
+                                         Pageable sortedPageable) {
+        // Build the WHERE clause from the filters actually present, so each filter combination
+        // gets its own statement (and plan) instead of one catch-all ":x IS NULL OR ..." query
+        List<Long> textMatchIds = matchSearchText(searchRequest);
+        Specification<Account> spec = searchSpecification(searchRequest, effectiveStatus, textMatchIds);
+
+        if (textMatchIds != null && sortedPageable.getSort().isUnsorted()) {
+            Page<Account> results = searchByRelevance(spec, textMatchIds, sortedPageable);
+            log.debug("Full-text search found {} accounts matching criteria (effectiveStatus: {})",
+                    results.getTotalElements(), effectiveStatus);
+            return results;
+        }
+
+        // Two-phase: page over IDs only (accounts table alone, so the database can page on the
+        // covering indexes instead of running DISTINCT over joined rows), then bulk-load the
+        // cards of the page (AccountCardLoader) in ID order
+        if (twoPhaseSearchEnabled) {
+            Page<Account> results = fetchPage(accountRepository.findIds(spec, sortedPageable));
+            log.debug("Two-phase search found {} accounts matching criteria (effectiveStatus: {})",
+                    results.getTotalElements(), effectiveStatus);
+            return results;
+        }
+
+        // Fetch-join seller and game for the page query only; the count query stays join-free
+        Page<Account> results = accountRepository.findAll(
+            spec.and(AccountSpecification.fetchSellerAndGame()), sortedPageable);
 
         log.debug("Advanced search found {} accounts matching criteria (effectiveStatus: {})",
                 results.getTotalElements(), effectiveStatus);
         return results;
     }
 
+    /**
+     * Full-text search without an explicit sort: apply the remaining filters to the
+     * full-text matches, then page in Lucene relevance order.
+     */
+    private Page<Account> searchByRelevance(Specification<Account> spec, List<Long> textMatchIds, Pageable pageable) {
+        Set<Long> filteredIds = new HashSet<>(accountRepository.findIds(spec, Pageable.unpaged()).getContent());
+        List<Long> rankedIds = textMatchIds.stream()
+                .filter(filteredIds::contains)
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        return fetchPage(new PageImpl<>(rankedIds.subList(from, to), pageable, rankedIds.size()));
+    }
+
+    /**
+     * Resolve searchText through the full-text index for a database query ({@code id IN (...)}).
+     *
+     * @return Matching account IDs in relevance order, or null when the request has no
+     *         searchText, the index is unavailable, or more than search.text-index.max-hits
+     *         accounts match (the LIKE filter is used instead, so results are never truncated)
+     */
+    private List<Long> matchSearchText(AccountSearchRequest searchRequest) {
+        String searchText = searchRequest.getSearchText();
+        if (searchText == null || searchText.trim().isEmpty() || !accountTextIndex.isReady()) {
+            return null;
+        }
+        int maxHits = accountTextIndex.getMaxHits();
+        List<Long> ids = accountTextIndex.search(searchText, maxHits + 1);
+        if (ids.size() > maxHits) {
+            log.debug("Full-text query '{}' matches more than {} accounts, filtering with LIKE", searchText, maxHits);
+            return null;
+        }
+        return ids;
+    }
+
+    /**
+     * Resolve searchText to every full-text match, for filtering in the in-memory facet index.
+     *
+     * @return All matching account IDs in relevance order, or null when the request has no
+     *         searchText or either index is unavailable
+     */
+    private List<Long> matchAllSearchText(AccountSearchRequest searchRequest) {
+        String searchText = searchRequest.getSearchText();
+        if (searchText == null || searchText.trim().isEmpty()
+                || !accountTextIndex.isReady() || !accountFacetIndex.isReady()) {
+            return null;
+        }
+        return accountTextIndex.searchAll(searchText);
+    }
+
+    /**
+     * Filter specification for a search request; searchText is matched by ID when the
+     * full-text index resolved it, and by LIKE otherwise.
+     */
+    private Specification<Account> searchSpecification(AccountSearchRequest searchRequest, AccountStatus effectiveStatus,
+                                                       List<Long> textMatchIds) {
+        return textMatchIds != null
+                ? AccountSpecification.fromSearchRequest(searchRequest, effectiveStatus, textMatchIds)
+                : AccountSpecification.fromSearchRequest(searchRequest, effectiveStatus);
+    }
+
+    /**
+     * Load the cards of a page of IDs (AccountCardLoader), keeping the ID order.
+     */
+    private Page<Account> fetchPage(Page<Long> idPage) {
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), idPage.getPageable(), idPage.getTotalElements());
+        }
+        // IDs deleted between the two phases are skipped
+        return new PageImpl<>(accountCardLoader.load(idPage.getContent()), idPage.getPageable(),
+                idPage.getTotalElements());
+    }
+
+    /**
+     * Search accounts with keyset (seek) pagination and role-based access control.
+     * Instead of OFFSET, selects rows strictly after the cursor row using
+     * {@code WHERE (sortKey, id) < (:k, :id)}, so every page costs O(page size)
+     * regardless of how deep the client has scrolled.
+     *
+     * @param searchRequest Search filters; sortBy/sortDirection select the keyset order
+     * @param authenticatedUserId ID of authenticated user (for role-based filtering)
+     * @param userRole Role of authenticated user (BUYER, SELLER, ADMIN)
+     * @param cursor Decoded cursor of the last row already seen, or null for the first page
+     * @param pageSize Number of rows to return
+     * @return Slice of matching accounts; hasNext() tells whether more rows follow
+     */
+    @Transactional(readOnly = true)
+    public Slice<Account> searchAccountsAfter(
+            AccountSearchRequest searchRequest,
+            Long authenticatedUserId,
+            String userRole,
+            CursorUtil.KeysetCursor cursor,
+            int pageSize) {
+
+        AccountStatus effectiveStatus = resolveEffectiveStatus(searchRequest, authenticatedUserId, userRole);
+
+        String sortField = resolveKeysetSortField(searchRequest.getSortBy());
+        Sort.Direction direction;
+        if (searchRequest.getSortDirection() != null) {
+            direction = Sort.Direction.fromString(searchRequest.getSortDirection().name());
+        } else {
+            // Same defaults as offset search: price ASC, level and createdAt DESC
+            direction = "price".equals(sortField) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        }
+
+        String cacheKey = searchResultCache.keysetKey(searchRequest, effectiveStatus,
+                Sort.by(direction, sortField), cursor, pageSize);
+        SearchResultCache.CachedIds cached = searchResultCache.get(cacheKey);
+        AtomicReference<Slice<Account>> searched = new AtomicReference<>();
+        if (cached == null) {
+            cached = searchResultCache.load(cacheKey, () -> {
+                Specification<Account> filters = searchSpecification(searchRequest, effectiveStatus,
+                        matchSearchText(searchRequest));
+                Slice<Account> slice = seekAccounts(filters, sortField, direction, cursor, pageSize);
+                searchResultCache.put(cacheKey, searchRequest, effectiveStatus, slice);
+                searched.set(slice);
+                return SearchResultCache.CachedIds.of(slice);
+            });
+        }
+        if (searched.get() != null) {
+            return searched.get();
+        }
+
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+        Pageable slicePageable = PageRequest.of(0, pageSize, sort);
+        List<Account> content = fetchPage(new PageImpl<>(cached.idList(), slicePageable, cached.getIds().length))
+                .getContent();
+        return new SliceImpl<>(content, slicePageable, cached.isHasNext());
+    }
+
+    /**
+     * Keyset variant of {@link #searchAccounts(Long, Double, Double, AccountStatus, Pageable)}
+     * used by REST GET /api/accounts. Always ordered by createdAt DESC, id DESC.
+     *
+     * @param gameId Optional game filter
+     * @param minPrice Optional minimum price filter
+     * @param maxPrice Optional maximum price filter
+     * @param status Optional status filter
+     * @param cursor Decoded cursor of the last row already seen, or null for the first page
+     * @param pageSize Number of rows to return
+     * @return Slice of matching accounts
+     */
+    @Transactional(readOnly = true)
+    public Slice<Account> searchAccountsAfter(Long gameId, Double minPrice, Double maxPrice, AccountStatus status,
+                                              CursorUtil.KeysetCursor cursor, int pageSize) {
+        Specification<Account> filters = AccountSpecification.buildSearchSpecification(
+            gameId, minPrice, maxPrice, null, null, null, status, null, null, null);
+        return seekAccounts(filters, "createdAt", Sort.Direction.DESC, cursor, pageSize);
+    }
+
+    /**
+     * Count accounts visible to the caller for the given filters (no paging, no fetch joins).
+     * Used for totalCount in cursor connections, which is only computed when requested.
+     */
+    @Transactional(readOnly = true)
+    public long countAccounts(AccountSearchRequest searchRequest, Long authenticatedUserId, String userRole) {
+        AccountStatus effectiveStatus = resolveEffectiveStatus(searchRequest, authenticatedUserId, userRole);
+        return count(searchRequest, effectiveStatus);
+    }
+
+    /**
+     * Match count for a resolved status: in-memory index (filters, or filters over full-text
+     * matches) when it can answer, database otherwise.
+     */
+    private long count(AccountSearchRequest searchRequest, AccountStatus effectiveStatus) {
+        if (accountFacetIndex.canAnswer(searchRequest)) {
+            return accountFacetIndex.count(searchRequest, effectiveStatus);
+        }
+        List<Long> allTextMatches = matchAllSearchText(searchRequest);
+        if (allTextMatches != null) {
+            return accountFacetIndex.count(searchRequest, effectiveStatus, allTextMatches);
+        }
+        return accountRepository.count(searchSpecification(searchRequest, effectiveStatus, matchSearchText(searchRequest)));
+    }
+
+    /**
+     * Facet counts (per game, rank and price band) for the search sidebar, with the same
+     * role-based status filtering as searchAccounts. Served from the in-memory index; when the
+     * index cannot answer (disabled, still building, or full-text query) only totalCount is filled.
+     *
+     * @param searchRequest Search filters
+     * @param authenticatedUserId ID of authenticated user (for role-based filtering)
+     * @param userRole Role of authenticated user (BUYER, SELLER, ADMIN)
+     * @return Facet counts with game names as labels
+     */
+    @Transactional(readOnly = true)
+    public AccountFacetsResponse getSearchFacets(AccountSearchRequest searchRequest, Long authenticatedUserId,
+                                                 String userRole) {
+        AccountStatus effectiveStatus = resolveEffectiveStatus(searchRequest, authenticatedUserId, userRole);
+        if (!accountFacetIndex.canAnswer(searchRequest)) {
+            return AccountFacetsResponse.builder()
+                    .totalCount(count(searchRequest, effectiveStatus))
+                    .games(List.of())
+                    .ranks(List.of())
+                    .priceBands(List.of())
+                    .build();
+        }
+
+        AccountFacetsResponse facets = accountFacetIndex.facets(searchRequest, effectiveStatus);
+        List<Long> gameIds = facets.getGames().stream()
+                .map(facet -> Long.valueOf(facet.getValue()))
+                .toList();
+        Map<Long, Game> games = gameCatalog.findAllById(gameIds);
+        facets.getGames().forEach(facet -> {
+            Game game = games.get(Long.valueOf(facet.getValue()));
+            facet.setLabel(game != null ? game.getName() : null);
+        });
+        return facets;
+    }
+
+    /**
+     * Execute a seek query: filters + (sortKey, id) predicate, ordered by (sortKey, id),
+     * limited to pageSize + 1 rows to detect whether a further page exists.
+     */
+    private Slice<Account> seekAccounts(Specification<Account> filters, String sortField, Sort.Direction direction,
+                                        CursorUtil.KeysetCursor cursor, int pageSize) {
+        if (cursor != null && !sortField.equals(cursor.sortField)) {
+            throw new BusinessException("Cursor was issued for sort field '" + cursor.sortField
+                    + "' but the query is sorted by '" + sortField + "'");
+        }
+
+        Specification<Account> spec = filters;
+        if (cursor != null) {
+            spec = spec.and(AccountSpecification.seekAfter(cursor, direction));
+        }
+
+        // Seek over IDs only, then load the cards of the page
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+        List<Long> ids = accountRepository.findIds(spec, sort, pageSize + 1);
+
+        boolean hasNext = ids.size() > pageSize;
+        List<Account> content = accountCardLoader.load(hasNext ? ids.subList(0, pageSize) : ids);
+
+        log.debug("Keyset search returned {} accounts (sortField: {}, direction: {}, hasNext: {})",
+                content.size(), sortField, direction, hasNext);
+        return new SliceImpl<>(content, PageRequest.of(0, pageSize, sort), hasNext);
+    }
+
+    /**
+     * Validate a keyset sort field, falling back to createdAt.
+     */
+    private String resolveKeysetSortField(String sortBy) {
+        if (sortBy == null || sortBy.trim().isEmpty()) {
+            return "createdAt";
+        }
+        if (!ALLOWED_SORT_FIELDS.contains(sortBy)) {
+            log.warn("Invalid sortBy field requested: {}, using createdAt", sortBy);
+            return "createdAt";
+        }
+        return sortBy;
+    }
+
+    /**
+     * Determine the effective status filter for a search based on the caller's role.
+     * See {@link #searchAccounts(AccountSearchRequest, Long, String, Pageable)} for the rules.
+     */
+    private AccountStatus resolveEffectiveStatus(AccountSearchRequest searchRequest, Long authenticatedUserId, String userRole) {
+        AccountStatus effectiveStatus = searchRequest.getStatus();
+
+        if ("ADMIN".equals(userRole)) {
+            // Admins see all statuses (respect requested status filter)
+            effectiveStatus = searchRequest.getStatus();
+        } else if ("SELLER".equals(userRole)) {
+            // Sellers see APPROVED accounts + their own PENDING accounts
+            // If searching for own listings, don't force status filter
+            // Otherwise, show all accounts (for development)
+            if (searchRequest.getSellerId() != null && searchRequest.getSellerId().equals(authenticatedUserId)) {
+                // Viewing own listings - respect requested filter
+                effectiveStatus = searchRequest.getStatus();
+            } else {
+                // Not viewing own listings - show all accounts (for development)
+                effectiveStatus = null;
+            }
+        } else {
+            // Buyers and public users - for development, show both APPROVED and PENDING
+            // TODO: Change back to APPROVED only for production
+            effectiveStatus = null; // No status filter - show all accounts
+        }
+
+        return effectiveStatus;
+    }
+
     /**
      * Get accounts for a specific seller with pagination.
      * This is optimized compared to filtering in-memory after loading all accounts.
@@ -473,36 +883,65 @@ public class AccountService {
     /**
      * Get featured accounts with caching.
      * Returns approved accounts that are marked as featured.
-     * Results are cached for 5 minutes (configured in CacheConfig).
+     * Results are refreshed in the background about every 5 minutes while the old list keeps
+     * being served (RefreshAhead, via FeaturedAccountsRefresher); the store TTL in CacheConfig
+     * is the upper bound.
      * Cache key: "featured::featured-accounts"
+     * sync = true: concurrent misses share one query (see SingleFlight).
      *
-     * @return List of featured accounts
+     * @return List of featured account cards
      */
-    @Cacheable(value = "featured", key = "'featured-accounts'")
+    @Cacheable(value = "featured", key = "'featured-accounts'", sync = true)
     @Transactional(readOnly = true)
     public List<Account> getFeaturedAccounts() {
-        log.debug("Fetching featured accounts");
-        return accountRepository.findByStatusAndIsFeatured(AccountStatus.APPROVED, true);
+        return loadFeaturedAccounts();
     }
 
     /**
-     * Get popular accounts (most viewed) with caching.
-     * Returns approved accounts sorted by view count.
-     * Results are cached for 5 minutes (configured in CacheConfig).
-     * Cache key: "featured::popular-accounts"
-     *
-     * Note: This demonstrates @CachePut pattern - when an account's view count
-     * is incremented, we could use @CachePut to update the cached list instead
-     * of evicting and recomputing. However, for simplicity we use @CacheEvict
-     * in incrementViewCountAsync().
+     * Load featured accounts from the database, bypassing the cache.
+     * Used by getFeaturedAccounts on a miss and by FeaturedAccountsRefresher ahead of expiry.
      *
-     * @return List of popular accounts
+     * @return List of featured account cards
      */
-    @Cacheable(value = "featured", key = "'popular-accounts'")
     @Transactional(readOnly = true)
+    public List<Account> loadFeaturedAccounts() {
+        log.debug("Fetching featured accounts");
+        return accountCardLoader.load(accountRepository.findIdsByStatusAndIsFeatured(AccountStatus.APPROVED, true));
+    }
+
+    /**
+     * Get popular accounts (most viewed) across all games.
+     * Ranked in memory by AccountPopularityRanking; only the cards of the top listings are
+     * loaded (AccountCardLoader), no table sort.
+     *
+     * @return Up to AccountPopularityRanking.K popular accounts, most viewed first
+     */
     public List<Account> getPopularAccounts() {
-        log.debug("Fetching popular accounts");
-        return accountRepository.findPopularAccounts(AccountStatus.APPROVED);
+        return getPopularAccounts(null, AccountPopularityRanking.K);
+    }
+
+    /**
+     * Get the most viewed approved accounts, optionally within one game.
+     *
+     * @param gameId Game filter (null = all games)
+     * @param limit Maximum number of accounts (capped at AccountPopularityRanking.K)
+     * @return Popular accounts, most viewed first
+     */
+    public List<Account> getPopularAccounts(Long gameId, int limit) {
+        log.debug("Fetching popular accounts - gameId: {}, limit: {}", gameId, limit);
+        return accountCardLoader.load(popularityRanking.popularIds(gameId, limit));
+    }
+
+    /**
+     * Get trending approved accounts (most views recently, time-decayed), optionally within one game.
+     *
+     * @param gameId Game filter (null = all games)
+     * @param limit Maximum number of accounts (capped at AccountPopularityRanking.K)
+     * @return Trending accounts, hottest first
+     */
+    public List<Account> getTrendingAccounts(Long gameId, int limit) {
+        log.debug("Fetching trending accounts - gameId: {}, limit: {}", gameId, limit);
+        return accountCardLoader.load(popularityRanking.trendingIds(gameId, limit));
     }
 
     /**
@@ -539,8 +978,8 @@ public class AccountService {
         log.debug("Fetching game for accountId: {}", accountId);
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
-        return gameRepository.findById(account.getGame().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + account.getGame().getId()));
+        return gameCatalog.findForAccount(account)
+                .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + account.getGameId()));
     }
 
     /**
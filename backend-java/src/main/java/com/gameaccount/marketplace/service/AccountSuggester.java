@@ -0,0 +1,260 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.dto.response.SuggestionResponse;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import com.gameaccount.marketplace.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup;
+import org.apache.lucene.search.suggest.analyzing.AnalyzingSuggester;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead suggester for the search box.
+ * Holds an in-memory weighted FST (Lucene AnalyzingSuggester) of approved listing titles,
+ * game names and distinct ranks, each weighted by the summed viewsCount of the listings
+ * behind it. Prefixes are matched accent-insensitively ("ngoc r" completes "Ngọc Rồng").
+ *
+ * The FST is immutable: it is rebuilt off to the side and swapped in on startup, and on a
+ * schedule when an approved listing brings a title or rank the FST does not have yet
+ * (AccountChangedEvent), or when the weights are older than max-age. Other listing changes only
+ * move weights or drop keys, so they wait for the max-age rebuild instead of rebuilding the
+ * whole FST on every edit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountSuggester {
+
+    public enum SuggestionType {
+        TITLE, GAME, RANK
+    }
+
+    /** Upper bound for the number of completions returned per lookup */
+    public static final int MAX_LIMIT = 20;
+
+    private final AccountRepository accountRepository;
+    private final GameRepository gameRepository;
+
+    @Value("${search.suggest.max-age-ms:600000}")
+    private long maxAgeMs;
+
+    private final Analyzer analyzer = new AccountTextIndex.FoldingAnalyzer();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile AnalyzingSuggester suggester;
+    private volatile Set<String> keys = Set.of();
+    private volatile long builtAt;
+
+    /**
+     * Top completions for a prefix, highest weight first (exact analyzed match first).
+     *
+     * @param prefix Text typed so far
+     * @param limit Maximum number of completions (capped at MAX_LIMIT)
+     * @return Completions, empty for a blank prefix or before the first build
+     */
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        AnalyzingSuggester current = suggester;
+        if (current == null || prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+
+        try {
+            List<SuggestionResponse> suggestions = new ArrayList<>();
+            for (Lookup.LookupResult result : current.lookup(prefix, false, Math.min(limit, MAX_LIMIT))) {
+                String[] payload = result.payload.utf8ToString().split(":", 2);
+                suggestions.add(SuggestionResponse.builder()
+                        .text(result.key.toString())
+                        .type(payload[0])
+                        .gameId(payload[1].isEmpty() ? null : Long.valueOf(payload[1]))
+                        .weight(result.value)
+                        .build());
+            }
+            return suggestions;
+        } catch (IOException e) {
+            log.warn("Suggest lookup failed for prefix '{}': {}", prefix, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Build the FST on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild when a new title or rank appeared since the last build, or when view-count
+     * weights are stale.
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-interval-ms:60000}")
+    public void refreshIfStale() {
+        if (dirty.get() || System.currentTimeMillis() - builtAt > maxAgeMs) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Mark the FST stale when an approved listing has a title or rank it cannot suggest yet;
+     * the next scheduled refresh rebuilds it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        Account account = event.getAccount();
+        if (account != null && account.getStatus() == AccountStatus.APPROVED
+                && (isNewKey(SuggestionType.TITLE, account.getTitle())
+                || isNewKey(SuggestionType.RANK, account.getRank()))) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Rebuild the FST from approved listings and swap it in.
+     *
+     * @return Number of entries in the new FST
+     */
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        dirty.set(false);
+        try {
+            List<Entry> entries = loadEntries();
+            AnalyzingSuggester rebuilt = new AnalyzingSuggester(new ByteBuffersDirectory(), "suggest", analyzer);
+            rebuilt.build(new EntryIterator(entries.iterator()));
+
+            Set<String> builtKeys = new HashSet<>();
+            for (Entry entry : entries) {
+                builtKeys.add(key(entry.type, entry.text));
+            }
+
+            suggester = rebuilt;
+            keys = builtKeys;
+            builtAt = System.currentTimeMillis();
+            log.info("Suggester built: {} entries, {} bytes in {}ms",
+                    entries.size(), rebuilt.ramBytesUsed(), builtAt - start);
+            return entries.size();
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("Failed to build suggester: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private boolean isNewKey(SuggestionType type, String text) {
+        return text != null && !text.isBlank() && !keys.contains(key(type, text));
+    }
+
+    private static String key(SuggestionType type, String text) {
+        return type.name() + ":" + text;
+    }
+
+    private List<Entry> loadEntries() {
+        List<Entry> entries = new ArrayList<>();
+
+        for (Object[] row : accountRepository.sumViewsByTitle(AccountStatus.APPROVED)) {
+            entries.add(new Entry((String) row[0], SuggestionType.TITLE, null, (Long) row[1]));
+        }
+
+        Map<Long, Long> viewsByGame = new HashMap<>();
+        for (Object[] row : accountRepository.sumViewsByGame(AccountStatus.APPROVED)) {
+            viewsByGame.put((Long) row[0], (Long) row[1]);
+        }
+        for (Game game : gameRepository.findAll()) {
+            entries.add(new Entry(game.getName(), SuggestionType.GAME, game.getId(),
+                    viewsByGame.getOrDefault(game.getId(), 0L)));
+        }
+
+        for (Object[] row : accountRepository.sumViewsByRank(AccountStatus.APPROVED)) {
+            entries.add(new Entry((String) row[0], SuggestionType.RANK, null, (Long) row[1]));
+        }
+
+        entries.removeIf(entry -> entry.text == null || entry.text.isBlank());
+        return entries;
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final SuggestionType type;
+        private final Long gameId;
+        private final long weight;
+
+        private Entry(String text, SuggestionType type, Long gameId, Long weight) {
+            this.text = text;
+            this.type = type;
+            this.gameId = gameId;
+            // FST weights are limited to int range
+            this.weight = weight == null ? 0L : Math.min(Math.max(weight, 0L), Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Feeds entries to the suggester; the payload carries "TYPE:gameId".
+     */
+    private static final class EntryIterator implements InputIterator {
+        private final Iterator<Entry> entries;
+        private Entry current;
+
+        private EntryIterator(Iterator<Entry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!entries.hasNext()) {
+                return null;
+            }
+            current = entries.next();
+            return new BytesRef(current.text);
+        }
+
+        @Override
+        public long weight() {
+            return current.weight;
+        }
+
+        @Override
+        public BytesRef payload() {
+            String gameId = current.gameId != null ? String.valueOf(current.gameId) : "";
+            return new BytesRef((current.type.name() + ":" + gameId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return true;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.cache.CacheInvalidationBus;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene full-text index over listing title and description.
+ * Replaces the {@code LIKE '%q%'} scan for searchText: terms are lower-cased and
+ * accent-folded (so "ngọc rồng" matches "Ngoc Rong"), every query term must match
+ * title or description, exact terms rank above prefix matches, and title matches rank
+ * above description matches.
+ *
+ * Near-real-time: kept up to date from AccountChangedEvent and refreshed after each change;
+ * changes committed on other nodes arrive on the CacheInvalidationBus and are applied by
+ * reloading the account's text. Commits to disk periodically and on shutdown. Uses an
+ * MMapDirectory when search.text-index.path is set, otherwise an in-memory directory (tests,
+ * local runs).
+ *
+ * Each commit records the accounts' max(updated_at) at the last sync with the table. On
+ * startup, accounts updated since then (on any node, or while this one was down) are
+ * reindexed, and a document count that still differs from the table triggers a full rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountTextIndex implements CacheInvalidationBus.Listener {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    /** Commit user data key: accounts updated at or before this instant are indexed */
+    static final String SYNCED_UP_TO = "syncedUpTo";
+
+    private final AccountRepository accountRepository;
+
+    @Value("${search.text-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.text-index.path:}")
+    private String indexPath;
+
+    @Value("${search.text-index.max-hits:1000}")
+    private int maxHits;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    /**
+     * Open the index directory and writer.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            log.info("Account text index disabled, searchText uses LIKE queries");
+            return;
+        }
+        directory = (indexPath == null || indexPath.isBlank())
+                ? new ByteBuffersDirectory()
+                : new MMapDirectory(Path.of(indexPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Account text index opened ({})", indexPath == null || indexPath.isBlank() ? "in-memory" : indexPath);
+    }
+
+    /**
+     * Bring the index up to date with the accounts table on startup: reindex accounts updated
+     * since the last recorded sync, and rebuild when there is no sync point (first start,
+     * in-memory directory) or the document count still differs (deleted or missed rows).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildIfStale() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime syncedUpTo = syncedUpTo();
+        if (syncedUpTo == null) {
+            log.info("Account text index has no sync point, rebuilding");
+            rebuild();
+            return;
+        }
+
+        LocalDateTime maxUpdatedAt = accountRepository.findMaxUpdatedAt();
+        if (maxUpdatedAt != null && maxUpdatedAt.isAfter(syncedUpTo)) {
+            try {
+                int reindexed = reindexUpdatedSince(syncedUpTo, maxUpdatedAt);
+                log.info("Account text index caught up: {} accounts updated since {}", reindexed, syncedUpTo);
+            } catch (IOException e) {
+                log.warn("Account text index catch-up failed, rebuilding: {}", e.getMessage());
+                rebuild();
+                return;
+            }
+        }
+
+        long accountCount = accountRepository.count();
+        int docCount = writer.getDocStats().numDocs;
+        if (docCount == accountCount) {
+            ready = true;
+            log.info("Account text index up to date: {} documents", docCount);
+            return;
+        }
+        log.info("Account text index stale ({} documents, {} accounts), rebuilding", docCount, accountCount);
+        rebuild();
+    }
+
+    /**
+     * Drop and rebuild the index from the accounts table.
+     * While rebuilding, isReady() is false and searchText falls back to LIKE queries.
+     *
+     * @return Number of accounts indexed
+     */
+    public synchronized int rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        ready = false;
+        try {
+            // Read before the scan: rows updated during it are reindexed again on the next startup
+            LocalDateTime maxUpdatedAt = accountRepository.findMaxUpdatedAt();
+            writer.deleteAll();
+            int indexed = 0;
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = accountRepository.findTextRowsAfter(afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    // updateDocument: a change event may already have indexed this row
+                    writer.updateDocument(new Term(FIELD_ID, String.valueOf(afterId)),
+                            toDocument(afterId, (String) row[1], (String) row[2]));
+                    indexed++;
+                }
+            } while (rows.size() == REBUILD_CHUNK_SIZE);
+
+            setSyncedUpTo(maxUpdatedAt);
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Account text index rebuilt: {} documents in {}ms", indexed, System.currentTimeMillis() - start);
+            return indexed;
+        } catch (IOException e) {
+            log.error("Failed to rebuild account text index: {}", e.getMessage(), e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reindex the accounts updated at or after a sync point and commit the new sync point.
+     *
+     * @return Number of accounts reindexed
+     */
+    private int reindexUpdatedSince(LocalDateTime since, LocalDateTime upTo) throws IOException {
+        int reindexed = 0;
+        long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = accountRepository.findTextRowsUpdatedSince(since, afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                writer.updateDocument(new Term(FIELD_ID, String.valueOf(afterId)),
+                        toDocument(afterId, (String) row[1], (String) row[2]));
+                reindexed++;
+            }
+        } while (rows.size() == REBUILD_CHUNK_SIZE);
+
+        setSyncedUpTo(upTo);
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+        return reindexed;
+    }
+
+    /**
+     * Sync point of the last commit, or null if the index has none.
+     */
+    LocalDateTime syncedUpTo() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (SYNCED_UP_TO.equals(entry.getKey())) {
+                    return LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record the sync point with the next commit. An empty table gets the epoch, so an empty
+     * index still counts as synced.
+     */
+    private void setSyncedUpTo(LocalDateTime maxUpdatedAt) {
+        LocalDateTime syncedUpTo = maxUpdatedAt != null ? maxUpdatedAt : LocalDateTime.of(1970, 1, 1, 0, 0);
+        writer.setLiveCommitData(Map.of(SYNCED_UP_TO, syncedUpTo.toString()).entrySet());
+    }
+
+    /**
+     * Whether searchText can be answered from this index.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Maximum number of matches passed to the database as an ID list (search.text-index.max-hits).
+     * Queries matching more accounts than this are filtered in memory or by LIKE instead.
+     */
+    public int getMaxHits() {
+        return maxHits;
+    }
+
+    /**
+     * Account IDs matching the text, best match first, capped at search.text-index.max-hits.
+     *
+     * @param text User query (any case, with or without Vietnamese accents)
+     * @return Matching IDs in relevance order (empty if the text has no searchable terms)
+     */
+    public List<Long> search(String text) {
+        return search(text, maxHits);
+    }
+
+    /**
+     * Every account ID matching the text, best match first.
+     *
+     * @param text User query (any case, with or without Vietnamese accents)
+     * @return Matching IDs in relevance order (empty if the text has no searchable terms)
+     */
+    public List<Long> searchAll(String text) {
+        return search(text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Account IDs matching the text, best match first.
+     *
+     * @param text User query (any case, with or without Vietnamese accents)
+     * @param limit Maximum number of IDs to return
+     * @return Matching IDs in relevance order (empty if the text has no searchable terms)
+     */
+    public List<Long> search(String text, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            // The collector allocates a queue of the requested size, so never ask for more than the index holds
+            TopDocs topDocs = searcher.search(query, Math.max(1, Math.min(limit, searcher.getIndexReader().maxDoc())));
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                ids.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(FIELD_ID)));
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Apply an account lifecycle change once its transaction has committed
+     * (immediately when published outside a transaction) and make it searchable.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Term idTerm = new Term(FIELD_ID, String.valueOf(event.getAccountId()));
+            if (event.getType() == AccountChangedEvent.ChangeType.DELETED) {
+                writer.deleteDocuments(idTerm);
+            } else {
+                Account account = event.getAccount();
+                writer.updateDocument(idTerm, toDocument(account.getId(), account.getTitle(), account.getDescription()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to update account text index for {}: {}", event, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply a listing change committed on another node: the event carries no text, so the
+     * account's title and description are read from the database.
+     */
+    @Override
+    public void onRemoteAccountChanged(AccountChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> rows = accountRepository.findTextRowById(event.getAccountId());
+        onAccountChanged(rows.isEmpty()
+                ? AccountChangedEvent.deleted(event.getAccountId())
+                : AccountChangedEvent.of(AccountChangedEvent.ChangeType.UPDATED, Account.builder()
+                        .id((Long) rows.get(0)[0])
+                        .title((String) rows.get(0)[1])
+                        .description((String) rows.get(0)[2])
+                        .build()));
+    }
+
+    /**
+     * Commit pending changes so a restart does not need a full rebuild.
+     */
+    @Scheduled(fixedDelayString = "${search.text-index.commit-interval-ms:60000}")
+    public void commit() {
+        if (!enabled || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("Failed to commit account text index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Every analyzed term must match title or description; per term, exact matches score
+     * above prefix matches ("kim cuo" finds "Kim Cương"), and title above description.
+     */
+    Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder all = new BooleanQuery.Builder();
+        for (String term : terms) {
+            Query anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(FIELD_TITLE, term)), 4f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(FIELD_TITLE, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(FIELD_DESCRIPTION, term)), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(FIELD_DESCRIPTION, term)), 0.5f), BooleanClause.Occur.SHOULD)
+                    .build();
+            all.add(anyField, BooleanClause.Occur.MUST);
+        }
+        return all.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(FIELD_TITLE, text)) {
+            CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(termAttribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(Long id, String title, String description) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(id), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, title != null ? title : "", Field.Store.NO));
+        document.add(new TextField(FIELD_DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        return document;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release account text index searcher: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Standard tokenizer + lower-case + ASCII folding (strips Vietnamese diacritics, đ -> d).
+     */
+    static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unique viewers per listing, counted with one Redis HyperLogLog per account
+ * ("views:hll:{id}", sparse while a listing has few viewers, at most 12 KB dense, about 0.8%
+ * standard error). A visitor is a signed-in user, or the address and user agent of an anonymous
+ * caller, so refreshes and repeat visits count once.
+ *
+ * Views are buffered in memory (visitor keys per listing, deduplicated) and written with
+ * AccountViewCounter's interval: one pipeline of PFADD + PFCOUNT, then the new counts go to
+ * the "views:unique" sorted set, which ranks listings by unique viewers and answers count
+ * lookups for many listings with one ZMSCORE. Redis errors keep the buffer for the next run;
+ * the buffer is flushed once more on graceful shutdown.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountUniqueViewers {
+
+    static final String SKETCH_KEY_PREFIX = "views:hll:";
+    static final String RANKING_KEY = "views:unique";
+
+    /** Visitors buffered per listing between flushes; more in one interval are dropped */
+    static final int MAX_PENDING_VISITORS = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ConcurrentHashMap<Long, Set<String>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Count a visitor of a listing.
+     *
+     * @param accountId Account ID (ignored when null or not positive)
+     * @param visitorKey Stable visitor identity, e.g. "u:{email}" or "r:{address}|{user agent}" (ignored when blank)
+     */
+    public void record(Long accountId, String visitorKey) {
+        if (accountId == null || accountId <= 0 || visitorKey == null || visitorKey.isBlank()) {
+            return;
+        }
+        // Add under the map's lock on this listing, so a flush either takes the set with this
+        // visitor in it or leaves the visitor in a fresh set; a detached set is never written
+        pending.compute(accountId, (id, visitors) -> {
+            Set<String> set = visitors != null ? visitors : new HashSet<>();
+            if (set.size() < MAX_PENDING_VISITORS) {
+                set.add(visitorKey);
+            }
+            return set;
+        });
+    }
+
+    /**
+     * Unique viewers of each listing, in the order of the ids (0 for listings never viewed or
+     * when Redis is unavailable). Counts lag by up to one flush interval.
+     */
+    public List<Long> counts(List<Long> accountIds) {
+        List<Long> counts = new ArrayList<>(accountIds.size());
+        if (accountIds.isEmpty()) {
+            return counts;
+        }
+        List<Double> scores = null;
+        try {
+            scores = redisTemplate.opsForZSet().score(RANKING_KEY,
+                    accountIds.stream().map(String::valueOf).toArray());
+        } catch (RuntimeException e) {
+            log.warn("Unique viewer counts unavailable for {} accounts: {}", accountIds.size(), e.getMessage());
+        }
+        for (int i = 0; i < accountIds.size(); i++) {
+            Double score = scores != null && i < scores.size() ? scores.get(i) : null;
+            counts.add(score != null ? score.longValue() : 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * Listing ids with the most unique viewers, highest first.
+     *
+     * @param limit Maximum number of ids
+     * @return Account IDs (empty when Redis is unavailable)
+     */
+    public List<Long> topAccountIds(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        try {
+            Set<ZSetOperations.TypedTuple<String>> top =
+                    redisTemplate.opsForZSet().reverseRangeWithScores(RANKING_KEY, 0, limit - 1);
+            if (top == null) {
+                return List.of();
+            }
+            return top.stream().map(tuple -> Long.valueOf(tuple.getValue())).toList();
+        } catch (RuntimeException e) {
+            log.warn("Unique viewer ranking unavailable: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Write buffered visitors to the sketches and refresh the ranking of the listings involved.
+     *
+     * @return Number of listings updated
+     */
+    @Scheduled(fixedDelayString = "${accounts.views.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        Map<Long, Set<String>> batch = new TreeMap<>();
+        for (Long accountId : pending.keySet()) {
+            // Atomic swap: later records of this listing start a new set
+            Set<String> visitors = pending.remove(accountId);
+            if (visitors != null && !visitors.isEmpty()) {
+                batch.put(accountId, visitors);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                batch.forEach((accountId, visitors) -> {
+                    String key = SKETCH_KEY_PREFIX + accountId;
+                    redis.pfAdd(key, visitors.toArray(String[]::new));
+                    redis.pfCount(key);
+                });
+                return null;
+            });
+
+            Set<ZSetOperations.TypedTuple<String>> scores = new HashSet<>();
+            int i = 0;
+            for (Long accountId : batch.keySet()) {
+                Object count = results.get(i * 2 + 1);
+                if (count instanceof Long viewers) {
+                    scores.add(ZSetOperations.TypedTuple.of(String.valueOf(accountId), viewers.doubleValue()));
+                }
+                i++;
+            }
+            if (!scores.isEmpty()) {
+                redisTemplate.opsForZSet().add(RANKING_KEY, scores);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unique viewer flush failed for {} accounts, retrying next run: {}", batch.size(), e.getMessage());
+            batch.forEach((accountId, visitors) -> visitors.forEach(visitor -> record(accountId, visitor)));
+            return 0;
+        }
+
+        log.debug("Flushed unique viewers for {} accounts", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Drop the sketch and ranking entry of a deleted listing.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.getType() != ChangeType.DELETED) {
+            return;
+        }
+        pending.remove(event.getAccountId());
+        try {
+            redisTemplate.delete(SKETCH_KEY_PREFIX + event.getAccountId());
+            redisTemplate.opsForZSet().remove(RANKING_KEY, String.valueOf(event.getAccountId()));
+        } catch (RuntimeException e) {
+            log.warn("Could not drop unique viewers of deleted account {}: {}", event.getAccountId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,151 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind listing view counter.
+ * A view is one LongAdder increment on the listing's counter (the adder is created on the
+ * listing's first view after an idle flush; after that a view allocates nothing and takes no
+ * lock or row lock). The summed deltas are flushed every few seconds with one JDBC batch of
+ * UPDATE accounts SET views_count = views_count + ?, in id order so concurrent flushes from
+ * several nodes cannot deadlock on row locks.
+ *
+ * Pending views are flushed once more on graceful shutdown; a crash loses at most one flush
+ * interval of views. A failed flush puts its deltas back for the next run; written deltas
+ * also update the in-memory popularity ranking and evict the flushed accounts from this node's
+ * second-level cache, which plain JDBC writes bypass.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountViewCounter {
+
+    static final String FLUSH_SQL = "UPDATE accounts SET views_count = views_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountPopularityRanking popularityRanking;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+
+    /**
+     * Count one view of a listing.
+     *
+     * @param accountId Account ID (ignored when null or not positive)
+     */
+    public void record(Long accountId) {
+        if (accountId == null || accountId <= 0) {
+            return;
+        }
+        LongAdder adder = pending.get(accountId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(accountId, id -> new LongAdder());
+        }
+        adder.increment();
+        recorded.increment();
+    }
+
+    /**
+     * Views of a listing counted since the last flush, to add to the persisted views_count.
+     */
+    public long pendingViews(Long accountId) {
+        LongAdder adder = accountId != null ? pending.get(accountId) : null;
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Write all pending views to the database in one batch.
+     *
+     * @return Number of views written
+     */
+    @Scheduled(fixedDelayString = "${accounts.views.flush-interval-ms:5000}")
+    public synchronized long flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        long views = 0;
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), entry.getKey()});
+            views += entry.getValue();
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            log.warn("View count flush failed for {} accounts ({} views), retrying next run: {}",
+                    deltas.size(), views, e.getMessage());
+            deltas.forEach((accountId, delta) -> pending.computeIfAbsent(accountId, id -> new LongAdder()).add(delta));
+            return 0;
+        }
+
+        flushed.add(views);
+        Cache secondLevelCache = entityManagerFactory.getCache();
+        deltas.keySet().forEach(accountId -> secondLevelCache.evict(Account.class, accountId));
+        popularityRanking.recordViews(deltas);
+        log.debug("Flushed {} views for {} accounts", views, deltas.size());
+        return views;
+    }
+
+    /**
+     * Total views recorded since startup.
+     */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * Total views written to the database since startup.
+     */
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        long views = flush();
+        if (views > 0) {
+            log.info("Flushed {} pending views on shutdown", views);
+        }
+    }
+
+    /**
+     * Take the pending deltas, sorted by account id. A counter with no views since the last
+     * flush is removed, so the map only holds recently viewed listings; it is read once more
+     * after removal, leaving only an increment that races the removal itself uncounted.
+     */
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long accountId = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta == 0 && pending.remove(accountId, adder)) {
+                delta = adder.sumThenReset();
+            }
+            if (delta != 0) {
+                deltas.merge(accountId, delta, Long::sum);
+            }
+        }
+        return deltas;
+    }
+}
@@ -1,5 +1,6 @@
 package com.gameaccount.marketplace.service;
 
+import com.gameaccount.marketplace.cache.AccountSnapshotStore;
 import com.gameaccount.marketplace.dto.response.ConversationResponse;
 import com.gameaccount.marketplace.dto.response.ConversationResponse.LastMessageDto;
 import com.gameaccount.marketplace.dto.response.ConversationResponse.OtherUserDto;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,6 +36,7 @@ public class ChatService {
 
     private final MessageRepository messageRepository;
     private final AccountRepository accountRepository;
+    private final AccountSnapshotStore accountSnapshotStore;
     private final UserRepository userRepository;
 
     /**
@@ -98,6 +101,7 @@ public class ChatService {
                 .filter(m -> !m.getIsRead() && m.getReceiver().getId().equals(toUserId))
                 .toList();
 
+        // Written as one JDBC batch of UPDATEs when the transaction flushes
         unreadMessages.forEach(m -> m.setIsRead(true));
         messageRepository.saveAll(unreadMessages);
     }
@@ -132,12 +136,17 @@ public class ChatService {
         List<Long> accountIds = messageRepository.findUserConversationAccountIds(userId);
         log.debug("Found {} unique account conversations for user={}", accountIds.size(), userId);
 
+        // Load all conversation accounts at once (cache first, then one query for the misses)
+        Map<Long, Account> accounts = accountSnapshotStore.getAll(accountIds);
+
         // For each account, find the other user and build conversation response
         List<ConversationResponse> conversations = new ArrayList<>();
 
         for (Long accountId : accountIds) {
-            Account account = accountRepository.findById(accountId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                throw new ResourceNotFoundException("Account not found: " + accountId);
+            }
 
             // Find the other user in this conversation
             User otherUser = findOtherUserInConversation(accountId, userId);
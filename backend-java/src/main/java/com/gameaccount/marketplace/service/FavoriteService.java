@@ -16,7 +16,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing user favorites.
@@ -31,6 +30,7 @@ public class FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final AccountCardLoader accountCardLoader;
 
     /**
      * Add an account to user's favorites.
@@ -89,23 +89,18 @@ public class FavoriteService {
 
     /**
      * Get all favorited accounts for a user.
-     * Uses JOIN FETCH query to prevent N+1 query problem.
+     * Reads the favorited account IDs, then their cards in bulk (AccountCardLoader).
      *
      * @param userId ID of user
-     * @return List of favorited Account objects
+     * @return List of favorited account cards
      */
-    @Cacheable(value = "favorites", key = "#userId")
+    @Cacheable(value = "favorites", key = "#userId", sync = true)
     @Transactional(readOnly = true)
     public List<Account> getUserFavorites(Long userId) {
         log.debug("Getting favorites for user {}", userId);
 
-        // Use JOIN FETCH query to prevent N+1 problem (loads accounts in single query)
-        List<Favorite> favorites = favoriteRepository.findByUserIdWithAccount(userId);
-
-        // Extract accounts from favorites (already loaded, no additional queries)
-        return favorites.stream()
-                .map(Favorite::getAccount)
-                .collect(Collectors.toList());
+        List<Long> accountIds = favoriteRepository.findAccountIdsByUserId(userId);
+        return accountCardLoader.load(accountIds);
     }
 
     /**
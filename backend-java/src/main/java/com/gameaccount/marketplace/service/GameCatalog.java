@@ -0,0 +1,180 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory catalog of all games, indexed by id and slug.
+ *
+ * There are a few dozen games and they practically never change, so every game lookup - the
+ * game of an account, the games query, gameBySlug, facet labels - is answered from an immutable
+ * snapshot instead of a join or a select. The snapshot is loaded at startup and reloaded every
+ * games.catalog.refresh-interval-ms; a lookup of an id or slug the snapshot does not know yet
+ * (a game added since the last reload) loads that game and publishes a new snapshot with it.
+ *
+ * Copy-on-write: readers take the current snapshot without locking; writers build a new one and
+ * swap the reference. The games handed out are detached copies shared by all callers: read them,
+ * never modify or save them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameCatalog {
+
+    private final GameRepository gameRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+    private volatile boolean loaded;
+
+    /**
+     * Load all games and replace the snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${games.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${games.catalog.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            List<Game> games = gameRepository.findAll().stream().map(GameCatalog::detach).toList();
+            synchronized (this) {
+                snapshot = Snapshot.of(games);
+                loaded = true;
+            }
+            log.debug("Game catalog loaded with {} games", games.size());
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot
+            log.warn("Game catalog refresh failed, keeping {} games: {}", snapshot.all().size(), e.getMessage());
+        }
+    }
+
+    /**
+     * All games, ordered by id (loaded on first use if startup loading has not run or failed).
+     */
+    public List<Game> all() {
+        if (!loaded) {
+            refresh();
+        }
+        return snapshot.all();
+    }
+
+    /**
+     * Game by id.
+     *
+     * @param id Game ID (null yields empty)
+     * @return The game, or empty when no such game exists
+     */
+    public Optional<Game> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Game game = snapshot.byId().get(id);
+        if (game != null) {
+            return Optional.of(game);
+        }
+        return gameRepository.findById(id).map(this::add);
+    }
+
+    /**
+     * Game by slug.
+     *
+     * @param slug Game slug (null or blank yields empty)
+     * @return The game, or empty when no such game exists
+     */
+    public Optional<Game> findBySlug(String slug) {
+        if (slug == null || slug.isBlank()) {
+            return Optional.empty();
+        }
+        Game game = snapshot.bySlug().get(slug);
+        if (game != null) {
+            return Optional.of(game);
+        }
+        return Optional.ofNullable(gameRepository.findBySlug(slug)).map(this::add);
+    }
+
+    /**
+     * Game of an account, by its game_id column (or the id of an uninitialized game proxy),
+     * without initializing the association.
+     */
+    public Optional<Game> findForAccount(Account account) {
+        Long gameId = account.getGameId();
+        if (gameId == null && account.getGame() != null) {
+            gameId = account.getGame().getId();
+        }
+        return findById(gameId);
+    }
+
+    /**
+     * Game of an account for rendering: the catalog entry, else the account's own association.
+     */
+    public Game gameOf(Account account) {
+        return findForAccount(account).orElseGet(account::getGame);
+    }
+
+    /**
+     * Games by id; ids without a game are absent.
+     */
+    public Map<Long, Game> findAllById(Collection<Long> ids) {
+        Map<Long, Game> games = new HashMap<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(game -> games.put(id, game));
+        }
+        return games;
+    }
+
+    /**
+     * Publish a snapshot that also holds a game loaded on a miss.
+     */
+    private synchronized Game add(Game loaded) {
+        Game game = detach(loaded);
+        List<Game> games = new ArrayList<>(snapshot.all());
+        games.removeIf(existing -> existing.getId().equals(game.getId()));
+        games.add(game);
+        snapshot = Snapshot.of(games);
+        return game;
+    }
+
+    private static Game detach(Game game) {
+        return Game.builder()
+                .id(game.getId())
+                .name(game.getName())
+                .slug(game.getSlug())
+                .description(game.getDescription())
+                .iconUrl(game.getIconUrl())
+                .accountCount(game.getAccountCount())
+                .createdAt(game.getCreatedAt())
+                .accounts(List.of())
+                .build();
+    }
+
+    private record Snapshot(List<Game> all, Map<Long, Game> byId, Map<String, Game> bySlug) {
+
+        static Snapshot of(List<Game> games) {
+            List<Game> sorted = games.stream()
+                    .sorted(Comparator.comparing(Game::getId))
+                    .toList();
+            Map<Long, Game> byId = new HashMap<>();
+            Map<String, Game> bySlug = new HashMap<>();
+            for (Game game : sorted) {
+                byId.put(game.getId(), game);
+                if (game.getSlug() != null) {
+                    bySlug.put(game.getSlug(), game);
+                }
+            }
+            return new Snapshot(sorted, Map.copyOf(byId), Map.copyOf(bySlug));
+        }
+    }
+}
@@ -2,12 +2,9 @@ package com.gameaccount.marketplace.service;
 
 import com.gameaccount.marketplace.entity.Game;
 import com.gameaccount.marketplace.exception.ResourceNotFoundException;
-import com.gameaccount.marketplace.repository.GameRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,27 +12,23 @@ import java.util.List;
  * Service layer for Game entity operations.
  * Provides business logic for game lookups used by GraphQL resolvers.
  * Follows shared service layer pattern - both GraphQL and REST use this service.
- * Games list is cached with 1-hour TTL as it rarely changes.
+ * Games rarely change; all lookups are answered from the in-memory GameCatalog.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameService {
 
-    private final GameRepository gameRepository;
+    private final GameCatalog gameCatalog;
 
     /**
-     * Get all games with caching.
-     * Results are cached for 1 hour (configured in CacheConfig).
-     * Cache key: "games::all"
+     * Get all games (GameCatalog, no query).
      *
-     * @return List of all games
+     * @return List of all games, ordered by id
      */
-    @Cacheable(value = "games", key = "'all'")
-    @Transactional(readOnly = true)
     public List<Game> getAllGames() {
         log.debug("Fetching all games");
-        return gameRepository.findAll();
+        return gameCatalog.all();
     }
 
     /**
@@ -45,7 +38,6 @@ public class GameService {
      * @return Game entity
      * @throws ResourceNotFoundException if game not found
      */
-    @Transactional(readOnly = true)
     public Game getGameById(Long id) {
         log.debug("Fetching game by id: {}", id);
 
@@ -53,7 +45,7 @@ public class GameService {
             throw new ResourceNotFoundException("Valid game ID is required");
         }
 
-        return gameRepository.findById(id)
+        return gameCatalog.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
     }
 
@@ -65,7 +57,6 @@ public class GameService {
      * @return Game entity
      * @throws ResourceNotFoundException if game not found
      */
-    @Transactional(readOnly = true)
     public Game getGameBySlug(String slug) {
         log.debug("Fetching game by slug: {}", slug);
 
@@ -73,10 +64,7 @@ public class GameService {
             throw new ResourceNotFoundException("Game slug is required");
         }
 
-        Game game = gameRepository.findBySlug(slug);
-        if (game == null) {
-            throw new ResourceNotFoundException("Game not found with slug: " + slug);
-        }
-        return game;
+        return gameCatalog.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Game not found with slug: " + slug));
     }
 }
@@ -24,6 +24,8 @@ public class PaginationService {
 
     /**
      * Creates a Pageable from cursor parameters for forward pagination.
+     * Note: the returned Pageable always starts at page 0 - it does not seek past the cursor.
+     * Account connections use keyset pagination via AccountService.searchAccountsAfter instead.
      * @param after Base64 encoded cursor for forward pagination
      * @param pageSize Number of items per page
      * @param sort Sort specification
@@ -43,6 +45,7 @@ public class PaginationService {
 
     /**
      * Creates a Pageable from cursor parameters for backward pagination.
+     * Note: like createPageableFromCursor, this does not seek past the cursor.
      * @param before Base64 encoded cursor for backward pagination
      * @param pageSize Number of items per page
      * @param sort Sort specification
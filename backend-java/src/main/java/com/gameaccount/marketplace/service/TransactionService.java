@@ -9,6 +9,7 @@ import com.gameaccount.marketplace.entity.Transaction;
 import com.gameaccount.marketplace.entity.Transaction.TransactionStatus;
 import com.gameaccount.marketplace.entity.User;
 import com.gameaccount.marketplace.entity.User.Role;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
 import com.gameaccount.marketplace.exception.BusinessException;
 import com.gameaccount.marketplace.exception.ResourceNotFoundException;
 import com.gameaccount.marketplace.repository.AccountRepository;
@@ -17,6 +18,7 @@ import com.gameaccount.marketplace.repository.UserRepository;
 import com.gameaccount.marketplace.util.EncryptionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,6 +49,7 @@ public class TransactionService {
     private final UserRepository userRepository;
     private final EncryptionUtil encryptionUtil;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -71,8 +74,9 @@ public class TransactionService {
     public Transaction purchaseAccount(Long accountId, Long buyerId) {
         log.info("Initiating purchase: accountId={}, buyerId={}", accountId, buyerId);
 
-        // Validate account exists
-        Account account = accountRepository.findById(accountId)
+        // Validate account exists (locked database read: the second-level cache may hold a
+        // status another node has already changed)
+        Account account = accountRepository.findByIdForUpdate(accountId)
             .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
 
         // Validate buyer exists
@@ -100,10 +104,9 @@ public class TransactionService {
         if (!expiredTransactions.isEmpty()) {
             log.info("Auto-cancelling {} expired pending transaction(s) for buyerId={}, accountId={}",
                 expiredTransactions.size(), buyerId, accountId);
-            for (Transaction expired : expiredTransactions) {
-                expired.setStatus(TransactionStatus.CANCELLED);
-                transactionRepository.save(expired);
-            }
+            // One batched UPDATE at flush instead of a statement per transaction
+            expiredTransactions.forEach(expired -> expired.setStatus(TransactionStatus.CANCELLED));
+            transactionRepository.saveAll(expiredTransactions);
         }
 
         // Check for existing transaction with detailed status message
@@ -172,7 +175,8 @@ public class TransactionService {
      * @param requesterId The ID of the user requesting completion
      * @return CredentialsResponse containing decrypted username and password from Account
      * @throws ResourceNotFoundException if transaction not found
-     * @throws BusinessException if transaction not in PENDING status or requester not authorized
+     * @throws BusinessException if transaction not in PENDING status, requester not authorized
+     *         or account already sold
      */
     @Transactional
     public CredentialsResponse completeTransaction(Long transactionId, Long requesterId) {
@@ -201,8 +205,15 @@ public class TransactionService {
             }
         }
 
-        // Get account from transaction
-        Account account = transaction.getAccount();
+        // Lock the listing and read its current status from the database: a listing already
+        // sold through another transaction (possibly on another node) cannot be sold again
+        Account account = accountRepository.findByIdForUpdate(transaction.getAccountId())
+            .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + transaction.getAccountId()));
+        if (account.getStatus() == AccountStatus.SOLD) {
+            log.warn("Attempt to complete transaction for sold account: transactionId={}, accountId={}",
+                transactionId, account.getId());
+            throw new BusinessException("Account has already been sold");
+        }
 
         // Decrypt credentials from Account entity
         // If credentials are not set (demo accounts), generate placeholder credentials
@@ -227,8 +238,10 @@ public class TransactionService {
             transactionRepository.save(transaction);
 
             // Also mark account as sold
+            AccountStatus previousStatus = account.getStatus();
             account.setStatus(AccountStatus.SOLD);
             accountRepository.save(account);
+            eventPublisher.publishEvent(AccountChangedEvent.statusChanged(account, previousStatus));
 
             log.info("Transaction completed: id={}, buyerId={}, accountId={}", transactionId, requesterId, account.getId());
 
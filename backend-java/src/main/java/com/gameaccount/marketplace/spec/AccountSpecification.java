@@ -3,11 +3,17 @@ package com.gameaccount.marketplace.spec;
 import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.util.CursorUtil;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * JPA Specifications for dynamic Account query building.
@@ -15,6 +21,9 @@ import java.util.List;
  */
 public class AccountSpecification {
 
+    /** Keyset sort fields whose column is nullable and needs explicit NULL handling */
+    private static final Set<String> NULLABLE_SORT_FIELDS = Set.of("level");
+
     /**
      * Build a dynamic specification for account search based on provided filters.
      * All parameters are optional - null values are ignored in the query.
@@ -129,4 +138,125 @@ public class AccountSpecification {
             request.getSellerId()
         );
     }
+
+    /**
+     * Build a specification from AccountSearchRequest DTO with the status filter replaced
+     * by the role-dependent effective status computed by the service layer.
+     *
+     * @param request The search request containing all filter parameters
+     * @param effectiveStatus Status filter to apply instead of request.getStatus() (null = any)
+     * @return Specification for dynamic query building
+     */
+    public static Specification<Account> fromSearchRequest(AccountSearchRequest request, AccountStatus effectiveStatus) {
+        return buildSearchSpecification(
+            request.getGameId(),
+            request.getMinPrice(),
+            request.getMaxPrice(),
+            request.getMinLevel(),
+            request.getMaxLevel(),
+            request.getRank(),
+            effectiveStatus,
+            request.getIsFeatured(),
+            request.getSearchText(),
+            request.getSellerId()
+        );
+    }
+
+    /**
+     * Build a specification from AccountSearchRequest DTO where the searchText filter has
+     * already been resolved by the full-text index: the LIKE predicate on title/description
+     * is replaced by {@code id IN (:textMatchIds)}.
+     *
+     * @param request The search request containing all filter parameters
+     * @param effectiveStatus Status filter to apply instead of request.getStatus() (null = any)
+     * @param textMatchIds Account IDs matching request.getSearchText() (empty = no match)
+     * @return Specification for dynamic query building
+     */
+    public static Specification<Account> fromSearchRequest(AccountSearchRequest request, AccountStatus effectiveStatus,
+                                                           Collection<Long> textMatchIds) {
+        Specification<Account> filters = buildSearchSpecification(
+            request.getGameId(),
+            request.getMinPrice(),
+            request.getMaxPrice(),
+            request.getMinLevel(),
+            request.getMaxLevel(),
+            request.getRank(),
+            effectiveStatus,
+            request.getIsFeatured(),
+            null,
+            request.getSellerId()
+        );
+        Specification<Account> idIn = (root, query, cb) ->
+            textMatchIds.isEmpty() ? cb.disjunction() : root.get("id").in(textMatchIds);
+        return filters.and(idIn);
+    }
+
+    /**
+     * Eagerly fetch seller and game so list views do not trigger N+1 lazy loads.
+     * Skipped for count queries, where fetch joins are not allowed.
+     *
+     * @return Specification adding LEFT JOIN FETCH for seller and game
+     */
+    public static Specification<Account> fetchSellerAndGame() {
+        return (root, query, cb) -> {
+            Class<?> resultType = query.getResultType();
+            if (resultType != Long.class && resultType != long.class) {
+                root.fetch("seller", JoinType.LEFT);
+                root.fetch("game", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Build a keyset (seek) predicate that selects rows strictly after the cursor row
+     * in the given sort order, i.e. {@code (sortKey, id) < (:k, :id)} for DESC and
+     * {@code (sortKey, id) > (:k, :id)} for ASC.
+     * Expanded into {@code k < :k OR (k = :k AND id < :id)} so MySQL can use a range scan.
+     * Null sort keys follow MySQL ordering (NULLs first in ASC, last in DESC).
+     *
+     * @param cursor Decoded keyset cursor (sort field, sort key and id of the last row seen)
+     * @param direction Sort direction of the page being requested
+     * @return Specification for the seek predicate
+     */
+    public static Specification<Account> seekAfter(CursorUtil.KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> key = root.get(cursor.sortField);
+            Path<Long> id = root.get("id");
+            boolean descending = direction == Sort.Direction.DESC;
+
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) cursor.sortValue;
+            Predicate idAfter = descending ? cb.lessThan(id, cursor.id) : cb.greaterThan(id, cursor.id);
+
+            if (value == null) {
+                // Cursor row has a NULL key: continue within the NULL group, then (ASC only) move past it
+                Predicate sameGroup = cb.and(cb.isNull(key), idAfter);
+                return descending ? sameGroup : cb.or(sameGroup, cb.isNotNull(key));
+            }
+
+            Predicate keyAfter = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            Predicate seek = cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+            if (descending && NULLABLE_SORT_FIELDS.contains(cursor.sortField)) {
+                return cb.or(seek, cb.isNull(key));
+            }
+            return seek;
+        };
+    }
+
+    /**
+     * Extract the sort key of an account for the given keyset sort field.
+     *
+     * @param account The account (usually the last row of a page)
+     * @param sortField One of price, level, createdAt
+     * @return The sort key value (may be null for level)
+     */
+    public static Object sortKeyOf(Account account, String sortField) {
+        return switch (sortField) {
+            case "price" -> account.getPrice();
+            case "level" -> account.getLevel();
+            case "createdAt" -> account.getCreatedAt();
+            default -> throw new IllegalArgumentException("Unsupported keyset sort field: " + sortField);
+        };
+    }
 }
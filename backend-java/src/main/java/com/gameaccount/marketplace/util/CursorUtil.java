@@ -4,7 +4,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Base64;
+import java.util.Objects;
 
 /**
  * Utility class for cursor-based pagination.
@@ -59,6 +64,105 @@ public class CursorUtil {
         }
     }
 
+    /**
+     * Encode a keyset (seek) cursor carrying the sort key of the last row plus its ID.
+     * Format: base64(field:value:id) where field is p (price), l (level) or c (createdAt).
+     * createdAt is stored as epoch microseconds (UTC) so rows sharing a millisecond are not skipped.
+     * A null sort value is encoded as an empty segment.
+     */
+    public String encodeKeysetCursor(String sortField, Object sortValue, Long id) {
+        if (sortField == null || id == null) {
+            throw new IllegalArgumentException("Sort field and ID cannot be null");
+        }
+
+        String cursorData = fieldCode(sortField) + ":" + encodeSortValue(sortField, sortValue) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+            cursorData.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Decode a keyset cursor.
+     * Legacy 'id:timestamp' cursors are accepted and treated as createdAt cursors.
+     */
+    public KeysetCursor decodeKeysetCursor(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
+        }
+
+        try {
+            String decoded = new String(
+                Base64.getUrlDecoder().decode(cursor),
+                StandardCharsets.UTF_8
+            );
+
+            String[] parts = decoded.split(":", -1);
+            if (parts.length == 2) {
+                // Legacy format produced before keyset pagination: id:epochMillis (system zone)
+                LocalDateTime createdAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(Long.parseLong(parts[1])), ZoneId.systemDefault());
+                return new KeysetCursor("createdAt", createdAt, Long.parseLong(parts[0]));
+            }
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor format: expected 'field:value:id'");
+            }
+
+            String sortField = fieldName(parts[0]);
+            Object sortValue = decodeSortValue(sortField, parts[1]);
+            Long id = Long.parseLong(parts[2]);
+
+            return new KeysetCursor(sortField, sortValue, id);
+
+        } catch (Exception e) {
+            log.warn("Failed to decode keyset cursor: {}", cursor);
+            throw new IllegalArgumentException("Invalid cursor format: " + cursor, e);
+        }
+    }
+
+    private String fieldCode(String sortField) {
+        return switch (sortField) {
+            case "price" -> "p";
+            case "level" -> "l";
+            case "createdAt" -> "c";
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field: " + sortField);
+        };
+    }
+
+    private String fieldName(String code) {
+        return switch (code) {
+            case "p" -> "price";
+            case "l" -> "level";
+            case "c" -> "createdAt";
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field code: " + code);
+        };
+    }
+
+    private String encodeSortValue(String sortField, Object sortValue) {
+        if (sortValue == null) {
+            return "";
+        }
+        if ("createdAt".equals(sortField)) {
+            Instant instant = ((LocalDateTime) sortValue).toInstant(ZoneOffset.UTC);
+            return Long.toString(instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000);
+        }
+        return sortValue.toString();
+    }
+
+    private Object decodeSortValue(String sortField, String raw) {
+        if (raw.isEmpty()) {
+            return null;
+        }
+        return switch (sortField) {
+            case "price" -> Double.valueOf(raw);
+            case "level" -> Integer.valueOf(raw);
+            default -> {
+                long micros = Long.parseLong(raw);
+                yield LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            }
+        };
+    }
+
     /**
      * Validate cursor format without decoding.
      */
@@ -105,4 +209,38 @@ public class CursorUtil {
             return accountId.hashCode() * 31 + timestamp.hashCode();
         }
     }
+
+    /**
+     * Data class for keyset cursor information: the sort field, the sort key of the
+     * last row returned and that row's ID (tie-breaker).
+     */
+    public static class KeysetCursor {
+        public final String sortField;
+        public final Object sortValue;
+        public final Long id;
+
+        public KeysetCursor(String sortField, Object sortValue, Long id) {
+            this.sortField = sortField;
+            this.sortValue = sortValue;
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "KeysetCursor{sortField=" + sortField + ", sortValue=" + sortValue + ", id=" + id + "}";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            KeysetCursor that = (KeysetCursor) obj;
+            return sortField.equals(that.sortField) && Objects.equals(sortValue, that.sortValue) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sortField, sortValue, id);
+        }
+    }
 }
@@ -1,64 +1,86 @@
 package com.gameaccount.marketplace.util;
 
-import com.gameaccount.marketplace.entity.*;
-import com.gameaccount.marketplace.repository.*;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Transaction;
+import com.gameaccount.marketplace.entity.User;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.datafaker.Faker;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Database Seeder for generating large-scale test data
  *
  * Usage:
- * 1. Run with profile:
+ * 1. Run with profile (sizes from the seed.* properties, small by default):
  *    mvn spring-boot:run -Dspring-boot.run.arguments=--spring.profiles.active=seed
  *
- * 2. To clean database before seeding:
- *    mvn spring-boot:run -Dspring-boot.run.arguments=--spring.profiles.active=seed --seed.clean=true
+ * 2. Production-sized dataset, then benchmark against it in the same run:
+ *    mvn spring-boot:run -Dspring-boot.run.arguments="--spring.profiles.active=seed,benchmark
+ *        --seed.clean=true --seed.users=200000 --seed.accounts=1000000 --seed.favorites=2000000
+ *        --seed.messages=3000000 --seed.transactions=300000"
  *
- * Configuration:
- * - Change @Profile("seed") to control when this runs
- * - Adjust BATCH_SIZE for performance tuning
- * - Modify TARGET_* constants for different dataset sizes
- * - Set seed.clean=true to cleanup database before seeding
+ * 3. To clean database before seeding: --seed.clean=true (TRUNCATEs every marketplace table)
  *
- * Architectural Features:
- * - Uses Long[] IDs instead of full entities to reduce memory footprint
- * - Single seeded Random instance for reproducibility
- * - Named constants for magic numbers
- * - Externalized game/prefix/rank arrays for maintainability
- * - Cleanup mechanism for re-seeding with fresh data
+ * Loading:
+ * - Ids are reserved up front as one contiguous range per table from the <table>_seq sequences
+ *   (the same ones Hibernate allocates from), so rows can reference each other without reading
+ *   generated keys back
+ * - Each table is generated in chunks of seed.chunk-size rows on seed.threads threads; a chunk is
+ *   one JDBC batch (sent as multi-row INSERTs, rewriteBatchedStatements) on its own connection
+ * - Every chunk has its own Random derived from the fixed SEED and the chunk number, so the data is
+ *   the same whatever the thread count or scheduling
+ * - Rows/sec is logged per table
+ *
+ * Distributions:
+ * - Game popularity is Zipfian (seed.game-skew): the first games hold most listings
+ * - Seller activity is Zipfian too: a few power sellers list many accounts
+ * - Prices are log-normal around ~$60 and rise with level; views are heavy-tailed
+ * - Favorites and conversations concentrate on popular listings; conversations are threads of
+ *   alternating buyer/seller messages; transactions on sold listings are completed
+ *
+ * Memory: a few bytes per account (seller, status, price) are kept for the later tables.
  */
 @Slf4j
 @Component
-@Profile("seed") // Only runs when --spring.profiles.active=seed
+@Profile("seed") // Only runs when the seed profile is active
+@Order(Ordered.HIGHEST_PRECEDENCE) // before LoadBenchmarkRunner (seed,benchmark)
 @RequiredArgsConstructor
 public class DatabaseSeeder implements CommandLineRunner {
 
-    private final UserRepository userRepository;
-    private final GameRepository gameRepository;
-    private final AccountRepository accountRepository;
-    private final FavoriteRepository favoriteRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
     private final PasswordEncoder passwordEncoder;
     private final EncryptionUtil encryptionUtil;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
 
-    // Configuration
-    private static final int TARGET_USERS = 100;
-    private static final int TARGET_GAMES = 50;
-    private static final int TARGET_ACCOUNTS = 1000;
-    private static final int TARGET_FAVORITES = 500;
-
-    private static final int BATCH_SIZE = 50; // Batch insert for performance
     private static final long SEED = 12345L; // Fixed seed for reproducibility
+    private static final String ADMIN_EMAIL = "admin@marketplace.com";
+    private static final int TEST_USERS = 10;
 
     // Named constants for magic numbers
     private static final double APPROVED_RATIO = 0.70;
@@ -66,6 +88,14 @@ public class DatabaseSeeder implements CommandLineRunner {
     private static final double SOLD_RATIO = 0.95;
     private static final double FEATURED_RATIO = 0.05;
     private static final double SELLER_RATIO = 0.40;
+    private static final double SELLER_SKEW = 0.8;
+    private static final double LISTING_SKEW = 0.7;
+    private static final double MEDIAN_PRICE = 60.0;
+    private static final double PRICE_SIGMA = 0.9;
+    private static final double MIN_PRICE = 5.0;
+    private static final double MAX_PRICE = 5000.0;
+    private static final double MEAN_CONVERSATION_LENGTH = 6.0;
+    private static final double PENDING_TRANSACTION_RATIO = 0.25;
 
     // Externalized game names as constant array
     private static final String[] POPULAR_GAMES = {
@@ -81,6 +111,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         "Among Us", "Fall Guys", "Dead by Daylight", "Phasmophobia", "Rust"
     };
 
+    // Ordered from lowest to highest: the rank of a listing follows its level
     private static final String[] ACCOUNT_RANKS = {
         "Bronze", "Silver", "Gold", "Platinum", "Diamond", "Master", "Grandmaster", "Challenger"
     };
@@ -89,306 +120,486 @@ public class DatabaseSeeder implements CommandLineRunner {
         "Premium", "Rare", "Epic", "Legendary", "Pro", "High Level", "Max Rank"
     };
 
-    // Single Random instance (consolidated)
-    private final Random random = new Random(SEED);
-    private final Faker faker = new Faker(this.random);
+    private static final String[] FIRST_NAMES = {
+        "Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie", "Avery", "Quinn",
+        "Minh", "Linh", "Huy", "Trang", "Khoa", "Mai", "Nam", "Hoa", "Duc", "Lan"
+    };
 
-    // Configuration flag for cleanup
+    private static final String[] LAST_NAMES = {
+        "Nguyen", "Tran", "Le", "Pham", "Hoang", "Smith", "Johnson", "Brown", "Garcia", "Miller",
+        "Kim", "Lee", "Park", "Wang", "Chen", "Silva", "Rossi", "Muller", "Martin", "Novak"
+    };
+
+    private static final String[] DESCRIPTION_SENTENCES = {
+        "Main account, never shared.", "All skins from the last three seasons included.",
+        "Email can be changed after purchase.", "Ranked every season since launch.",
+        "Rare event items and limited cosmetics.", "No bans or warnings on record.",
+        "Full champion and agent roster unlocked.", "Plenty of premium currency left.",
+        "Original owner, receipts available.", "Instant delivery after payment."
+    };
+
+    private static final String[] MESSAGE_SNIPPETS = {
+        "Hi, is this account still available?", "Yes, it is.", "Can you lower the price a bit?",
+        "What is the best you can do?", "Does it come with the original email?", "Sure, everything is included.",
+        "Any bans on it?", "Clean record, no bans.", "OK, I'll buy it now.", "Thanks, enjoy the account!"
+    };
+
+    // Sizes and loading (see application.yml, seed.*)
     @Value("${seed.clean:false}")
     private boolean cleanBeforeSeed;
 
-    // Use Long[] IDs instead of full entities to reduce memory footprint
-    private List<User> allUsers;
-    private List<Game> allGames;
-    private Long[] allAccountIds;  // Just IDs, not full Account entities
+    @Value("${seed.users:100}")
+    private int targetUsers;
+
+    @Value("${seed.games:50}")
+    private int targetGames;
+
+    @Value("${seed.accounts:1000}")
+    private int targetAccounts;
+
+    @Value("${seed.favorites:500}")
+    private int targetFavorites;
+
+    @Value("${seed.messages:2000}")
+    private int targetMessages;
+
+    @Value("${seed.transactions:200}")
+    private int targetTransactions;
+
+    @Value("${seed.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${seed.threads:0}")
+    private int threads;
+
+    @Value("${seed.game-skew:1.1}")
+    private double gameSkew;
+
+    private ExecutorService executor;
+    private String passwordHash;
+
+    // First id of each table's reserved range; row i has id start + i
+    private long userStart;
+    private long gameStart;
+    private long accountStart;
+
+    // Per-user and per-account facts the later tables depend on (indexed by row number)
+    private int[] sellers;
+    private int[] accountSeller;
+    private byte[] accountStatus;
+    private double[] accountPrice;
 
     @Override
     public void run(String... args) {
         log.info("🌱 Starting Database Seeding...");
-        log.info("Target: {} users, {} games, {} accounts", TARGET_USERS, TARGET_GAMES, TARGET_ACCOUNTS);
+        log.info("Target: {} users, {} games, {} accounts, {} favorites, {} messages, {} transactions",
+                targetUsers, targetGames, targetAccounts, targetFavorites, targetMessages, targetTransactions);
         log.info("Clean before seed: {}", cleanBeforeSeed);
 
         long startTime = System.currentTimeMillis();
+        int threadCount = threads > 0 ? threads : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("seed-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        });
 
         try {
             // Cleanup mechanism
             if (cleanBeforeSeed) {
                 cleanupDatabase();
+            } else if (count("SELECT COUNT(*) FROM users WHERE email = ?", ADMIN_EMAIL) > 0) {
+                log.info("⏭️  Database already seeded; run with --seed.clean=true to reseed");
+                return;
             }
 
+            // One BCrypt hash for every seeded user: hashing millions of passwords would take hours
+            passwordHash = passwordEncoder.encode("password123");
+
             seedGames();
             seedUsers();
             seedAccounts();
             seedFavorites();
+            seedMessages();
+            seedTransactions();
+            updateGameAccountCounts();
+            evictCaches();
 
             long duration = System.currentTimeMillis() - startTime;
-            log.info("✅ Database seeding completed in {} seconds", duration / 1000);
+            log.info("✅ Database seeding completed in {} seconds on {} threads", duration / 1000, threadCount);
             printStatistics();
 
         } catch (Exception e) {
             log.error("❌ Database seeding failed: {}", e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
-    @Transactional
-    public void seedGames() {
+    private void seedGames() throws InterruptedException, ExecutionException {
         log.info("📦 Seeding games...");
+        gameStart = reserveIds("games", targetGames);
+        LocalDateTime now = LocalDateTime.now();
+
+        inChunks("games", 1, targetGames, (from, to, random) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String name = i < POPULAR_GAMES.length ? POPULAR_GAMES[i] : "Indie Game " + (i + 1);
+                rows.add(new Object[]{
+                        gameStart + i,
+                        name,
+                        name.toLowerCase().replaceAll("[^a-z0-9]+", "-") + (i < POPULAR_GAMES.length ? "" : "-" + i),
+                        description(random, 3),
+                        "https://via.placeholder.com/64?text=" + name.charAt(0),
+                        0, // Counted once the accounts exist
+                        timestamp(now.minusDays(400))
+                });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO games (id, name, slug, description, icon_url, account_count, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+            return rows.size();
+        });
+    }
 
-        if (gameRepository.count() >= TARGET_GAMES) {
-            log.info("⏭️  Games already seeded, loading from database...");
-            allGames = gameRepository.findAll();
-            return;
-        }
+    private void seedUsers() throws InterruptedException, ExecutionException {
+        log.info("👥 Seeding users...");
+        userStart = reserveIds("users", targetUsers);
 
-        List<Game> games = new ArrayList<>();
-
-        // Use externalized POPULAR_GAMES constant
-        for (int i = 0; i < TARGET_GAMES && i < POPULAR_GAMES.length; i++) {
-            Game game = Game.builder()
-                    .name(POPULAR_GAMES[i])
-                    .slug(POPULAR_GAMES[i].toLowerCase().replaceAll("[^a-z0-9]+", "-"))
-                    .description(faker.lorem().paragraph(3))
-                    .iconUrl("https://via.placeholder.com/64?text=" + POPULAR_GAMES[i].charAt(0))
-                    .accountCount(0) // Will be updated by accounts
-                    .build();
-            games.add(game);
+        // Roles are a pure function of the row number, so the seller list is known before any insert
+        List<Integer> sellerRows = new ArrayList<>();
+        for (int i = 0; i < targetUsers; i++) {
+            if (role(i) == User.Role.SELLER) {
+                sellerRows.add(i);
+            }
+        }
+        sellers = sellerRows.stream().mapToInt(Integer::intValue).toArray();
+        if (sellers.length == 0 && targetUsers > 0) {
+            sellers = new int[]{0};
         }
 
-        allGames = gameRepository.saveAll(games);
-        log.info("✅ Created {} games", allGames.size());
+        LocalDateTime now = LocalDateTime.now();
+        inChunks("users", 2, targetUsers, (from, to, random) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String email;
+                String fullName;
+                if (i == 0) {
+                    email = ADMIN_EMAIL;
+                    fullName = "Admin";
+                } else if (i <= TEST_USERS) {
+                    email = String.format("user%d@test.com", i - 1);
+                    fullName = String.format("Test User %d", i - 1);
+                } else {
+                    String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    email = (first + "." + last + "." + i + "@example.com").toLowerCase();
+                    fullName = first + " " + last;
+                }
+                boolean seeded = i > TEST_USERS;
+                LocalDateTime created = pastDate(random, now, 730);
+                rows.add(new Object[]{
+                        userStart + i,
+                        email,
+                        passwordHash,
+                        fullName,
+                        null,
+                        role(i).name(),
+                        User.UserStatus.ACTIVE.name(),
+                        seeded ? Math.round(random.nextDouble() * 10000 * 100) / 100.0 : 0.0,
+                        seeded ? Math.round(random.nextDouble() * 5 * 100) / 100.0 : 0.0,
+                        seeded ? random.nextInt(50) : 0,
+                        timestamp(created),
+                        timestamp(created)
+                });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, full_name, avatar, role, status, balance, "
+                    + "rating, total_reviews, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            return rows.size();
+        });
     }
 
-    @Transactional
-    public void seedUsers() {
-        log.info("👥 Seeding users...");
-
-        if (userRepository.count() >= TARGET_USERS) {
-            log.info("⏭️  Users already seeded, loading from database...");
-            allUsers = userRepository.findAll();
+    private void seedAccounts() throws InterruptedException, ExecutionException {
+        log.info("🎮 Seeding accounts...");
+        if (targetUsers == 0 || targetGames == 0) {
+            log.warn("No users or games, skipping accounts");
+            targetAccounts = 0;
             return;
         }
+        accountStart = reserveIds("accounts", targetAccounts);
+        accountSeller = new int[targetAccounts];
+        accountStatus = new byte[targetAccounts];
+        accountPrice = new double[targetAccounts];
+
+        ZipfSampler games = new ZipfSampler(targetGames, gameSkew);
+        ZipfSampler sellerActivity = new ZipfSampler(sellers.length, SELLER_SKEW);
+        Account.AccountStatus[] statuses = Account.AccountStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        inChunks("accounts", 3, targetAccounts, (from, to, random) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            List<Object[]> images = new ArrayList<>((to - from) * 3);
+            for (int i = from; i < to; i++) {
+                long id = accountStart + i;
+                int game = games.sample(random);
+                int seller = sellers[sellerActivity.sample(random)];
+                String gameName = game < POPULAR_GAMES.length ? POPULAR_GAMES[game] : "Indie Game " + (game + 1);
+                int level = level(random);
+                double price = price(random, level);
+                Account.AccountStatus status = status(random);
+                LocalDateTime created = pastDate(random, now, 365);
+
+                accountSeller[i] = seller;
+                accountStatus[i] = (byte) status.ordinal();
+                accountPrice[i] = price;
+
+                rows.add(new Object[]{
+                        id,
+                        userStart + seller,
+                        gameStart + game,
+                        ACCOUNT_PREFIXES[random.nextInt(ACCOUNT_PREFIXES.length)] + " " + gameName + " Account",
+                        description(random, 2),
+                        level,
+                        ACCOUNT_RANKS[Math.min((level - 1) * ACCOUNT_RANKS.length / 100, ACCOUNT_RANKS.length - 1)],
+                        price,
+                        statuses[accountStatus[i]].name(),
+                        views(random),
+                        random.nextDouble() < FEATURED_RATIO,
+                        encryptionUtil.encrypt("gameuser" + id),
+                        encryptionUtil.encrypt("pass" + random.nextInt(100000, 1000000)),
+                        timestamp(created),
+                        timestamp(created)
+                });
+                int imageCount = random.nextInt(4) + 1; // 1-4 images
+                for (int image = 1; image <= imageCount; image++) {
+                    images.add(new Object[]{id, "https://via.placeholder.com/800x600?text=Screenshot" + image});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO accounts (id, seller_id, game_id, title, description, level, player_rank, "
+                    + "price, status, views_count, is_featured, encrypted_username, encrypted_password, created_at, "
+                    + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            jdbcTemplate.batchUpdate("INSERT INTO account_images (account_id, url) VALUES (?, ?)", images);
+            return rows.size() + images.size();
+        });
+    }
 
-        List<User> users = new ArrayList<>();
-        Set<String> usedEmails = new HashSet<>();
-
-        // Create admin user
-        User admin = createUser("admin@marketplace.com", "Admin", User.Role.ADMIN, usedEmails);
-        if (admin != null) users.add(admin);
-
-        // Create test users
-        for (int i = 0; i < 10; i++) {
-            User testUser = createUser(
-                String.format("user%d@test.com", i),
-                String.format("Test User %d", i),
-                i % 3 == 0 ? User.Role.SELLER : User.Role.BUYER,
-                usedEmails
-            );
-            if (testUser != null) users.add(testUser);
+    private void seedFavorites() throws InterruptedException, ExecutionException {
+        log.info("⭐ Seeding favorites...");
+        if (targetAccounts == 0 || targetUsers == 0) {
+            return;
         }
-
-        // Create realistic users in batches
-        log.info("Creating {} realistic users (this may take a while)...", TARGET_USERS - users.size());
-
-        for (int batch = 0; batch < (TARGET_USERS - users.size()) / BATCH_SIZE; batch++) {
-            List<User> batchUsers = new ArrayList<>();
-
-            for (int i = 0; i < BATCH_SIZE; i++) {
-                User user = createRealisticUser(usedEmails);
-                if (user != null) {
-                    batchUsers.add(user);
+        long favoriteStart = reserveIds("favorites", targetFavorites);
+        ZipfSampler listings = new ZipfSampler(targetAccounts, LISTING_SKEW);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Chunks split the favorites; favorite n belongs to a user of the chunk's own slice of
+        // users, so (user, account) pairs can only repeat inside a chunk
+        inChunks("favorites", 4, targetFavorites, (from, to, random) -> {
+            int userFrom = (int) ((long) from * targetUsers / targetFavorites);
+            int userTo = Math.max((int) ((long) to * targetUsers / targetFavorites), userFrom + 1);
+            long capacity = (long) (userTo - userFrom) * targetAccounts;
+            Set<Long> pairs = new HashSet<>();
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int n = from; n < to && pairs.size() < capacity; ) {
+                int user = userFrom + random.nextInt(userTo - userFrom);
+                int account = listings.sample(random);
+                if (pairs.add(((long) user << 32) | account)) {
+                    rows.add(new Object[]{favoriteStart + n, userStart + user, accountStart + account,
+                            timestamp(pastDate(random, now, 180))});
+                    n++;
                 }
             }
+            jdbcTemplate.batchUpdate("INSERT INTO favorites (id, user_id, account_id, created_at) VALUES (?, ?, ?, ?)", rows);
+            return rows.size();
+        });
+    }
 
-            userRepository.saveAll(batchUsers);
-            users.addAll(batchUsers);
-
-            if (batch % 10 == 0) {
-                log.info("Progress: {}/{} users created", users.size(), TARGET_USERS);
-            }
+    private void seedMessages() throws InterruptedException, ExecutionException {
+        log.info("💬 Seeding messages...");
+        if (targetAccounts == 0 || targetUsers < 2) {
+            return;
         }
-
-        // Reload all users from database to ensure they're attached to persistence context
-        // This prevents TransientPropertyValueException when creating accounts
-        allUsers = userRepository.findAll();
-        log.info("✅ Created {} users", allUsers.size());
+        long messageStart = reserveIds("messages", targetMessages);
+        ZipfSampler listings = new ZipfSampler(targetAccounts, LISTING_SKEW);
+        LocalDateTime now = LocalDateTime.now();
+
+        inChunks("messages", 5, targetMessages, (from, to, random) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            int n = from;
+            while (n < to) {
+                // One conversation: a buyer and the seller of a listing taking turns
+                int account = listings.sample(random);
+                int seller = accountSeller[account];
+                int buyer = otherUser(random, seller);
+                int length = Math.min(geometric(random, MEAN_CONVERSATION_LENGTH), to - n);
+                LocalDateTime sent = pastDate(random, now, 90);
+                for (int turn = 0; turn < length; turn++, n++) {
+                    boolean fromBuyer = turn % 2 == 0;
+                    boolean last = turn == length - 1;
+                    rows.add(new Object[]{
+                            messageStart + n,
+                            accountStart + account,
+                            userStart + (fromBuyer ? buyer : seller),
+                            userStart + (fromBuyer ? seller : buyer),
+                            MESSAGE_SNIPPETS[Math.min(turn, MESSAGE_SNIPPETS.length - 1)],
+                            !last || random.nextDouble() < 0.7,
+                            timestamp(sent)
+                    });
+                    sent = sent.plusMinutes(1 + random.nextInt(240));
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO messages (id, account_id, sender_id, receiver_id, content, is_read, "
+                    + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+            return rows.size();
+        });
     }
 
-    @Transactional
-    public void seedAccounts() {
-        log.info("🎮 Seeding accounts...");
-
-        if (accountRepository.count() >= TARGET_ACCOUNTS) {
-            log.info("⏭️  Accounts already seeded, loading from database...");
-            // Load only IDs instead of full entities
-            allAccountIds = accountRepository.findAll().stream()
-                    .map(Account::getId)
-                    .toArray(Long[]::new);
+    private void seedTransactions() throws InterruptedException, ExecutionException {
+        log.info("💳 Seeding transactions...");
+        if (targetAccounts == 0 || targetUsers < 2) {
             return;
         }
-
-        List<Account> accounts = new ArrayList<>();
-
-        log.info("Creating {} accounts (this will take several minutes)...", TARGET_ACCOUNTS);
-
-        for (int batch = 0; batch < TARGET_ACCOUNTS / BATCH_SIZE; batch++) {
-            List<Account> batchAccounts = new ArrayList<>();
-
-            for (int i = 0; i < BATCH_SIZE; i++) {
-                // 70% sellers, 30% also buyers
-                User seller = allUsers.get(random.nextInt(allUsers.size()));
-                Game game = allGames.get(random.nextInt(allGames.size()));
-
-                // Generate fake game credentials
-                String fakeUsername = "gameuser" + (i + batch * BATCH_SIZE) + faker.random().nextInt(1000, 9999);
-                String fakePassword = "pass" + faker.random().nextInt(100000, 999999);
-
-                Account account = Account.builder()
-                        .seller(seller)
-                        .game(game)
-                        .title(generateAccountTitle(game.getName()))
-                        .description(faker.lorem().paragraph(2))
-                        .level(random.nextInt(100) + 1)
-                        .rank(generateRank())
-                        .price(generatePrice())
-                        .status(generateStatus())
-                        .viewsCount(random.nextInt(1000))
-                        .isFeatured(random.nextDouble() < FEATURED_RATIO)
-                        .images(generateImageUrls())
-                        .encryptedUsername(encryptionUtil.encrypt(fakeUsername))
-                        .encryptedPassword(encryptionUtil.encrypt(fakePassword))
-                        .createdAt(generatePastDate(365))
-                        .build();
-
-                batchAccounts.add(account);
+        long transactionStart = reserveIds("transactions", targetTransactions);
+        LocalDateTime now = LocalDateTime.now();
+
+        inChunks("transactions", 6, targetTransactions, (from, to, random) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                long id = transactionStart + i;
+                int account = random.nextInt(targetAccounts);
+                int seller = accountSeller[account];
+                boolean sold = accountStatus[account] == Account.AccountStatus.SOLD.ordinal();
+                Transaction.TransactionStatus status = sold ? Transaction.TransactionStatus.COMPLETED
+                        : random.nextDouble() < PENDING_TRANSACTION_RATIO ? Transaction.TransactionStatus.PENDING
+                        : Transaction.TransactionStatus.CANCELLED;
+                LocalDateTime created = pastDate(random, now, 180);
+                rows.add(new Object[]{
+                        id,
+                        accountStart + account,
+                        userStart + otherUser(random, seller),
+                        userStart + seller,
+                        accountPrice[account],
+                        status.name(),
+                        sold ? encryptionUtil.encrypt("gameuser" + (accountStart + account) + ":seeded") : null,
+                        timestamp(created),
+                        sold ? timestamp(created.plusMinutes(5 + random.nextInt(60))) : null,
+                        "SEED-" + id
+                });
             }
+            jdbcTemplate.batchUpdate("INSERT INTO transactions (id, account_id, buyer_id, seller_id, amount, status, "
+                    + "encrypted_credentials, created_at, completed_at, order_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    rows);
+            return rows.size();
+        });
+    }
 
-            accountRepository.saveAll(batchAccounts);
-            accounts.addAll(batchAccounts);
+    private void updateGameAccountCounts() {
+        jdbcTemplate.update("UPDATE games g SET account_count = "
+                + "(SELECT COUNT(*) FROM accounts a WHERE a.game_id = g.id)");
+    }
 
-            if (batch % 10 == 0) {
-                log.info("Progress: {}/{} accounts created", accounts.size(), TARGET_ACCOUNTS);
+    /**
+     * Rows were written with plain JDBC: drop whatever Hibernate's second-level cache and the
+     * application caches hold about the tables.
+     */
+    private void evictCaches() {
+        entityManagerFactory.getCache().evictAll();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
             }
         }
-
-        // Store only IDs, not full Account entities
-        allAccountIds = accounts.stream()
-                .map(Account::getId)
-                .toArray(Long[]::new);
-
-        log.info("✅ Created {} accounts", accounts.size());
     }
 
-    @Transactional
-    public void seedFavorites() {
-        log.info("⭐ Seeding favorites...");
-
-        if (favoriteRepository.count() >= TARGET_FAVORITES) {
-            log.info("⏭️  Favorites already seeded");
+    /**
+     * Generate and insert rows [0, total) of a table in chunks on the seeder's threads.
+     *
+     * @param table Table name (for the throughput log)
+     * @param phase Distinct number per table, mixed into every chunk's random seed
+     * @param total Rows to generate
+     * @param writer Inserts one chunk and returns the number of rows written (including child rows)
+     */
+    private void inChunks(String table, int phase, int total, ChunkWriter writer)
+            throws InterruptedException, ExecutionException {
+        if (total <= 0) {
             return;
         }
-
-        List<Favorite> favorites = new ArrayList<>();
-        Set<String> uniquePairs = new HashSet<>();
-
-        for (int i = 0; i < TARGET_FAVORITES; i++) {
-            User user = allUsers.get(random.nextInt(allUsers.size()));
-            // Use getReferenceById() with ID instead of full entity
-            Long accountId = allAccountIds[random.nextInt(allAccountIds.length)];
-            Account account = accountRepository.getReferenceById(accountId);
-
-            String pair = user.getId() + "-" + accountId;
-            if (uniquePairs.contains(pair)) {
-                continue; // Skip duplicates
-            }
-            uniquePairs.add(pair);
-
-            Favorite favorite = Favorite.builder()
-                    .user(user)
-                    .account(account)
-                    .createdAt(generatePastDate(180))
-                    .build();
-
-            favorites.add(favorite);
-
-            if (favorites.size() % BATCH_SIZE == 0) {
-                favoriteRepository.saveAll(favorites);
-                favorites.clear();
-                log.info("Progress: {}/{} favorites created", uniquePairs.size(), TARGET_FAVORITES);
-            }
+        long start = System.nanoTime();
+        List<Future<Integer>> chunks = new ArrayList<>();
+        int chunk = 0;
+        for (int from = 0; from < total; from += chunkSize, chunk++) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + chunkSize, total);
+            SplittableRandom random = new SplittableRandom(SEED * 31 + phase * 1_000_003L + chunk);
+            chunks.add(executor.submit(() -> writer.write(chunkFrom, chunkTo, random)));
         }
 
-        if (!favorites.isEmpty()) {
-            favoriteRepository.saveAll(favorites);
+        long rows = 0;
+        int done = 0;
+        for (Future<Integer> future : chunks) {
+            rows += future.get();
+            done++;
+            if (chunks.size() >= 10 && done % (chunks.size() / 10) == 0) {
+                log.info("Progress: {} {}/{} chunks", table, done, chunks.size());
+            }
         }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1_000_000_000.0;
+        log.info("✅ Created {} {} ({} rows incl. child rows) in {}s: {} rows/sec",
+                total, table, rows, String.format("%.1f", seconds), String.format("%.0f", rows / seconds));
+    }
 
-        log.info("✅ Created {} favorites", uniquePairs.size());
+    /**
+     * Reserve count consecutive ids from a table's sequence (the same one Hibernate allocates
+     * from), so seeded rows never collide with ids handed out by the application.
+     *
+     * @return First id of the range
+     */
+    private long reserveIds(String table, int count) {
+        Long start = transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject("SELECT next_val FROM " + table + "_seq FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = ?", next + count);
+            return next;
+        });
+        log.debug("Reserved {} {} ids from {}", count, table, start);
+        return start;
     }
 
     // Helper methods
 
-    private User createUser(String email, String fullName, User.Role role, Set<String> usedEmails) {
-        if (usedEmails.contains(email)) {
-            return null;
+    private static User.Role role(int row) {
+        if (row == 0) {
+            return User.Role.ADMIN;
         }
-        usedEmails.add(email);
-
-        return User.builder()
-                .email(email)
-                .password(passwordEncoder.encode("password123"))
-                .fullName(fullName)
-                .role(role)
-                .status(User.UserStatus.ACTIVE)
-                .balance(0.0)
-                .rating(0.0)
-                .totalReviews(0)
-                .build();
-    }
-
-    private User createRealisticUser(Set<String> usedEmails) {
-        String email;
-        int attempts = 0;
-        do {
-            email = faker.internet().emailAddress();
-            attempts++;
-            if (attempts > 10) {
-                email = faker.internet().emailAddress() + System.currentTimeMillis();
-                break;
-            }
-        } while (usedEmails.contains(email));
-
-        usedEmails.add(email);
-
-        // Use the seeded Random instance instead of creating a new one
-        // Use named constant SELLER_RATIO instead of magic number 0.4
-        return User.builder()
-                .email(email)
-                .password(passwordEncoder.encode("password123"))
-                .fullName(faker.name().fullName())
-                .role(random.nextDouble() < SELLER_RATIO ? User.Role.SELLER : User.Role.BUYER)
-                .status(User.UserStatus.ACTIVE)
-                .balance(random.nextDouble() * 10000)
-                .rating(random.nextDouble() * 5)
-                .totalReviews(random.nextInt(50))
-                .build();
+        if (row <= TEST_USERS) {
+            return (row - 1) % 3 == 0 ? User.Role.SELLER : User.Role.BUYER;
+        }
+        return new SplittableRandom(SEED + row).nextDouble() < SELLER_RATIO ? User.Role.SELLER : User.Role.BUYER;
     }
 
-    private String generateAccountTitle(String gameName) {
-        // Use externalized ACCOUNT_PREFIXES constant and consolidated random
-        return ACCOUNT_PREFIXES[random.nextInt(ACCOUNT_PREFIXES.length)] + " " + gameName + " Account";
+    private int otherUser(SplittableRandom random, int user) {
+        int other = random.nextInt(targetUsers - 1);
+        return other >= user ? other + 1 : other;
     }
 
-    private String generateRank() {
-        // Use externalized ACCOUNT_RANKS constant and consolidated random
-        return ACCOUNT_RANKS[random.nextInt(ACCOUNT_RANKS.length)];
+    /**
+     * Levels cluster in the middle range; a few accounts are near the cap.
+     */
+    private static int level(SplittableRandom random) {
+        double roll = (random.nextDouble() + random.nextDouble() + random.nextDouble()) / 3;
+        return 1 + (int) (roll * 99);
     }
 
-    private Double generatePrice() {
-        // Use consolidated random instance
-        double price = 10 + (random.nextDouble() * 1990); // $10 - $2000
-        return Math.round(price * 100.0) / 100.0;
+    /**
+     * Log-normal price around MEDIAN_PRICE, higher for higher levels, in [MIN_PRICE, MAX_PRICE].
+     */
+    static double price(SplittableRandom random, int level) {
+        double normal = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        double price = MEDIAN_PRICE * Math.exp(PRICE_SIGMA * normal) * (0.5 + level / 100.0);
+        return Math.round(Math.min(Math.max(price, MIN_PRICE), MAX_PRICE) * 100.0) / 100.0;
     }
 
-    private Account.AccountStatus generateStatus() {
+    private static Account.AccountStatus status(SplittableRandom random) {
         // Use named constants instead of magic numbers
         double roll = random.nextDouble();
         if (roll < APPROVED_RATIO) return Account.AccountStatus.APPROVED;
@@ -397,43 +608,108 @@ public class DatabaseSeeder implements CommandLineRunner {
         return Account.AccountStatus.REJECTED;
     }
 
-    private List<String> generateImageUrls() {
-        // Use consolidated random instance
-        int imageCount = random.nextInt(4) + 1; // 1-4 images
-        List<String> urls = new ArrayList<>();
-        for (int i = 0; i < imageCount; i++) {
-            urls.add("https://via.placeholder.com/800x600?text=Screenshot" + (i + 1));
+    /**
+     * Heavy-tailed view counts (Pareto, alpha 1.2): most listings get a few views, some thousands.
+     */
+    private static int views(SplittableRandom random) {
+        return (int) Math.min(Math.pow(1 - random.nextDouble(), -1 / 1.2) - 1, 1_000_000);
+    }
+
+    private static int geometric(SplittableRandom random, double mean) {
+        return 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - 1 / mean));
+    }
+
+    private static String description(SplittableRandom random, int sentences) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < sentences * 2; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(DESCRIPTION_SENTENCES[random.nextInt(DESCRIPTION_SENTENCES.length)]);
         }
-        return urls;
+        return description.toString();
+    }
+
+    private static LocalDateTime pastDate(SplittableRandom random, LocalDateTime now, int maxDaysAgo) {
+        return now.minusDays(random.nextInt(maxDaysAgo)).minusMinutes(random.nextInt(24 * 60));
     }
 
-    private LocalDateTime generatePastDate(int maxDaysAgo) {
-        // Use consolidated random instance
-        int daysAgo = random.nextInt(maxDaysAgo);
-        int hoursAgo = random.nextInt(24);
-        return LocalDateTime.now().minusDays(daysAgo).minusHours(hoursAgo);
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
     }
 
     private void printStatistics() {
         log.info("📊 Database Statistics:");
-        log.info("   Users: {}", userRepository.count());
-        log.info("   Games: {}", gameRepository.count());
-        log.info("   Accounts: {}", accountRepository.count());
-        log.info("   Favorites: {}", favoriteRepository.count());
+        for (String table : List.of("users", "games", "accounts", "account_images", "favorites", "messages", "transactions")) {
+            log.info("   {}: {}", table, count("SELECT COUNT(*) FROM " + table));
+        }
     }
 
     // Cleanup mechanism
-    @Transactional
     public void cleanupDatabase() {
         log.warn("🧹 Cleaning database before seeding...");
         log.warn("⚠️  This will DELETE ALL existing data!");
 
-        // Delete in reverse order of dependencies
-        favoriteRepository.deleteAll();
-        accountRepository.deleteAll();
-        userRepository.deleteAll();
-        gameRepository.deleteAll();
+        // TRUNCATE instead of row-by-row deletes; one connection so the FK check switch applies
+        jdbcTemplate.execute((StatementCallback<Void>) statement -> {
+            statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+            try {
+                for (String table : List.of("reviews", "transactions", "messages", "favorites",
+                        "account_images", "accounts", "users", "games")) {
+                    statement.execute("TRUNCATE TABLE " + table);
+                }
+            } finally {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+            return null;
+        });
 
         log.info("✅ Database cleanup completed");
     }
+
+    /**
+     * Generates and inserts rows [from, to) of a table.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        int write(int from, int to, SplittableRandom random);
+    }
+
+    /**
+     * Zipf-distributed ranks: rank k (0-based) is drawn with probability proportional to
+     * 1 / (k + 1)^skew, by binary search over the cumulative weights.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double skew) {
+            cumulative = new double[Math.max(size, 1)];
+            double sum = 0;
+            for (int k = 0; k < cumulative.length; k++) {
+                sum += 1 / Math.pow(k + 1, skew);
+                cumulative[k] = sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.gameaccount.marketplace.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the load benchmark engine.
+ */
+class LoadBenchmarkTest {
+
+    private final LoadBenchmark loadBenchmark = new LoadBenchmark();
+
+    @Test
+    void run_ClosedLoop_RecordsEveryMeasuredOperation() throws Exception {
+        AtomicLong calls = new AtomicLong();
+        LoadScenario scenario = new LoadScenario("sleep", "Sleeps 2ms", random -> {
+            calls.incrementAndGet();
+            Thread.sleep(2);
+        });
+
+        ScenarioResult result = loadBenchmark.run(scenario, settings(4, Duration.ZERO, 0));
+
+        assertThat(result.getScenario()).isEqualTo("sleep");
+        assertThat(result.getConcurrency()).isEqualTo(4);
+        assertThat(result.getOperations()).isPositive().isEqualTo(calls.get());
+        assertThat(result.getErrors()).isZero();
+        assertThat(result.getThroughputPerSecond()).isPositive();
+        ScenarioResult.Latency latency = result.getLatencyMs();
+        assertThat(latency.getP50()).isGreaterThanOrEqualTo(2.0);
+        assertThat(latency.getP50()).isLessThanOrEqualTo(latency.getP95());
+        assertThat(latency.getP95()).isLessThanOrEqualTo(latency.getP99());
+        assertThat(latency.getP99()).isLessThanOrEqualTo(latency.getP999());
+        assertThat(latency.getP999()).isLessThanOrEqualTo(latency.getMax());
+    }
+
+    @Test
+    void run_Warmup_NotRecorded() throws Exception {
+        AtomicLong calls = new AtomicLong();
+        LoadScenario scenario = new LoadScenario("sleep", "Sleeps 1ms", random -> {
+            calls.incrementAndGet();
+            Thread.sleep(1);
+        });
+
+        ScenarioResult result = loadBenchmark.run(scenario, settings(2, Duration.ofMillis(200), 0));
+
+        assertThat(result.getOperations()).isPositive().isLessThan(calls.get());
+    }
+
+    @Test
+    void run_Failures_CountedAsErrors() throws Exception {
+        LoadScenario scenario = new LoadScenario("failing", "Fails every other call", random -> {
+            if (random.nextBoolean()) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        ScenarioResult result = loadBenchmark.run(scenario, settings(2, Duration.ZERO, 0));
+
+        assertThat(result.getErrors()).isPositive().isLessThan(result.getOperations());
+        assertThat(result.getFirstError()).isEqualTo("IllegalStateException: boom");
+    }
+
+    @Test
+    void run_TargetRate_PacesOperations() throws Exception {
+        LoadScenario scenario = new LoadScenario("noop", "Does nothing", random -> { });
+
+        ScenarioResult result = loadBenchmark.run(scenario, settings(2, Duration.ZERO, 200));
+
+        // 200 ops/sec for 300ms
+        assertThat(result.getOperations()).isBetween(50L, 70L);
+    }
+
+    @Test
+    void run_TargetRate_StallCountsAgainstQueuedOperations() throws Exception {
+        AtomicLong calls = new AtomicLong();
+        LoadScenario scenario = new LoadScenario("stall", "First call stalls 100ms", random -> {
+            if (calls.getAndIncrement() == 0) {
+                Thread.sleep(100);
+            }
+        });
+
+        ScenarioResult result = loadBenchmark.run(scenario, settings(1, Duration.ZERO, 200));
+
+        // Operations scheduled during the stall waited for it; a closed loop would report ~0ms
+        assertThat(result.getLatencyMs().getP90()).isGreaterThan(0.0);
+        assertThat(result.getLatencyMs().getMax()).isGreaterThanOrEqualTo(90.0);
+    }
+
+    private static LoadSettings settings(int concurrency, Duration warmup, double targetRate) {
+        return LoadSettings.builder()
+                .concurrency(concurrency)
+                .warmup(warmup)
+                .duration(Duration.ofMillis(300))
+                .targetRate(targetRate)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountSnapshotStore
+ * Tests bulk cache-aside reads over an in-memory cache manager
+ */
+class AccountSnapshotStoreTest {
+
+    private TaggedCacheManager cacheManager;
+    private AccountRepository accountRepository;
+    private AccountSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TaggedCacheManager(new ConcurrentMapCacheManager("accounts"), new CacheTagIndex());
+        accountRepository = mock(AccountRepository.class);
+        store = new AccountSnapshotStore(cacheManager, accountRepository);
+    }
+
+    @Test
+    void getAll_LoadsOnlyMissesWithOneQueryAndCachesThem() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(2L, Account.builder().id(2L).title("Cached").build());
+        when(accountRepository.findAllForSnapshotByIdIn(List.of(3L, 1L, 4L)))
+                .thenReturn(List.of(Account.builder().id(1L).build(), Account.builder().id(3L).build()));
+
+        Map<Long, Account> result = store.getAll(Arrays.asList(3L, 2L, null, 1L, 3L, 4L));
+
+        assertThat(result.keySet()).containsExactly(3L, 2L, 1L);
+        assertThat(result.get(2L).getTitle()).isEqualTo("Cached");
+        assertThat(accounts.get(1L)).isNotNull();
+        assertThat(accounts.get(3L)).isNotNull();
+        assertThat(accounts.get(4L)).isNull();
+    }
+
+    @Test
+    void getAll_AllCached_DoesNotQuery() {
+        cacheManager.getCache("accounts").put(1L, Account.builder().id(1L).build());
+
+        assertThat(store.get(1L)).isPresent();
+        assertThat(store.getAll(List.of())).isEmpty();
+        verify(accountRepository, never()).findAllForSnapshotByIdIn(any());
+    }
+}
@@ -0,0 +1,164 @@
+package com.gameaccount.marketplace.cache;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gameaccount.marketplace.cache.SearchResultCache.CachedIds;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BinaryCacheCodec
+ * Tests snapshot round trips, LZ4 compression and reading of JSON-encoded entries
+ */
+class BinaryCacheCodecTest {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private BinaryCacheCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        // Same JSON serializer as CacheConfig
+        json = new GenericJackson2JsonRedisSerializer();
+        json.configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+        codec = new BinaryCacheCodec(json, 1024);
+    }
+
+    @Test
+    void account_RoundTripsWithGameAndSellerButWithoutSecrets() {
+        Account account = account(42L);
+
+        byte[] bytes = codec.serialize(account);
+        Account decoded = (Account) codec.deserialize(bytes);
+
+        assertThat(bytes[0]).isEqualTo(BinaryCacheCodec.FORMAT_PLAIN);
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.getTitle()).isEqualTo("Tài khoản VIP 42");
+        assertThat(decoded.getPrice()).isEqualTo(150.5);
+        assertThat(decoded.getStatus()).isEqualTo(AccountStatus.APPROVED);
+        assertThat(decoded.isFeatured()).isTrue();
+        assertThat(decoded.getLevel()).isNull();
+        assertThat(decoded.getCreatedAt()).isEqualTo(account.getCreatedAt());
+        assertThat(decoded.getImages()).containsExactly("https://img/1.png", "https://img/2.png");
+        assertThat(decoded.getGame().getName()).isEqualTo("Ngọc Rồng Online");
+        assertThat(decoded.getGameId()).isEqualTo(7L);
+        assertThat(decoded.getSeller().getId()).isEqualTo(3L);
+        assertThat(decoded.getSeller().getEmail()).isEqualTo("seller@example.com");
+        assertThat(decoded.getSeller().getRole()).isEqualTo(User.Role.SELLER);
+        assertThat(decoded.getSeller().getPassword()).isNull();
+        assertThat(decoded.getEncryptedPassword()).isNull();
+    }
+
+    @Test
+    void accountList_IsSmallerThanJson() {
+        List<Account> accounts = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            accounts.add(account(id));
+        }
+
+        byte[] binary = new BinaryCacheCodec(json, 0).serialize(accounts);
+        @SuppressWarnings("unchecked")
+        List<Account> decoded = (List<Account>) codec.deserialize(binary);
+
+        assertThat(decoded).extracting(Account::getId).containsExactly(accounts.stream().map(Account::getId).toArray(Long[]::new));
+        assertThat(binary.length).isLessThan(json.serialize(accounts).length / 2);
+    }
+
+    @Test
+    void largePayload_IsCompressedAndRoundTrips() {
+        List<Account> accounts = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            accounts.add(account(id));
+        }
+
+        byte[] compressed = codec.serialize(accounts);
+        byte[] plain = new BinaryCacheCodec(json, 0).serialize(accounts);
+
+        assertThat(compressed[0]).isEqualTo(BinaryCacheCodec.FORMAT_LZ4);
+        assertThat(compressed.length).isLessThan(plain.length);
+        assertThat((List<?>) codec.deserialize(compressed)).hasSize(50);
+    }
+
+    @Test
+    void cachedIds_RoundTrip() {
+        CachedIds ids = new CachedIds(new long[]{1000, 998, 1500, 3}, 1234, true);
+
+        CachedIds decoded = (CachedIds) codec.deserialize(codec.serialize(ids));
+
+        assertThat(decoded.getIds()).containsExactly(1000, 998, 1500, 3);
+        assertThat(decoded.getTotalElements()).isEqualTo(1234);
+        assertThat(decoded.isHasNext()).isTrue();
+    }
+
+    @Test
+    void otherValues_FallBackToJson() {
+        Object decoded = codec.deserialize(codec.serialize(new HashMap<>(Map.of("total", 5))));
+
+        assertThat(decoded).isEqualTo(Map.of("total", 5));
+    }
+
+    @Test
+    void jsonEntry_WrittenBeforeSwitch_IsStillReadable() {
+        Game game = Game.builder().id(1L).name("Liên Quân").slug("lien-quan").build();
+
+        Game decoded = (Game) codec.deserialize(json.serialize(game));
+
+        assertThat(decoded.getName()).isEqualTo("Liên Quân");
+    }
+
+    @Test
+    void nullValue_EncodesAsEmpty() {
+        assertThat(codec.serialize(null)).isEmpty();
+        assertThat(codec.deserialize(new byte[0])).isNull();
+    }
+
+    private static Account account(long id) {
+        Game game = Game.builder()
+                .id(7L)
+                .name("Ngọc Rồng Online")
+                .slug("ngoc-rong-online")
+                .description("Game nhập vai")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+        User seller = User.builder()
+                .id(3L)
+                .email("seller@example.com")
+                .password("$2a$10$hash")
+                .fullName("Người Bán")
+                .role(User.Role.SELLER)
+                .rating(4.5)
+                .totalReviews(12)
+                .createdAt(LocalDateTime.of(2024, 2, 3, 4, 5, 6, 7000))
+                .build();
+        return Account.builder()
+                .id(id)
+                .sellerId(3L)
+                .seller(seller)
+                .gameId(7L)
+                .game(game)
+                .title("Tài khoản VIP " + id)
+                .description("Full skin, nhiều tướng, rank cao. ".repeat(5))
+                .rank("Diamond")
+                .price(150.5)
+                .status(AccountStatus.APPROVED)
+                .viewsCount(99)
+                .isFeatured(true)
+                .createdAt(LocalDateTime.of(2025, 5, 6, 7, 8, 9))
+                .updatedAt(LocalDateTime.of(2025, 5, 7, 7, 8, 9))
+                .images(new ArrayList<>(List.of("https://img/1.png", "https://img/2.png")))
+                .encryptedUsername("enc-user")
+                .encryptedPassword("enc-pass")
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.gameaccount.marketplace.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for CacheMetrics and CachePayloadStats
+ * Tests the per-cache report and Micrometer meters over an in-memory cache manager
+ */
+class CacheMetricsTest {
+
+    private TaggedCacheManager cacheManager;
+    private CachePayloadStats payloadStats;
+    private CacheMetrics cacheMetrics;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new TaggedCacheManager(new ConcurrentMapCacheManager("games", "featured"), new CacheTagIndex(),
+                new SingleFlight(), null);
+        payloadStats = new CachePayloadStats();
+        cacheMetrics = new CacheMetrics(cacheManager, payloadStats, mock(ObjectProvider.class));
+    }
+
+    @Test
+    void report_CountsHitsMissesPutsEvictionsLoadsAndEntries() {
+        Cache games = cacheManager.getCache("games");
+        games.get("all", () -> "loaded");
+        games.get("all", () -> "unused");
+        games.put("other", "value");
+        games.evict("other");
+
+        CacheMetrics.CacheReport report = cacheMetrics.report().stream()
+                .filter(r -> r.getName().equals("games"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(report.getStore()).isEqualTo("in-memory");
+        assertThat(report.getHits()).isEqualTo(1);
+        assertThat(report.getMisses()).isEqualTo(1);
+        assertThat(report.getLoads()).isEqualTo(1);
+        assertThat(report.getPuts()).isEqualTo(2);
+        assertThat(report.getEvictions()).isEqualTo(1);
+        assertThat(report.getEntries()).isEqualTo(1);
+        assertThat(report.getL1Hits()).isNull();
+        assertThat(report.getRedisHits()).isNull();
+    }
+
+    @Test
+    void bindTo_PublishesStandardAndLoadMeters() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        cacheMetrics.bindTo(registry);
+        Cache featured = cacheManager.getCache("featured");
+        featured.get("featured-accounts", () -> "loaded");
+        featured.get("featured-accounts", () -> "unused");
+
+        assertThat(registry.get("cache.gets").tag("cache", "featured").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "featured").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("cache.size").tag("cache", "featured").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("cache.load").tag("cache", "featured").functionTimer().count()).isEqualTo(1);
+        assertThat(registry.get("cache.load").tag("cache", "featured").functionTimer().totalTime(TimeUnit.NANOSECONDS))
+                .isPositive();
+    }
+
+    @Test
+    void measuredSerializer_CountsPayloadBytes() {
+        RedisSerializer<Object> serializer = payloadStats.measure("featured", RedisSerializer.java());
+
+        byte[] bytes = serializer.serialize("cached value");
+        serializer.deserialize(bytes);
+
+        CachePayloadStats.Payload payload = payloadStats.get("featured");
+        assertThat(payload.getWrites()).isEqualTo(1);
+        assertThat(payload.getBytesWritten()).isEqualTo(bytes.length);
+        assertThat(payload.getBytesRead()).isEqualTo(bytes.length);
+        assertThat(payloadStats.get("games").getWrites()).isZero();
+    }
+}
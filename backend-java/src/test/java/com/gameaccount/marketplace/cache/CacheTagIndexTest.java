@@ -0,0 +1,143 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CacheTagIndex and TaggedCacheManager
+ * Tests targeted eviction by account, game and status, and per-cache hit counting
+ */
+class CacheTagIndexTest {
+
+    private CacheTagIndex cacheTagIndex;
+    private TaggedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheTagIndex = new CacheTagIndex();
+        cacheManager = new TaggedCacheManager(
+                new ConcurrentMapCacheManager("accounts", "featured", "games", "searchResults"), cacheTagIndex);
+    }
+
+    @Test
+    void accountEntry_EvictedOnlyWhenThatAccountChanges() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, account(1L, 1L, AccountStatus.APPROVED));
+        accounts.put(2L, account(2L, 1L, AccountStatus.APPROVED));
+
+        int evicted = cacheTagIndex.invalidate(AccountChangedEvent.of(ChangeType.UPDATED, account(2L, 1L, AccountStatus.APPROVED)));
+
+        assertThat(evicted).isEqualTo(1);
+        assertThat(accounts.get(1L)).isNotNull();
+        assertThat(accounts.get(2L)).isNull();
+    }
+
+    @Test
+    void accountList_EvictedWhenListingEntersItsStatus() {
+        Cache featured = cacheManager.getCache("featured");
+        featured.put("featured-accounts", List.of(account(1L, 1L, AccountStatus.APPROVED)));
+
+        cacheTagIndex.invalidate(AccountChangedEvent.of(ChangeType.CREATED, account(5L, 2L, AccountStatus.PENDING)));
+        assertThat(featured.get("featured-accounts")).isNotNull();
+
+        cacheTagIndex.invalidate(AccountChangedEvent.statusChanged(account(5L, 2L, AccountStatus.APPROVED),
+                AccountStatus.PENDING));
+        assertThat(featured.get("featured-accounts")).isNull();
+    }
+
+    @Test
+    void emptyAccountList_EvictedWhenAnyListingChanges() {
+        Cache featured = cacheManager.getCache("featured");
+        featured.put("featured-accounts", List.of());
+
+        int evicted = cacheTagIndex.invalidate(AccountChangedEvent.statusChanged(account(5L, 2L, AccountStatus.APPROVED),
+                AccountStatus.PENDING));
+
+        assertThat(evicted).isEqualTo(1);
+        assertThat(featured.get("featured-accounts")).isNull();
+    }
+
+    @Test
+    void queryEntry_SoldListingLeavesApprovedScope() {
+        Cache results = cacheManager.getCache("searchResults");
+        results.put("game-1-approved", "ids");
+        cacheTagIndex.register(results, "game-1-approved",
+                CacheDependencies.ofQuery(List.of(), 1L, AccountStatus.APPROVED));
+        results.put("game-1-sold", "ids");
+        cacheTagIndex.register(results, "game-1-sold",
+                CacheDependencies.ofQuery(List.of(), 1L, AccountStatus.SOLD));
+        results.put("game-1-rejected", "ids");
+        cacheTagIndex.register(results, "game-1-rejected",
+                CacheDependencies.ofQuery(List.of(), 1L, AccountStatus.REJECTED));
+
+        cacheTagIndex.invalidate(AccountChangedEvent.statusChanged(account(3L, 1L, AccountStatus.SOLD),
+                AccountStatus.APPROVED));
+
+        assertThat(results.get("game-1-approved")).isNull();
+        assertThat(results.get("game-1-sold")).isNull();
+        assertThat(results.get("game-1-rejected")).isNotNull();
+    }
+
+    @Test
+    void deletedWithUnknownGame_EvictsAllScopedEntries() {
+        Cache results = cacheManager.getCache("searchResults");
+        results.put("game-1", "ids");
+        cacheTagIndex.register(results, "game-1", CacheDependencies.ofQuery(List.of(), 1L, null));
+        Cache games = cacheManager.getCache("games");
+        games.put("all", List.of("Valorant"));
+
+        cacheTagIndex.invalidate(AccountChangedEvent.deleted(99L));
+
+        assertThat(results.get("game-1")).isNull();
+        assertThat(games.get("all")).isNotNull();
+        assertThat(cacheTagIndex.size()).isZero();
+    }
+
+    @Test
+    void statistics_CountsHitsMissesAndTagEvictions() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.get(1L);
+        accounts.put(1L, account(1L, 1L, AccountStatus.APPROVED));
+        accounts.get(1L);
+        accounts.get(1L);
+        cacheTagIndex.invalidate(AccountChangedEvent.deleted(account(1L, 1L, AccountStatus.APPROVED)));
+
+        TaggedCacheManager.CacheStatistics stats = cacheManager.getStatistics().get("accounts");
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(2.0 / 3);
+        assertThat(stats.getTagEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void evictAndClear_UnregisterEntries() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, account(1L, 1L, AccountStatus.APPROVED));
+        accounts.put(2L, account(2L, 1L, AccountStatus.APPROVED));
+
+        accounts.evict(1L);
+        assertThat(cacheTagIndex.size()).isEqualTo(1);
+
+        accounts.clear();
+        assertThat(cacheTagIndex.size()).isZero();
+    }
+
+    private Account account(Long id, Long gameId, AccountStatus status) {
+        return Account.builder()
+                .id(id)
+                .game(Game.builder().id(gameId).build())
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.gameaccount.marketplace.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RefreshAhead
+ * Tests the XFetch early-refresh condition and background refresh (by the cache's CacheRefresher)
+ * through TaggedCacheManager
+ */
+class RefreshAheadTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private RefreshAhead refreshAhead;
+    private Cache featured;
+
+    /** What the "featured" refresher reloads; the request loaders below never run on a refresh */
+    private final AtomicInteger refreshedVersion = new AtomicInteger(100);
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("featuredRefresher", new CacheRefresher() {
+            @Override
+            public String getCacheName() {
+                return "featured";
+            }
+
+            @Override
+            public Object reload(Object key) {
+                return refreshedVersion.incrementAndGet();
+            }
+        });
+
+        refreshAhead = new RefreshAhead(executor, beanFactory.getBeanProvider(CacheRefresher.class));
+        ReflectionTestUtils.setField(refreshAhead, "cacheNames", Set.of("featured"));
+        featured = new TaggedCacheManager(new ConcurrentMapCacheManager("featured", "games"), new CacheTagIndex(),
+                new SingleFlight(), refreshAhead).getCache("featured");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRefresh_ProbabilityRisesTowardsExpiry() {
+        long now = 1_000_000L;
+        RefreshAhead.Entry entry = new RefreshAhead.Entry(now + 1_000, 100);
+
+        // ln(0.5) * 100ms ~ 69ms head start: too early 1s before expiry, due 50ms before it
+        refreshAhead.setRandom(() -> 0.5);
+        assertThat(refreshAhead.shouldRefresh(entry, now)).isFalse();
+        assertThat(refreshAhead.shouldRefresh(entry, now + 950)).isTrue();
+
+        // An unlucky draw refreshes much earlier; expired entries always refresh
+        refreshAhead.setRandom(() -> 1e-6);
+        assertThat(refreshAhead.shouldRefresh(entry, now)).isTrue();
+        refreshAhead.setRandom(() -> 1.0);
+        assertThat(refreshAhead.shouldRefresh(entry, now + 999)).isFalse();
+        assertThat(refreshAhead.shouldRefresh(entry, now + 1_000)).isTrue();
+    }
+
+    @Test
+    void hitBeforeExpiry_ServesOldValueAndRefreshesInBackground() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        assertThat(featured.get("featured-accounts", version::incrementAndGet)).isEqualTo(1);
+
+        refreshAhead.setRandom(() -> 1.0);
+        assertThat(featured.get("featured-accounts", version::incrementAndGet)).isEqualTo(1);
+        assertThat(refreshAhead.getRefreshCount()).isZero();
+
+        // Logical TTL elapsed: the hit still returns the old value, the cache's refresher replaces it
+        ReflectionTestUtils.setField(refreshAhead, "ttlMs", -1L);
+        refreshAhead.recordLoad("featured", "featured-accounts", 0);
+        assertThat(featured.get("featured-accounts", version::incrementAndGet)).isEqualTo(1);
+
+        awaitRefreshes(1);
+        assertThat(featured.get("featured-accounts").get()).isEqualTo(101);
+        assertThat(version.get()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheWithoutRefresher_IsNotRefreshed() throws Exception {
+        ReflectionTestUtils.setField(refreshAhead, "cacheNames", Set.of("featured", "games"));
+        ReflectionTestUtils.setField(refreshAhead, "ttlMs", -1L);
+        Cache games = new TaggedCacheManager(new ConcurrentMapCacheManager("games"), new CacheTagIndex(),
+                new SingleFlight(), refreshAhead).getCache("games");
+
+        games.get("all", () -> "old");
+        assertThat(games.get("all", () -> "new")).isEqualTo("old");
+        Thread.sleep(50);
+        assertThat(refreshAhead.getRefreshCount()).isZero();
+    }
+
+    @Test
+    void evictedEntry_IsNotRefreshed() throws Exception {
+        ReflectionTestUtils.setField(refreshAhead, "ttlMs", -1L);
+        featured.get("featured-accounts", () -> "old");
+        featured.evict("featured-accounts");
+        featured.put("featured-accounts", "written");
+
+        assertThat(featured.get("featured-accounts", () -> "new")).isEqualTo("written");
+        Thread.sleep(50);
+        assertThat(refreshAhead.getRefreshCount()).isZero();
+    }
+
+    @Test
+    void otherCaches_AreNotRefreshedAhead() {
+        assertThat(refreshAhead.isEnabled("featured")).isTrue();
+        assertThat(refreshAhead.isEnabled("games")).isFalse();
+    }
+
+    private void awaitRefreshes(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (refreshAhead.getRefreshCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(refreshAhead.getRefreshCount()).isEqualTo(count);
+    }
+}
@@ -0,0 +1,137 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import com.gameaccount.marketplace.util.CursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SearchResultCache
+ * Tests canonical key construction and ID-list storage against an in-memory cache manager
+ */
+class SearchResultCacheTest {
+
+    private CacheTagIndex cacheTagIndex;
+    private SearchResultCache searchResultCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheTagIndex = new CacheTagIndex();
+        searchResultCache = new SearchResultCache(new ConcurrentMapCacheManager(SearchResultCache.CACHE_NAME),
+                cacheTagIndex, new SingleFlight());
+        ReflectionTestUtils.setField(searchResultCache, "enabled", true);
+    }
+
+    @Test
+    void offsetKey_SameResolvedQuery_SameKeyRegardlessOfRequestedStatusAndCase() {
+        AccountSearchRequest buyerRequest = AccountSearchRequest.builder()
+                .gameId(1L)
+                .searchText("Ngọc Rồng")
+                .build();
+        AccountSearchRequest adminRequest = AccountSearchRequest.builder()
+                .gameId(1L)
+                .searchText("ngọc rồng")
+                .status(AccountStatus.APPROVED)
+                .rank("  ")
+                .build();
+
+        String buyerKey = searchResultCache.offsetKey(buyerRequest, null, PageRequest.of(0, 20));
+        String adminKey = searchResultCache.offsetKey(adminRequest, null, PageRequest.of(0, 20));
+
+        assertThat(buyerKey).isEqualTo(adminKey).startsWith("search:");
+    }
+
+    @Test
+    void offsetKey_DifferentSortPageOrStatus_DifferentKeys() {
+        AccountSearchRequest request = AccountSearchRequest.builder().gameId(1L).build();
+
+        String base = searchResultCache.offsetKey(request, null, PageRequest.of(0, 20));
+
+        assertThat(searchResultCache.offsetKey(request, null, PageRequest.of(0, 20, Sort.by("price"))))
+                .isNotEqualTo(base);
+        assertThat(searchResultCache.offsetKey(request, null, PageRequest.of(1, 20))).isNotEqualTo(base);
+        assertThat(searchResultCache.offsetKey(request, AccountStatus.APPROVED, PageRequest.of(0, 20)))
+                .isNotEqualTo(base);
+    }
+
+    @Test
+    void offsetKey_SellerScopedQuery_IncludesSeller() {
+        AccountSearchRequest seller1 = AccountSearchRequest.builder().sellerId(1L).build();
+        AccountSearchRequest seller2 = AccountSearchRequest.builder().sellerId(2L).build();
+
+        assertThat(searchResultCache.offsetKey(seller1, null, PageRequest.of(0, 20)))
+                .isNotEqualTo(searchResultCache.offsetKey(seller2, null, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void keysetKey_DifferentCursor_DifferentKeys() {
+        AccountSearchRequest request = new AccountSearchRequest();
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        String first = searchResultCache.keysetKey(request, null, sort, null, 20);
+        String next = searchResultCache.keysetKey(request, null, sort,
+                new CursorUtil.KeysetCursor("createdAt", "2024-01-01T12:00", 42L), 20);
+
+        assertThat(first).isNotEqualTo(next);
+    }
+
+    @Test
+    void putAndGet_RoundTripsIds() {
+        String key = searchResultCache.offsetKey(new AccountSearchRequest(), null, PageRequest.of(0, 20));
+        searchResultCache.put(key, SearchResultCache.CachedIds.of(List.of(3L, 1L, 2L), 42, true),
+                CacheDependencies.none());
+
+        SearchResultCache.CachedIds cached = searchResultCache.get(key);
+        assertThat(cached.idList()).containsExactly(3L, 1L, 2L);
+        assertThat(cached.getTotalElements()).isEqualTo(42);
+        assertThat(cached.isHasNext()).isTrue();
+    }
+
+    @Test
+    void put_SearchResult_EvictedOnlyByChangesInScope() {
+        Game game = Game.builder().id(1L).build();
+        Game otherGame = Game.builder().id(2L).build();
+        Account pendingInGame = Account.builder().id(12L).game(game).status(AccountStatus.PENDING).build();
+
+        AccountSearchRequest request = AccountSearchRequest.builder().gameId(1L).build();
+        String key = searchResultCache.offsetKey(request, AccountStatus.APPROVED, PageRequest.of(0, 20));
+        searchResultCache.put(key, request, AccountStatus.APPROVED,
+                new PageImpl<>(List.of(Account.builder().id(10L).game(game).status(AccountStatus.APPROVED).build()),
+                        PageRequest.of(0, 20), 1));
+
+        // Other game, or same game but a status outside the query
+        cacheTagIndex.invalidate(AccountChangedEvent.of(ChangeType.CREATED,
+                Account.builder().id(11L).game(otherGame).status(AccountStatus.PENDING).build()));
+        cacheTagIndex.invalidate(AccountChangedEvent.of(ChangeType.CREATED, pendingInGame));
+        assertThat(searchResultCache.get(key)).isNotNull();
+
+        // Listing approved into the query's scope
+        pendingInGame.setStatus(AccountStatus.APPROVED);
+        cacheTagIndex.invalidate(AccountChangedEvent.statusChanged(pendingInGame, AccountStatus.PENDING));
+        assertThat(searchResultCache.get(key)).isNull();
+    }
+
+    @Test
+    void get_Disabled_AlwaysMisses() {
+        ReflectionTestUtils.setField(searchResultCache, "enabled", false);
+        String key = searchResultCache.offsetKey(new AccountSearchRequest(), null, PageRequest.of(0, 20));
+
+        searchResultCache.put(key, SearchResultCache.CachedIds.of(List.of(1L), 1, false), CacheDependencies.none());
+
+        assertThat(searchResultCache.get(key)).isNull();
+    }
+}
@@ -0,0 +1,110 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.config.SecondLevelCacheConfig;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.Message;
+import com.gameaccount.marketplace.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SecondLevelCacheInvalidator
+ * Tests broadcasting committed Account/User/Message writes and evicting remote ones from the second-level cache
+ */
+class SecondLevelCacheInvalidatorTest {
+
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationBus invalidationBus;
+    private Cache secondLevelCache;
+    private SecondLevelCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        invalidationBus = new CacheInvalidationBus(redisTemplate, "cache:invalidation");
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        secondLevelCache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+
+        invalidator = new SecondLevelCacheInvalidator(entityManagerFactory);
+        invalidator.setInvalidationBus(invalidationBus);
+    }
+
+    @Test
+    void committedAccountAndUserWrites_AreBroadcast() {
+        invalidator.onPostUpdate(new PostUpdateEvent(Account.builder().id(7L).build(), 7L,
+                null, null, null, null, null));
+        invalidator.onPostDelete(new PostDeleteEvent(User.builder().id(3L).build(), 3L, null, null, null));
+
+        verify(redisTemplate).convertAndSend("cache:invalidation", invalidationBus.getNodeId() + "|ENTITY|account|7");
+        verify(redisTemplate).convertAndSend("cache:invalidation", invalidationBus.getNodeId() + "|ENTITY|user|3");
+    }
+
+    @Test
+    void committedMessageInsert_IsBroadcast() {
+        invalidator.onPostInsert(new PostInsertEvent(Message.builder().id(11L).build(), 11L, null, null, null));
+
+        verify(redisTemplate).convertAndSend("cache:invalidation", invalidationBus.getNodeId() + "|ENTITY|message|11");
+    }
+
+    @Test
+    void otherEntities_AreNotBroadcast() {
+        invalidator.onPostUpdate(new PostUpdateEvent(Game.builder().id(1L).build(), 1L,
+                null, null, null, null, null));
+        invalidator.onPostInsert(new PostInsertEvent(Account.builder().id(7L).build(), 7L, null, null, null));
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void remoteAccountEvict_EvictsAccountAndImages() {
+        invalidationBus.onMessage(message("other-node|ENTITY|account|7"), null);
+        invalidationBus.onMessage(message("other-node|ENTITY|user|3"), null);
+
+        verify(secondLevelCache).evictEntityData(Account.class, 7L);
+        verify(secondLevelCache).evictCollectionData(Account.class.getName() + ".images", 7L);
+        verify(secondLevelCache).evictEntityData(User.class, 3L);
+    }
+
+    @Test
+    void remoteMessageEvict_EvictsMessageAndClearsConversationQueries() {
+        invalidationBus.onMessage(message("other-node|ENTITY|message|11"), null);
+
+        verify(secondLevelCache).evictEntityData(Message.class, 11L);
+        verify(secondLevelCache).evictQueryRegion(SecondLevelCacheConfig.MESSAGE_QUERY_REGION);
+    }
+
+    @Test
+    void ownAndUnknownRegionMessages_AreIgnored() {
+        invalidationBus.onMessage(message(invalidationBus.getNodeId() + "|ENTITY|account|7"), null);
+        invalidationBus.onMessage(message("other-node|ENTITY|game|1"), null);
+
+        verifyNoInteractions(secondLevelCache);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
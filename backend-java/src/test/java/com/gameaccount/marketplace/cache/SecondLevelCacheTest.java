@@ -0,0 +1,171 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.cache.SecondLevelCacheMetrics.RegionReport;
+import com.gameaccount.marketplace.config.SecondLevelCacheConfig;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.Message;
+import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import com.gameaccount.marketplace.repository.GameRepository;
+import com.gameaccount.marketplace.repository.MessageRepository;
+import com.gameaccount.marketplace.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Hibernate second-level cache.
+ * Repeating a query hinted org.hibernate.cacheable must be answered from the query and entity
+ * regions without a statement, until a write to the queried table invalidates it.
+ * Not @Transactional: results are only cached for tables with no uncommitted writes.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private Statistics statistics;
+    private User buyer;
+    private User seller;
+    private Game game;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        buyer = userRepository.save(User.builder()
+                .email("l2-buyer-" + suffix + "@example.com")
+                .password("password")
+                .build());
+        seller = userRepository.save(User.builder()
+                .email("l2-seller-" + suffix + "@example.com")
+                .password("password")
+                .build());
+        game = gameRepository.save(Game.builder()
+                .name("L2 Cache Game " + suffix)
+                .slug("l2-cache-game-" + suffix)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .seller(seller)
+                .game(game)
+                .title("L2 Cache Account")
+                .price(10.0)
+                .status(AccountStatus.APPROVED)
+                .build());
+        send(buyer, seller, "Is it still available?");
+        send(seller, buyer, "Yes");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        messageRepository.deleteAll(messageRepository.findByAccountIdAndSenderIdOrReceiverId(account.getId(), buyer.getId()));
+        accountRepository.deleteById(account.getId());
+        gameRepository.deleteById(game.getId());
+        userRepository.deleteAll(List.of(buyer, seller));
+    }
+
+    @Test
+    void findConversation_RepeatedCall_DoesNotHitDatabase() {
+        List<Message> first = messageRepository.findConversation(account.getId(), buyer.getId(), seller.getId());
+        statistics.clear();
+
+        List<Message> second = messageRepository.findConversation(account.getId(), buyer.getId(), seller.getId());
+
+        assertThat(second).extracting(Message::getId).containsExactlyElementsOf(first.stream().map(Message::getId).toList());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByAccountIdAndSenderIdOrReceiverId_RepeatedCall_DoesNotHitDatabase() {
+        messageRepository.findByAccountIdAndSenderIdOrReceiverId(account.getId(), buyer.getId());
+        statistics.clear();
+
+        List<Message> messages = messageRepository.findByAccountIdAndSenderIdOrReceiverId(account.getId(), buyer.getId());
+
+        assertThat(messages).extracting(Message::getContent).containsExactlyInAnyOrder("Is it still available?", "Yes");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findConversation_AfterNewMessage_QueriesDatabaseAgain() {
+        messageRepository.findConversation(account.getId(), buyer.getId(), seller.getId());
+        send(buyer, seller, "I'll take it");
+        statistics.clear();
+
+        List<Message> messages = messageRepository.findConversation(account.getId(), buyer.getId(), seller.getId());
+
+        assertThat(messages).hasSize(3);
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    @Test
+    void findAllGames_RepeatedCall_DoesNotHitDatabase() {
+        gameRepository.findAll();
+        statistics.clear();
+
+        List<Game> games = gameRepository.findAll();
+
+        assertThat(games).extracting(Game::getId).contains(game.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void report_CountsHitsPerRegion() {
+        messageRepository.findConversation(account.getId(), buyer.getId(), seller.getId());
+        messageRepository.findConversation(account.getId(), buyer.getId(), seller.getId());
+
+        assertThat(secondLevelCacheMetrics.report())
+                .filteredOn(report -> report.getRegion().equals(SecondLevelCacheConfig.MESSAGE_QUERY_REGION))
+                .singleElement()
+                .satisfies(report -> {
+                    assertThat(report.getHits()).isPositive();
+                    assertThat(report.getEntries()).isPositive();
+                });
+        assertThat(secondLevelCacheMetrics.report()).extracting(RegionReport::getRegion)
+                .contains(SecondLevelCacheConfig.ACCOUNT_REGION, SecondLevelCacheConfig.GAME_REGION,
+                        SecondLevelCacheConfig.USER_REGION);
+    }
+
+    private void send(User from, User to, String content) {
+        messageRepository.save(Message.builder()
+                .account(account)
+                .sender(from)
+                .receiver(to)
+                .content(content)
+                .build());
+    }
+}
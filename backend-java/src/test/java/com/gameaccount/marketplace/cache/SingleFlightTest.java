@@ -0,0 +1,165 @@
+package com.gameaccount.marketplace.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SingleFlight
+ * Tests coalescing of concurrent misses, failure propagation and cross-node lease handling
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight();
+        ReflectionTestUtils.setField(singleFlight, "pollIntervalMs", 1L);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentMisses_SameKey_LoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.load("featured", "featured-accounts", () -> {
+                loads.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "value";
+            }, () -> null)));
+        }
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.getLoadCount()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(CALLERS - 1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void differentKeys_LoadIndependently() throws Exception {
+        assertThat(singleFlight.load("accounts", 1L, () -> "one", () -> null)).isEqualTo("one");
+        assertThat(singleFlight.load("accounts", 2L, () -> "two", () -> null)).isEqualTo("two");
+
+        assertThat(singleFlight.getLoadCount()).isEqualTo(2);
+        assertThat(singleFlight.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void failedLoad_FailsWaitersAndIsNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> singleFlight.load("games", "all", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("database down");
+        }, () -> null));
+        awaitInFlight();
+        Future<Object> waiter = executor.submit(() -> singleFlight.load("games", "all", () -> "unused", () -> null));
+        awaitWaiters(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.load("games", "all", () -> "recovered", () -> null)).isEqualTo("recovered");
+    }
+
+    @Test
+    void leaseHeldByOtherNode_WaitsForSharedValue() throws Exception {
+        CacheLoadLease lease = mock(CacheLoadLease.class);
+        when(lease.tryAcquire("featured::popular-accounts")).thenReturn(null);
+        when(lease.isHeld("featured::popular-accounts")).thenReturn(true);
+        singleFlight.setLease(lease);
+        AtomicInteger lookups = new AtomicInteger();
+
+        String value = singleFlight.load("featured", "popular-accounts", () -> "loaded here",
+                () -> lookups.incrementAndGet() < 3 ? null : "loaded by other node");
+
+        assertThat(value).isEqualTo("loaded by other node");
+        assertThat(singleFlight.getLoadCount()).isZero();
+        assertThat(singleFlight.getRemoteWaitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void leaseAcquired_LoadsAndReleases() throws Exception {
+        CacheLoadLease lease = mock(CacheLoadLease.class);
+        when(lease.tryAcquire("accounts::7")).thenReturn("token");
+        singleFlight.setLease(lease);
+
+        assertThat(singleFlight.load("accounts", 7L, () -> "loaded", () -> null)).isEqualTo("loaded");
+
+        verify(lease).release("accounts::7", "token");
+        assertThat(singleFlight.getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void taggedCacheSyncGet_ConcurrentMissesLoadOnceAndCache() throws Exception {
+        Cache featured = new TaggedCacheManager(new ConcurrentMapCacheManager("featured"), new CacheTagIndex(),
+                singleFlight, null).getCache("featured");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> featured.get("featured-accounts", () -> {
+                loads.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "value";
+            })));
+        }
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(featured.get("featured-accounts").get()).isEqualTo("value");
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (singleFlight.getInFlightCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitWaiters(int waiters) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (singleFlight.getCoalescedCount() < waiters && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.gameaccount.marketplace.cache;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for TwoLevelCacheManager and CacheInvalidationBus
+ * Tests L1 promotion, per-level counters and invalidation from other nodes
+ */
+class TwoLevelCacheManagerTest {
+
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationBus invalidationBus;
+    private ConcurrentMapCacheManager l2CacheManager;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        invalidationBus = new CacheInvalidationBus(redisTemplate, "cache:invalidation");
+        l2CacheManager = new ConcurrentMapCacheManager("accounts", "games", "searchResults");
+        cacheManager = new TwoLevelCacheManager(l2CacheManager, invalidationBus,
+                Set.of("accounts", "games"), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_PromotesL2HitToL1() {
+        l2CacheManager.getCache("games").put("all", List.of("Valorant"));
+        Cache games = cacheManager.getCache("games");
+
+        assertThat(games.get("all")).isNotNull();
+        assertThat(games.get("all")).isNotNull();
+        assertThat(games.get("missing")).isNull();
+
+        TwoLevelCacheManager.LevelStatistics stats = cacheManager.getLevelStatistics().get("games");
+        assertThat(stats.getL1Hits()).isEqualTo(1);
+        assertThat(stats.getL1Misses()).isEqualTo(2);
+        assertThat(stats.getL2Hits()).isEqualTo(1);
+        assertThat(stats.getL2Misses()).isEqualTo(1);
+        assertThat(stats.getL1Size()).isEqualTo(1);
+    }
+
+    @Test
+    void nonNearCachedName_UsesL2Directly() {
+        Cache results = cacheManager.getCache("searchResults");
+
+        assertThat(results).isSameAs(l2CacheManager.getCache("searchResults"));
+        assertThat(cacheManager.getLevelStatistics()).doesNotContainKey("searchResults");
+    }
+
+    @Test
+    void putAndEvict_PublishInvalidation() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, "account-1");
+        accounts.evict(1L);
+
+        assertThat(l2CacheManager.getCache("accounts").get(1L)).isNull();
+        assertThat(accounts.get(1L)).isNull();
+        verify(redisTemplate, times(2)).convertAndSend("cache:invalidation",
+                invalidationBus.getNodeId() + "|EVICT|accounts|1");
+    }
+
+    @Test
+    void remoteEvict_DropsOnlyL1Copy() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, "account-1");
+        accounts.put(2L, "account-2");
+
+        invalidationBus.onMessage(message("other-node|EVICT|accounts|1"), null);
+
+        TwoLevelCacheManager.LevelStatistics stats = cacheManager.getLevelStatistics().get("accounts");
+        assertThat(stats.getL1Size()).isEqualTo(1);
+        // L2 still has the value (the publishing node already updated it), so the next read re-promotes
+        assertThat(accounts.get(1L).get()).isEqualTo("account-1");
+        assertThat(cacheManager.getLevelStatistics().get("accounts").getL2Hits()).isEqualTo(1);
+    }
+
+    @Test
+    void remoteClear_DropsAllL1Copies() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, "account-1");
+        accounts.put(2L, "account-2");
+
+        invalidationBus.onMessage(message("other-node|CLEAR|accounts"), null);
+
+        assertThat(cacheManager.getLevelStatistics().get("accounts").getL1Size()).isZero();
+    }
+
+    @Test
+    void ownMessages_AreIgnored() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, "account-1");
+
+        invalidationBus.onMessage(message(invalidationBus.getNodeId() + "|CLEAR|accounts"), null);
+
+        assertThat(cacheManager.getLevelStatistics().get("accounts").getL1Size()).isEqualTo(1);
+    }
+
+    @Test
+    void accountChanged_RoundTripsThroughWireFormat() {
+        Account account = Account.builder()
+                .id(7L)
+                .game(Game.builder().id(3L).build())
+                .status(AccountStatus.SOLD)
+                .build();
+        invalidationBus.publishAccountChanged(AccountChangedEvent.statusChanged(account, AccountStatus.APPROVED));
+
+        String wire = invalidationBus.getNodeId() + "|ACCOUNT|STATUS_CHANGED|7|3|APPROVED|SOLD";
+        verify(redisTemplate).convertAndSend("cache:invalidation", wire);
+
+        AccountChangedEvent parsed = CacheInvalidationBus.parseAccountChanged(wire.split("\\|"));
+        assertThat(parsed.getAccountId()).isEqualTo(7L);
+        assertThat(parsed.getGameId()).isEqualTo(3L);
+        assertThat(parsed.getPreviousStatus()).isEqualTo(AccountStatus.APPROVED);
+        assertThat(parsed.getAccount().getStatus()).isEqualTo(AccountStatus.SOLD);
+    }
+
+    @Test
+    void remoteAccountChanged_EvictsTaggedEntriesOfThisNode() {
+        CacheTagIndex tagIndex = new CacheTagIndex();
+        tagIndex.setInvalidationBus(invalidationBus);
+        TaggedCacheManager taggedCacheManager = new TaggedCacheManager(cacheManager, tagIndex);
+        Cache accounts = taggedCacheManager.getCache("accounts");
+        accounts.put(7L, Account.builder().id(7L).status(AccountStatus.APPROVED).build());
+
+        invalidationBus.onMessage(message("other-node|ACCOUNT|UPDATED|7|-|-|APPROVED"), null);
+
+        assertThat(accounts.get(7L)).isNull();
+        assertThat(tagIndex.size()).isZero();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,166 @@
+package com.gameaccount.marketplace.controller;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import com.gameaccount.marketplace.repository.GameRepository;
+import com.gameaccount.marketplace.repository.UserRepository;
+import com.gameaccount.marketplace.service.GameCatalog;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-count tests for the account list endpoints.
+ * A page of 30 listings from 3 games, 2 images each, must cost the same handful of statements
+ * as a page of one: no per-account images or seller loads, and no game loads at all.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class AccountListQueryCountTest {
+
+    private static final int PAGE_SIZE = 30;
+    private static final String SELLER_EMAIL = "query-count-seller@example.com";
+
+    /** ID page + count + cards + images, plus the user lookup of authenticated endpoints */
+    private static final long MAX_STATEMENTS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameCatalog gameCatalog;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User seller = userRepository.save(User.builder()
+                .email(SELLER_EMAIL)
+                .password("password")
+                .fullName("Query Count Seller")
+                .build());
+
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            games.add(gameRepository.save(Game.builder()
+                    .name("Query Count Game " + i)
+                    .slug("query-count-game-" + i)
+                    .build()));
+        }
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            accountRepository.save(Account.builder()
+                    .seller(seller)
+                    .game(games.get(i % games.size()))
+                    .title("Query Count Account " + i)
+                    .description("Query count test listing")
+                    .price(987_654.0 + i / 100.0)
+                    .status(AccountStatus.APPROVED)
+                    .images(new ArrayList<>(List.of("http://img/" + i + "-a.jpg", "http://img/" + i + "-b.jpg")))
+                    .build());
+        }
+
+        // Nothing may come from the persistence context: every row read is a statement
+        entityManager.flush();
+        entityManager.clear();
+        // Games are served from the catalog, which must know the games created above
+        gameCatalog.refresh();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    @WithMockUser(username = SELLER_EMAIL)
+    void searchAccounts_OffsetPage_DoesNotLoadPerAccount() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accounts")
+                        .param("status", "APPROVED")
+                        .param("minPrice", "987654")
+                        .param("maxPrice", "987655")
+                        .param("limit", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(PAGE_SIZE)))
+                .andExpect(jsonPath("$.content[0].images", hasSize(2)));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = SELLER_EMAIL)
+    void searchAccounts_KeysetPage_DoesNotLoadPerAccount() throws Exception {
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/accounts")
+                        .param("status", "APPROVED")
+                        .param("minPrice", "987654")
+                        .param("maxPrice", "987655")
+                        .param("limit", "10"))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accounts")
+                        .param("status", "APPROVED")
+                        .param("minPrice", "987654")
+                        .param("maxPrice", "987655")
+                        .param("limit", "10")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(10)))
+                .andExpect(jsonPath("$.content[0].images", hasSize(2)));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = SELLER_EMAIL)
+    void getMyAccounts_EntityPage_BatchFetchesImages() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accounts/seller/my-accounts")
+                        .param("limit", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(PAGE_SIZE)))
+                .andExpect(jsonPath("$.content[0].images", hasSize(2)));
+
+        // Entities: page + count + user lookup + seller + one batch of images; games from the catalog
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS + 1);
+    }
+}
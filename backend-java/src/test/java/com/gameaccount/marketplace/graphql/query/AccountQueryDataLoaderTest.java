@@ -5,6 +5,9 @@ import com.gameaccount.marketplace.entity.Game;
 import com.gameaccount.marketplace.entity.User;
 import com.gameaccount.marketplace.graphql.dto.PaginatedAccountResponse;
 import com.gameaccount.marketplace.service.AccountService;
+import com.gameaccount.marketplace.service.GameCatalog;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -12,10 +15,16 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -32,12 +41,18 @@ class AccountQueryDataLoaderTest {
     @Mock
     private com.gameaccount.marketplace.service.PaginationService paginationService;
 
+    @Mock
+    private com.gameaccount.marketplace.service.AccountSuggester accountSuggester;
+
+    @Mock
+    private GameCatalog gameCatalog;
+
     private AccountQuery accountQuery;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        accountQuery = new AccountQuery(accountService, cursorUtil, paginationService);
+        accountQuery = new AccountQuery(accountService, cursorUtil, paginationService, accountSuggester, gameCatalog);
     }
 
     @Test
@@ -48,7 +63,7 @@ class AccountQueryDataLoaderTest {
         account.setSeller(expectedUser);
 
         // When
-        User result = accountQuery.seller(account);
+        User result = accountQuery.seller(account, selecting("id", "fullName", "avatar"));
 
         // Then - should return seller from account
         assertThat(result).isNotNull();
@@ -57,19 +72,48 @@ class AccountQueryDataLoaderTest {
     }
 
     @Test
-    void game_field_returns_game_from_account() {
+    void seller_field_cardStubWithFieldsBeyondCard_loadsFullSeller() {
+        // Given - list reads carry a stub without audit fields
+        Account account = createTestAccount(1L, 100L, 200L);
+        User fullSeller = createTestUser(100L);
+        fullSeller.setCreatedAt(LocalDateTime.now());
+        when(accountService.getSellerForAccount(1L)).thenReturn(fullSeller);
+
+        // When
+        User result = accountQuery.seller(account, selecting("fullName", "createdAt"));
+
+        // Then
+        assertThat(result).isSameAs(fullSeller);
+    }
+
+    @Test
+    void game_field_returns_game_from_catalog() {
         // Given
         Account account = createTestAccount(1L, 100L, 200L);
-        Game expectedGame = createTestGame(200L);
-        account.setGame(expectedGame);
+        Game catalogGame = createTestGame(200L);
+        when(gameCatalog.findForAccount(account)).thenReturn(Optional.of(catalogGame));
 
         // When
         Game result = accountQuery.game(account);
 
-        // Then - should return game from account
-        assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(expectedGame.getId());
-        assertThat(result.getName()).isEqualTo(expectedGame.getName());
+        // Then - served from the catalog, no service call
+        assertThat(result).isSameAs(catalogGame);
+        verify(accountService, never()).getGameForAccount(any());
+    }
+
+    @Test
+    void game_field_notInCatalog_fallsBackToService() {
+        // Given
+        Account account = createTestAccount(1L, 100L, 200L);
+        Game loadedGame = createTestGame(200L);
+        when(gameCatalog.findForAccount(account)).thenReturn(Optional.empty());
+        when(accountService.getGameForAccount(1L)).thenReturn(loadedGame);
+
+        // When
+        Game result = accountQuery.game(account);
+
+        // Then
+        assertThat(result).isSameAs(loadedGame);
     }
 
     @Test
@@ -81,13 +125,25 @@ class AccountQueryDataLoaderTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse result = accountQuery.accounts(null, null, null, null, null, null, null, 0, 10);
+        PaginatedAccountResponse result = accountQuery.accounts(null, null, null, null, null, null, null, null, null, null, null, 0, 10);
 
         // Then
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getTotalElements()).isEqualTo(1);
     }
 
+    private static DataFetchingFieldSelectionSet selecting(String... fieldNames) {
+        List<SelectedField> fields = new ArrayList<>();
+        for (String fieldName : fieldNames) {
+            SelectedField field = mock(SelectedField.class);
+            when(field.getName()).thenReturn(fieldName);
+            fields.add(field);
+        }
+        DataFetchingFieldSelectionSet selectionSet = mock(DataFetchingFieldSelectionSet.class);
+        when(selectionSet.getImmediateFields()).thenReturn(fields);
+        return selectionSet;
+    }
+
     private Account createTestAccount(Long accountId, Long sellerId, Long gameId) {
         Account account = new Account();
         account.setId(accountId);
@@ -9,6 +9,7 @@ import com.gameaccount.marketplace.service.AccountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +18,8 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -74,7 +78,7 @@ class AccountQueryTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, null);
+        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, null, null, null, null, null);
 
         // Then
         assertThat(response).isNotNull();
@@ -101,7 +105,7 @@ class AccountQueryTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse response = accountQuery.accounts(gameId, minPrice, maxPrice, status, null, null, null, page, limit);
+        PaginatedAccountResponse response = accountQuery.accounts(gameId, minPrice, maxPrice, null, null, null, status, null, null, null, null, page, limit);
 
         // Then
         assertThat(response).isNotNull();
@@ -116,7 +120,7 @@ class AccountQueryTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, "INVALID", null, null, null, null, null);
+        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, "INVALID", null, null, null, null, null, null);
 
         // Then
         assertThat(response).isNotNull();
@@ -130,7 +134,7 @@ class AccountQueryTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, 2, 50);
+        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, null, null, null, 2, 50);
 
         // Then
         assertThat(response.getCurrentPage()).isEqualTo(2);
@@ -145,7 +149,7 @@ class AccountQueryTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, 150);
+        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, null, null, null, null, 150);
 
         // Then
         assertThat(response.getPageSize()).isEqualTo(100);
@@ -160,13 +164,55 @@ class AccountQueryTest {
         when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
 
         // When
-        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, null);
+        PaginatedAccountResponse response = accountQuery.accounts(null, null, null, null, null, null, null, null, null, null, null, null, null);
 
         // Then
         assertThat(response.getContent()).isEmpty();
         assertThat(response.getTotalElements()).isEqualTo(0L);
     }
 
+    @Test
+    void accounts_SearchTextWithoutSortBy_UsesRelevanceOrder() {
+        when(accountService.searchAccounts(any(), any(), any(), any())).thenReturn(testPage);
+        when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
+
+        accountQuery.accounts(null, null, null, null, null, null, null, null, "smurf", null, null, null, null);
+        accountQuery.accounts(null, null, null, null, null, null, null, null, "smurf", "relevance", null, null, null);
+
+        ArgumentCaptor<AccountSearchRequest> request = ArgumentCaptor.forClass(AccountSearchRequest.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(accountService, times(2)).searchAccounts(request.capture(), any(), any(), pageable.capture());
+        assertThat(pageable.getAllValues()).allSatisfy(p -> assertThat(p.getSort().isUnsorted()).isTrue());
+        assertThat(request.getAllValues()).allSatisfy(r -> {
+            assertThat(r.getSearchText()).isEqualTo("smurf");
+            assertThat(r.getSortBy()).isNull();
+        });
+    }
+
+    @Test
+    void accounts_SearchTextWithSortBy_KeepsRequestedSort() {
+        when(accountService.searchAccounts(any(), any(), any(), any())).thenReturn(testPage);
+        when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
+
+        accountQuery.accounts(null, null, null, null, null, null, null, null, "smurf", "price", "ASC", null, null);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(accountService).searchAccounts(any(), any(), any(), pageable.capture());
+        assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "price"));
+    }
+
+    @Test
+    void accounts_NoSearchText_DefaultsToNewestFirst() {
+        when(accountService.searchAccounts(any(), any(), any(), any())).thenReturn(testPage);
+        when(accountService.getAllowedSortFields()).thenReturn(java.util.Set.of("price", "level", "createdAt"));
+
+        accountQuery.accounts(null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(accountService).searchAccounts(any(), any(), any(), pageable.capture());
+        assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
     // ==================== account() query tests ====================
 
     @Test
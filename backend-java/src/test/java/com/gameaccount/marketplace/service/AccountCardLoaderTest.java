@@ -0,0 +1,90 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.repository.AccountCardRow;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import com.gameaccount.marketplace.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountCardLoader
+ * Tests card assembly from the projection rows and the game catalog, image grouping and id order
+ */
+class AccountCardLoaderTest {
+
+    private AccountRepository accountRepository;
+    private AccountCardLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        GameRepository gameRepository = mock(GameRepository.class);
+        when(gameRepository.findAll()).thenReturn(List.of(
+                Game.builder().id(7L).name("Test Game").slug("test-game").build()));
+        GameCatalog gameCatalog = new GameCatalog(gameRepository);
+        gameCatalog.refresh();
+        loader = new AccountCardLoader(accountRepository, gameCatalog);
+    }
+
+    @Test
+    void load_BuildsCardsInIdOrderWithImages() {
+        when(accountRepository.findCardsByIdIn(Set.of(3L, 1L, 9L)))
+                .thenReturn(List.of(row(1L, "Excerpt one"), row(3L, "Excerpt three")));
+        when(accountRepository.findCardImagesByIdIn(Set.of(1L, 3L)))
+                .thenReturn(List.of(
+                        new Object[]{3L, "http://img/3a.jpg"},
+                        new Object[]{1L, "http://img/1a.jpg"},
+                        new Object[]{3L, "http://img/3b.jpg"}));
+
+        List<Account> cards = loader.load(Arrays.asList(3L, 1L, null, 9L, 3L));
+
+        assertThat(cards).extracting(Account::getId).containsExactly(3L, 1L);
+        Account card = cards.get(0);
+        assertThat(card.getDescription()).isEqualTo("Excerpt three");
+        assertThat(card.getImages()).containsExactly("http://img/3a.jpg", "http://img/3b.jpg");
+        assertThat(card.getGame().getName()).isEqualTo("Test Game");
+        assertThat(card.getGame().getSlug()).isEqualTo("test-game");
+        assertThat(card.getSeller().getFullName()).isEqualTo("Test Seller");
+        assertThat(card.getSeller().getCreatedAt()).isNull();
+        assertThat(card.getEncryptedUsername()).isNull();
+        assertThat(card.getEncryptedPassword()).isNull();
+        assertThat(cards.get(1).getImages()).containsExactly("http://img/1a.jpg");
+    }
+
+    @Test
+    void load_NoRows_SkipsImageQuery() {
+        when(accountRepository.findCardsByIdIn(any())).thenReturn(List.of());
+
+        assertThat(loader.load(List.of(5L))).isEmpty();
+        verify(accountRepository, never()).findCardImagesByIdIn(any());
+    }
+
+    @Test
+    void load_NoIds_DoesNotQuery() {
+        assertThat(loader.load(List.of())).isEmpty();
+        verifyNoInteractions(accountRepository);
+    }
+
+    private static AccountCardRow row(Long id, String excerpt) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AccountCardRow(id, "Account " + id, excerpt, 50, "Diamond", 100.0, AccountStatus.APPROVED,
+                10, false, now, now, 7L,
+                2L, "seller@test.com", "Test Seller", null, 4.5, 12);
+    }
+}
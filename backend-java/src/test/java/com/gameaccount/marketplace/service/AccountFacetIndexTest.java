@@ -0,0 +1,246 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
+import com.gameaccount.marketplace.dto.response.AccountFacetsResponse;
+import com.gameaccount.marketplace.dto.response.AccountFacetsResponse.FacetCount;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountFacetIndex
+ * Tests filtering, sorting, facet counts and incremental updates against the in-memory index
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountFacetIndexTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountFacetIndex accountFacetIndex;
+
+    private final LocalDateTime baseTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountFacetIndex, "enabled", true);
+
+        List<Object[]> rows = new ArrayList<>();
+        // id, price, level, gameId, sellerId, status, isFeatured, rank, createdAt
+        rows.add(row(1L, 40.0, 10, 1L, 100L, AccountStatus.APPROVED, true, "Gold"));
+        rows.add(row(2L, 150.0, 50, 1L, 100L, AccountStatus.APPROVED, false, "Diamond I"));
+        rows.add(row(3L, 600.0, null, 1L, 200L, AccountStatus.PENDING, false, "diamond II"));
+        rows.add(row(4L, 90.0, 30, 2L, 200L, AccountStatus.APPROVED, true, "Gold"));
+        rows.add(row(5L, 1200.0, 80, 2L, 300L, AccountStatus.SOLD, false, null));
+
+        when(accountRepository.findIndexRowsAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+        accountFacetIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_LoadsAllRows_IndexReady() {
+        assertThat(accountFacetIndex.size()).isEqualTo(5);
+        assertThat(accountFacetIndex.canAnswer(new AccountSearchRequest())).isTrue();
+    }
+
+    @Test
+    void contains_IndexedAccountsOnly() {
+        assertThat(accountFacetIndex.contains(5L)).isTrue();
+        assertThat(accountFacetIndex.contains(6L)).isFalse();
+    }
+
+    @Test
+    void canAnswer_WithSearchText_ReturnsFalse() {
+        AccountSearchRequest request = AccountSearchRequest.builder().searchText("smurf").build();
+
+        assertThat(accountFacetIndex.canAnswer(request)).isFalse();
+    }
+
+    @Test
+    void search_GameAndPriceRange_ReturnsMatchingIdsSortedByPrice() {
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .gameId(1L)
+                .minPrice(30.0)
+                .maxPrice(700.0)
+                .build();
+
+        Page<Long> result = accountFacetIndex.search(request, null,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price")));
+
+        assertThat(result.getContent()).containsExactly(3L, 2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void search_StatusFeaturedAndRank_AppliesAllFilters() {
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .isFeatured(true)
+                .rank("gol")
+                .build();
+
+        Page<Long> result = accountFacetIndex.search(request, AccountStatus.APPROVED, PageRequest.of(0, 20));
+
+        assertThat(result.getContent()).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void search_LevelRange_ExcludesNullLevels() {
+        AccountSearchRequest request = AccountSearchRequest.builder().minLevel(0).build();
+
+        Page<Long> result = accountFacetIndex.search(request, null,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "level")));
+
+        assertThat(result.getContent()).containsExactly(1L, 4L, 2L, 5L);
+    }
+
+    @Test
+    void search_SecondPage_ReturnsOffsetSlice() {
+        Page<Long> result = accountFacetIndex.search(new AccountSearchRequest(), null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertThat(result.getContent()).containsExactly(3L, 2L);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void search_PageByPage_MatchesFullSortOrder() {
+        List<Long> pages = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            pages.addAll(accountFacetIndex.search(new AccountSearchRequest(), null,
+                    PageRequest.of(page, 2, Sort.by(Sort.Direction.ASC, "price"))).getContent());
+        }
+
+        assertThat(pages).containsExactly(1L, 4L, 2L, 3L, 5L);
+    }
+
+    @Test
+    void search_PageBeyondTotal_ReturnsEmptyPageWithTotal() {
+        Page<Long> result = accountFacetIndex.search(new AccountSearchRequest(), null,
+                PageRequest.of(3, 2, Sort.by(Sort.Direction.DESC, "level")));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void search_Candidates_FiltersAndKeepsCandidateOrder() {
+        AccountSearchRequest request = AccountSearchRequest.builder().gameId(1L).build();
+        List<Long> candidates = List.of(3L, 5L, 1L, 2L, 99L);
+
+        Page<Long> result = accountFacetIndex.search(request, null, PageRequest.of(0, 2), candidates);
+
+        assertThat(result.getContent()).containsExactly(3L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(accountFacetIndex.count(request, null, candidates)).isEqualTo(3);
+    }
+
+    @Test
+    void search_CandidatesSorted_UsesRequestedOrder() {
+        Page<Long> result = accountFacetIndex.search(new AccountSearchRequest(), AccountStatus.APPROVED,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "price")), List.of(1L, 3L, 4L, 2L));
+
+        assertThat(result.getContent()).containsExactly(2L, 4L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void facets_SelectedGame_CountsOtherGamesToo() {
+        AccountSearchRequest request = AccountSearchRequest.builder().gameId(1L).build();
+
+        AccountFacetsResponse facets = accountFacetIndex.facets(request, null);
+
+        assertThat(facets.getTotalCount()).isEqualTo(3);
+        assertThat(facets.getGames()).extracting(FacetCount::getValue, FacetCount::getCount)
+                .containsExactly(tuple("1", 3L), tuple("2", 2L));
+        assertThat(facets.getRanks()).extracting(FacetCount::getValue)
+                .containsExactlyInAnyOrder("gold", "diamond i", "diamond ii");
+        assertThat(facets.getPriceBands()).extracting(FacetCount::getCount)
+                .containsExactly(1L, 0L, 1L, 0L, 1L, 0L);
+    }
+
+    @Test
+    void onAccountChanged_StatusChangeAndDelete_UpdatesIndex() {
+        Account account = Account.builder()
+                .id(3L)
+                .seller(User.builder().id(200L).build())
+                .game(Game.builder().id(1L).build())
+                .price(600.0)
+                .rank("Diamond II")
+                .status(AccountStatus.APPROVED)
+                .createdAt(baseTime.plusMinutes(3))
+                .build();
+
+        accountFacetIndex.onAccountChanged(AccountChangedEvent.of(ChangeType.STATUS_CHANGED, account));
+        accountFacetIndex.onAccountChanged(AccountChangedEvent.deleted(1L));
+
+        Page<Long> approved = accountFacetIndex.search(new AccountSearchRequest(), AccountStatus.APPROVED,
+                PageRequest.of(0, 20));
+        assertThat(approved.getContent()).containsExactly(2L, 3L, 4L);
+        assertThat(accountFacetIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    void onRemoteAccountChanged_ReloadsRowFromDatabase() {
+        List<Object[]> repriced = new ArrayList<>();
+        repriced.add(row(2L, 20.0, 50, 1L, 100L, AccountStatus.SOLD, false, "Diamond I"));
+        when(accountRepository.findIndexRowById(2L)).thenReturn(repriced);
+        when(accountRepository.findIndexRowById(4L)).thenReturn(List.of());
+
+        accountFacetIndex.onRemoteAccountChanged(new AccountChangedEvent(ChangeType.STATUS_CHANGED, 2L, 1L,
+                AccountStatus.APPROVED, null));
+        accountFacetIndex.onRemoteAccountChanged(AccountChangedEvent.deleted(4L));
+
+        Page<Long> approved = accountFacetIndex.search(new AccountSearchRequest(), AccountStatus.APPROVED,
+                PageRequest.of(0, 20));
+        assertThat(approved.getContent()).containsExactly(1L);
+        Page<Long> cheapest = accountFacetIndex.search(new AccountSearchRequest(), null,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "price")));
+        assertThat(cheapest.getContent()).containsExactly(2L);
+        assertThat(accountFacetIndex.contains(4L)).isFalse();
+    }
+
+    @Test
+    void rebuild_Resync_ReplacesIndexWithCurrentRows() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(1L, 40.0, 10, 1L, 100L, AccountStatus.APPROVED, true, "Gold"));
+        rows.add(row(6L, 75.0, 20, 2L, 300L, AccountStatus.APPROVED, false, "Silver"));
+        when(accountRepository.findIndexRowsAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+
+        accountFacetIndex.rebuild();
+
+        assertThat(accountFacetIndex.size()).isEqualTo(2);
+        assertThat(accountFacetIndex.contains(6L)).isTrue();
+        assertThat(accountFacetIndex.contains(2L)).isFalse();
+    }
+
+    private Object[] row(Long id, Double price, Integer level, Long gameId, Long sellerId,
+                         AccountStatus status, Boolean featured, String rank) {
+        return new Object[]{id, price, level, gameId, sellerId, status, featured, rank, baseTime.plusMinutes(id)};
+    }
+}
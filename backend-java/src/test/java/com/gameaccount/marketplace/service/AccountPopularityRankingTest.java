@@ -0,0 +1,108 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountPopularityRanking
+ * Tests the startup build, view batches, lifecycle changes and the bounded heap
+ */
+class AccountPopularityRankingTest {
+
+    private AccountPopularityRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, 10L, 50});
+        rows.add(new Object[]{2L, 10L, 300});
+        rows.add(new Object[]{3L, 20L, 100});
+        rows.add(new Object[]{4L, 20L, 0});
+        when(accountRepository.findRankingRowsAfter(eq(AccountStatus.APPROVED), anyLong(), any()))
+                .thenReturn(rows);
+        ranking = new AccountPopularityRanking(accountRepository);
+        ranking.rebuild();
+    }
+
+    @Test
+    void rebuild_RanksByViewsPerGameAndOverall() {
+        assertThat(ranking.popularIds(null, 10)).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(ranking.popularIds(20L, 10)).containsExactly(3L, 4L);
+        assertThat(ranking.popularIds(10L, 1)).containsExactly(2L);
+        assertThat(ranking.popularIds(99L, 10)).isEmpty();
+        assertThat(ranking.trendingIds(null, 10)).hasSize(4);
+    }
+
+    @Test
+    void recordViews_RaisesPopularAndTrending() {
+        ranking.recordViews(Map.of(4L, 500L, 1L, 5L));
+
+        assertThat(ranking.popularIds(null, 2)).containsExactly(4L, 2L);
+        assertThat(ranking.trendingIds(null, 2)).containsExactly(4L, 1L);
+        assertThat(ranking.trendingIds(20L, 1)).containsExactly(4L);
+    }
+
+    @Test
+    void onAccountChanged_SoldLeavesAndApprovedEnters() {
+        ranking.onAccountChanged(AccountChangedEvent.statusChanged(account(2L, 10L, AccountStatus.SOLD, 300),
+                AccountStatus.APPROVED));
+        ranking.onAccountChanged(AccountChangedEvent.statusChanged(account(5L, 10L, AccountStatus.APPROVED, 70),
+                AccountStatus.PENDING));
+
+        assertThat(ranking.popularIds(10L, 10)).containsExactly(5L, 1L);
+        assertThat(ranking.popularIds(null, 10)).containsExactly(3L, 5L, 1L, 4L);
+
+        ranking.onAccountChanged(AccountChangedEvent.deleted(3L));
+        ranking.onAccountChanged(AccountChangedEvent.deleted(4L));
+        assertThat(ranking.popularIds(20L, 10)).isEmpty();
+        assertThat(ranking.popularIds(null, 10)).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void topK_KeepsHighestAndRefillsAfterRemoval() {
+        List<AccountPopularityRanking.Entry> entries = new ArrayList<>();
+        AccountPopularityRanking.TopK topK = new AccountPopularityRanking.TopK(3, entry -> entry.views);
+        for (long id = 1; id <= 6; id++) {
+            AccountPopularityRanking.Entry entry = new AccountPopularityRanking.Entry(id, 1L);
+            entry.views = id * 10;
+            entries.add(entry);
+            topK.offer(entry);
+        }
+        assertThat(topK.sortedIds()).containsExactly(6L, 5L, 4L);
+
+        entries.get(0).views = 100;
+        topK.offer(entries.get(0));
+        assertThat(topK.sortedIds()).containsExactly(1L, 6L, 5L);
+
+        assertThat(topK.remove(entries.get(5))).isTrue();
+        assertThat(topK.remove(entries.get(5))).isFalse();
+        topK.refill(entries.subList(0, 5));
+        assertThat(topK.sortedIds()).containsExactly(1L, 5L, 4L);
+    }
+
+    private static Account account(Long id, Long gameId, AccountStatus status, int views) {
+        return Account.builder()
+                .id(id)
+                .game(Game.builder().id(gameId).build())
+                .status(status)
+                .viewsCount(views)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.gameaccount.marketplace.service;
 
+import com.gameaccount.marketplace.cache.SearchResultCache;
 import com.gameaccount.marketplace.dto.request.AccountSearchRequest;
 import com.gameaccount.marketplace.entity.Account;
 import com.gameaccount.marketplace.entity.Account.AccountStatus;
@@ -20,12 +21,17 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +46,18 @@ class AccountServiceAdvancedSearchTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountFacetIndex accountFacetIndex;
+
+    @Mock
+    private AccountTextIndex accountTextIndex;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private AccountCardLoader accountCardLoader;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -50,6 +68,10 @@ class AccountServiceAdvancedSearchTest {
 
     @BeforeEach
     void setUp() {
+        // Search coalescing is a pass-through here: the caller's loader runs directly
+        when(searchResultCache.load(any(), any())).thenAnswer(invocation ->
+                invocation.<Callable<SearchResultCache.CachedIds>>getArgument(1).call());
+
         // Setup test data
         testGame = Game.builder()
                 .id(1L)
@@ -112,11 +134,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -140,11 +158,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -165,11 +179,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -190,22 +200,14 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
         accountService.searchAccounts(request, 1L, "SELLER", pageable);
 
         // Then - Should override to APPROVED for other sellers' listings
-        verify(accountRepository).searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any());
+        verify(accountRepository).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -218,11 +220,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -243,11 +241,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1, testAccount2));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -267,11 +261,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount2));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -294,11 +284,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1)); // $100 account
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -319,11 +305,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1)); // Level 50
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -343,11 +325,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1)); // Featured
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -367,11 +345,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1, testAccount2));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -390,11 +364,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(0, 20);
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1, testAccount2));
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -413,11 +383,7 @@ class AccountServiceAdvancedSearchTest {
         Pageable pageable = PageRequest.of(1, 10); // Second page, 10 items per page
         Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount1), pageable, 2);
 
-        when(accountRepository.searchAccountsWithJoins(
-                any(), any(), any(),
-                any(), any(), any(),
-                any(AccountStatus.class), any(), any(),
-                any(), any()))
+        when(accountRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -451,4 +417,134 @@ class AccountServiceAdvancedSearchTest {
         // Then
         assertThat(spec).isNotNull();
     }
+
+    @Test
+    void searchAccounts_TwoPhaseMode_FetchesPageByIdsAndKeepsOrder() {
+        // Given
+        ReflectionTestUtils.setField(accountService, "twoPhaseSearchEnabled", true);
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .gameId(1L)
+                .sortBy("price")
+                .sortDirection(AccountSearchRequest.SortDirection.DESC)
+                .build();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(accountRepository.findIds(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L), pageable, 42));
+        // Cards are loaded for the phase 1 ids, in phase 1 order
+        when(accountCardLoader.load(List.of(1L, 2L)))
+                .thenReturn(List.of(testAccount1, testAccount2));
+
+        // When
+        Page<Account> result = accountService.searchAccounts(request, null, "BUYER", pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testAccount1, testAccount2);
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        verify(accountRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchAccounts_SearchTextWithTextIndex_KeepsRelevanceOrder() {
+        // Given
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .searchText("leveling")
+                .build();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(accountTextIndex.isReady()).thenReturn(true);
+        when(accountTextIndex.getMaxHits()).thenReturn(1000);
+        when(accountTextIndex.search("leveling", 1001)).thenReturn(List.of(2L, 1L));
+        // Remaining filters evaluated in the database, in id order
+        when(accountRepository.findIds(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L)));
+        when(accountCardLoader.load(List.of(2L, 1L)))
+                .thenReturn(List.of(testAccount2, testAccount1));
+
+        // When
+        Page<Account> result = accountService.searchAccounts(request, null, "BUYER", pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testAccount2, testAccount1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(accountRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchAccounts_SearchTextOverMaxHits_FallsBackToLikeFilter() {
+        // Given
+        ReflectionTestUtils.setField(accountService, "twoPhaseSearchEnabled", true);
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .searchText("account")
+                .gameId(1L)
+                .build();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(accountTextIndex.isReady()).thenReturn(true);
+        when(accountTextIndex.getMaxHits()).thenReturn(2);
+        when(accountTextIndex.search("account", 3)).thenReturn(List.of(5L, 4L, 3L));
+        when(accountRepository.findIds(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(1L), pageable, 1));
+        when(accountCardLoader.load(List.of(1L))).thenReturn(List.of(testAccount1));
+
+        // When
+        Page<Account> result = accountService.searchAccounts(request, null, "BUYER", pageable);
+
+        // Then: the truncated ID list is not used, the database pages and counts every match
+        assertThat(result.getContent()).containsExactly(testAccount1);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(accountRepository).findIds(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    void searchAccounts_SearchTextWithFacetIndex_FiltersAllMatchesInMemory() {
+        // Given
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .searchText("leveling")
+                .gameId(1L)
+                .build();
+        Pageable pageable = PageRequest.of(0, 20);
+        List<Long> allMatches = List.of(2L, 1L, 9L);
+
+        when(accountTextIndex.isReady()).thenReturn(true);
+        when(accountFacetIndex.isReady()).thenReturn(true);
+        when(accountTextIndex.searchAll("leveling")).thenReturn(allMatches);
+        when(accountFacetIndex.search(request, null, pageable, allMatches))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+        when(accountCardLoader.load(List.of(2L, 1L)))
+                .thenReturn(List.of(testAccount2, testAccount1));
+
+        // When
+        Page<Account> result = accountService.searchAccounts(request, null, "BUYER", pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testAccount2, testAccount1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(accountRepository, never()).findIds(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchAccounts_CachedIds_LoadsPageWithoutSearching() {
+        // Given
+        AccountSearchRequest request = AccountSearchRequest.builder()
+                .searchText("leveling")
+                .build();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        when(searchResultCache.offsetKey(any(AccountSearchRequest.class), any(), any(Pageable.class)))
+                .thenReturn("search:key");
+        when(searchResultCache.get("search:key"))
+                .thenReturn(SearchResultCache.CachedIds.of(List.of(2L, 1L), 7, true));
+        when(accountCardLoader.load(List.of(2L, 1L)))
+                .thenReturn(List.of(testAccount2, testAccount1));
+
+        // When
+        Page<Account> result = accountService.searchAccounts(request, 5L, "SELLER", pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testAccount2, testAccount1);
+        assertThat(result.getTotalElements()).isEqualTo(7);
+        verify(accountTextIndex, never()).search(any(String.class), anyInt());
+        verify(accountRepository, never()).findIds(any(Specification.class), any(Pageable.class));
+    }
 }
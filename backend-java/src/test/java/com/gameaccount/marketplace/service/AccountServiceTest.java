@@ -1,5 +1,6 @@
 package com.gameaccount.marketplace.service;
 
+import com.gameaccount.marketplace.cache.SearchResultCache;
 import com.gameaccount.marketplace.dto.request.CreateAccountRequest;
 import com.gameaccount.marketplace.dto.request.UpdateAccountRequest;
 import com.gameaccount.marketplace.entity.Account;
@@ -17,19 +18,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -48,6 +53,24 @@ class AccountServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private AccountViewCounter accountViewCounter;
+
+    @Mock
+    private AccountCardLoader accountCardLoader;
+
+    @Mock
+    private AccountFacetIndex accountFacetIndex;
+
+    @Mock
+    private AccountUniqueViewers accountUniqueViewers;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -59,6 +82,10 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Search coalescing is a pass-through here: the caller's loader runs directly
+        lenient().when(searchResultCache.load(any(), any())).thenAnswer(invocation ->
+                invocation.<Callable<SearchResultCache.CachedIds>>getArgument(1).call());
+
         // Setup test data
         testSeller = User.builder()
                 .id(1L)
@@ -281,21 +308,50 @@ class AccountServiceTest {
     // ==================== getAccountById() Tests ====================
 
     @Test
-    void getAccountById_ValidAccount_IncrementsViewsCount() {
+    void getAccountById_ValidAccount_RecordsViewWithoutSaving() {
         // Given
         testAccount.setViewsCount(100);
         when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountViewCounter.pendingViews(1L)).thenReturn(3L);
 
         // When
         Account result = accountService.getAccountById(1L);
 
-        // Then
+        // Then: the managed entity keeps the persisted count, pending views are reported separately
         assertThat(result).isNotNull();
-        assertThat(result.getViewsCount()).isEqualTo(101);
+        assertThat(result.getViewsCount()).isEqualTo(100);
+        assertThat(accountService.getPendingViews(1L)).isEqualTo(3L);
 
         verify(accountRepository).findById(1L);
-        verify(accountRepository).save(any(Account.class));
+        verify(accountViewCounter).record(1L);
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void recordView_KnownListing_CountsView() {
+        // Given
+        when(accountFacetIndex.isReady()).thenReturn(true);
+        when(accountFacetIndex.contains(1L)).thenReturn(true);
+
+        // When
+        accountService.recordView(1L, "u:buyer@test.com");
+
+        // Then
+        verify(accountViewCounter).record(1L);
+        verify(accountUniqueViewers).record(1L, "u:buyer@test.com");
+    }
+
+    @Test
+    void recordView_UnknownListing_ThrowsWithoutCounting() {
+        // Given: index still building, the database decides
+        when(accountFacetIndex.isReady()).thenReturn(false);
+        when(accountRepository.existsById(999L)).thenReturn(false);
+
+        // When/Then
+        assertThatThrownBy(() -> accountService.recordView(999L, "r:127.0.0.1|test"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(accountViewCounter, never()).record(any());
+        verify(accountUniqueViewers, never()).record(any(), any());
     }
 
     @Test
@@ -310,6 +366,7 @@ class AccountServiceTest {
 
         verify(accountRepository).findById(1L);
         verify(accountRepository, never()).save(any(Account.class));
+        verify(accountViewCounter, never()).record(any());
     }
 
     // ==================== approveAccount() Tests ====================
@@ -400,10 +457,9 @@ class AccountServiceTest {
     void searchAccounts_WithFilters_ReturnsPage() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount), pageable, 1);
-
-        when(accountRepository.searchAccounts(1L, 50.0, 200.0, AccountStatus.APPROVED, pageable))
-                .thenReturn(expectedPage);
+        when(accountRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(1L), pageable, 1));
+        when(accountCardLoader.load(List.of(1L))).thenReturn(List.of(testAccount));
 
         // When
         Page<Account> result = accountService.searchAccounts(1L, 50.0, 200.0, AccountStatus.APPROVED, pageable);
@@ -413,17 +469,17 @@ class AccountServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0)).isEqualTo(testAccount);
 
-        verify(accountRepository).searchAccounts(1L, 50.0, 200.0, AccountStatus.APPROVED, pageable);
+        verify(accountRepository).findIds(any(Specification.class), eq(pageable));
+        verify(accountRepository, never()).searchAccounts(any(), any(), any(), any(), any());
     }
 
     @Test
     void searchAccounts_NoFilters_ReturnsPage() {
         // Given
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount), pageable, 1);
-
-        when(accountRepository.searchAccounts(null, null, null, null, pageable))
-                .thenReturn(expectedPage);
+        when(accountRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(1L), pageable, 1));
+        when(accountCardLoader.load(List.of(1L))).thenReturn(List.of(testAccount));
 
         // When
         Page<Account> result = accountService.searchAccounts(null, null, null, null, pageable);
@@ -432,17 +488,15 @@ class AccountServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
 
-        verify(accountRepository).searchAccounts(null, null, null, null, pageable);
+        verify(accountCardLoader).load(List.of(1L));
     }
 
     @Test
     void searchAccounts_EmptyResults_ReturnsEmptyPage() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Account> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-
-        when(accountRepository.searchAccounts(999L, null, null, null, pageable))
-                .thenReturn(emptyPage);
+        when(accountRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
 
         // When
         Page<Account> result = accountService.searchAccounts(999L, null, null, null, pageable);
@@ -451,7 +505,7 @@ class AccountServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).isEmpty();
 
-        verify(accountRepository).searchAccounts(999L, null, null, null, pageable);
+        verify(accountCardLoader, never()).load(any());
     }
 
     @Test
@@ -462,10 +516,9 @@ class AccountServiceTest {
                 .id(2L)
                 .status(AccountStatus.APPROVED)
                 .build();
-        Page<Account> expectedPage = new PageImpl<>(Arrays.asList(approvedAccount), pageable, 1);
-
-        when(accountRepository.searchAccounts(null, null, null, AccountStatus.APPROVED, pageable))
-                .thenReturn(expectedPage);
+        when(accountRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(2L), pageable, 1));
+        when(accountCardLoader.load(List.of(2L))).thenReturn(List.of(approvedAccount));
 
         // When
         Page<Account> result = accountService.searchAccounts(null, null, null, AccountStatus.APPROVED, pageable);
@@ -474,8 +527,6 @@ class AccountServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getStatus()).isEqualTo(AccountStatus.APPROVED);
-
-        verify(accountRepository).searchAccounts(null, null, null, AccountStatus.APPROVED, pageable);
     }
 
     @Test
@@ -486,10 +537,9 @@ class AccountServiceTest {
                 .id(2L)
                 .price(500.0)
                 .build();
-        Page<Account> expectedPage = new PageImpl<>(Arrays.asList(expensiveAccount), pageable, 1);
-
-        when(accountRepository.searchAccounts(null, 100.0, 1000.0, null, pageable))
-                .thenReturn(expectedPage);
+        when(accountRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(2L), pageable, 1));
+        when(accountCardLoader.load(List.of(2L))).thenReturn(List.of(expensiveAccount));
 
         // When
         Page<Account> result = accountService.searchAccounts(null, 100.0, 1000.0, null, pageable);
@@ -498,18 +548,15 @@ class AccountServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getPrice()).isEqualTo(500.0);
-
-        verify(accountRepository).searchAccounts(null, 100.0, 1000.0, null, pageable);
     }
 
     @Test
     void searchAccounts_CachingBehavior() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Account> expectedPage = new PageImpl<>(Arrays.asList(testAccount), pageable, 1);
-
-        when(accountRepository.searchAccounts(1L, 50.0, 200.0, AccountStatus.APPROVED, pageable))
-                .thenReturn(expectedPage);
+        when(accountRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(1L), pageable, 1));
+        when(accountCardLoader.load(List.of(1L))).thenReturn(List.of(testAccount));
 
         // When
         Page<Account> result1 = accountService.searchAccounts(1L, 50.0, 200.0, AccountStatus.APPROVED, pageable);
@@ -517,8 +564,8 @@ class AccountServiceTest {
 
         // Then
         assertThat(result1).isEqualTo(result2);
-        // Note: In unit tests, @Cacheable annotation is not proxied, so repository is called twice
+        // Note: In unit tests the result cache is a mock that always misses, so repository is called twice
         // Caching would be verified in integration tests with @SpringBootTest
-        verify(accountRepository, times(2)).searchAccounts(1L, 50.0, 200.0, AccountStatus.APPROVED, pageable);
+        verify(accountRepository, times(2)).findIds(any(Specification.class), eq(pageable));
     }
 }
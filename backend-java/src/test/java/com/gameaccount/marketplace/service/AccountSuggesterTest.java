@@ -0,0 +1,140 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.dto.response.SuggestionResponse;
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import com.gameaccount.marketplace.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountSuggester
+ * Tests accent-insensitive prefix completion, weight ordering, suggestion types and when the FST
+ * is rebuilt
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountSuggesterTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @InjectMocks
+    private AccountSuggester accountSuggester;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> titles = new ArrayList<>();
+        titles.add(new Object[]{"Acc Ngọc Rồng sơ sinh", 120L});
+        titles.add(new Object[]{"Acc Liên Quân full tướng", 900L});
+        titles.add(new Object[]{"Legendary Valorant Account", 50L});
+
+        List<Object[]> gameViews = new ArrayList<>();
+        gameViews.add(new Object[]{1L, 120L});
+        gameViews.add(new Object[]{2L, 5000L});
+
+        List<Object[]> ranks = new ArrayList<>();
+        ranks.add(new Object[]{"Kim Cương", 300L});
+        ranks.add(new Object[]{"Legend", 80L});
+
+        when(accountRepository.sumViewsByTitle(AccountStatus.APPROVED)).thenReturn(titles);
+        when(accountRepository.sumViewsByGame(AccountStatus.APPROVED)).thenReturn(gameViews);
+        when(accountRepository.sumViewsByRank(AccountStatus.APPROVED)).thenReturn(ranks);
+        when(gameRepository.findAll()).thenReturn(List.of(
+                Game.builder().id(1L).name("Ngọc Rồng Online").build(),
+                Game.builder().id(2L).name("Liên Quân Mobile").build(),
+                Game.builder().id(3L).name("Valorant").build()));
+
+        ReflectionTestUtils.setField(accountSuggester, "maxAgeMs", 600000L);
+        assertThat(accountSuggester.rebuild()).isEqualTo(8);
+    }
+
+    @Test
+    void suggest_WithoutAccents_CompletesVietnameseText() {
+        List<SuggestionResponse> suggestions = accountSuggester.suggest("ngoc r", 10);
+
+        assertThat(suggestions).extracting(SuggestionResponse::getText, SuggestionResponse::getType)
+                .containsExactly(tuple("Ngọc Rồng Online", "GAME"));
+        assertThat(suggestions.get(0).getGameId()).isEqualTo(1L);
+    }
+
+    @Test
+    void suggest_SharedPrefix_OrdersByWeight() {
+        List<SuggestionResponse> suggestions = accountSuggester.suggest("acc", 10);
+
+        assertThat(suggestions).extracting(SuggestionResponse::getText)
+                .containsExactly("Acc Liên Quân full tướng", "Acc Ngọc Rồng sơ sinh");
+        assertThat(suggestions).extracting(SuggestionResponse::getWeight).containsExactly(900L, 120L);
+    }
+
+    @Test
+    void suggest_MixedTypes_ReturnsTitlesRanksAndGames() {
+        assertThat(accountSuggester.suggest("LEG", 10))
+                .extracting(SuggestionResponse::getText, SuggestionResponse::getType)
+                .containsExactly(tuple("Legend", "RANK"), tuple("Legendary Valorant Account", "TITLE"));
+        assertThat(accountSuggester.suggest("kim", 10))
+                .extracting(SuggestionResponse::getType)
+                .containsExactly("RANK");
+    }
+
+    @Test
+    void suggest_Limit_ReturnsTopN() {
+        assertThat(accountSuggester.suggest("l", 1))
+                .extracting(SuggestionResponse::getText)
+                .containsExactly("Liên Quân Mobile");
+    }
+
+    @Test
+    void suggest_BlankPrefix_ReturnsEmpty() {
+        assertThat(accountSuggester.suggest(" ", 10)).isEmpty();
+        assertThat(accountSuggester.suggest(null, 10)).isEmpty();
+        assertThat(accountSuggester.suggest("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void refreshIfStale_ChangeWithKnownTitleAndRank_DoesNotRebuild() {
+        accountSuggester.onAccountChanged(AccountChangedEvent.of(ChangeType.UPDATED,
+                approved("Acc Ngọc Rồng sơ sinh", "Kim Cương")));
+        accountSuggester.onAccountChanged(AccountChangedEvent.of(ChangeType.CREATED,
+                Account.builder().id(9L).title("Brand new pending title").status(AccountStatus.PENDING).build()));
+
+        accountSuggester.refreshIfStale();
+
+        verify(accountRepository, times(1)).sumViewsByTitle(AccountStatus.APPROVED);
+    }
+
+    @Test
+    void refreshIfStale_ApprovedListingWithNewTitle_Rebuilds() {
+        accountSuggester.onAccountChanged(AccountChangedEvent.of(ChangeType.UPDATED,
+                approved("Acc Free Fire vip", "Kim Cương")));
+
+        accountSuggester.refreshIfStale();
+        accountSuggester.refreshIfStale();
+
+        verify(accountRepository, times(2)).sumViewsByTitle(AccountStatus.APPROVED);
+    }
+
+    private static Account approved(String title, String rank) {
+        return Account.builder().id(9L).title(title).rank(rank).status(AccountStatus.APPROVED).build();
+    }
+}
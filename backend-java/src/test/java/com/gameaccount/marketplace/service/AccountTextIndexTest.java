@@ -0,0 +1,169 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.event.AccountChangedEvent;
+import com.gameaccount.marketplace.event.AccountChangedEvent.ChangeType;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountTextIndex
+ * Tests accent folding, prefix matching, relevance ranking and near-real-time updates
+ * against an in-memory Lucene directory
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountTextIndexTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountTextIndex accountTextIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(accountTextIndex, "enabled", true);
+        ReflectionTestUtils.setField(accountTextIndex, "indexPath", "");
+        ReflectionTestUtils.setField(accountTextIndex, "maxHits", 100);
+        accountTextIndex.open();
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Acc Ngọc Rồng Online sơ sinh", "Tài khoản đẹp, nhiều đồ hiếm"});
+        rows.add(new Object[]{2L, "Legendary Liên Quân Account", "Full tướng, rank Kim Cương"});
+        rows.add(new Object[]{3L, "Pro Valorant Account", "Includes legendary skins"});
+        rows.add(new Object[]{4L, "Rare Genshin Account", null});
+
+        when(accountRepository.findTextRowsAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+        assertThat(accountTextIndex.rebuild()).isEqualTo(4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        accountTextIndex.close();
+    }
+
+    @Test
+    void search_WithoutAccents_MatchesVietnameseTitle() {
+        assertThat(accountTextIndex.search("ngoc rong")).containsExactly(1L);
+        assertThat(accountTextIndex.search("NGỌC RỒNG")).containsExactly(1L);
+        assertThat(accountTextIndex.search("do hiem")).containsExactly(1L);
+    }
+
+    @Test
+    void search_Prefix_MatchesPartialTerm() {
+        assertThat(accountTextIndex.search("kim cuo")).containsExactly(2L);
+        assertThat(accountTextIndex.search("valo")).containsExactly(3L);
+    }
+
+    @Test
+    void search_TitleMatch_RanksAboveDescriptionMatch() {
+        assertThat(accountTextIndex.search("legendary")).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void search_AllTermsRequired() {
+        assertThat(accountTextIndex.search("account")).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(accountTextIndex.search("rare account")).containsExactly(4L);
+        assertThat(accountTextIndex.search("rare valorant")).isEmpty();
+    }
+
+    @Test
+    void searchAll_IgnoresMaxHits() {
+        ReflectionTestUtils.setField(accountTextIndex, "maxHits", 1);
+
+        assertThat(accountTextIndex.search("account")).hasSize(1);
+        assertThat(accountTextIndex.searchAll("account")).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    void search_BlankText_ReturnsEmpty() {
+        assertThat(accountTextIndex.search("  ")).isEmpty();
+        assertThat(accountTextIndex.search("!!!")).isEmpty();
+    }
+
+    @Test
+    void onRemoteAccountChanged_ReindexesRowFromDatabase() {
+        List<Object[]> edited = new ArrayList<>();
+        edited.add(new Object[]{2L, "Legendary Tốc Chiến Account", "Full tướng"});
+        when(accountRepository.findTextRowById(2L)).thenReturn(edited);
+        when(accountRepository.findTextRowById(3L)).thenReturn(List.of());
+
+        accountTextIndex.onRemoteAccountChanged(new AccountChangedEvent(ChangeType.UPDATED, 2L, null, null, null));
+        accountTextIndex.onRemoteAccountChanged(AccountChangedEvent.deleted(3L));
+
+        assertThat(accountTextIndex.search("toc chien")).containsExactly(2L);
+        assertThat(accountTextIndex.search("lien quan")).isEmpty();
+        assertThat(accountTextIndex.search("valorant")).isEmpty();
+    }
+
+    @Test
+    void rebuildIfStale_UpdatedSinceSyncPoint_ReindexesOnlyThoseRows() {
+        LocalDateTime synced = LocalDateTime.of(2025, 1, 1, 12, 0);
+        ReflectionTestUtils.invokeMethod(accountTextIndex, "setSyncedUpTo", synced);
+        List<Object[]> edited = new ArrayList<>();
+        edited.add(new Object[]{3L, "Pro Valorant Radiant Account", "Includes legendary skins"});
+        when(accountRepository.findMaxUpdatedAt()).thenReturn(synced.plusHours(1));
+        when(accountRepository.findTextRowsUpdatedSince(eq(synced), eq(0L), any(Pageable.class))).thenReturn(edited);
+        when(accountRepository.count()).thenReturn(4L);
+
+        accountTextIndex.rebuildIfStale();
+
+        assertThat(accountTextIndex.search("radiant")).containsExactly(3L);
+        assertThat(accountTextIndex.syncedUpTo()).isEqualTo(synced.plusHours(1));
+        verify(accountRepository).findTextRowsAfter(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void rebuild_PersistentIndex_SyncPointSurvivesRestart(@TempDir Path path) throws IOException {
+        LocalDateTime maxUpdatedAt = LocalDateTime.of(2025, 3, 4, 5, 6, 7, 890_000_000);
+        when(accountRepository.findMaxUpdatedAt()).thenReturn(maxUpdatedAt);
+        accountTextIndex.close();
+        ReflectionTestUtils.setField(accountTextIndex, "indexPath", path.toString());
+        accountTextIndex.open();
+        accountTextIndex.rebuild();
+        accountTextIndex.close();
+
+        accountTextIndex.open();
+
+        assertThat(accountTextIndex.syncedUpTo()).isEqualTo(maxUpdatedAt);
+    }
+
+    @Test
+    void onAccountChanged_UpdateAndDelete_VisibleImmediately() {
+        Account updated = Account.builder()
+                .id(4L)
+                .title("Rare Honkai Account")
+                .description("Nhân vật 5 sao")
+                .build();
+
+        accountTextIndex.onAccountChanged(AccountChangedEvent.of(ChangeType.UPDATED, updated));
+        accountTextIndex.onAccountChanged(AccountChangedEvent.deleted(3L));
+
+        assertThat(accountTextIndex.search("honkai")).containsExactly(4L);
+        assertThat(accountTextIndex.search("genshin")).isEmpty();
+        assertThat(accountTextIndex.search("nhan vat")).containsExactly(4L);
+        assertThat(accountTextIndex.search("valorant")).isEmpty();
+        assertThat(accountTextIndex.isReady()).isTrue();
+    }
+}
@@ -0,0 +1,123 @@
+package com.gameaccount.marketplace.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountUniqueViewers
+ * Tests buffering, the pipelined flush into the ranking and count lookups against a mocked Redis
+ */
+class AccountUniqueViewersTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ZSetOperations<String, String> zSetOperations;
+    private AccountUniqueViewers uniqueViewers;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        uniqueViewers = new AccountUniqueViewers(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_AddsVisitorsAndRanksListingsByCount() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(1L, 2L, 1L, 7L));
+        uniqueViewers.record(5L, "u:a@example.com");
+        uniqueViewers.record(5L, "u:a@example.com");
+        uniqueViewers.record(5L, "r:10.0.0.1|Firefox");
+        uniqueViewers.record(3L, "r:10.0.0.1|Firefox");
+        uniqueViewers.record(4L, " ");
+
+        assertThat(uniqueViewers.flush()).isEqualTo(2);
+
+        ArgumentCaptor<Set<ZSetOperations.TypedTuple<String>>> scores = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOperations).add(eq(AccountUniqueViewers.RANKING_KEY), scores.capture());
+        assertThat(scores.getValue()).containsExactlyInAnyOrder(
+                ZSetOperations.TypedTuple.of("3", 2.0),
+                ZSetOperations.TypedTuple.of("5", 7.0));
+        assertThat(uniqueViewers.flush()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_RedisDown_KeepsVisitorsForNextRun() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(List.of(1L, 1L));
+        uniqueViewers.record(5L, "r:10.0.0.1|Firefox");
+
+        assertThat(uniqueViewers.flush()).isZero();
+        assertThat(uniqueViewers.flush()).isEqualTo(1);
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ConcurrentRecords_NoVisitorLost() throws Exception {
+        Set<String> flushed = ConcurrentHashMap.newKeySet();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<Object> callback = invocation.getArgument(0);
+            StringRedisConnection connection = mock(StringRedisConnection.class);
+            when(connection.pfAdd(eq(AccountUniqueViewers.SKETCH_KEY_PREFIX + "5"), any(String[].class)))
+                    .thenAnswer(add -> {
+                        for (int i = 1; i < add.getArguments().length; i++) {
+                            Object visitors = add.getArgument(i);
+                            if (visitors instanceof String[] array) {
+                                flushed.addAll(Arrays.asList(array));
+                            } else {
+                                flushed.add((String) visitors);
+                            }
+                        }
+                        return 1L;
+                    });
+            callback.doInRedis(connection);
+            return List.of(1L, 1L);
+        });
+
+        int visitors = 5_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < visitors; i++) {
+                uniqueViewers.record(5L, "u:" + i);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            uniqueViewers.flush();
+        }
+        writer.join();
+        uniqueViewers.flush();
+
+        assertThat(flushed).hasSize(visitors);
+    }
+
+    @Test
+    void counts_ReturnsZeroForUnrankedListings() {
+        when(zSetOperations.score(AccountUniqueViewers.RANKING_KEY, "1", "2")).thenReturn(Arrays.asList(4.0, null));
+
+        assertThat(uniqueViewers.counts(List.of(1L, 2L))).containsExactly(4L, 0L);
+        assertThat(uniqueViewers.counts(List.of())).isEmpty();
+    }
+}
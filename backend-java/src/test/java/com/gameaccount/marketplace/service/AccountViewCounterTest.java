@@ -0,0 +1,102 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountViewCounter
+ * Tests view aggregation, the batched flush and retry after a failed flush
+ */
+class AccountViewCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountPopularityRanking popularityRanking;
+    private Cache secondLevelCache;
+    private AccountViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        popularityRanking = mock(AccountPopularityRanking.class);
+        secondLevelCache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        counter = new AccountViewCounter(jdbcTemplate, popularityRanking, entityManagerFactory);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesAggregatedDeltasInIdOrderWithOneBatch() {
+        counter.record(7L);
+        counter.record(3L);
+        counter.record(7L);
+        counter.record(null);
+
+        assertThat(counter.pendingViews(7L)).isEqualTo(2);
+        assertThat(counter.flush()).isEqualTo(3);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(AccountViewCounter.FLUSH_SQL), batch.capture());
+        assertThat(batch.getValue()).containsExactly(new Object[]{1L, 3L}, new Object[]{2L, 7L});
+        assertThat(counter.pendingViews(7L)).isZero();
+        assertThat(counter.getFlushedCount()).isEqualTo(3);
+        verify(popularityRanking).recordViews(Map.of(3L, 1L, 7L, 2L));
+        verify(secondLevelCache).evict(Account.class, 3L);
+        verify(secondLevelCache).evict(Account.class, 7L);
+    }
+
+    @Test
+    void flush_NothingPending_DoesNotTouchDatabase() {
+        assertThat(counter.flush()).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void flush_Failure_KeepsViewsForNextRun() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        counter.record(1L);
+        counter.record(1L);
+
+        assertThat(counter.flush()).isZero();
+        assertThat(counter.pendingViews(1L)).isEqualTo(2);
+        verify(popularityRanking, never()).recordViews(anyMap());
+        verify(secondLevelCache, never()).evict(any(), any());
+    }
+
+    @Test
+    void record_ConcurrentViews_AreAllFlushed() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            long accountId = i % 10 + 1;
+            executor.execute(() -> counter.record(accountId));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.getRecordedCount()).isEqualTo(10_000);
+        assertThat(counter.flush()).isEqualTo(10_000);
+    }
+}
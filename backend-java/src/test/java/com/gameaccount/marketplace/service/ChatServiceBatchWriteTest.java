@@ -0,0 +1,123 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Account.AccountStatus;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.entity.Message;
+import com.gameaccount.marketplace.entity.User;
+import com.gameaccount.marketplace.repository.AccountRepository;
+import com.gameaccount.marketplace.repository.GameRepository;
+import com.gameaccount.marketplace.repository.MessageRepository;
+import com.gameaccount.marketplace.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count tests for batched writes (sequence ids + hibernate.jdbc.batch_size).
+ * Writing 120 messages must cost a few JDBC batches, not a statement per row.
+ */
+@SpringBootTest
+@Transactional
+class ChatServiceBatchWriteTest {
+
+    private static final int MESSAGES = 120;
+
+    /** Three batches of 50 plus id block fetches (select + update of the sequence row, per 50 ids) */
+    private static final long MAX_INSERT_STATEMENTS = 10;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private Statistics statistics;
+    private User buyer;
+    private User seller;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        buyer = userRepository.save(User.builder().email("batch-buyer-" + suffix + "@example.com").password("password").build());
+        seller = userRepository.save(User.builder().email("batch-seller-" + suffix + "@example.com").password("password").build());
+        Game game = gameRepository.save(Game.builder().name("Batch Game " + suffix).slug("batch-game-" + suffix).build());
+        account = accountRepository.save(Account.builder()
+                .seller(seller)
+                .game(game)
+                .title("Batch Write Account")
+                .price(10.0)
+                .status(AccountStatus.APPROVED)
+                .build());
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_Messages_InsertsInBatches() {
+        messageRepository.saveAll(messages());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(MESSAGES);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_INSERT_STATEMENTS);
+    }
+
+    @Test
+    void markAsRead_UpdatesInBatches() {
+        messageRepository.saveAll(messages());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        chatService.markAsRead(account.getId(), buyer.getId(), seller.getId());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(MESSAGES);
+        // Conversation query + three batches of UPDATEs
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    private List<Message> messages() {
+        List<Message> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(Message.builder()
+                    .account(account)
+                    .sender(buyer)
+                    .receiver(seller)
+                    .content("Batch message " + i)
+                    .build());
+        }
+        return messages;
+    }
+}
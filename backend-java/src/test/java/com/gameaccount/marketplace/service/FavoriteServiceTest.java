@@ -41,6 +41,9 @@ class FavoriteServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AccountCardLoader accountCardLoader;
+
     @InjectMocks
     private FavoriteService favoriteService;
 
@@ -220,21 +223,8 @@ class FavoriteServiceTest {
                 .price(200.0)
                 .build();
 
-        Favorite fav1 = Favorite.builder()
-                .id(1L)
-                .user(testUser)
-                .account(account1)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        Favorite fav2 = Favorite.builder()
-                .id(2L)
-                .user(testUser)
-                .account(account2)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        when(favoriteRepository.findByUserIdWithAccount(userId)).thenReturn(Arrays.asList(fav1, fav2));
+        when(favoriteRepository.findAccountIdsByUserId(userId)).thenReturn(Arrays.asList(1L, 2L));
+        when(accountCardLoader.load(Arrays.asList(1L, 2L))).thenReturn(List.of(account1, account2));
 
         // When
         List<Account> result = favoriteService.getUserFavorites(userId);
@@ -244,7 +234,8 @@ class FavoriteServiceTest {
         assertThat(result.get(0).getTitle()).isEqualTo("Account 1");
         assertThat(result.get(1).getTitle()).isEqualTo("Account 2");
 
-        verify(favoriteRepository).findByUserIdWithAccount(userId);
+        verify(favoriteRepository).findAccountIdsByUserId(userId);
+        verify(accountCardLoader).load(Arrays.asList(1L, 2L));
     }
 
     @Test
@@ -252,14 +243,15 @@ class FavoriteServiceTest {
         // Given
         Long userId = 1L;
 
-        when(favoriteRepository.findByUserIdWithAccount(userId)).thenReturn(List.of());
+        when(favoriteRepository.findAccountIdsByUserId(userId)).thenReturn(List.of());
+        when(accountCardLoader.load(List.of())).thenReturn(List.of());
 
         // When
         List<Account> result = favoriteService.getUserFavorites(userId);
 
         // Then
         assertThat(result).isEmpty();
-        verify(favoriteRepository).findByUserIdWithAccount(userId);
+        verify(favoriteRepository).findAccountIdsByUserId(userId);
     }
 
     @Test
@@ -0,0 +1,88 @@
+package com.gameaccount.marketplace.service;
+
+import com.gameaccount.marketplace.entity.Account;
+import com.gameaccount.marketplace.entity.Game;
+import com.gameaccount.marketplace.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GameCatalog
+ * Tests snapshot lookups, loading of unknown games on a miss and failed refreshes
+ */
+class GameCatalogTest {
+
+    private GameRepository gameRepository;
+    private GameCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = mock(GameRepository.class);
+        when(gameRepository.findAll()).thenReturn(List.of(game(2L, "game-two"), game(1L, "game-one")));
+        catalog = new GameCatalog(gameRepository);
+        catalog.refresh();
+    }
+
+    @Test
+    void lookups_AnsweredFromSnapshot() {
+        assertThat(catalog.all()).extracting(Game::getId).containsExactly(1L, 2L);
+        assertThat(catalog.findById(2L)).map(Game::getSlug).contains("game-two");
+        assertThat(catalog.findBySlug("game-one")).map(Game::getId).contains(1L);
+        assertThat(catalog.findAllById(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 2L);
+
+        verify(gameRepository, times(1)).findAll();
+        verify(gameRepository, never()).findBySlug(anyString());
+    }
+
+    @Test
+    void findById_UnknownGame_LoadsOnceAndKeepsIt() {
+        when(gameRepository.findById(3L)).thenReturn(Optional.of(game(3L, "game-three")));
+
+        assertThat(catalog.findById(3L)).map(Game::getSlug).contains("game-three");
+        assertThat(catalog.findBySlug("game-three")).map(Game::getId).contains(3L);
+        assertThat(catalog.all()).extracting(Game::getId).containsExactly(1L, 2L, 3L);
+
+        verify(gameRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    void findBySlug_NoSuchGame_ReturnsEmpty() {
+        assertThat(catalog.findBySlug("missing")).isEmpty();
+        assertThat(catalog.findBySlug(" ")).isEmpty();
+        assertThat(catalog.findById(null)).isEmpty();
+    }
+
+    @Test
+    void findForAccount_UsesGameIdWithoutTouchingAssociation() {
+        Account account = Account.builder().id(10L).gameId(2L).build();
+
+        assertThat(catalog.findForAccount(account)).map(Game::getName).contains("Game 2");
+        assertThat(catalog.gameOf(account).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void refresh_Failure_KeepsPreviousSnapshot() {
+        when(gameRepository.findAll()).thenThrow(new IllegalStateException("database down"));
+
+        catalog.refresh();
+
+        assertThat(catalog.all()).hasSize(2);
+        verify(gameRepository, never()).findById(any());
+    }
+
+    private static Game game(Long id, String slug) {
+        return Game.builder().id(id).name("Game " + id).slug(slug).build();
+    }
+}
@@ -6,7 +6,6 @@ import com.gameaccount.marketplace.repository.GameRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,13 +31,14 @@ class GameServiceTest {
     @Mock
     private GameRepository gameRepository;
 
-    @InjectMocks
     private GameService gameService;
 
     private Game testGame;
 
     @BeforeEach
     void setUp() {
+        gameService = new GameService(new GameCatalog(gameRepository));
+
         testGame = Game.builder()
                 .id(1L)
                 .name("Test Game")
@@ -0,0 +1,77 @@
+package com.gameaccount.marketplace.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CursorUtil keyset cursors.
+ */
+class CursorUtilTest {
+
+    private CursorUtil cursorUtil;
+
+    @BeforeEach
+    void setUp() {
+        cursorUtil = new CursorUtil();
+    }
+
+    @Test
+    void keysetCursor_RoundTripsPrice() {
+        String cursor = cursorUtil.encodeKeysetCursor("price", 199.99, 42L);
+
+        CursorUtil.KeysetCursor decoded = cursorUtil.decodeKeysetCursor(cursor);
+
+        assertThat(decoded).isEqualTo(new CursorUtil.KeysetCursor("price", 199.99, 42L));
+    }
+
+    @Test
+    void keysetCursor_RoundTripsNullLevel() {
+        String cursor = cursorUtil.encodeKeysetCursor("level", null, 7L);
+
+        CursorUtil.KeysetCursor decoded = cursorUtil.decodeKeysetCursor(cursor);
+
+        assertThat(decoded.sortField).isEqualTo("level");
+        assertThat(decoded.sortValue).isNull();
+        assertThat(decoded.id).isEqualTo(7L);
+    }
+
+    @Test
+    void keysetCursor_KeepsMicrosecondPrecisionForCreatedAt() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 9, 12, 30, 15, 123_456_000);
+
+        CursorUtil.KeysetCursor decoded = cursorUtil.decodeKeysetCursor(
+                cursorUtil.encodeKeysetCursor("createdAt", createdAt, 1000L));
+
+        assertThat(decoded.sortValue).isEqualTo(createdAt);
+        assertThat(decoded.id).isEqualTo(1000L);
+    }
+
+    @Test
+    void keysetCursor_AcceptsLegacyIdTimestampFormat() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 9, 12, 30, 15);
+        long millis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String legacy = cursorUtil.encodeCursor(5L, millis);
+
+        CursorUtil.KeysetCursor decoded = cursorUtil.decodeKeysetCursor(legacy);
+
+        assertThat(decoded).isEqualTo(new CursorUtil.KeysetCursor("createdAt", createdAt, 5L));
+    }
+
+    @Test
+    void keysetCursor_RejectsUnknownSortField() {
+        assertThatThrownBy(() -> cursorUtil.encodeKeysetCursor("title", "abc", 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        String forged = Base64.getUrlEncoder().encodeToString("x:1:1".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> cursorUtil.decodeKeysetCursor(forged))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.gameaccount.marketplace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the DatabaseSeeder value distributions.
+ */
+class DatabaseSeederTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void zipfSampler_FavoursLowRanks() {
+        DatabaseSeeder.ZipfSampler sampler = new DatabaseSeeder.ZipfSampler(50, 1.1);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[50];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[10]);
+        // Top 5 of 50 games hold about half of the listings
+        int top = counts[0] + counts[1] + counts[2] + counts[3] + counts[4];
+        assertThat(top).isBetween(SAMPLES * 2 / 5, SAMPLES * 3 / 5);
+        assertThat(counts[49]).isPositive();
+    }
+
+    @Test
+    void zipfSampler_SameSeed_SameSequence() {
+        DatabaseSeeder.ZipfSampler sampler = new DatabaseSeeder.ZipfSampler(1000, 0.8);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample(first)).isEqualTo(sampler.sample(second));
+        }
+    }
+
+    @Test
+    void zipfSampler_SingleRank_AlwaysZero() {
+        DatabaseSeeder.ZipfSampler sampler = new DatabaseSeeder.ZipfSampler(1, 1.0);
+
+        assertThat(sampler.sample(new SplittableRandom(7))).isZero();
+    }
+
+    @Test
+    void price_StaysWithinBoundsAndRisesWithLevel() {
+        SplittableRandom random = new SplittableRandom(3);
+        double lowLevelTotal = 0;
+        double highLevelTotal = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double low = DatabaseSeeder.price(random, 5);
+            double high = DatabaseSeeder.price(random, 95);
+            assertThat(low).isBetween(5.0, 5000.0);
+            assertThat(high).isBetween(5.0, 5000.0);
+            lowLevelTotal += low;
+            highLevelTotal += high;
+        }
+
+        assertThat(highLevelTotal).isGreaterThan(lowLevelTotal * 1.5);
+    }
+}